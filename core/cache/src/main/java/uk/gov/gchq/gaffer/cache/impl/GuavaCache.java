@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.cache.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheStats;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Implementation of the {@link ICache} interface, using a Guava {@link Cache}
+ * as the cache data store.
+ * <p>
+ * Unlike the {@link HashMapCache}, this cache is safe to use from multiple
+ * threads and can be bounded in size, with the least recently used entries
+ * evicted first, and can expire entries a fixed time after they were written.
+ * </p>
+ * <p>
+ * If the cache stores values by value, a copy of each value is taken using
+ * Java serialisation when it is added. The copy is returned directly by
+ * {@link #get(Object)}, so the values retrieved should not be modified.
+ * </p>
+ *
+ * @param <K> The object type that acts as the key for the cache
+ * @param <V> The value that is stored in the cache
+ */
+public class GuavaCache<K, V> implements ICache<K, V> {
+    private static final JavaSerialiser JAVA_SERIALISER = new JavaSerialiser();
+    private final Cache<K, V> cache;
+    private final boolean storeByValue;
+
+    public GuavaCache(final Cache<K, V> cache, final boolean storeByValue) {
+        this.cache = cache;
+        this.storeByValue = storeByValue;
+    }
+
+    public GuavaCache(final Cache<K, V> cache) {
+        this(cache, false);
+    }
+
+    @Override
+    public V get(final K key) {
+        return null == key ? null : cache.getIfPresent(key);
+    }
+
+    @Override
+    public void put(final K key, final V value) throws CacheOperationException {
+        if (null == key) {
+            throw new CacheOperationException("Cache keys must not be null");
+        }
+        if (null == value) {
+            cache.invalidate(key);
+        } else {
+            cache.put(key, copy(value));
+        }
+    }
+
+    @Override
+    public void putSafe(final K key, final V value) throws OverwritingException, CacheOperationException {
+        if (null == key) {
+            throw new CacheOperationException("Cache keys must not be null");
+        }
+        final V existing = null == value ? cache.getIfPresent(key) : cache.asMap().putIfAbsent(key, copy(value));
+        if (null != existing) {
+            throw new OverwritingException("Cache entry already exists for key: " + key);
+        }
+    }
+
+    @Override
+    public void remove(final K key) {
+        if (null != key) {
+            cache.invalidate(key);
+        }
+    }
+
+    @Override
+    public Collection<V> getAllValues() {
+        return new ArrayList<>(cache.asMap().values());
+    }
+
+    @Override
+    public Set<K> getAllKeys() {
+        return cache.asMap().keySet();
+    }
+
+    @Override
+    public int size() {
+        cache.cleanUp();
+        return (int) cache.size();
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Get the hit, miss and eviction statistics for this cache. The statistics
+     * will all be zero unless the underlying cache was built to record them.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    private V copy(final V value) throws CacheOperationException {
+        if (!storeByValue) {
+            return value;
+        }
+        try {
+            return (V) JAVA_SERIALISER.deserialise(JAVA_SERIALISER.serialise(value));
+        } catch (final SerialisationException e) {
+            throw new CacheOperationException("Unable to copy value for cache: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.cache.impl;
+
+import com.google.common.cache.CacheBuilder;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.ICacheService;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the {@link ICacheService} interface which uses a
+ * {@link GuavaCache} as the cache implementation.
+ * <p>
+ * By default the caches are unbounded, never expire entries and record hit,
+ * miss and eviction statistics. Each of the properties below applies to all
+ * caches, and can be overridden for a single cache by inserting the cache
+ * name after the prefix, e.g. {@code gaffer.cache.guava.JobTracker.expireAfterWriteSeconds}.
+ * </p>
+ * <ul>
+ * <li>{@value #MAXIMUM_SIZE} - the maximum number of entries to hold, after
+ * which the least recently used entries are evicted</li>
+ * <li>{@value #EXPIRE_AFTER_WRITE_SECONDS} - the number of seconds after
+ * which an entry expires once it has been added</li>
+ * <li>{@value #RECORD_STATS} - whether to record cache statistics</li>
+ * <li>{@value #STORE_BY_VALUE} - whether to store a copy of each value rather
+ * than the value itself</li>
+ * </ul>
+ * <p>
+ * Bounding or expiring a cache will remove entries that are not held
+ * anywhere else, so limits should only be set on caches where this is
+ * acceptable.
+ * </p>
+ */
+public class GuavaCacheService implements ICacheService {
+    public static final String PROPERTY_PREFIX = "gaffer.cache.guava.";
+    public static final String MAXIMUM_SIZE = PROPERTY_PREFIX + "maximumSize";
+    public static final String EXPIRE_AFTER_WRITE_SECONDS = PROPERTY_PREFIX + "expireAfterWriteSeconds";
+    public static final String RECORD_STATS = PROPERTY_PREFIX + "recordStats";
+    public static final String STORE_BY_VALUE = PROPERTY_PREFIX + "storeByValue";
+
+    private final Map<String, GuavaCache> caches = new ConcurrentHashMap<>();
+    private Properties properties = new Properties();
+
+    @Override
+    public void initialise(final Properties properties) {
+        this.properties = null != properties ? properties : new Properties();
+    }
+
+    @Override
+    public void shutdown() {
+        caches.values().forEach(GuavaCache::clear);
+        caches.clear();
+    }
+
+    @Override
+    public <K, V> ICache<K, V> getCache(final String cacheName) {
+        return caches.computeIfAbsent(cacheName, this::createCache);
+    }
+
+    private GuavaCache createCache(final String cacheName) {
+        final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+        final long maximumSize = getLongProperty(cacheName, MAXIMUM_SIZE);
+        if (maximumSize >= 0) {
+            builder.maximumSize(maximumSize);
+        }
+        final long expireAfterWrite = getLongProperty(cacheName, EXPIRE_AFTER_WRITE_SECONDS);
+        if (expireAfterWrite > 0) {
+            builder.expireAfterWrite(expireAfterWrite, TimeUnit.SECONDS);
+        }
+        if (Boolean.parseBoolean(getProperty(cacheName, RECORD_STATS, "true"))) {
+            builder.recordStats();
+        }
+
+        final boolean storeByValue = Boolean.parseBoolean(getProperty(cacheName, STORE_BY_VALUE, "false"));
+        return new GuavaCache<>(builder.build(), storeByValue);
+    }
+
+    private long getLongProperty(final String cacheName, final String key) {
+        final String value = getProperty(cacheName, key, null);
+        if (null == value) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for cache property " + key + ": " + value, e);
+        }
+    }
+
+    private String getProperty(final String cacheName, final String key, final String defaultValue) {
+        final String cacheKey = PROPERTY_PREFIX + cacheName + "." + key.substring(PROPERTY_PREFIX.length());
+        return properties.getProperty(cacheKey, properties.getProperty(key, defaultValue));
+    }
+}
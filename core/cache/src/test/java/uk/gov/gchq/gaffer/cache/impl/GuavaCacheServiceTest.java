@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.cache.impl;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
+
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GuavaCacheServiceTest {
+
+    private static final String CACHE_NAME = "test";
+
+    private GuavaCacheService service = new GuavaCacheService();
+
+    @Before
+    public void before() {
+        service.initialise(null);
+    }
+
+    @After
+    public void after() {
+        service.shutdown();
+    }
+
+    @Test
+    public void shouldReturnInstanceOfGuavaCache() {
+        // When
+        final ICache cache = service.getCache(CACHE_NAME);
+
+        // Then
+        assertTrue(cache instanceof GuavaCache);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldReUseCacheIfOneExists() throws CacheOperationException {
+        // Given
+        final ICache<String, Integer> cache = service.getCache(CACHE_NAME);
+        cache.put("key", 1);
+
+        // When
+        final ICache<String, Integer> sameCache = service.getCache(CACHE_NAME);
+
+        // Then
+        assertSame(cache, sameCache);
+        assertEquals((Integer) 1, sameCache.get("key"));
+    }
+
+    @Test
+    public void shouldAddUpdateAndRemoveEntries() throws CacheOperationException {
+        // Given
+        service.putInCache(CACHE_NAME, "test", 1);
+
+        // When
+        try {
+            service.putSafeInCache(CACHE_NAME, "test", 2);
+            fail("Exception expected");
+        } catch (final OverwritingException e) {
+            assertEquals((Integer) 1, service.getFromCache(CACHE_NAME, "test"));
+        }
+        service.putInCache(CACHE_NAME, "test", 2);
+        service.putInCache(CACHE_NAME, "test2", 3);
+        service.removeFromCache(CACHE_NAME, "test2");
+
+        // Then
+        assertEquals((Integer) 2, service.getFromCache(CACHE_NAME, "test"));
+        assertEquals(1, service.sizeOfCache(CACHE_NAME));
+    }
+
+    @Test
+    public void shouldRecordStatsByDefault() throws CacheOperationException {
+        // Given
+        service.putInCache(CACHE_NAME, "test", 1);
+
+        // When
+        service.getFromCache(CACHE_NAME, "test");
+        service.getFromCache(CACHE_NAME, "missing");
+
+        // Then
+        final GuavaCache cache = (GuavaCache) service.getCache(CACHE_NAME);
+        assertEquals(1, cache.getStats().hitCount());
+        assertEquals(1, cache.getStats().missCount());
+    }
+
+    @Test
+    public void shouldApplyMaximumSizeWithPerCacheOverride() throws CacheOperationException {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(GuavaCacheService.MAXIMUM_SIZE, "5");
+        properties.setProperty(GuavaCacheService.PROPERTY_PREFIX + "large.maximumSize", "50");
+        service.initialise(properties);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            service.putInCache(CACHE_NAME, "key" + i, i);
+            service.putInCache("large", "key" + i, i);
+        }
+
+        // Then
+        assertEquals(5, service.sizeOfCache(CACHE_NAME));
+        assertEquals(50, service.sizeOfCache("large"));
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidProperty() {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(GuavaCacheService.EXPIRE_AFTER_WRITE_SECONDS, "tomorrow");
+        service.initialise(properties);
+
+        // When / Then
+        try {
+            service.getCache(CACHE_NAME);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(GuavaCacheService.EXPIRE_AFTER_WRITE_SECONDS));
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.cache.impl;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.hamcrest.core.IsCollectionContaining;
+import org.junit.Assert;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GuavaCacheTest {
+
+    private GuavaCache<String, Integer> cache = new GuavaCache<>(CacheBuilder.newBuilder().recordStats().build());
+
+    @Test
+    public void shouldAddToAndReadFromCache() throws CacheOperationException {
+        // When
+        cache.put("key", 1);
+
+        // Then
+        assertEquals(1, cache.size());
+        assertEquals((Integer) 1, cache.get("key"));
+    }
+
+    @Test
+    public void shouldUpdateAndDeleteCachedEntries() throws CacheOperationException {
+        // Given
+        cache.put("key1", 1);
+        cache.put("key2", 2);
+
+        // When
+        cache.put("key1", 3);
+        cache.remove("key2");
+
+        // Then
+        assertEquals(1, cache.size());
+        assertEquals((Integer) 3, cache.get("key1"));
+        assertNull(cache.get("key2"));
+    }
+
+    @Test
+    public void shouldGetAllKeysAndValues() throws CacheOperationException {
+        // Given
+        cache.put("test1", 1);
+        cache.put("test2", 2);
+        cache.put("duplicate", 2);
+
+        // When / Then
+        Assert.assertThat(cache.getAllKeys(), IsCollectionContaining.hasItems("test1", "test2", "duplicate"));
+        assertEquals(3, cache.getAllValues().size());
+        Assert.assertThat(cache.getAllValues(), IsCollectionContaining.hasItems(1, 2));
+    }
+
+    @Test
+    public void shouldRemoveAllEntries() throws CacheOperationException {
+        // Given
+        cache.put("key1", 1);
+        cache.put("key2", 2);
+
+        // When
+        cache.clear();
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldOnlyPutSafeIfAbsent() throws CacheOperationException {
+        // Given
+        cache.putSafe("key", 1);
+
+        // When
+        try {
+            cache.putSafe("key", 2);
+            fail("Exception expected");
+        } catch (final OverwritingException e) {
+            // Then
+            assertEquals((Integer) 1, cache.get("key"));
+        }
+    }
+
+    @Test
+    public void shouldEvictEntriesWhenMaximumSizeExceeded() throws CacheOperationException {
+        // Given
+        final GuavaCache<String, Integer> boundedCache = new GuavaCache<>(CacheBuilder.newBuilder()
+                .maximumSize(10)
+                .recordStats()
+                .build());
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            boundedCache.put("key" + i, i);
+        }
+
+        // Then
+        assertEquals(10, boundedCache.size());
+        assertEquals((Integer) 99, boundedCache.get("key99"));
+        assertEquals(90, boundedCache.getStats().evictionCount());
+    }
+
+    @Test
+    public void shouldExpireEntriesAfterWrite() throws CacheOperationException {
+        // Given
+        final AtomicLong time = new AtomicLong();
+        final GuavaCache<String, Integer> expiringCache = new GuavaCache<>(CacheBuilder.newBuilder()
+                .expireAfterWrite(10, TimeUnit.SECONDS)
+                .ticker(new Ticker() {
+                    @Override
+                    public long read() {
+                        return time.get();
+                    }
+                })
+                .build());
+        expiringCache.put("key", 1);
+
+        // When
+        time.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        final Integer beforeExpiry = expiringCache.get("key");
+        time.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        final Integer afterExpiry = expiringCache.get("key");
+
+        // Then
+        assertEquals((Integer) 1, beforeExpiry);
+        assertNull(afterExpiry);
+        assertEquals(0, expiringCache.size());
+    }
+
+    @Test
+    public void shouldRecordHitsAndMisses() throws CacheOperationException {
+        // Given
+        cache.put("key", 1);
+
+        // When
+        cache.get("key");
+        cache.get("key");
+        cache.get("missing");
+
+        // Then
+        final CacheStats stats = cache.getStats();
+        assertEquals(2, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+
+    @Test
+    public void shouldStoreCopyOfValueWhenStoringByValue() throws CacheOperationException {
+        // Given
+        final GuavaCache<String, List<String>> byValueCache = new GuavaCache<>(CacheBuilder.newBuilder().build(), true);
+        final List<String> value = new ArrayList<>();
+        value.add("a");
+
+        // When
+        byValueCache.put("key", value);
+        value.add("b");
+
+        // Then
+        final List<String> cached = byValueCache.get("key");
+        assertNotSame(value, cached);
+        assertEquals(1, cached.size());
+        assertSame(cached, byValueCache.get("key"));
+    }
+
+    @Test
+    public void shouldThrowForNonJavaSerialisableWhenStoringByValue() throws CacheOperationException {
+        // Given
+        final GuavaCache<String, Object> byValueCache = new GuavaCache<>(CacheBuilder.newBuilder().build(), true);
+
+        class TempClass {
+        }
+
+        // When / Then
+        try {
+            byValueCache.put("key", new TempClass());
+            fail("Exception expected");
+        } catch (final CacheOperationException e) {
+            assertNull(byValueCache.get("key"));
+        }
+    }
+
+    @Test
+    public void shouldPutValuesFromMultipleThreads() {
+        // When
+        IntStream.range(0, 10000).parallel().forEach(i -> {
+            try {
+                cache.put("key" + i, i);
+            } catch (final CacheOperationException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        // Then
+        assertEquals(10000, cache.size());
+        assertTrue(IntStream.range(0, 10000).allMatch(i -> ((Integer) i).equals(cache.get("key" + i))));
+    }
+}
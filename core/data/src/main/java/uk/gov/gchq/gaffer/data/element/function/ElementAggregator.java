@@ -32,10 +32,16 @@ import java.util.function.BinaryOperator;
 /**
  * An {@link ElementAggregator} is a {@link BinaryOperator} which aggregates two
  * {@link Element} objects into a single element.
+ * <p>
+ * Each thread wraps properties in its own {@link PropertiesTuple}s, so a single
+ * {@code ElementAggregator} can be used to aggregate from multiple threads,
+ * provided the aggregate functions are thread safe and each thread aggregates
+ * into different state.
+ * </p>
  */
 public class ElementAggregator extends TupleAdaptedBinaryOperatorComposite<String> {
-    private final PropertiesTuple stateTuple = new PropertiesTuple();
-    private final PropertiesTuple propertiesTuple = new PropertiesTuple();
+    private final ThreadLocal<PropertiesTuple> stateTuples = ThreadLocal.withInitial(PropertiesTuple::new);
+    private final ThreadLocal<PropertiesTuple> propertiesTuples = ThreadLocal.withInitial(PropertiesTuple::new);
     private boolean readOnly;
 
     /**
@@ -60,6 +66,8 @@ public class ElementAggregator extends TupleAdaptedBinaryOperatorComposite<Strin
             return properties;
         }
 
+        final PropertiesTuple stateTuple = stateTuples.get();
+        final PropertiesTuple propertiesTuple = propertiesTuples.get();
         propertiesTuple.setProperties(properties);
         stateTuple.setProperties(state);
         apply(stateTuple, propertiesTuple);
@@ -92,12 +100,8 @@ public class ElementAggregator extends TupleAdaptedBinaryOperatorComposite<Strin
             return false;
         }
 
-        final ElementAggregator that = (ElementAggregator) obj;
-
         return new EqualsBuilder()
                 .appendSuper(super.equals(obj))
-                .append(stateTuple, that.stateTuple)
-                .append(propertiesTuple, that.propertiesTuple)
                 .isEquals();
     }
 
@@ -105,16 +109,13 @@ public class ElementAggregator extends TupleAdaptedBinaryOperatorComposite<Strin
     public int hashCode() {
         return new HashCodeBuilder(59, 13)
                 .appendSuper(super.hashCode())
-                .append(stateTuple)
-                .append(propertiesTuple)
                 .toHashCode();
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this)
-                .append("stateTuple", stateTuple)
-                .append("propertiesTuple", propertiesTuple)
+                .appendSuper(super.toString())
                 .toString();
     }
 
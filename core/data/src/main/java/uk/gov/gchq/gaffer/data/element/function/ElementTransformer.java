@@ -30,11 +30,17 @@ import java.util.function.Function;
 /**
  * An {@code ElementTransformer} is a {@link Function} which applies a series of
  * transformations to an {@link Element}.
+ * <p>
+ * Each thread wraps elements in its own {@link ElementTuple}, so a single
+ * {@code ElementTransformer} can be used to transform elements from multiple
+ * threads, provided the functions it applies are thread safe.
+ * </p>
  */
 public class ElementTransformer extends TupleAdaptedFunctionComposite<String> {
-    private final ElementTuple elementTuple = new ElementTuple();
+    private final ThreadLocal<ElementTuple> elementTuples = ThreadLocal.withInitial(ElementTuple::new);
 
     public Element apply(final Element element) {
+        final ElementTuple elementTuple = elementTuples.get();
         elementTuple.setElement(element);
         apply(elementTuple);
         return element;
@@ -50,11 +56,8 @@ public class ElementTransformer extends TupleAdaptedFunctionComposite<String> {
             return false;
         }
 
-        final ElementTransformer that = (ElementTransformer) obj;
-
         return new EqualsBuilder()
                 .appendSuper(super.equals(obj))
-                .append(elementTuple, that.elementTuple)
                 .isEquals();
     }
 
@@ -62,14 +65,13 @@ public class ElementTransformer extends TupleAdaptedFunctionComposite<String> {
     public int hashCode() {
         return new HashCodeBuilder(47, 17)
                 .appendSuper(super.hashCode())
-                .append(elementTuple)
                 .toHashCode();
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this)
-                .append("elementTuple", elementTuple)
+                .appendSuper(super.toString())
                 .toString();
     }
 
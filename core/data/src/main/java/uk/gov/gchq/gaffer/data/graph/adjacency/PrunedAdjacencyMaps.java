@@ -17,6 +17,8 @@
 package uk.gov.gchq.gaffer.data.graph.adjacency;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -29,6 +31,9 @@ import java.util.Set;
  * added map. Any entries in the preceding map which do not join up with a
  * source vertex in the new map are deemed to be orphaned paths, and are
  * removed.
+ * <p>
+ * The pruning is incremental: only the vertices orphaned by the previous
+ * removal are checked in each earlier map, rather than every destination.
  */
 public class PrunedAdjacencyMaps implements AdjacencyMaps {
 
@@ -39,7 +44,20 @@ public class PrunedAdjacencyMaps implements AdjacencyMaps {
 
     @Override
     public void add(final AdjacencyMap adjacencyMap) {
-        removeOrphans(adjacencyMaps, adjacencyMap);
+        if (!adjacencyMaps.isEmpty()) {
+            final int prevIndex = adjacencyMaps.size() - 1;
+            final List<Object> orphans = new ArrayList<>();
+
+            // Build up the list of destination vertices in the previous map which
+            // do not connect to any source vertices in the new map
+            for (final Object dest : adjacencyMaps.get(prevIndex).getAllDestinations()) {
+                if (!adjacencyMap.containsSource(dest)) {
+                    orphans.add(dest);
+                }
+            }
+
+            removeOrphans(prevIndex, orphans);
+        }
         adjacencyMaps.add(adjacencyMap);
     }
 
@@ -49,36 +67,31 @@ public class PrunedAdjacencyMaps implements AdjacencyMaps {
      * An orphaned edge is one which does not form part of a walk which reaches
      * a destination vertex in the "topmost" adjacency map under consideration.
      * <p>
-     * This method will recursively process all maps in the provided adjacency
-     * map list.
+     * The edges to the orphaned vertices are removed from the map at the
+     * given index. Any sources which are left without edges are then orphaned
+     * vertices in the preceding map, which is processed recursively.
      *
-     * @param maps the list of adjacency maps being considered
-     * @param curr the "topmost" adjacency map under consideration
+     * @param index   the index of the adjacency map being considered
+     * @param orphans the vertices which no longer connect to the following map
      */
-    private void removeOrphans(final List<AdjacencyMap> maps, final AdjacencyMap curr) {
-        if (!maps.isEmpty()) {
-            final AdjacencyMap prev = maps.get(maps.size() - 1);
-
-            final Set<Object> prevDestinations = prev.getAllDestinations();
-
-            final List<Object> verticesToRemove = new ArrayList<>();
+    private void removeOrphans(final int index, final Collection<Object> orphans) {
+        if (index < 0 || orphans.isEmpty()) {
+            return;
+        }
 
-            // Build up the list of destination vertices in the previous map which
-            // do not connect to any source vertices in the current map
-            for (final Object dest : prevDestinations) {
-                if (!curr.containsSource(dest)) {
-                    verticesToRemove.add(dest);
+        final AdjacencyMap map = adjacencyMaps.get(index);
+        final Set<Object> sourceOrphans = new HashSet<>();
+        for (final Object dest : orphans) {
+            final Set<Object> sources = new HashSet<>(map.getSources(dest));
+            map.removeAllWithDestination(dest);
+            for (final Object source : sources) {
+                if (!map.containsSource(source)) {
+                    sourceOrphans.add(source);
                 }
             }
-
-            // Remove all orphaned vertices
-            for (final Object dest : verticesToRemove) {
-                prev.removeAllWithDestination(dest);
-            }
-
-            // Recursively call this method
-            removeOrphans(maps.subList(0, maps.size() - 1), prev);
         }
+
+        removeOrphans(index - 1, sourceOrphans);
     }
 
     @Override
@@ -31,6 +31,7 @@ import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
 import java.util.List;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 import static junit.framework.TestCase.assertSame;
 import static org.junit.Assert.assertEquals;
@@ -79,6 +80,33 @@ public class ElementFilterTest extends JSONSerialisationTest<ElementFilter> {
         assertFalse(result2);
     }
 
+    @Test
+    public void shouldTestElementsFromMultipleThreads() {
+        // Given
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select("prop1", "prop2")
+                .execute(new KoryphePredicate2<Integer, Integer>() {
+                    @Override
+                    public boolean test(final Integer o, final Integer o2) {
+                        return o.equals(o2);
+                    }
+                })
+                .build();
+
+        // When
+        final long passed = IntStream.range(0, 10000)
+                .parallel()
+                .mapToObj(i -> new Entity.Builder()
+                        .property("prop1", i)
+                        .property("prop2", i)
+                        .build())
+                .filter(filter::test)
+                .count();
+
+        // Then
+        assertEquals(10000, passed);
+    }
+
     @Test
     public void shouldTestElementOnPredicate2WithValidationResult() {
         // Given
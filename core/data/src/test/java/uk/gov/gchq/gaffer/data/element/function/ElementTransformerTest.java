@@ -25,7 +25,10 @@ import uk.gov.gchq.gaffer.data.element.IdentifierType;
 import uk.gov.gchq.koryphe.impl.function.Identity;
 import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
 
+import java.util.List;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
@@ -105,6 +108,29 @@ public class ElementTransformerTest {
         assertEquals("prop1".length(), result.getProperty("prop3"));
     }
 
+    @Test
+    public void shouldTransformElementsFromMultipleThreads() {
+        // Given
+        final ElementTransformer transformer = new ElementTransformer.Builder()
+                .select("prop1")
+                .execute(new Identity())
+                .project("prop2")
+                .build();
+        final List<Element> elements = IntStream.range(0, 10000)
+                .mapToObj(i -> new Entity.Builder()
+                        .property("prop1", i)
+                        .build())
+                .collect(Collectors.toList());
+
+        // When
+        elements.parallelStream().forEach(transformer::apply);
+
+        // Then
+        for (final Element element : elements) {
+            assertEquals(element.getProperty("prop1"), element.getProperty("prop2"));
+        }
+    }
+
     @Test
     public void shouldBuildTransformer() {
         // Given
@@ -16,13 +16,17 @@
 
 package uk.gov.gchq.gaffer.data.graph.adjacency;
 
+import com.google.common.collect.Sets;
 import org.junit.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.data.element.Edge;
 
+import java.util.Collections;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.junit.Assert.assertEquals;
 
 public class PrunedAdjacencyMapsTest {
 
@@ -95,7 +99,49 @@ public class PrunedAdjacencyMapsTest {
         assertThat(thirdPruned.getDestinations(5), hasSize(2));
     }
 
+    @Test
+    public void shouldRemoveOrphanedEdgesFromAllPreviousMaps() {
+        // Given
+        final PrunedAdjacencyMaps adjacencyMaps = new PrunedAdjacencyMaps();
+        adjacencyMaps.add(createAdjacencyMap("A", "B", "A", "C", "A", "D"));
+        adjacencyMaps.add(createAdjacencyMap("B", "E", "C", "F", "D", "G"));
+        adjacencyMaps.add(createAdjacencyMap("E", "H", "F", "I", "F", "J"));
+
+        // When
+        adjacencyMaps.add(createAdjacencyMap("I", "K"));
+
+        // Then
+        assertEquals(Sets.newHashSet("C"), adjacencyMaps.get(0).getDestinations("A"));
+        assertEquals(Sets.newHashSet("C"), adjacencyMaps.get(1).getAllSources());
+        assertEquals(Sets.newHashSet("F"), adjacencyMaps.get(2).getAllSources());
+        assertEquals(Sets.newHashSet("I"), adjacencyMaps.get(2).getAllDestinations());
+        assertEquals(Sets.newHashSet("K"), adjacencyMaps.get(3).getAllDestinations());
+    }
+
+    @Test
+    public void shouldRemoveAllEdgesWhenNewMapIsEmpty() {
+        // Given
+        final PrunedAdjacencyMaps adjacencyMaps = new PrunedAdjacencyMaps();
+        adjacencyMaps.add(createAdjacencyMap("A", "B"));
+        adjacencyMaps.add(createAdjacencyMap("B", "C"));
+
+        // When
+        adjacencyMaps.add(new AdjacencyMap());
+
+        // Then
+        assertEquals(Collections.emptySet(), adjacencyMaps.get(0).getAllSources());
+        assertEquals(Collections.emptySet(), adjacencyMaps.get(1).getAllSources());
+    }
+
     private Edge makeEdge(final Object source, final Object destination) {
         return new Edge.Builder().group(TestGroups.EDGE).source(source).dest(destination).directed(true).build();
     }
+
+    private AdjacencyMap createAdjacencyMap(final String... vertices) {
+        final AdjacencyMap adjacencyMap = new AdjacencyMap();
+        for (int i = 0; i < vertices.length; i += 2) {
+            adjacencyMap.putEdge(vertices[i], vertices[i + 1], makeEdge(vertices[i], vertices[i + 1]));
+        }
+        return adjacencyMap;
+    }
 }
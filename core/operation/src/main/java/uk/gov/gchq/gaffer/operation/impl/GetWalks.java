@@ -52,6 +52,14 @@ import java.util.stream.Collectors;
  * A GetWalks operation is configured using a user-supplied list of {@link
  * GetElements} operations. These are executed sequentially, with the output of
  * one operation providing the input {@link EntityId}s for the next.
+ * <p>
+ * The frontier of seeds passed between hops can be controlled with options:
+ * {@link #OPTION_FRONTIER_DEDUPE} removes duplicate seeds from each hop, either
+ * exactly or approximately using a bloom filter, {@link #OPTION_EXCLUDE_VISITED}
+ * does not query vertices which have already been seeds in an earlier hop and
+ * {@link #OPTION_MAX_FAN_OUT} limits the number of adjacent vertices followed
+ * from each vertex in a hop. Excluding visited vertices or limiting the fan out
+ * means some walks will not be returned.
  */
 @JsonPropertyOrder(value = {"class", "input", "operations", "includePartial"}, alphabetic = true)
 @Since("1.1.0")
@@ -64,6 +72,38 @@ public class GetWalks implements
     public static final String HOP_DEFINITION = "A hop is a GetElements operation that selects at least 1 edge group.";
     public static final int DEFAULT_RESULTS_LIMIT = 1000000;
 
+    /**
+     * Option to remove duplicate seeds from the frontier of each hop, either
+     * {@link #FRONTIER_DEDUPE_EXACT} or {@link #FRONTIER_DEDUPE_BLOOM}.
+     */
+    public static final String OPTION_FRONTIER_DEDUPE = "gaffer.getwalks.frontier.dedupe";
+    public static final String FRONTIER_DEDUPE_EXACT = "exact";
+
+    /**
+     * Dedupes using a bloom filter, so uses a fixed amount of memory but may
+     * occasionally drop a seed which has not been seen before.
+     */
+    public static final String FRONTIER_DEDUPE_BLOOM = "bloom";
+
+    /**
+     * Option for the expected number of seeds when deduping with a bloom
+     * filter.
+     */
+    public static final String OPTION_FRONTIER_BLOOM_SIZE = "gaffer.getwalks.frontier.bloom.size";
+    public static final int FRONTIER_BLOOM_SIZE_DEFAULT = 1000000;
+
+    /**
+     * Option to exclude vertices which have already been seeds in an earlier
+     * hop from the frontier. This also dedupes the frontier.
+     */
+    public static final String OPTION_EXCLUDE_VISITED = "gaffer.getwalks.excludeVisited";
+
+    /**
+     * Option for the maximum number of adjacent vertices followed from each
+     * vertex in a hop.
+     */
+    public static final String OPTION_MAX_FAN_OUT = "gaffer.getwalks.maxFanOut";
+
     private List<OperationChain<Iterable<Element>>> operations = new ArrayList<>();
     private Iterable<? extends EntityId> input;
 
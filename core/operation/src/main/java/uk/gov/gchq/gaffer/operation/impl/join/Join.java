@@ -45,6 +45,12 @@ import java.util.Map;
  * <p>
  * Note: The input iterables are limited by default to 100,000 as these are read into memory as a Collection.
  * This limit can be changed by adding specifying a collectionLimit in the Operation.
+ * <p>
+ * If the {@link #OPTION_STREAM} option is set to true, the results are streamed lazily instead and only
+ * the match candidates are held in memory. If the {@link #OPTION_SPILL_THRESHOLD} option is also set and
+ * there are more match candidates than the threshold, both inputs are partitioned to local disk and each
+ * partition is joined separately, so the collectionLimit is not applied. The results are then returned
+ * in partition order rather than input order.
  *
  * @param <I> Iterable input type.
  */
@@ -54,6 +60,30 @@ import java.util.Map;
 public class Join<I> implements InputOutput<Iterable<? extends I>,
         Iterable<? extends MapTuple>>, MultiInput<I>,
         Operations<Operation> {
+    /**
+     * Option to stream the results lazily rather than returning a list.
+     */
+    public static final String OPTION_STREAM = "gaffer.join.stream";
+
+    /**
+     * Option for the maximum number of match candidates held in memory when streaming, before both
+     * inputs are partitioned to disk. The match method must support partitioning and the inputs are
+     * written with Java serialisation, so they must be {@link java.io.Serializable}. If the buffered
+     * match candidates are not, they are all held in memory instead.
+     */
+    public static final String OPTION_SPILL_THRESHOLD = "gaffer.join.spill.threshold";
+
+    /**
+     * Option for the number of partitions to use when the inputs are partitioned to disk.
+     */
+    public static final String OPTION_SPILL_PARTITIONS = "gaffer.join.spill.partitions";
+    public static final int OPTION_SPILL_PARTITIONS_DEFAULT = 16;
+
+    /**
+     * Option for the directory the partitions are written to, defaults to the java temp directory.
+     */
+    public static final String OPTION_SPILL_DIR = "gaffer.join.spill.dir";
+
     private Iterable<? extends I> leftSideInput;
     private Operation rightSideOperation;
     private Match matchMethod;
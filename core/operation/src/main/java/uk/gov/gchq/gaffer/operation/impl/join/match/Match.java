@@ -39,4 +39,38 @@ public interface Match {
      * @return List containing matched Objects.
      */
     List matching(final Object testObject);
+
+    /**
+     * Whether the inputs can be partitioned using the keys from
+     * {@link #getTestObjectKey(Object)} and {@link #getMatchCandidateKey(Object)}.
+     * This allows joins to split large inputs into partitions which are
+     * matched separately.
+     *
+     * @return true if the keys are supported by this match
+     */
+    default boolean canPartition() {
+        return false;
+    }
+
+    /**
+     * Gets the key of a test Object. A test Object can only match candidates
+     * with an equal key.
+     *
+     * @param testObject the test Object
+     * @return the key of the test Object
+     */
+    default Object getTestObjectKey(final Object testObject) {
+        throw new UnsupportedOperationException(getClass().getName() + " cannot be partitioned");
+    }
+
+    /**
+     * Gets the key of a match candidate. A match candidate can only match test
+     * Objects with an equal key.
+     *
+     * @param matchCandidate the match candidate
+     * @return the key of the match candidate
+     */
+    default Object getMatchCandidateKey(final Object matchCandidate) {
+        throw new UnsupportedOperationException(getClass().getName() + " cannot be partitioned");
+    }
 }
@@ -23,6 +23,7 @@ import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
 import uk.gov.gchq.koryphe.tuple.MapTuple;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -47,28 +48,32 @@ public abstract class JoinFunction {
         }
 
         List<MapTuple> resultList = new ArrayList<>();
-        List matching;
 
-        if (flatten) {
-            for (final Object keyObj : keys) {
-                matching = match.matching(keyObj);
-                final List<MapTuple> mapTuples = joinFlattened(keyObj, matching, keyName, matchingValuesName);
-                if (!mapTuples.isEmpty()) {
-                    resultList.addAll(mapTuples);
-                }
-            }
-        } else {
-            for (final Object keyObj : keys) {
-                matching = match.matching(keyObj);
-                final MapTuple mapTuple = joinAggregated(keyObj, matching, keyName, matchingValuesName);
-                if (mapTuple != null) {
-                    resultList.add(mapTuple);
-                }
-            }
+        for (final Object keyObj : keys) {
+            resultList.addAll(join(keyObj, match.matching(keyObj), keyName, matchingValuesName, flatten));
         }
         return resultList;
     }
 
+    /**
+     * Joins a single key with its matches.
+     *
+     * @param key                the key
+     * @param matches            a list containing the matches
+     * @param keyName            the name of the keyed side (LEFT or RIGHT)
+     * @param matchingValuesName the corresponding value side (LEFT or RIGHT)
+     * @param flatten            whether to create a MapTuple for each match
+     * @return the joined MapTuples, which may be empty
+     */
+    public List<MapTuple> join(final Object key, final List matches, final String keyName, final String matchingValuesName, final Boolean flatten) {
+        if (flatten) {
+            return joinFlattened(key, matches, keyName, matchingValuesName);
+        }
+
+        final MapTuple mapTuple = joinAggregated(key, matches, keyName, matchingValuesName);
+        return null != mapTuple ? Collections.singletonList(mapTuple) : Collections.emptyList();
+    }
+
     @Deprecated
     protected List<MapTuple> join(final Iterable keys, final String keyName, final String matchingValuesName, final Match match, final Boolean flatten) {
         throw new NotImplementedException();
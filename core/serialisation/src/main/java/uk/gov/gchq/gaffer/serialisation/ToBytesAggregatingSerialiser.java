@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.serialisation;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+
+import java.util.function.BinaryOperator;
+
+/**
+ * A {@code ToBytesAggregatingSerialiser} is a {@link ToBytesSerialiser} that
+ * is also able to apply some aggregate functions directly to serialised values.
+ * This allows stores to aggregate properties in server side iterators and
+ * coprocessors without deserialising them into objects and serialising the
+ * result again.
+ * <p>
+ * Aggregating the serialised values must produce exactly the same bytes as
+ * deserialising the values, applying the aggregate function and serialising
+ * the result.
+ * </p>
+ *
+ * @param <T> the type of object serialised
+ */
+public interface ToBytesAggregatingSerialiser<T> extends ToBytesSerialiser<T> {
+
+    /**
+     * @param aggregateFunction the aggregate function
+     * @return true if the aggregate function can be applied to values in
+     * their serialised form
+     */
+    boolean canAggregateSerialised(final BinaryOperator<?> aggregateFunction);
+
+    /**
+     * Applies the aggregate function to two serialised values. Both ranges
+     * are non-empty - null values are handled by the caller, which should
+     * return the other value, as the aggregate functions do.
+     *
+     * @param aggregateFunction the aggregate function, which must be supported
+     *                          by {@link #canAggregateSerialised(BinaryOperator)}
+     * @param bytes1            the bytes containing the first value
+     * @param offset1           the index of the first byte of the first value
+     * @param length1           the number of bytes in the first value
+     * @param bytes2            the bytes containing the second value
+     * @param offset2           the index of the first byte of the second value
+     * @param length2           the number of bytes in the second value
+     * @return the serialised aggregated value
+     * @throws SerialisationException if the values cannot be aggregated
+     */
+    byte[] aggregateSerialised(final BinaryOperator<?> aggregateFunction,
+                               final byte[] bytes1, final int offset1, final int length1,
+                               final byte[] bytes2, final int offset2, final int length2) throws SerialisationException;
+}
@@ -17,16 +17,20 @@
 package uk.gov.gchq.gaffer.serialisation.implementation.ordered;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
-import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesAggregatingSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.SerialisedAggregationUtil;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Min;
 
 import java.util.Date;
+import java.util.function.BinaryOperator;
 
 /**
  * An {@code OrderedDateSerialiser} serialises a {@link Date} to
  * an array of bytes by directly converting the underlying long to a byte array.
  * This serialiser preserves ordering.
  */
-public class OrderedDateSerialiser implements ToBytesSerialiser<Date> {
+public class OrderedDateSerialiser implements ToBytesAggregatingSerialiser<Date> {
 
     private static final long serialVersionUID = 6636121009320739764L;
     private static final OrderedLongSerialiser LONG_SERIALISER = new OrderedLongSerialiser();
@@ -41,6 +45,11 @@ public class OrderedDateSerialiser implements ToBytesSerialiser<Date> {
         return new Date(LONG_SERIALISER.deserialise(bytes));
     }
 
+    @Override
+    public Date deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        return new Date(LONG_SERIALISER.deserialise(allBytes, offset, length));
+    }
+
     @Override
     public Date deserialiseEmpty() {
         return null;
@@ -61,6 +70,22 @@ public class OrderedDateSerialiser implements ToBytesSerialiser<Date> {
         return Date.class.equals(clazz);
     }
 
+    @Override
+    public boolean canAggregateSerialised(final BinaryOperator<?> aggregateFunction) {
+        return SerialisedAggregationUtil.isFunction(aggregateFunction, Max.class, Min.class);
+    }
+
+    @Override
+    public byte[] aggregateSerialised(final BinaryOperator<?> aggregateFunction,
+                                      final byte[] bytes1, final int offset1, final int length1,
+                                      final byte[] bytes2, final int offset2, final int length2) throws SerialisationException {
+        if (!canAggregateSerialised(aggregateFunction)) {
+            throw new SerialisationException("Unable to aggregate serialised values using " + aggregateFunction);
+        }
+        return SerialisedAggregationUtil.select(SerialisedAggregationUtil.isFunction(aggregateFunction, Max.class),
+                bytes1, offset1, length1, bytes2, offset2, length2);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         return this == obj || obj != null && this.getClass() == obj.getClass();
@@ -43,7 +43,12 @@ public class OrderedDoubleSerialiser implements ToBytesSerialiser<Double> {
 
     @Override
     public Double deserialise(final byte[] bytes) throws SerialisationException {
-        long l = LONG_SERIALISER.deserialise(bytes);
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Double deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        long l = LONG_SERIALISER.deserialise(allBytes, offset, length);
         if (l < 0) {
             l = l ^ 0x8000000000000000L;
         } else {
@@ -17,14 +17,19 @@
 package uk.gov.gchq.gaffer.serialisation.implementation.ordered;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
-import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesAggregatingSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.SerialisedAggregationUtil;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Min;
+
+import java.util.function.BinaryOperator;
 
 /**
  * An {@code OrderedIntegerSerialser} serialises a {@link Integer} to
  * an array of bytes. This serialiser preserves ordering.
  * The serialser sorts Integer.MIN_VALUE first and Integer.MAX_VALUE last.
  */
-public class OrderedIntegerSerialiser implements ToBytesSerialiser<Integer> {
+public class OrderedIntegerSerialiser implements ToBytesAggregatingSerialiser<Integer> {
 
     private static final long serialVersionUID = 5671653945533196758L;
 
@@ -55,21 +60,26 @@ public class OrderedIntegerSerialiser implements ToBytesSerialiser<Integer> {
 
     @Override
     public Integer deserialise(final byte[] bytes) throws SerialisationException {
-        if (bytes[0] >= 0 && bytes[0] <= 8) {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Integer deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        if (allBytes[offset] >= 0 && allBytes[offset] <= 8) {
             int i = 0;
             int shift = 0;
 
-            for (int idx = bytes.length - 1; idx >= 0 + 1; --idx) {
-                i = (int) ((long) i + (((long) bytes[idx] & 255L) << shift));
+            for (int idx = offset + length - 1; idx >= offset + 1; --idx) {
+                i = (int) ((long) i + (((long) allBytes[idx] & 255L) << shift));
                 shift += 8;
             }
 
-            if (bytes[0] > 4) {
-                i |= -1 << (8 - bytes[0] << 3);
+            if (allBytes[offset] > 4) {
+                i |= -1 << (8 - allBytes[offset] << 3);
             }
             return Integer.valueOf(i) ^ 0x80000000;
         } else {
-            throw new SerialisationException("Unexpected length " + (255 & bytes[0]));
+            throw new SerialisationException("Unexpected length " + (255 & allBytes[offset]));
         }
     }
 
@@ -93,6 +103,22 @@ public class OrderedIntegerSerialiser implements ToBytesSerialiser<Integer> {
         return Integer.class.equals(clazz);
     }
 
+    @Override
+    public boolean canAggregateSerialised(final BinaryOperator<?> aggregateFunction) {
+        return SerialisedAggregationUtil.isFunction(aggregateFunction, Max.class, Min.class);
+    }
+
+    @Override
+    public byte[] aggregateSerialised(final BinaryOperator<?> aggregateFunction,
+                                      final byte[] bytes1, final int offset1, final int length1,
+                                      final byte[] bytes2, final int offset2, final int length2) throws SerialisationException {
+        if (!canAggregateSerialised(aggregateFunction)) {
+            throw new SerialisationException("Unable to aggregate serialised values using " + aggregateFunction);
+        }
+        return SerialisedAggregationUtil.select(SerialisedAggregationUtil.isFunction(aggregateFunction, Max.class),
+                bytes1, offset1, length1, bytes2, offset2, length2);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         return this == obj || obj != null && this.getClass() == obj.getClass();
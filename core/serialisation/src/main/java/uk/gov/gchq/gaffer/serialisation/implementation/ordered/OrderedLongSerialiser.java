@@ -17,14 +17,19 @@
 package uk.gov.gchq.gaffer.serialisation.implementation.ordered;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
-import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesAggregatingSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.SerialisedAggregationUtil;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Min;
+
+import java.util.function.BinaryOperator;
 
 /**
  * An {@code OrderedLongSerialser} serialises a {@link Long} to
  * an array of bytes. This serialiser preserves ordering.
  * The serialser sorts Long.MIN_VALUE first and Long.MAX_VALUE last.
  */
-public class OrderedLongSerialiser implements ToBytesSerialiser<Long> {
+public class OrderedLongSerialiser implements ToBytesAggregatingSerialiser<Long> {
 
     private static final long serialVersionUID = -8948380879926929233L;
 
@@ -59,21 +64,26 @@ public class OrderedLongSerialiser implements ToBytesSerialiser<Long> {
 
     @Override
     public Long deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Long deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
 
         long l = 0;
         int shift = 0;
 
-        if (bytes[0] < 0 || bytes[0] > 16) {
-            throw new SerialisationException("Unexpected length " + (0xff & bytes[0]));
+        if (allBytes[offset] < 0 || allBytes[offset] > 16) {
+            throw new SerialisationException("Unexpected length " + (0xff & allBytes[offset]));
         }
 
-        for (int i = bytes.length - 1; i >= 0 + 1; i--) {
-            l += (bytes[i] & 0xffL) << shift;
+        for (int i = offset + length - 1; i >= offset + 1; i--) {
+            l += (allBytes[i] & 0xffL) << shift;
             shift += 8;
         }
 
-        if (bytes[0] > 8) {
-            l |= -1L << ((16 - bytes[0]) << 3);
+        if (allBytes[offset] > 8) {
+            l |= -1L << ((16 - allBytes[offset]) << 3);
         }
 
         return l ^ 0x8000000000000000L;
@@ -99,6 +109,22 @@ public class OrderedLongSerialiser implements ToBytesSerialiser<Long> {
         return true;
     }
 
+    @Override
+    public boolean canAggregateSerialised(final BinaryOperator<?> aggregateFunction) {
+        return SerialisedAggregationUtil.isFunction(aggregateFunction, Max.class, Min.class);
+    }
+
+    @Override
+    public byte[] aggregateSerialised(final BinaryOperator<?> aggregateFunction,
+                                      final byte[] bytes1, final int offset1, final int length1,
+                                      final byte[] bytes2, final int offset2, final int length2) throws SerialisationException {
+        if (!canAggregateSerialised(aggregateFunction)) {
+            throw new SerialisationException("Unable to aggregate serialised values using " + aggregateFunction);
+        }
+        return SerialisedAggregationUtil.select(SerialisedAggregationUtil.isFunction(aggregateFunction, Max.class),
+                bytes1, offset1, length1, bytes2, offset2, length2);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         return this == obj || obj != null && this.getClass() == obj.getClass();
@@ -17,7 +17,14 @@
 package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
-import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesAggregatingSerialiser;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Min;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.function.BinaryOperator;
+
+import static uk.gov.gchq.gaffer.serialisation.util.SerialisedAggregationUtil.isFunction;
 
 /**
  * Serialises integers using a variable-length scheme that means smaller integers get serialised into a smaller
@@ -29,7 +36,7 @@ import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
  * equal to {@code Integer.MIN_VALUE}. This means that, in terms of serialised size, there is no benefit to
  * using an integer instead of a long.
  */
-public class CompactRawIntegerSerialiser implements ToBytesSerialiser<Integer> {
+public class CompactRawIntegerSerialiser implements ToBytesAggregatingSerialiser<Integer> {
 
     private static final long serialVersionUID = -2874472098583724627L;
 
@@ -72,6 +79,30 @@ public class CompactRawIntegerSerialiser implements ToBytesSerialiser<Integer> {
         return true;
     }
 
+    @Override
+    public boolean canAggregateSerialised(final BinaryOperator<?> aggregateFunction) {
+        return isFunction(aggregateFunction, Sum.class, Max.class, Min.class);
+    }
+
+    @Override
+    public byte[] aggregateSerialised(final BinaryOperator<?> aggregateFunction,
+                                      final byte[] bytes1, final int offset1, final int length1,
+                                      final byte[] bytes2, final int offset2, final int length2) throws SerialisationException {
+        final long value1 = CompactRawSerialisationUtils.readLong(bytes1, offset1);
+        final long value2 = CompactRawSerialisationUtils.readLong(bytes2, offset2);
+        final long result;
+        if (isFunction(aggregateFunction, Sum.class)) {
+            result = (int) (value1 + value2);
+        } else if (isFunction(aggregateFunction, Max.class)) {
+            result = Math.max(value1, value2);
+        } else if (isFunction(aggregateFunction, Min.class)) {
+            result = Math.min(value1, value2);
+        } else {
+            throw new SerialisationException("Unable to aggregate serialised values using " + aggregateFunction);
+        }
+        return CompactRawSerialisationUtils.writeLong(result);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         return this == obj || obj != null && this.getClass() == obj.getClass();
@@ -17,7 +17,14 @@
 package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
-import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesAggregatingSerialiser;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Min;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.function.BinaryOperator;
+
+import static uk.gov.gchq.gaffer.serialisation.util.SerialisedAggregationUtil.isFunction;
 
 /**
  * Serialises longs using a variable-length scheme that means smaller longs get serialised into a smaller
@@ -25,7 +32,7 @@ import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
  * large longs may be serialised into 9 bytes. This is particularly well suited to serialising count properties in
  * power-law graphs where the majority of counts will be very small.
  */
-public class CompactRawLongSerialiser implements ToBytesSerialiser<Long> {
+public class CompactRawLongSerialiser implements ToBytesAggregatingSerialiser<Long> {
 
     private static final long serialVersionUID = 6104372357426908732L;
 
@@ -64,6 +71,30 @@ public class CompactRawLongSerialiser implements ToBytesSerialiser<Long> {
         return true;
     }
 
+    @Override
+    public boolean canAggregateSerialised(final BinaryOperator<?> aggregateFunction) {
+        return isFunction(aggregateFunction, Sum.class, Max.class, Min.class);
+    }
+
+    @Override
+    public byte[] aggregateSerialised(final BinaryOperator<?> aggregateFunction,
+                                      final byte[] bytes1, final int offset1, final int length1,
+                                      final byte[] bytes2, final int offset2, final int length2) throws SerialisationException {
+        final long value1 = CompactRawSerialisationUtils.readLong(bytes1, offset1);
+        final long value2 = CompactRawSerialisationUtils.readLong(bytes2, offset2);
+        final long result;
+        if (isFunction(aggregateFunction, Sum.class)) {
+            result = value1 + value2;
+        } else if (isFunction(aggregateFunction, Max.class)) {
+            result = Math.max(value1, value2);
+        } else if (isFunction(aggregateFunction, Min.class)) {
+            result = Math.min(value1, value2);
+        } else {
+            throw new SerialisationException("Unable to aggregate serialised values using " + aggregateFunction);
+        }
+        return CompactRawSerialisationUtils.writeLong(result);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         return this == obj || obj != null && this.getClass() == obj.getClass();
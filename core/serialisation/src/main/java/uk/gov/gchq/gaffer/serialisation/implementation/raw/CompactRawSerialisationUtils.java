@@ -61,6 +61,62 @@ public final class CompactRawSerialisationUtils {
         return result;
     }
 
+    /**
+     * Writes a long into the provided byte array, starting at the given offset.
+     * This allows callers that know the size of their output up front to
+     * avoid an intermediate byte array or {@link OutputStream}.
+     *
+     * @param l      The long to write.
+     * @param bytes  The byte array to write into.
+     * @param offset The position in the byte array to start writing at.
+     * @return The position in the byte array after the written long.
+     * @see #getVIntSize(long)
+     */
+    public static int write(final long l, final byte[] bytes, final int offset) {
+        long value = l;
+        int place = offset;
+        if (value >= -112 && value <= 127) {
+            bytes[place++] = (byte) value;
+            return place;
+        }
+        int len = -112;
+        if (value < 0) {
+            value ^= -1L; // take one's complement'
+            len = -120;
+        }
+        long tmp = value;
+        while (tmp != 0) {
+            tmp = tmp >> 8;
+            len--;
+        }
+        bytes[place++] = (byte) len;
+        len = (len < -120) ? -(len + 120) : -(len + 112);
+        for (int idx = len; idx != 0; idx--) {
+            final int shiftBits = (idx - 1) * 8;
+            final long mask = 0xFFL << shiftBits;
+            bytes[place++] = (byte) ((value & mask) >> shiftBits);
+        }
+        return place;
+    }
+
+    /**
+     * Calculates the number of bytes needed to write the given long.
+     *
+     * @param l The long to be written.
+     * @return The number of bytes the serialised long will occupy.
+     */
+    public static int getVIntSize(final long l) {
+        long value = l;
+        if (value >= -112 && value <= 127) {
+            return 1;
+        }
+        if (value < 0) {
+            value ^= -1L; // take one's complement'
+        }
+        final int dataBits = Long.SIZE - Long.numberOfLeadingZeros(value);
+        return (dataBits + 7) / 8 + 1;
+    }
+
     public static long readLong(final byte[] allBytes, final int offset) throws SerialisationException {
         try {
             int carriage = offset;
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.serialisation.util;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+
+import java.util.Arrays;
+import java.util.function.BinaryOperator;
+
+/**
+ * Utility methods for implementations of
+ * {@link uk.gov.gchq.gaffer.serialisation.ToBytesAggregatingSerialiser}.
+ */
+public final class SerialisedAggregationUtil {
+    private SerialisedAggregationUtil() {
+    }
+
+    /**
+     * @param aggregateFunction the aggregate function
+     * @param functionClasses   the supported aggregate function classes
+     * @return true if the aggregate function is exactly one of the classes.
+     * Subclasses are not matched as they may change the behaviour.
+     */
+    public static boolean isFunction(final BinaryOperator<?> aggregateFunction, final Class<?>... functionClasses) {
+        if (null != aggregateFunction) {
+            for (final Class<?> functionClass : functionClasses) {
+                if (functionClass.equals(aggregateFunction.getClass())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compares two byte ranges lexicographically, treating the bytes as
+     * unsigned. This is the ordering preserved by serialisers which preserve
+     * object ordering.
+     *
+     * @param bytes1  the bytes containing the first range
+     * @param offset1 the index of the first byte of the first range
+     * @param length1 the number of bytes in the first range
+     * @param bytes2  the bytes containing the second range
+     * @param offset2 the index of the first byte of the second range
+     * @param length2 the number of bytes in the second range
+     * @return a negative number, zero or a positive number if the first range
+     * is less than, equal to or greater than the second range
+     */
+    public static int compare(final byte[] bytes1, final int offset1, final int length1,
+                              final byte[] bytes2, final int offset2, final int length2) {
+        final int length = Math.min(length1, length2);
+        for (int i = 0; i < length; i++) {
+            final int diff = (bytes1[offset1 + i] & 0xff) - (bytes2[offset2 + i] & 0xff);
+            if (0 != diff) {
+                return diff;
+            }
+        }
+        return length1 - length2;
+    }
+
+    /**
+     * Selects the greater or lesser of two serialised values, using the
+     * unsigned byte ordering, for serialisers which preserve object ordering.
+     *
+     * @param max     true to select the greater value, false for the lesser
+     * @param bytes1  the bytes containing the first value
+     * @param offset1 the index of the first byte of the first value
+     * @param length1 the number of bytes in the first value
+     * @param bytes2  the bytes containing the second value
+     * @param offset2 the index of the first byte of the second value
+     * @param length2 the number of bytes in the second value
+     * @return a copy of the selected value
+     * @throws SerialisationException if either range is outside of its bytes
+     */
+    public static byte[] select(final boolean max,
+                                final byte[] bytes1, final int offset1, final int length1,
+                                final byte[] bytes2, final int offset2, final int length2) throws SerialisationException {
+        if (offset1 + length1 > bytes1.length || offset2 + length2 > bytes2.length) {
+            throw new SerialisationException("Serialised value range is outside of the bytes provided");
+        }
+        final int comparison = compare(bytes1, offset1, length1, bytes2, offset2, length2);
+        if (max ? comparison >= 0 : comparison <= 0) {
+            return Arrays.copyOfRange(bytes1, offset1, offset1 + length1);
+        }
+        return Arrays.copyOfRange(bytes2, offset2, offset2 + length2);
+    }
+}
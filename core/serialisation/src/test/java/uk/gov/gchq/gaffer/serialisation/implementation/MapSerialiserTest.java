@@ -51,6 +51,21 @@ public class MapSerialiserTest extends ToBytesSerialisationTest<Map> {
         assertEquals((Long) 345353439L, o.get("six"));
     }
 
+    @Test
+    public void shouldDeserialiseFromOffset() throws SerialisationException {
+        // Given
+        final Map<String, Long> map = getExampleValue();
+        final byte[] bytes = serialiser.serialise(map);
+        final byte[] allBytes = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, allBytes, 2, bytes.length);
+
+        // When
+        final Map o = ((MapSerialiser) serialiser).deserialise(allBytes, 2, bytes.length);
+
+        // Then
+        assertEquals(map, o);
+    }
+
     private Map<String, Long> getExampleValue() {
         Map<String, Long> map = new HashMap<>();
         map.put("one", 123298333L);
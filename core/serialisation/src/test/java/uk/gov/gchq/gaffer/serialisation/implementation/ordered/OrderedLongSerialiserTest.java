@@ -22,7 +22,11 @@ import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialisationTest;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Min;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -39,6 +43,20 @@ public class OrderedLongSerialiserTest extends ToBytesSerialisationTest<Long> {
         }
     }
 
+    @Test
+    public void shouldDeserialiseFromOffset() throws SerialisationException {
+        // Given
+        final byte[] bytes = serialiser.serialise(-123456789L);
+        final byte[] allBytes = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, allBytes, 2, bytes.length);
+
+        // When
+        final Long value = ((OrderedLongSerialiser) serialiser).deserialise(allBytes, 2, bytes.length);
+
+        // Then
+        assertEquals((Long) (-123456789L), value);
+    }
+
     @Test
     public void canSerialiseLongMinValue() throws SerialisationException {
         byte[] b = serialiser.serialise(Long.MIN_VALUE);
@@ -75,6 +93,23 @@ public class OrderedLongSerialiserTest extends ToBytesSerialisationTest<Long> {
         assertTrue(serialiser.canHandle(Long.class));
     }
 
+    @Test
+    public void shouldAggregateSerialisedValuesWithMaxAndMin() throws SerialisationException {
+        final long[] values = {0L, 1L, -1L, 255L, 256L, -256L, Long.MAX_VALUE, Long.MIN_VALUE};
+        final OrderedLongSerialiser serialiser = new OrderedLongSerialiser();
+        for (final long value1 : values) {
+            for (final long value2 : values) {
+                final byte[] bytes1 = serialiser.serialise(value1);
+                final byte[] bytes2 = serialiser.serialise(value2);
+                assertArrayEquals(serialiser.serialise(Math.max(value1, value2)),
+                        serialiser.aggregateSerialised(new Max(), bytes1, 0, bytes1.length, bytes2, 0, bytes2.length));
+                assertArrayEquals(serialiser.serialise(Math.min(value1, value2)),
+                        serialiser.aggregateSerialised(new Min(), bytes1, 0, bytes1.length, bytes2, 0, bytes2.length));
+            }
+        }
+        assertFalse(serialiser.canAggregateSerialised(new Sum()));
+    }
+
     private static int compare(final byte[] first, final byte[] second) {
         for (int i = 0; i < first.length; i++) {
             if (first[i] < second[i]) {
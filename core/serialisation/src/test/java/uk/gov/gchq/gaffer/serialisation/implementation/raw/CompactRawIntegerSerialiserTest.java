@@ -21,7 +21,11 @@ import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialisationTest;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Min;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -71,6 +75,24 @@ public class CompactRawIntegerSerialiserTest extends ToBytesSerialisationTest<In
         assertTrue(serialiser.canHandle(Integer.class));
     }
 
+    @Test
+    public void shouldAggregateSerialisedValuesTheSameAsAggregateFunctions() throws SerialisationException {
+        final int[] values = {0, 1, -1, 1000, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        final CompactRawIntegerSerialiser serialiser = new CompactRawIntegerSerialiser();
+        for (final int value1 : values) {
+            for (final int value2 : values) {
+                final byte[] bytes1 = serialiser.serialise(value1);
+                final byte[] bytes2 = serialiser.serialise(value2);
+                assertArrayEquals(serialiser.serialise(new Sum().apply(value1, value2).intValue()),
+                        serialiser.aggregateSerialised(new Sum(), bytes1, 0, bytes1.length, bytes2, 0, bytes2.length));
+                assertArrayEquals(serialiser.serialise((Integer) new Max().apply(value1, value2)),
+                        serialiser.aggregateSerialised(new Max(), bytes1, 0, bytes1.length, bytes2, 0, bytes2.length));
+                assertArrayEquals(serialiser.serialise((Integer) new Min().apply(value1, value2)),
+                        serialiser.aggregateSerialised(new Min(), bytes1, 0, bytes1.length, bytes2, 0, bytes2.length));
+            }
+        }
+    }
+
     private void test(final int value) throws SerialisationException {
         final byte[] b = serialiser.serialise(value);
         final Object o = serialiser.deserialise(b);
@@ -23,11 +23,17 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialisationTest;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Min;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Product;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.util.function.BinaryOperator;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -77,6 +83,50 @@ public class CompactRawLongSerialiserTest extends ToBytesSerialisationTest<Long>
         assertTrue(serialiser.canHandle(Long.class));
     }
 
+    @Test
+    public void shouldAggregateSerialisedValues() throws SerialisationException {
+        final long[] values = {0L, 1L, -1L, 127L, -112L, 1000L, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (final long value1 : values) {
+            for (final long value2 : values) {
+                testAggregate(new Sum(), value1, value2, value1 + value2);
+                testAggregate(new Max(), value1, value2, Math.max(value1, value2));
+                testAggregate(new Min(), value1, value2, Math.min(value1, value2));
+            }
+        }
+    }
+
+    @Test
+    public void shouldOnlyAggregateSerialisedValuesWithSupportedFunctions() {
+        // Given
+        final CompactRawLongSerialiser serialiser = new CompactRawLongSerialiser();
+
+        // When / Then
+        assertTrue(serialiser.canAggregateSerialised(new Sum()));
+        assertTrue(serialiser.canAggregateSerialised(new Max()));
+        assertTrue(serialiser.canAggregateSerialised(new Min()));
+        assertFalse(serialiser.canAggregateSerialised(new Product()));
+        assertFalse(serialiser.canAggregateSerialised(null));
+    }
+
+    private void testAggregate(final BinaryOperator<?> function, final long value1, final long value2, final long expected) throws SerialisationException {
+        // Pad the values so the offsets are used
+        final byte[] bytes1 = pad(serialiser.serialise(value1));
+        final byte[] bytes2 = pad(serialiser.serialise(value2));
+
+        final byte[] result = ((CompactRawLongSerialiser) serialiser).aggregateSerialised(function,
+                bytes1, 1, bytes1.length - 2, bytes2, 1, bytes2.length - 2);
+
+        assertArrayEquals(serialiser.serialise(expected), result);
+    }
+
+    private static byte[] pad(final byte[] bytes) {
+        final byte[] padded = new byte[bytes.length + 2];
+        padded[0] = 5;
+        System.arraycopy(bytes, 0, padded, 1, bytes.length);
+        padded[padded.length - 1] = 5;
+        return padded;
+    }
+
     private void test(final long value) throws SerialisationException {
         final byte[] b = serialiser.serialise(value);
         final Object o = ((ToBytesSerialiser) serialiser).deserialise(b, 0, b.length);
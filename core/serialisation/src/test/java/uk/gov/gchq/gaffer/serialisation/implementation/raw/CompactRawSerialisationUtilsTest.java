@@ -18,9 +18,15 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils.decodeVIntSize;
+import static uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils.getVIntSize;
+import static uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils.readLong;
+import static uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils.write;
 import static uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils.writeLong;
 
 public class CompactRawSerialisationUtilsTest {
@@ -57,6 +63,24 @@ public class CompactRawSerialisationUtilsTest {
         assertEquals(LENGTH_SHOULD_BE_1_AS_IT_DOES_NOT_REQUIRE_A_LENGTH_BYTE, bytesUpper.length, decodeVIntSize(bytesUpper[0]));
     }
 
+    @Test
+    public void shouldWriteLongIntoByteArrayAtOffset() throws Exception {
+        for (final long l : new long[]{0, -112, 127, -113, 128, Integer.MIN_VALUE, Integer.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE}) {
+            // Given
+            final byte[] expected = writeLong(l);
+            final byte[] bytes = new byte[expected.length + 2];
+
+            // When
+            final int end = write(l, bytes, 1);
+
+            // Then
+            assertEquals(expected.length, getVIntSize(l));
+            assertEquals(1 + expected.length, end);
+            assertArrayEquals(expected, Arrays.copyOfRange(bytes, 1, end));
+            assertEquals(l, readLong(bytes, 1));
+        }
+    }
+
     @Test
     public void shouldHaveExtraByteForLength() throws Exception {
         long lExceedLowerLimit = -113;
@@ -116,6 +116,37 @@ public class LengthValueBytesSerialiserUtilTest {
         assertEquals(string3, deserialisedString3);
     }
 
+    @Test
+    public void shouldSerialiseLargeValueToExactlySizedArray() throws IOException {
+        // Given
+        final byte[] bytes = new byte[1000];
+        bytes[999] = 1;
+
+        // When
+        final byte[] serialisedBytes = LengthValueBytesSerialiserUtil.serialise(bytes);
+        final byte[] deserialisedBytes = LengthValueBytesSerialiserUtil.deserialise(serialisedBytes);
+
+        // Then
+        assertEquals(3 + bytes.length, serialisedBytes.length);
+        assertEquals(bytes.length, LengthValueBytesSerialiserUtil.getValueSize(serialisedBytes, 0));
+        assertArrayEquals(bytes, deserialisedBytes);
+    }
+
+    @Test
+    public void shouldDeserialiseEmptyValueWithSerialiser() throws IOException {
+        // Given
+        final ToBytesSerialiser<String> stringSerialiser = new StringSerialiser();
+        final byte[] serialisedBytes = LengthValueBytesSerialiserUtil.serialise(new byte[0]);
+
+        // When
+        final int[] delimiter = {0};
+        final String deserialisedString = LengthValueBytesSerialiserUtil.deserialise(stringSerialiser, serialisedBytes, delimiter);
+
+        // Then
+        assertEquals(stringSerialiser.deserialiseEmpty(), deserialisedString);
+        assertEquals(1, delimiter[0]);
+    }
+
     @Test
     public void shouldSerialiseAndDeserialiseNullValue() throws IOException {
         // Given
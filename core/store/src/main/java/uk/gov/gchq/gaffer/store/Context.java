@@ -79,6 +79,24 @@ public class Context {
         return new Context(this);
     }
 
+    /**
+     * Creates a copy of the current {@link Context} with the same job ID.
+     * The config, variables and exporters are copied into new maps, so the
+     * copy can be updated independently of this context, but the values
+     * themselves are not copied.
+     *
+     * @return copied {@link Context}
+     */
+    public Context copy() {
+        final Context context = new Context(user, new HashMap<>(config), jobId);
+        context.exporters.putAll(exporters);
+        context.variables = null != variables ? new HashMap<>(variables) : null;
+        if (null != originalOpChain) {
+            context.originalOpChain = originalOpChain.shallowClone();
+        }
+        return context;
+    }
+
     private Context(final User user, final Map<String, Object> config) {
         if (null == user) {
             throw new IllegalArgumentException("User is required");
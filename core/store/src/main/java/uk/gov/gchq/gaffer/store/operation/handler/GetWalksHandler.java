@@ -17,7 +17,13 @@
 package uk.gov.gchq.gaffer.store.operation.handler;
 
 import com.google.common.collect.Lists;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
@@ -35,6 +41,7 @@ import uk.gov.gchq.gaffer.data.graph.adjacency.SimpleAdjacencyMaps;
 import uk.gov.gchq.gaffer.data.graph.entity.EntityMap;
 import uk.gov.gchq.gaffer.data.graph.entity.EntityMaps;
 import uk.gov.gchq.gaffer.data.graph.entity.SimpleEntityMaps;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
@@ -42,15 +49,31 @@ import uk.gov.gchq.gaffer.operation.impl.Map;
 import uk.gov.gchq.gaffer.operation.impl.While;
 import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
 import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.koryphe.impl.function.IterableFunction;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -78,9 +101,20 @@ import java.util.stream.Collectors;
  * (for applications where performance is paramount and any issues arising from
  * excessive memory usage can be mitigated, this flag can be disabled).
  * <p>
+ * Setting parallelism to more than 1 enables a parallel mode. The seeds for
+ * each hop are split into batches of batchSize, which are executed on the
+ * store concurrently, with the results of each batch added to the in-memory
+ * graph as soon as they are available. The walks for each original seed are
+ * then built concurrently and streamed back in seed order, rather than being
+ * collected into a list. Each operation runs on its own pool of parallelism
+ * threads, which is shut down when the returned walks are closed, and whose
+ * threads exit once they are idle if the walks are never closed. The default
+ * parallelism is 1, which executes each hop as a single operation chain.
+ * <p>
  * This operation handler can be modified by supplying an
  * operationDeclarations.json file in order to limit the maximum number of hops
- * permitted or to enable/disable the pruning feature.
+ * permitted, to enable/disable the pruning feature or to configure the
+ * parallel mode.
  * <p>
  * Currently the handler only supports creating {@link Walk}s which contain
  * {@link Edge}s.
@@ -88,6 +122,8 @@ import java.util.stream.Collectors;
 public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterable<Walk>> {
     private Integer maxHops = null;
     private boolean prune = true;
+    private int parallelism = 1;
+    private int batchSize = 1000;
 
     @Override
     public Iterable<Walk> doOperation(final GetWalks getWalks, final Context context, final Store store) throws OperationException {
@@ -117,22 +153,32 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
 
         final AdjacencyMaps adjacencyMaps = prune && !getWalks.isIncludePartial() ? new PrunedAdjacencyMaps() : new SimpleAdjacencyMaps();
         final EntityMaps entityMaps = new SimpleEntityMaps();
+        final Frontier frontier = new Frontier(getWalks, originalInput,
+                null != store.getSchema() ? store.getSchema().getVertexSerialiser() : null);
 
         List<?> seeds = originalInput;
 
-        // Execute the operations
-        for (final OperationChain<Iterable<Element>> operation : getWalks.getOperations()) {
-            if (isWhileOperation(operation)) {
-                seeds = executeWhileOperation(
-                        operation, seeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
-                );
-            } else {
-                seeds = executeOperation(
-                        operation, seeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
-                );
+        final ExecutorService executor = isParallel() ? createExecutor() : null;
+        try {
+            // Execute the operations
+            for (final OperationChain<Iterable<Element>> operation : getWalks.getOperations()) {
+                if (isWhileOperation(operation)) {
+                    seeds = executeWhileOperation(
+                            operation, seeds, resultLimit,
+                            context, store, hops, adjacencyMaps, entityMaps, frontier, executor
+                    );
+                } else {
+                    seeds = executeOperation(
+                            operation, seeds, resultLimit,
+                            context, store, hops, adjacencyMaps, entityMaps, frontier, executor
+                    );
+                }
             }
+        } catch (final OperationException | RuntimeException e) {
+            if (null != executor) {
+                executor.shutdownNow();
+            }
+            throw e;
         }
 
         // Must add an empty entity map at the end if one has not been explicitly
@@ -143,6 +189,11 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
 
         final GraphWindow graphWindow = new GraphWindow(adjacencyMaps, entityMaps);
 
+        if (null != executor) {
+            // The walks shut down the executor when they are closed
+            return new ParallelWalkIterable(originalInput, graphWindow, hops, getWalks.isIncludePartial(), executor);
+        }
+
         // Track/recombine the edge objects and convert to return type
         return Streams.toStream(originalInput)
                 .flatMap(seed -> walk(seed.getVertex(), null, graphWindow, new LinkedList<>(), new LinkedList<>(), hops, getWalks.isIncludePartial()).stream())
@@ -165,6 +216,43 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         this.prune = prune;
     }
 
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
+
+    private boolean isParallel() {
+        return parallelism > 1;
+    }
+
+    private ExecutorService createExecutor() {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism,
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("get-walks-%d")
+                        .setDaemon(true)
+                        .build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     private boolean isWhileOperation(final OperationChain<Iterable<Element>> operation) {
         return 1 == operation.getOperations().size()
                 && operation.getOperations().get(0) instanceof While;
@@ -177,7 +265,9 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                           final Store store,
                                           final int hops,
                                           final AdjacencyMaps adjacencyMaps,
-                                          final EntityMaps entityMaps) throws OperationException {
+                                          final EntityMaps entityMaps,
+                                          final Frontier frontier,
+                                          final ExecutorService executor) throws OperationException {
         List<?> resultSeeds = seeds;
         final While whileOp = (While) operation.getOperations().get(0);
         if (null != whileOp.getOperation()) {
@@ -212,7 +302,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                 resultSeeds = executeOperation(
                         (Output) whileOpClone.getOperation(),
                         resultSeeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, hops, adjacencyMaps, entityMaps, frontier, executor
                 );
             }
         }
@@ -227,19 +317,30 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                      final Store store,
                                      final int hops,
                                      final AdjacencyMaps adjacencyMaps,
-                                     final EntityMaps entityMaps) throws OperationException {
-        final Iterable<Element> results = executeOperation(operation, seeds, resultLimit, context, store);
+                                     final EntityMaps entityMaps,
+                                     final Frontier frontier,
+                                     final ExecutorService executor) throws OperationException {
+        final Iterable<Element> results = null != executor && seeds.size() > batchSize
+                ? executeBatches(operation, seeds, resultLimit, context, store, executor)
+                : executeOperation(operation, seeds, resultLimit, context, store);
 
         final AdjacencyMap adjacencyMap = new AdjacencyMap();
         final EntityMap entityMap = new EntityMap();
 
         final List<Object> nextSeeds = new ArrayList<>();
+        frontier.nextHop();
         for (final Element e : results) {
             if (e instanceof Edge) {
                 final Edge edge = (Edge) e;
+                final Object seed = edge.getMatchedVertexValue();
                 final Object nextSeed = edge.getAdjacentMatchedVertexValue();
-                nextSeeds.add(nextSeed);
-                adjacencyMap.putEdge(edge.getMatchedVertexValue(), nextSeed, edge);
+                if (frontier.isFannedOut(adjacencyMap, seed, nextSeed)) {
+                    continue;
+                }
+                adjacencyMap.putEdge(seed, nextSeed, edge);
+                if (frontier.offer(nextSeed)) {
+                    nextSeeds.add(nextSeed);
+                }
             } else {
                 final Entity entity = (Entity) e;
                 entityMap.putEntity(entity.getVertex(), entity);
@@ -272,6 +373,47 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         return new LimitedCloseableIterable<>(store.execute(convertedOp, context), 0, resultLimit, false);
     }
 
+    private Iterable<Element> executeBatches(final Output<Iterable<Element>> operation,
+                                             final List<?> seeds,
+                                             final Integer resultLimit,
+                                             final Context context,
+                                             final Store store,
+                                             final ExecutorService executor) throws OperationException {
+        // Each batch executes its own clone of the operation, as the chain
+        // updates the input of the operation it wraps.
+        final List<Future<List<Element>>> batches = new ArrayList<>();
+        for (final List<?> batch : Lists.partition(seeds, batchSize)) {
+            final Output<Iterable<Element>> batchOperation = (Output<Iterable<Element>>) operation.shallowClone();
+            // Each batch also gets its own copy of the context, as the context maps are not thread safe
+            final Context batchContext = context.copy();
+            batches.add(executor.submit(() -> Lists.newArrayList(executeOperation(batchOperation, batch, resultLimit, batchContext, store))));
+        }
+
+        // The batches are consumed in order as they complete, so the results
+        // of the earlier batches are processed whilst the later ones run.
+        final List<Iterable<Element>> results = new ArrayList<>(batches.size());
+        for (final Future<List<Element>> batch : batches) {
+            results.add(() -> getBatch(batch, batches).iterator());
+        }
+        return new LimitedCloseableIterable<>(new ChainedIterable<Element>(results.toArray(new Iterable[results.size()])), 0, resultLimit, false);
+    }
+
+    private static <T> T getBatch(final Future<T> batch, final List<? extends Future<?>> batches) {
+        try {
+            return batch.get();
+        } catch (final InterruptedException e) {
+            batches.forEach(b -> b.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted whilst waiting for GetWalks batch", e);
+        } catch (final ExecutionException e) {
+            batches.forEach(b -> b.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("GetWalks batch failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
     private List<Walk> walk(final Object curr, final Object prev, final GraphWindow graphWindow, final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue, final int hops, final boolean includePartial) {
         final List<Walk> walks = new ArrayList<>();
 
@@ -336,4 +478,174 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             );
         }
     }
+
+    /**
+     * Tracks the seeds passed between hops, applying the frontier options
+     * from the {@link GetWalks} operation.
+     */
+    private static final class Frontier {
+        private final String dedupe;
+        private final int bloomSize;
+        private final boolean excludeVisited;
+        private final Integer maxFanOut;
+        private final Predicate<Object> visited;
+        private final Funnel<Object> vertexFunnel;
+        private Predicate<Object> hopSeeds;
+
+        private Frontier(final GetWalks getWalks, final List<EntityId> originalInput, final Serialiser vertexSerialiser) throws OperationException {
+            dedupe = getWalks.getOption(GetWalks.OPTION_FRONTIER_DEDUPE);
+            if (null != dedupe && !GetWalks.FRONTIER_DEDUPE_EXACT.equals(dedupe) && !GetWalks.FRONTIER_DEDUPE_BLOOM.equals(dedupe)) {
+                throw new OperationException("Unknown " + GetWalks.OPTION_FRONTIER_DEDUPE + " value: " + dedupe
+                        + ". It must be " + GetWalks.FRONTIER_DEDUPE_EXACT + " or " + GetWalks.FRONTIER_DEDUPE_BLOOM);
+            }
+            excludeVisited = Boolean.parseBoolean(getWalks.getOption(GetWalks.OPTION_EXCLUDE_VISITED));
+            try {
+                bloomSize = Integer.parseInt(getWalks.getOption(GetWalks.OPTION_FRONTIER_BLOOM_SIZE, String.valueOf(GetWalks.FRONTIER_BLOOM_SIZE_DEFAULT)));
+                final String maxFanOutOption = getWalks.getOption(GetWalks.OPTION_MAX_FAN_OUT);
+                maxFanOut = null != maxFanOutOption ? Integer.valueOf(maxFanOutOption) : null;
+            } catch (final NumberFormatException e) {
+                throw new OperationException("The " + GetWalks.OPTION_FRONTIER_BLOOM_SIZE + " and " + GetWalks.OPTION_MAX_FAN_OUT + " options must be integers", e);
+            }
+
+            vertexFunnel = GetWalks.FRONTIER_DEDUPE_BLOOM.equals(dedupe) ? createVertexFunnel(vertexSerialiser) : null;
+
+            if (excludeVisited) {
+                visited = createSeedSet();
+                originalInput.forEach(seed -> visited.test(seed.getVertex()));
+            } else {
+                visited = null;
+            }
+        }
+
+        /**
+         * Starts a new hop, clearing the seeds deduped in the previous hop.
+         */
+        private void nextHop() {
+            if (null == visited && null != dedupe) {
+                hopSeeds = createSeedSet();
+            }
+        }
+
+        /**
+         * @param seed the seed to add to the frontier
+         * @return true if the seed should be queried in the next hop
+         */
+        private boolean offer(final Object seed) {
+            if (null != visited) {
+                return visited.test(seed);
+            }
+            return null == hopSeeds || hopSeeds.test(seed);
+        }
+
+        private boolean isFannedOut(final AdjacencyMap adjacencyMap, final Object seed, final Object nextSeed) {
+            return null != maxFanOut
+                    && adjacencyMap.getEdges(seed, nextSeed).isEmpty()
+                    && adjacencyMap.getDestinations(seed).size() >= maxFanOut;
+        }
+
+        /**
+         * @return a predicate which adds a seed to the set, returning true if
+         * it was not already present
+         */
+        private Predicate<Object> createSeedSet() {
+            if (GetWalks.FRONTIER_DEDUPE_BLOOM.equals(dedupe)) {
+                final BloomFilter<Object> filter = BloomFilter.create(vertexFunnel, bloomSize);
+                return filter::put;
+            }
+            return new HashSet<>()::add;
+        }
+
+        /**
+         * Funnels the serialised bytes of each vertex into the bloom filter, so
+         * that vertices with the same hash code are not treated as duplicates.
+         * The schema's vertex serialiser is used if it can handle the vertex,
+         * then Java serialisation. Any other vertex falls back to its hash
+         * code and string representation.
+         *
+         * @param vertexSerialiser the schema's vertex serialiser, or null
+         * @return the funnel for the frontier bloom filter
+         */
+        private static Funnel<Object> createVertexFunnel(final Serialiser vertexSerialiser) {
+            final ToBytesSerialiser<Object> schemaSerialiser = vertexSerialiser instanceof ToBytesSerialiser
+                    ? (ToBytesSerialiser<Object>) vertexSerialiser : null;
+            final JavaSerialiser javaSerialiser = new JavaSerialiser();
+            return (from, into) -> {
+                try {
+                    if (null != schemaSerialiser && schemaSerialiser.canHandle(from.getClass())) {
+                        into.putBytes(schemaSerialiser.serialise(from));
+                    } else if (javaSerialiser.canHandle(from.getClass())) {
+                        into.putBytes(javaSerialiser.serialise(from));
+                    } else {
+                        into.putInt(from.hashCode()).putString(from.toString(), StandardCharsets.UTF_8);
+                    }
+                } catch (final SerialisationException e) {
+                    throw new IllegalArgumentException("Unable to serialise vertex for the frontier bloom filter: " + from, e);
+                }
+            };
+        }
+    }
+
+    /**
+     * Builds the walks for each of the original seeds concurrently, returning
+     * them in seed order. Only a bounded number of seeds are expanded ahead of
+     * the consumer, so the walks are never all held in memory at once.
+     */
+    private final class ParallelWalkIterable implements CloseableIterable<Walk> {
+        private final List<EntityId> seeds;
+        private final GraphWindow graphWindow;
+        private final int hops;
+        private final boolean includePartial;
+        private final ExecutorService executor;
+
+        private ParallelWalkIterable(final List<EntityId> seeds, final GraphWindow graphWindow, final int hops, final boolean includePartial, final ExecutorService executor) {
+            this.seeds = seeds;
+            this.graphWindow = graphWindow;
+            this.hops = hops;
+            this.includePartial = includePartial;
+            this.executor = executor;
+        }
+
+        @Override
+        public CloseableIterator<Walk> iterator() {
+            return new CloseableIterator<Walk>() {
+                private final Iterator<EntityId> seedItr = seeds.iterator();
+                private final Deque<Future<List<Walk>>> pending = new ArrayDeque<>();
+                private Iterator<Walk> walks = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!walks.hasNext()) {
+                        while (seedItr.hasNext() && pending.size() < 2 * parallelism) {
+                            final Object vertex = seedItr.next().getVertex();
+                            pending.add(executor.submit(() -> walk(vertex, null, graphWindow, new LinkedList<>(), new LinkedList<>(), hops, includePartial)));
+                        }
+                        if (pending.isEmpty()) {
+                            return false;
+                        }
+                        walks = getBatch(pending.poll(), new ArrayList<>(pending)).iterator();
+                    }
+                    return true;
+                }
+
+                @Override
+                public Walk next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return walks.next();
+                }
+
+                @Override
+                public void close() {
+                    pending.forEach(f -> f.cancel(true));
+                    pending.clear();
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -17,10 +17,18 @@
 package uk.gov.gchq.gaffer.store.operation.handler.join;
 
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.exception.LimitExceededException;
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.StreamFlatMapIterable;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.join.Join;
+import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
 import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinFunction;
 import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinType;
@@ -29,12 +37,21 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.koryphe.tuple.MapTuple;
 
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
 
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.getResultsOrNull;
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.updateOperationInput;
 
 public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<? extends MapTuple>> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JoinHandler.class);
+    private static final String LIMIT_EXCEEDED_MESSAGE = "Join exceeded the collectionLimit, a solution is to increasing collectionLimit value in the join operation.";
+
     @Override
     public Iterable<? extends MapTuple> doOperation(final Join<I> operation, final Context context, final Store store) throws OperationException {
         final int limit = operation.getCollectionLimit() != null ? operation.getCollectionLimit() : 100000;
@@ -70,6 +87,10 @@ public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<
                         context,
                         store);
 
+        if (Boolean.parseBoolean(operation.getOption(Join.OPTION_STREAM))) {
+            return streamJoin(operation, joinFunction, matchKey, null != rightIterable ? rightIterable : new ArrayList<>(), limit);
+        }
+
         final Iterable limitedLeftIterable;
         final Iterable limitedRightIterable;
 
@@ -78,8 +99,82 @@ public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<
             limitedRightIterable = new LimitedCloseableIterable(rightIterable, 0, limit, false);
             return joinFunction.join(limitedLeftIterable, limitedRightIterable, operation.getMatchMethod(), matchKey, operation.isFlatten());
         } catch (final LimitExceededException e) {
-            throw new OperationException("Join exceeded the collectionLimit, a solution is to increasing collectionLimit value in the join operation.", e);
+            throw new OperationException(LIMIT_EXCEEDED_MESSAGE, e);
+        }
+
+    }
+
+    private CloseableIterable<MapTuple> streamJoin(final Join<I> operation, final JoinFunction joinFunction, final MatchKey matchKey,
+                                                   final Iterable<I> rightIterable, final int limit) throws OperationException {
+        final Match match = operation.getMatchMethod();
+        final boolean flatten = operation.isFlatten();
+        final Iterable keys;
+        final Iterable matchCandidates;
+        final String matchingValuesName;
+        if (MatchKey.LEFT.equals(matchKey)) {
+            keys = operation.getInput();
+            matchCandidates = rightIterable;
+            matchingValuesName = MatchKey.RIGHT.name();
+        } else {
+            keys = rightIterable;
+            matchCandidates = operation.getInput();
+            matchingValuesName = MatchKey.LEFT.name();
+        }
+        final Function<Object, List<MapTuple>> joinKey = key -> joinFunction.join(key, match.matching(key), matchKey.name(), matchingValuesName, flatten);
+
+        final String spillThreshold = operation.getOption(Join.OPTION_SPILL_THRESHOLD);
+        if (null != spillThreshold && !match.canPartition()) {
+            LOGGER.warn("{} does not support partitioning, so the join cannot spill to disk", match.getClass().getName());
         }
 
+        try {
+            if (null != spillThreshold && match.canPartition()) {
+                final int threshold = Integer.parseInt(spillThreshold);
+                final List<Object> bufferedCandidates = new ArrayList<>();
+                final Iterator candidatesItr = matchCandidates.iterator();
+                while (candidatesItr.hasNext() && bufferedCandidates.size() <= threshold) {
+                    bufferedCandidates.add(candidatesItr.next());
+                }
+
+                final Iterable remainingCandidates = () -> candidatesItr;
+                if (bufferedCandidates.size() > threshold && isSerializable(bufferedCandidates)) {
+                    final int numPartitions = Integer.parseInt(operation.getOption(Join.OPTION_SPILL_PARTITIONS, String.valueOf(Join.OPTION_SPILL_PARTITIONS_DEFAULT)));
+                    final String spillDir = operation.getOption(Join.OPTION_SPILL_DIR, System.getProperty("java.io.tmpdir"));
+                    try {
+                        return new PartitionedJoinIterable(keys, new ChainedIterable<>(bufferedCandidates, remainingCandidates), match, joinKey, numPartitions, Paths.get(spillDir));
+                    } finally {
+                        CloseableUtil.close(candidatesItr);
+                    }
+                }
+
+                if (bufferedCandidates.size() > threshold) {
+                    LOGGER.warn("The join match candidates are not all Serializable, so the join cannot spill to disk");
+                }
+                try {
+                    match.init(new LimitedCloseableIterable(new ChainedIterable<>(bufferedCandidates, remainingCandidates), 0, limit, false));
+                } finally {
+                    CloseableUtil.close(candidatesItr);
+                }
+            } else {
+                match.init(new LimitedCloseableIterable(matchCandidates, 0, limit, false));
+            }
+        } catch (final LimitExceededException e) {
+            throw new OperationException(LIMIT_EXCEEDED_MESSAGE, e);
+        } catch (final IOException e) {
+            throw new OperationException("Unable to partition the join inputs to disk", e);
+        } catch (final NumberFormatException e) {
+            throw new OperationException("The " + Join.OPTION_SPILL_THRESHOLD + " and " + Join.OPTION_SPILL_PARTITIONS + " options must be integers", e);
+        }
+
+        return new StreamFlatMapIterable<Object, MapTuple>(keys, key -> joinKey.apply(key).stream());
+    }
+
+    private static boolean isSerializable(final List<Object> items) {
+        for (final Object item : items) {
+            if (null != item && !(item instanceof Serializable)) {
+                return false;
+            }
+        }
+        return true;
     }
 }
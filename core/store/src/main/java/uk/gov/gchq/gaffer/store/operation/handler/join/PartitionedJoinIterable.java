@@ -0,0 +1,258 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler.join;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A {@code PartitionedJoinIterable} joins inputs which are too large to hold
+ * in memory, using a grace hash join.
+ * <p>
+ * The match candidates and keys are written to partitions on local disk based
+ * on their {@link Match} keys. The partitions are then joined one at a time, so
+ * only a single partition of match candidates is held in memory. The results
+ * are returned lazily in partition order.
+ * </p>
+ * <p>
+ * The inputs are written with Java serialisation, so all keys and match
+ * candidates must be {@link Serializable}.
+ * </p>
+ * <p>
+ * The {@link Match} is initialised for each partition, so only one iterator
+ * should be used at a time. The partitions are deleted when the iterable is
+ * closed.
+ * </p>
+ */
+public class PartitionedJoinIterable implements CloseableIterable<MapTuple> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedJoinIterable.class);
+    private static final JavaSerialiser SERIALISER = new JavaSerialiser();
+
+    private final Match match;
+    private final Function<Object, List<MapTuple>> joinFunction;
+    private final int numPartitions;
+    private final Path dir;
+
+    /**
+     * Writes the inputs to partitions on disk.
+     *
+     * @param keys            the keys to join
+     * @param matchCandidates the match candidates
+     * @param match           the match method, which must support partitioning
+     * @param joinFunction    joins a key with its matches from the initialised match method
+     * @param numPartitions   the number of partitions
+     * @param spillDir        the directory to write the partitions to
+     * @throws IOException if the partitions cannot be written
+     */
+    public PartitionedJoinIterable(final Iterable keys,
+                                   final Iterable matchCandidates,
+                                   final Match match,
+                                   final Function<Object, List<MapTuple>> joinFunction,
+                                   final int numPartitions,
+                                   final Path spillDir) throws IOException {
+        if (!match.canPartition()) {
+            throw new IllegalArgumentException(match.getClass().getName() + " does not support partitioning");
+        }
+        if (numPartitions < 1) {
+            throw new IllegalArgumentException("The number of partitions must be at least 1");
+        }
+
+        this.match = match;
+        this.joinFunction = joinFunction;
+        this.numPartitions = numPartitions;
+        Files.createDirectories(spillDir);
+        this.dir = Files.createTempDirectory(spillDir, "join");
+
+        try {
+            writePartitions(matchCandidates, "candidates", match::getMatchCandidateKey);
+            writePartitions(keys, "keys", match::getTestObjectKey);
+        } catch (final IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public CloseableIterator<MapTuple> iterator() {
+        return new PartitionedJoinIterator();
+    }
+
+    @Override
+    public void close() {
+        try (final Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to delete join partitions in {}", dir, e);
+        }
+    }
+
+    private void writePartitions(final Iterable input, final String name, final Function<Object, Object> keyFunction) throws IOException {
+        final List<DataOutputStream> partitions = new ArrayList<>(numPartitions);
+        try {
+            for (int i = 0; i < numPartitions; i++) {
+                partitions.add(new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(getPartition(name, i)))));
+            }
+
+            long count = 0;
+            for (final Object item : input) {
+                if (null != item && !(item instanceof Serializable)) {
+                    throw new SerialisationException("Unable to partition " + name + " to disk, as " + item.getClass().getName() + " is not Serializable");
+                }
+                final byte[] bytes = SERIALISER.serialise(item);
+                final DataOutputStream partition = partitions.get(getPartitionIndex(keyFunction.apply(item)));
+                partition.writeInt(bytes.length);
+                partition.write(bytes);
+                count++;
+            }
+            LOGGER.debug("Written {} {} to {} partitions in {}", count, name, numPartitions, dir);
+        } finally {
+            CloseableUtil.close(input);
+            for (final DataOutputStream partition : partitions) {
+                partition.close();
+            }
+        }
+    }
+
+    private int getPartitionIndex(final Object key) {
+        return Math.floorMod(null != key ? key.hashCode() : 0, numPartitions);
+    }
+
+    private Path getPartition(final String name, final int index) {
+        return dir.resolve(name + "-" + index);
+    }
+
+    private final class PartitionedJoinIterator implements CloseableIterator<MapTuple> {
+        private int partition = -1;
+        private PartitionReader keys;
+        private Iterator<MapTuple> results = Collections.emptyIterator();
+
+        @Override
+        public boolean hasNext() {
+            while (!results.hasNext()) {
+                if (null != keys && keys.hasNext()) {
+                    results = joinFunction.apply(keys.next()).iterator();
+                } else {
+                    close();
+                    partition++;
+                    if (partition >= numPartitions) {
+                        return false;
+                    }
+                    openPartition();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public MapTuple next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return results.next();
+        }
+
+        @Override
+        public void close() {
+            if (null != keys) {
+                keys.close();
+                keys = null;
+            }
+        }
+
+        private void openPartition() {
+            final List<Object> candidates = new ArrayList<>();
+            try (final PartitionReader reader = new PartitionReader(getPartition("candidates", partition))) {
+                reader.forEachRemaining(candidates::add);
+            }
+            match.init(candidates);
+            keys = new PartitionReader(getPartition("keys", partition));
+        }
+    }
+
+    private static final class PartitionReader implements CloseableIterator<Object> {
+        private final Path file;
+        private final DataInputStream input;
+        private Object next;
+
+        private PartitionReader(final Path file) {
+            this.file = file;
+            try {
+                this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Unable to read join partition " + file, e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == next) {
+                try {
+                    final int length = input.readInt();
+                    final byte[] bytes = new byte[length];
+                    input.readFully(bytes);
+                    next = SERIALISER.deserialise(bytes);
+                } catch (final EOFException e) {
+                    return false;
+                } catch (final IOException e) {
+                    throw new UncheckedIOException("Unable to read join partition " + file, e);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Object result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(input);
+        }
+    }
+}
@@ -16,20 +16,28 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.join.match;
 
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.comparison.ElementJoinComparator;
 import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Tests for matches for Elements within a Join Operation, groupBy properties can be optionally specified.
+ * The match candidates are indexed on the fields compared by the {@link ElementJoinComparator}, i.e. the
+ * class, group, identifiers and groupBy properties, so matches are found without testing every candidate.
  */
 public class ElementMatch implements Match {
     private ElementJoinComparator elementJoinComparator;
     private Iterable matchCandidates;
+    private Map<List<Object>, List<Element>> keyedMatchCandidates;
 
     private static final String NULL_MATCH_CANDIDATES_ERROR_MESSAGE = "ElementMatch must be initialised with non-null match candidates";
 
@@ -47,6 +55,9 @@ public class ElementMatch implements Match {
 
     public void setElementGroupByProperties(final Set<String> groupByProperties) {
         elementJoinComparator.setGroupByProperties(groupByProperties);
+        if (null != matchCandidates) {
+            index();
+        }
     }
 
     @Override
@@ -55,6 +66,7 @@ public class ElementMatch implements Match {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
         this.matchCandidates = matchCandidates;
+        index();
     }
 
     @Override
@@ -65,12 +77,52 @@ public class ElementMatch implements Match {
 
         List matches = new ArrayList<>();
 
+        final Element testElement = (Element) testObject;
+        for (final Element entry : keyedMatchCandidates.getOrDefault(createKey(testElement), Collections.emptyList())) {
+            matches.add(entry.shallowClone());
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean canPartition() {
+        return true;
+    }
+
+    @Override
+    public Object getTestObjectKey(final Object testObject) {
+        return createKey((Element) testObject);
+    }
+
+    @Override
+    public Object getMatchCandidateKey(final Object matchCandidate) {
+        return createKey((Element) matchCandidate);
+    }
 
-        for (final Object entry : matchCandidates) {
-            if (elementJoinComparator.test((Element) entry, (Element) testObject)) {
-                matches.add(((Element) entry).shallowClone());
+    private void index() {
+        keyedMatchCandidates = new HashMap<>();
+        for (final Object matchCandidate : matchCandidates) {
+            final Element element = (Element) matchCandidate;
+            keyedMatchCandidates.computeIfAbsent(createKey(element), k -> new ArrayList<>()).add(element);
+        }
+    }
+
+    private List<Object> createKey(final Element element) {
+        final List<Object> key = new ArrayList<>();
+        if (null != element) {
+            key.add(element.getClass());
+            key.add(element.getGroup());
+            if (element instanceof Entity) {
+                key.add(((Entity) element).getVertex());
+            } else if (element instanceof Edge) {
+                key.add(((Edge) element).getSource());
+                key.add(((Edge) element).getDestination());
+                key.add(((Edge) element).getDirectedType());
+            }
+            for (final String property : elementJoinComparator.getGroupByProperties()) {
+                key.add(element.getProperty(property));
             }
         }
-        return matches;
+        return key;
     }
 }
@@ -62,6 +62,7 @@ public class KeyFunctionMatch implements Match {
         if (matchCandidates == null) {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
+        keyedMatchCandidates = new HashMap<>();
         // Iterates over match candidates, creates an index using second key function.
         for (final Object matchCandidate : matchCandidates) {
             Object key = secondKeyFunction.apply(matchCandidate);
@@ -105,6 +106,21 @@ public class KeyFunctionMatch implements Match {
         return this.keyedMatchCandidates.getOrDefault(testObjectKey, new ArrayList());
     }
 
+    @Override
+    public boolean canPartition() {
+        return true;
+    }
+
+    @Override
+    public Object getTestObjectKey(final Object testObject) {
+        return firstKeyFunction.apply(testObject);
+    }
+
+    @Override
+    public Object getMatchCandidateKey(final Object matchCandidate) {
+        return secondKeyFunction.apply(matchCandidate);
+    }
+
     public static final class Builder {
         private Function firstKeyFunction = new Identity();
         private Function secondKeyFunction = new Identity();
@@ -238,47 +238,45 @@ public final class AggregatorUtil {
 
     protected static class ElementBinaryOperator extends KorypheBinaryOperator<Element> {
         private final Schema schema;
-        private final View view;
+        private final ViewPlan viewPlan;
 
         protected ElementBinaryOperator(final Schema schema, final View view) {
             if (null == schema) {
                 throw new IllegalArgumentException("Schema is required");
             }
-            this.view = view;
+            this.viewPlan = null != view ? new ViewPlan(view, schema) : null;
             this.schema = schema;
         }
 
         @Override
         public Element _apply(final Element a, final Element b) {
             final String group = a.getGroup();
-            if (null == view) {
+            if (null == viewPlan) {
                 return schema.getElement(group).getIngestAggregator().apply(a, b);
             }
-            final ViewElementDefinition elementDef = view.getElement(group);
-            return schema.getElement(group).getQueryAggregator(elementDef.getGroupBy(), elementDef.getAggregator()).apply(a, b);
+            return viewPlan.getGroupPlan(group).getQueryAggregator().apply(a, b);
         }
     }
 
     protected static class PropertiesBinaryOperator extends KorypheBinaryOperator<GroupedProperties> {
         private final Schema schema;
-        private final View view;
+        private final ViewPlan viewPlan;
 
         protected PropertiesBinaryOperator(final Schema schema, final View view) {
             if (null == schema) {
                 throw new IllegalArgumentException("Schema is required");
             }
             this.schema = schema;
-            this.view = view;
+            this.viewPlan = null != view ? new ViewPlan(view, schema) : null;
         }
 
         @Override
         public GroupedProperties _apply(final GroupedProperties a, final GroupedProperties b) {
             final String group = a.getGroup();
-            if (null == view) {
+            if (null == viewPlan) {
                 schema.getElement(a.getGroup()).getIngestAggregator().apply(a, b);
             } else {
-                final ViewElementDefinition elementDef = view.getElement(group);
-                schema.getElement(group).getQueryAggregator(elementDef.getGroupBy(), elementDef.getAggregator()).apply(a, b);
+                viewPlan.getGroupPlan(group).getQueryAggregator().apply(a, b);
             }
 
             // The aggregator will always return a so this is safe
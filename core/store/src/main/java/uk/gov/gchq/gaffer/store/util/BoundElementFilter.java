@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.ElementTuple;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A {@code BoundElementFilter} is an {@link ElementFilter} with the selections
+ * of its predicates bound to element accessors.
+ * <p>
+ * The references selected by each predicate are resolved to an identifier or
+ * property once, when the filter is bound, rather than every time an element
+ * is tested. Predicates that select more than one reference are tested against
+ * a new {@link ElementTuple}, so a {@code BoundElementFilter} does not hold any
+ * per element state and can be shared between threads.
+ * </p>
+ */
+public class BoundElementFilter implements Predicate<Element> {
+    private final Predicate<Element>[] predicates;
+
+    @SuppressWarnings("unchecked")
+    public BoundElementFilter(final ElementFilter filter) {
+        final List<Predicate<Element>> bound = new ArrayList<>();
+        if (null != filter) {
+            for (final TupleAdaptedPredicate<String, ?> component : filter.getComponents()) {
+                if (null != component.getPredicate()) {
+                    bound.add(bind(component));
+                }
+            }
+        }
+        predicates = bound.toArray(new Predicate[bound.size()]);
+    }
+
+    /**
+     * @return true if there are no predicates to test, so every element is accepted.
+     */
+    public boolean isEmpty() {
+        return 0 == predicates.length;
+    }
+
+    @Override
+    public boolean test(final Element element) {
+        for (final Predicate<Element> predicate : predicates) {
+            if (!predicate.test(element)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<Element> bind(final TupleAdaptedPredicate<String, ?> component) {
+        final String[] selection = component.getSelection();
+        if (null == selection || 1 != selection.length) {
+            return element -> component.test(new ElementTuple(element));
+        }
+
+        final Predicate<Object> predicate = (Predicate<Object>) component.getPredicate();
+        final Function<Element, Object> accessor = getAccessor(selection[0]);
+        return element -> predicate.test(accessor.apply(element));
+    }
+
+    private static Function<Element, Object> getAccessor(final String reference) {
+        if (ElementTuple.ELEMENT.equals(reference)) {
+            return element -> element;
+        }
+
+        if (ElementTuple.PROPERTIES.equals(reference)) {
+            return Element::getProperties;
+        }
+
+        final IdentifierType idType = IdentifierType.fromName(reference);
+        if (null == idType) {
+            return element -> element.getProperty(reference);
+        }
+
+        return element -> element.getIdentifier(idType);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesAggregatingSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperator;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+
+/**
+ * A {@code SerialisedPropertiesAggregator} applies the ingest aggregation of a
+ * group directly to serialised properties, without deserialising them.
+ * <p>
+ * The serialised properties must be written as a length followed by the
+ * serialised value for each property, in the order provided. This is how the
+ * Accumulo and HBase stores write the properties held in their values.
+ * </p>
+ * <p>
+ * This is only supported if every property has a single property aggregate
+ * function and a {@link ToBytesAggregatingSerialiser} that is able to apply it.
+ * Otherwise {@link #isSupported()} returns false and the properties must be
+ * deserialised and aggregated with the ingest aggregator.
+ * </p>
+ */
+public class SerialisedPropertiesAggregator {
+    private final ToBytesAggregatingSerialiser[] serialisers;
+    private final BinaryOperator[] functions;
+    private final boolean supported;
+
+    /**
+     * @param elementDefinition the schema element definition for the group
+     * @param propertyNames     the names of the serialised properties, in the
+     *                          order they are serialised, or null if unknown
+     */
+    public SerialisedPropertiesAggregator(final SchemaElementDefinition elementDefinition, final List<String> propertyNames) {
+        final int size = null != propertyNames ? propertyNames.size() : 0;
+        serialisers = new ToBytesAggregatingSerialiser[size];
+        functions = new BinaryOperator[size];
+        supported = null != propertyNames && elementDefinition.isAggregate() && init(elementDefinition, propertyNames);
+    }
+
+    private boolean init(final SchemaElementDefinition elementDefinition, final List<String> propertyNames) {
+        final Map<String, BinaryOperator> functionsByProperty = new HashMap<>();
+        for (final TupleAdaptedBinaryOperator<String, ?> component : elementDefinition.getIngestAggregator().getComponents()) {
+            final String[] selection = component.getSelection();
+            if (1 != selection.length || null != functionsByProperty.put(selection[0], component.getBinaryOperator())) {
+                return false;
+            }
+        }
+
+        for (int i = 0; i < propertyNames.size(); i++) {
+            final String propertyName = propertyNames.get(i);
+            final BinaryOperator function = functionsByProperty.get(propertyName);
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+            final Serialiser serialiser = null != typeDefinition ? typeDefinition.getSerialiser() : null;
+            if (null == function
+                    || !(serialiser instanceof ToBytesAggregatingSerialiser)
+                    || !((ToBytesAggregatingSerialiser) serialiser).canAggregateSerialised(function)) {
+                return false;
+            }
+            serialisers[i] = (ToBytesAggregatingSerialiser) serialiser;
+            functions[i] = function;
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the properties can be aggregated in their serialised form
+     */
+    public boolean isSupported() {
+        return supported;
+    }
+
+    /**
+     * Aggregates two sets of serialised properties. Empty values represent
+     * null properties, so the other value is used. Values which are shorter
+     * than expected, for example because they were written before properties
+     * were added to the schema, are treated as having null properties.
+     *
+     * @param bytes1 the first serialised properties
+     * @param bytes2 the second serialised properties
+     * @return the serialised aggregated properties
+     * @throws SerialisationException if the properties cannot be aggregated
+     */
+    public byte[] aggregate(final byte[] bytes1, final byte[] bytes2) throws SerialisationException {
+        if (!supported) {
+            throw new IllegalStateException("The properties cannot be aggregated in their serialised form");
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(bytes1.length, bytes2.length));
+        final int[] position1 = {0};
+        final int[] position2 = {0};
+        for (int i = 0; i < serialisers.length; i++) {
+            final int length1 = readLength(bytes1, position1);
+            final int length2 = readLength(bytes2, position2);
+            if (0 == length1) {
+                write(bytes2, position2[0], length2, out);
+            } else if (0 == length2) {
+                write(bytes1, position1[0], length1, out);
+            } else {
+                final byte[] aggregated = serialisers[i].aggregateSerialised(functions[i],
+                        bytes1, position1[0], length1, bytes2, position2[0], length2);
+                write(aggregated, 0, aggregated.length, out);
+            }
+            position1[0] += length1;
+            position2[0] += length2;
+        }
+        return out.toByteArray();
+    }
+
+    private static int readLength(final byte[] bytes, final int[] position) throws SerialisationException {
+        if (position[0] >= bytes.length) {
+            return 0;
+        }
+        final int length = (int) CompactRawSerialisationUtils.readLong(bytes, position[0]);
+        position[0] += CompactRawSerialisationUtils.decodeVIntSize(bytes[position[0]]);
+        if (length < 0 || position[0] + length > bytes.length) {
+            throw new SerialisationException("Invalid serialised property length " + length);
+        }
+        return length;
+    }
+
+    private static void write(final byte[] bytes, final int offset, final int length, final ByteArrayOutputStream out) throws SerialisationException {
+        CompactRawSerialisationUtils.write(length, out);
+        out.write(bytes, offset, length);
+    }
+}
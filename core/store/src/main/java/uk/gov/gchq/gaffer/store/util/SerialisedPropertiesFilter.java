@@ -0,0 +1,278 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedDateSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedDoubleSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedFloatSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedIntegerSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.serialisation.util.SerialisedAggregationUtil;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
+import uk.gov.gchq.koryphe.impl.predicate.IsIn;
+import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A {@code SerialisedPropertiesFilter} tests simple predicates from an
+ * {@link ElementFilter} directly against serialised properties, so elements
+ * which fail them can be rejected without being deserialised.
+ * <p>
+ * The serialised properties must be written as a length followed by the
+ * serialised value for each property, in the order provided. The Accumulo and
+ * HBase stores write the properties held in their column qualifiers and values
+ * in this way.
+ * </p>
+ * <p>
+ * Filter components which select a single property and use {@link IsEqual} or
+ * {@link IsIn} are compiled to byte comparisons if the property serialiser is
+ * consistent. {@link IsMoreThan} and {@link IsLessThan} are also compiled if the
+ * serialiser is known to write bytes which sort in the same order as the
+ * objects. This is stronger than {@link Serialiser#preservesObjectOrdering()},
+ * which is also true for little-endian and decimal string serialisers, so only
+ * the ordered serialisers and {@link StringSerialiser} are used for ranges.
+ * Other components are not compiled, so
+ * unless {@link #isComplete()} returns true, elements which pass this filter
+ * must still be tested with the original {@link ElementFilter}.
+ * </p>
+ */
+public class SerialisedPropertiesFilter {
+    private static final Set<Class<?>> BYTE_ORDERED_SERIALISERS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            OrderedDateSerialiser.class,
+            OrderedDoubleSerialiser.class,
+            OrderedFloatSerialiser.class,
+            OrderedIntegerSerialiser.class,
+            OrderedLongSerialiser.class,
+            StringSerialiser.class
+    )));
+
+    private final List<SerialisedPredicate> qualifierPredicates = new ArrayList<>();
+    private final List<SerialisedPredicate> valuePredicates = new ArrayList<>();
+    private final boolean complete;
+
+    /**
+     * @param elementDefinition      the schema element definition for the group
+     * @param filter                 the filter to compile
+     * @param qualifierPropertyNames the names of the properties serialised in
+     *                               the column qualifier, in order
+     * @param valuePropertyNames     the names of the properties serialised in
+     *                               the value, in order
+     */
+    public SerialisedPropertiesFilter(final SchemaElementDefinition elementDefinition,
+                                      final ElementFilter filter,
+                                      final List<String> qualifierPropertyNames,
+                                      final List<String> valuePropertyNames) {
+        boolean allCompiled = true;
+        if (null != filter) {
+            for (final TupleAdaptedPredicate<String, ?> component : filter.getComponents()) {
+                final String[] selection = component.getSelection();
+                SerialisedPredicate predicate = null;
+                if (1 == selection.length) {
+                    predicate = compile(elementDefinition, selection[0], component.getPredicate(), qualifierPropertyNames);
+                    if (null != predicate) {
+                        qualifierPredicates.add(predicate);
+                    } else {
+                        predicate = compile(elementDefinition, selection[0], component.getPredicate(), valuePropertyNames);
+                        if (null != predicate) {
+                            valuePredicates.add(predicate);
+                        }
+                    }
+                }
+                allCompiled = allCompiled && null != predicate;
+            }
+        }
+        qualifierPredicates.sort(Comparator.comparingInt(p -> p.index));
+        valuePredicates.sort(Comparator.comparingInt(p -> p.index));
+        complete = allCompiled;
+    }
+
+    /**
+     * @return true if any of the filter components have been compiled
+     */
+    public boolean hasPredicates() {
+        return !qualifierPredicates.isEmpty() || !valuePredicates.isEmpty();
+    }
+
+    /**
+     * @return true if all of the filter components have been compiled, so
+     * elements which pass this filter do not need to be tested again
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @param qualifier the serialised column qualifier properties
+     * @param offset    the index of the first property in the qualifier
+     * @return false if the properties fail any of the compiled predicates
+     * @throws SerialisationException if the properties cannot be read
+     */
+    public boolean testQualifier(final byte[] qualifier, final int offset) throws SerialisationException {
+        return test(qualifierPredicates, qualifier, offset);
+    }
+
+    /**
+     * @param value the serialised value properties
+     * @return false if the properties fail any of the compiled predicates
+     * @throws SerialisationException if the properties cannot be read
+     */
+    public boolean testValue(final byte[] value) throws SerialisationException {
+        return test(valuePredicates, value, 0);
+    }
+
+    private static boolean test(final List<SerialisedPredicate> predicates, final byte[] bytes, final int offset) throws SerialisationException {
+        int position = offset;
+        int index = 0;
+        for (final SerialisedPredicate predicate : predicates) {
+            while (index < predicate.index && position < bytes.length) {
+                position += CompactRawSerialisationUtils.decodeVIntSize(bytes[position]) + (int) CompactRawSerialisationUtils.readLong(bytes, position);
+                index++;
+            }
+
+            final boolean result;
+            if (position >= bytes.length) {
+                // Properties missing from the end of the bytes are null
+                result = predicate.nullResult;
+            } else {
+                final int length = (int) CompactRawSerialisationUtils.readLong(bytes, position);
+                if (0 == length) {
+                    result = predicate.emptyResult;
+                } else {
+                    result = predicate.test(bytes, position + CompactRawSerialisationUtils.decodeVIntSize(bytes[position]), length);
+                }
+            }
+
+            if (!result) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static SerialisedPredicate compile(final SchemaElementDefinition elementDefinition,
+                                               final String propertyName,
+                                               final Predicate predicate,
+                                               final List<String> propertyNames) {
+        final int index = null != propertyNames ? propertyNames.indexOf(propertyName) : -1;
+        if (index < 0) {
+            return null;
+        }
+
+        final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+        final Serialiser serialiser = null != typeDefinition ? typeDefinition.getSerialiser() : null;
+        if (!(serialiser instanceof ToBytesSerialiser) || !serialiser.isConsistent()) {
+            return null;
+        }
+        final ToBytesSerialiser toBytesSerialiser = (ToBytesSerialiser) serialiser;
+        final Class<?> clazz = typeDefinition.getClazz();
+
+        try {
+            final BytesPredicate bytesPredicate;
+            if (IsEqual.class.equals(predicate.getClass())) {
+                final Object controlValue = ((IsEqual) predicate).getControlValue();
+                if (!isClass(controlValue, clazz)) {
+                    return null;
+                }
+                final byte[] controlBytes = toBytesSerialiser.serialise(controlValue);
+                bytesPredicate = (bytes, offset, length) -> 0 == SerialisedAggregationUtil.compare(bytes, offset, length, controlBytes, 0, controlBytes.length);
+            } else if (IsIn.class.equals(predicate.getClass())) {
+                final Set<ByteBuffer> allowedBytes = new HashSet<>();
+                for (final Object allowedValue : ((IsIn) predicate).getAllowedValues()) {
+                    if (null != allowedValue) {
+                        if (!isClass(allowedValue, clazz)) {
+                            return null;
+                        }
+                        allowedBytes.add(ByteBuffer.wrap(toBytesSerialiser.serialise(allowedValue)));
+                    }
+                }
+                bytesPredicate = (bytes, offset, length) -> allowedBytes.contains(ByteBuffer.wrap(bytes, offset, length));
+            } else if (IsMoreThan.class.equals(predicate.getClass()) && isByteOrdered(serialiser)) {
+                final IsMoreThan isMoreThan = (IsMoreThan) predicate;
+                if (!isClass(isMoreThan.getControlValue(), clazz)) {
+                    return null;
+                }
+                final byte[] controlBytes = toBytesSerialiser.serialise(isMoreThan.getControlValue());
+                final int minComparison = isMoreThan.getOrEqualTo() ? 0 : 1;
+                bytesPredicate = (bytes, offset, length) -> SerialisedAggregationUtil.compare(bytes, offset, length, controlBytes, 0, controlBytes.length) >= minComparison;
+            } else if (IsLessThan.class.equals(predicate.getClass()) && isByteOrdered(serialiser)) {
+                final IsLessThan isLessThan = (IsLessThan) predicate;
+                if (!isClass(isLessThan.getControlValue(), clazz)) {
+                    return null;
+                }
+                final byte[] controlBytes = toBytesSerialiser.serialise(isLessThan.getControlValue());
+                final int maxComparison = isLessThan.getOrEqualTo() ? 0 : -1;
+                bytesPredicate = (bytes, offset, length) -> SerialisedAggregationUtil.compare(bytes, offset, length, controlBytes, 0, controlBytes.length) <= maxComparison;
+            } else {
+                return null;
+            }
+
+            return new SerialisedPredicate(index, bytesPredicate,
+                    predicate.test(toBytesSerialiser.deserialiseEmpty()), predicate.test(null));
+        } catch (final SerialisationException | RuntimeException e) {
+            // The predicate will be tested against the deserialised element instead
+            return null;
+        }
+    }
+
+    private static boolean isByteOrdered(final Serialiser serialiser) {
+        return BYTE_ORDERED_SERIALISERS.contains(serialiser.getClass());
+    }
+
+    private static boolean isClass(final Object value, final Class<?> clazz) {
+        return null != value && null != clazz && clazz.equals(value.getClass());
+    }
+
+    private interface BytesPredicate {
+        boolean test(final byte[] bytes, final int offset, final int length);
+    }
+
+    private static final class SerialisedPredicate {
+        private final int index;
+        private final BytesPredicate predicate;
+        private final boolean emptyResult;
+        private final boolean nullResult;
+
+        private SerialisedPredicate(final int index, final BytesPredicate predicate, final boolean emptyResult, final boolean nullResult) {
+            this.index = index;
+            this.predicate = predicate;
+            this.emptyResult = emptyResult;
+            this.nullResult = nullResult;
+        }
+
+        private boolean test(final byte[] bytes, final int offset, final int length) {
+            return predicate.test(bytes, offset, length);
+        }
+    }
+}
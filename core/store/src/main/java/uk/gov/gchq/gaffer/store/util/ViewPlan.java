@@ -0,0 +1,210 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@code ViewPlan} is a {@link View} compiled against a {@link Schema}, so
+ * the per group filters, transformer and query aggregator are resolved once
+ * per query rather than once per element.
+ * <p>
+ * The filters are compiled into {@link BoundElementFilter}s and the
+ * transformer and aggregator are taken from the {@link View} and
+ * {@link Schema}, all of which can be evaluated from multiple threads, so a
+ * single {@code ViewPlan} can be shared by parallel query paths.
+ * </p>
+ */
+public class ViewPlan {
+    private final View view;
+    private final Map<String, GroupPlan> groupPlans;
+
+    public ViewPlan(final View view, final Schema schema) {
+        if (null == view) {
+            throw new IllegalArgumentException("View is required");
+        }
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+
+        this.view = view;
+        final Map<String, GroupPlan> plans = new HashMap<>();
+        for (final String group : view.getGroups()) {
+            plans.put(group, new GroupPlan(group, view.getElement(group), schema.getElement(group)));
+        }
+        this.groupPlans = Collections.unmodifiableMap(plans);
+    }
+
+    public View getView() {
+        return view;
+    }
+
+    public Set<String> getGroups() {
+        return groupPlans.keySet();
+    }
+
+    /**
+     * @param group the element group
+     * @return the plan for the group, or null if the group is not in the view
+     */
+    public GroupPlan getGroupPlan(final String group) {
+        return groupPlans.get(group);
+    }
+
+    /**
+     * Applies the transformer for the element's group, if there is one.
+     *
+     * @param element the element to transform
+     */
+    public void transform(final Element element) {
+        final GroupPlan plan = groupPlans.get(element.getGroup());
+        if (null != plan) {
+            plan.transform(element);
+        }
+    }
+
+    /**
+     * @param element the element to test
+     * @return true if the group is not in the view or the element passes the
+     * post transform filter for its group
+     */
+    public boolean testPostTransformFilter(final Element element) {
+        final GroupPlan plan = groupPlans.get(element.getGroup());
+        return null == plan || plan.testPostTransformFilter(element);
+    }
+
+    /**
+     * The compiled view for a single group.
+     */
+    public static final class GroupPlan {
+        private final String group;
+        private final ViewElementDefinition viewElementDefinition;
+        private final SchemaElementDefinition schemaElementDefinition;
+        private final BoundElementFilter preAggregationFilter;
+        private final BoundElementFilter postAggregationFilter;
+        private final BoundElementFilter postTransformFilter;
+        private final ElementTransformer transformer;
+        private final ElementAggregator queryAggregator;
+
+        private GroupPlan(final String group,
+                          final ViewElementDefinition viewElementDefinition,
+                          final SchemaElementDefinition schemaElementDefinition) {
+            this.group = group;
+            this.viewElementDefinition = viewElementDefinition;
+            this.schemaElementDefinition = schemaElementDefinition;
+            preAggregationFilter = bind(viewElementDefinition.getPreAggregationFilter());
+            postAggregationFilter = bind(viewElementDefinition.getPostAggregationFilter());
+            postTransformFilter = bind(viewElementDefinition.getPostTransformFilter());
+            final ElementTransformer viewTransformer = viewElementDefinition.getTransformer();
+            transformer = null != viewTransformer && !viewTransformer.getComponents().isEmpty() ? viewTransformer : null;
+            queryAggregator = null != schemaElementDefinition
+                    ? schemaElementDefinition.getQueryAggregator(viewElementDefinition.getGroupBy(), viewElementDefinition.getAggregator())
+                    : null;
+        }
+
+        public String getGroup() {
+            return group;
+        }
+
+        public ViewElementDefinition getViewElementDefinition() {
+            return viewElementDefinition;
+        }
+
+        /**
+         * @return the schema element definition, or null if the group is not in the schema
+         */
+        public SchemaElementDefinition getSchemaElementDefinition() {
+            return schemaElementDefinition;
+        }
+
+        /**
+         * @return the group by properties from the view, or null if the schema group by should be used
+         */
+        public Set<String> getGroupBy() {
+            return viewElementDefinition.getGroupBy();
+        }
+
+        /**
+         * @return the group by properties from the schema, or null if the group is not in the schema
+         */
+        public Set<String> getSchemaGroupBy() {
+            return null != schemaElementDefinition ? schemaElementDefinition.getGroupBy() : null;
+        }
+
+        /**
+         * @return the query aggregator combining the view and schema aggregators,
+         * or null if the group is not in the schema
+         */
+        public ElementAggregator getQueryAggregator() {
+            return queryAggregator;
+        }
+
+        public boolean hasPreAggregationFilter() {
+            return null != preAggregationFilter;
+        }
+
+        public boolean hasPostAggregationFilter() {
+            return null != postAggregationFilter;
+        }
+
+        public boolean hasPostTransformFilter() {
+            return null != postTransformFilter;
+        }
+
+        public boolean hasTransformer() {
+            return null != transformer;
+        }
+
+        public boolean testPreAggregationFilter(final Element element) {
+            return null == preAggregationFilter || preAggregationFilter.test(element);
+        }
+
+        public boolean testPostAggregationFilter(final Element element) {
+            return null == postAggregationFilter || postAggregationFilter.test(element);
+        }
+
+        public boolean testPostTransformFilter(final Element element) {
+            return null == postTransformFilter || postTransformFilter.test(element);
+        }
+
+        public void transform(final Element element) {
+            if (null != transformer) {
+                transformer.apply(element);
+            }
+        }
+
+        private static BoundElementFilter bind(final ElementFilter filter) {
+            if (null == filter) {
+                return null;
+            }
+
+            final BoundElementFilter boundFilter = new BoundElementFilter(filter);
+            return boundFilter.isEmpty() ? null : boundFilter;
+        }
+    }
+}
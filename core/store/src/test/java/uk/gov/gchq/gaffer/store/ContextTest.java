@@ -168,6 +168,33 @@ public class ContextTest {
         assertEquals(context.getVariables(), clonedContext.getVariables());
     }
 
+    @Test
+    public void shouldCopyContextWithSameJobId() {
+        // Given
+        final User user = new User("user");
+        final String testConf = "testConf";
+        final Context context = new Context.Builder()
+                .user(user)
+                .config(testConf, "testConfVal")
+                .variable("testVar", "testVarVal")
+                .build();
+
+        // When
+        final Context copiedContext = context.copy();
+        copiedContext.setConfig(testConf, "updatedConfVal");
+        copiedContext.setVariable("testVar2", "testVarVal2");
+
+        // Then
+        assertNotSame(context, copiedContext);
+        assertEquals(context.getJobId(), copiedContext.getJobId());
+        assertEquals(context.getUser(), copiedContext.getUser());
+        assertEquals("testConfVal", context.getConfig(testConf));
+        assertEquals("updatedConfVal", copiedContext.getConfig(testConf));
+        assertEquals(Collections.singletonMap("testVar", "testVarVal"), context.getVariables());
+        assertEquals("testVarVal", copiedContext.getVariable("testVar"));
+        assertEquals("testVarVal2", copiedContext.getVariable("testVar2"));
+    }
+
     @Test
     public void shouldAddVariables() {
         // Given
@@ -17,20 +17,54 @@
 package uk.gov.gchq.gaffer.store.operation.handler;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.graph.Walk;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 public class GetWalksHandlerTest {
     @Test
@@ -67,4 +101,277 @@ public class GetWalksHandlerTest {
         // Then
         assertNotNull(deserialisedObj);
     }
+
+    @Test
+    public void shouldReturnSameWalksInParallelMode() throws Exception {
+        // Given
+        final Store store = createBinaryTreeStore();
+        final List<EntityId> seeds = IntStream.range(1, 50)
+                .mapToObj(EntitySeed::new)
+                .collect(Collectors.toList());
+
+        final GetWalksHandler sequentialHandler = new GetWalksHandler();
+        final GetWalksHandler parallelHandler = new GetWalksHandler();
+        parallelHandler.setParallelism(4);
+        parallelHandler.setBatchSize(5);
+
+        // When
+        final Iterable<Walk> expected = sequentialHandler.doOperation(createGetWalks(seeds), new Context(), store);
+        final Iterable<Walk> result = parallelHandler.doOperation(createGetWalks(seeds), new Context(), store);
+
+        // Then
+        assertTrue(result instanceof CloseableIterable);
+        assertEquals(49 * 8, Lists.newArrayList(result).size());
+        assertEquals(Lists.newArrayList(expected), Lists.newArrayList(result));
+        verify(store, atLeast(10)).execute(any(Output.class), any(Context.class));
+    }
+
+    @Test
+    public void shouldExecuteEachParallelBatchWithItsOwnContext() throws Exception {
+        // Given
+        final Store store = createBinaryTreeStore();
+        final List<EntityId> seeds = IntStream.range(1, 50)
+                .mapToObj(EntitySeed::new)
+                .collect(Collectors.toList());
+        final GetWalksHandler handler = new GetWalksHandler();
+        handler.setParallelism(4);
+        handler.setBatchSize(5);
+        final Context context = new Context();
+
+        // When
+        assertEquals(49 * 8, Lists.newArrayList(handler.doOperation(createGetWalks(seeds), context, store)).size());
+
+        // Then
+        final ArgumentCaptor<Context> contextCaptor = ArgumentCaptor.forClass(Context.class);
+        verify(store, atLeast(10)).execute(any(Output.class), contextCaptor.capture());
+        final Set<Context> batchContexts = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final Context batchContext : contextCaptor.getAllValues()) {
+            assertFalse(context == batchContext);
+            assertEquals(context.getJobId(), batchContext.getJobId());
+            assertEquals(context.getUser(), batchContext.getUser());
+            batchContexts.add(batchContext);
+        }
+        assertEquals(contextCaptor.getAllValues().size(), batchContexts.size());
+    }
+
+    @Test
+    public void shouldStopParallelThreadsWhenWalksClosed() throws Exception {
+        // Given
+        final Store store = createBinaryTreeStore();
+        final List<EntityId> seeds = IntStream.range(1, 50)
+                .mapToObj(EntitySeed::new)
+                .collect(Collectors.toList());
+        final GetWalksHandler handler = new GetWalksHandler();
+        handler.setParallelism(4);
+        handler.setBatchSize(5);
+        final Set<Thread> existingThreads = getGetWalksThreads();
+        final CloseableIterable<Walk> result = (CloseableIterable<Walk>) handler.doOperation(createGetWalks(seeds), new Context(), store);
+        assertEquals(49 * 8, Lists.newArrayList(result).size());
+
+        // When
+        result.close();
+
+        // Then
+        final long timeout = System.currentTimeMillis() + 5000;
+        final Set<Thread> threads = getGetWalksThreads();
+        while (!existingThreads.containsAll(threads) && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+            threads.retainAll(getGetWalksThreads());
+        }
+        assertTrue(existingThreads.containsAll(threads));
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidParallelism() {
+        // Given
+        final GetWalksHandler handler = new GetWalksHandler();
+
+        // When / Then
+        try {
+            handler.setParallelism(0);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldDedupeFrontierWithoutChangingWalks() throws Exception {
+        // Given
+        final List<Object> queriedSeeds = new ArrayList<>();
+        final Store store = createStore(queriedSeeds, vertex -> new int[]{(vertex + 1) % 4, (vertex + 2) % 4});
+        final List<EntityId> seeds = Arrays.asList(new EntitySeed(0), new EntitySeed(1), new EntitySeed(2), new EntitySeed(3));
+        final GetWalksHandler handler = new GetWalksHandler();
+        final List<Walk> expected = Lists.newArrayList(handler.doOperation(createGetWalks(seeds), new Context(), store));
+        queriedSeeds.clear();
+
+        final GetWalks getWalks = createGetWalks(seeds);
+        getWalks.addOption(GetWalks.OPTION_FRONTIER_DEDUPE, GetWalks.FRONTIER_DEDUPE_EXACT);
+
+        // When
+        final List<Walk> result = Lists.newArrayList(handler.doOperation(getWalks, new Context(), store));
+
+        // Then
+        assertEquals(4 * 8, result.size());
+        assertEquals(Sets.newHashSet(expected), Sets.newHashSet(result));
+        assertEquals(12, queriedSeeds.size());
+    }
+
+    @Test
+    public void shouldDedupeFrontierWithBloomFilter() throws Exception {
+        // Given
+        final List<Object> queriedSeeds = new ArrayList<>();
+        final Store store = createStore(queriedSeeds, vertex -> new int[]{(vertex + 1) % 4, (vertex + 2) % 4});
+        final List<EntityId> seeds = Arrays.asList(new EntitySeed(0), new EntitySeed(1), new EntitySeed(2), new EntitySeed(3));
+        final GetWalks getWalks = createGetWalks(seeds);
+        getWalks.addOption(GetWalks.OPTION_FRONTIER_DEDUPE, GetWalks.FRONTIER_DEDUPE_BLOOM);
+        getWalks.addOption(GetWalks.OPTION_FRONTIER_BLOOM_SIZE, "100");
+
+        // When
+        final List<Walk> result = Lists.newArrayList(new GetWalksHandler().doOperation(getWalks, new Context(), store));
+
+        // Then
+        assertEquals(4 * 8, result.size());
+        assertEquals(12, queriedSeeds.size());
+    }
+
+    @Test
+    public void shouldNotDedupeDistinctVerticesWithSameHashCodeWithBloomFilter() throws Exception {
+        // Given
+        final Long vertex1 = 0L;
+        final Long vertex2 = (1L << 32) + 1;
+        assertEquals(vertex1.hashCode(), vertex2.hashCode());
+
+        final List<Object> queriedSeeds = new ArrayList<>();
+        final Store store = mock(Store.class);
+        given(store.execute(any(Output.class), any(Context.class))).willAnswer(invocation -> {
+            final OperationChain<?> chain = (OperationChain<?>) invocation.getArguments()[0];
+            final ToEntitySeeds toEntitySeeds = (ToEntitySeeds) chain.getOperations().get(0);
+            final List<Element> edges = new ArrayList<>();
+            for (final Object seed : toEntitySeeds.getInput()) {
+                final Object vertex = seed instanceof EntityId ? ((EntityId) seed).getVertex() : seed;
+                queriedSeeds.add(vertex);
+                final List<Long> dests = vertex.equals(1L) ? Arrays.asList(vertex1, vertex2) : Collections.singletonList(2L);
+                for (final Long dest : dests) {
+                    edges.add(new Edge.Builder()
+                            .group(TestGroups.EDGE)
+                            .source(vertex)
+                            .dest(dest)
+                            .directed(true)
+                            .matchedVertex(EdgeId.MatchedVertex.SOURCE)
+                            .build());
+                }
+            }
+            return edges;
+        });
+
+        final GetWalks getWalks = new GetWalks.Builder()
+                .input(new EntitySeed(1L))
+                .operations(createGetElements(), createGetElements())
+                .build();
+        getWalks.addOption(GetWalks.OPTION_FRONTIER_DEDUPE, GetWalks.FRONTIER_DEDUPE_BLOOM);
+
+        // When
+        final List<Walk> result = Lists.newArrayList(new GetWalksHandler().doOperation(getWalks, new Context(), store));
+
+        // Then
+        assertEquals(Arrays.asList(1L, vertex1, vertex2), queriedSeeds);
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    public void shouldExcludeVisitedVerticesFromFrontier() throws Exception {
+        // Given
+        final List<Object> queriedSeeds = new ArrayList<>();
+        final Store store = createStore(queriedSeeds, vertex -> new int[]{vertex + 1, vertex + 2});
+        final GetWalks getWalks = createGetWalks(Collections.singletonList(new EntitySeed(0)));
+        getWalks.addOption(GetWalks.OPTION_EXCLUDE_VISITED, "true");
+
+        // When
+        final List<Walk> result = Lists.newArrayList(new GetWalksHandler().doOperation(getWalks, new Context(), store));
+
+        // Then
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), queriedSeeds);
+        assertEquals(6, result.size());
+    }
+
+    @Test
+    public void shouldLimitFanOutPerVertex() throws Exception {
+        // Given
+        final Store store = createStore(new ArrayList<>(), vertex -> new int[]{2 * vertex, 2 * vertex + 1});
+        final GetWalks getWalks = createGetWalks(Arrays.asList(new EntitySeed(1), new EntitySeed(2)));
+        getWalks.addOption(GetWalks.OPTION_MAX_FAN_OUT, "1");
+
+        // When
+        final List<Walk> result = Lists.newArrayList(new GetWalksHandler().doOperation(getWalks, new Context(), store));
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(Arrays.asList(1, 2, 4, 8), result.get(0).getVerticesOrdered());
+    }
+
+    @Test
+    public void shouldThrowExceptionForUnknownDedupeOption() throws Exception {
+        // Given
+        final GetWalks getWalks = createGetWalks(Collections.singletonList(new EntitySeed(1)));
+        getWalks.addOption(GetWalks.OPTION_FRONTIER_DEDUPE, "unknown");
+
+        // When / Then
+        try {
+            new GetWalksHandler().doOperation(getWalks, new Context(), createBinaryTreeStore());
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertTrue(e.getMessage().contains(GetWalks.OPTION_FRONTIER_DEDUPE));
+        }
+    }
+
+    private GetWalks createGetWalks(final List<EntityId> seeds) {
+        return new GetWalks.Builder()
+                .input(seeds)
+                .operations(createGetElements(), createGetElements(), createGetElements())
+                .build();
+    }
+
+    private GetElements createGetElements() {
+        return new GetElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+    }
+
+    private Set<Thread> getGetWalksThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("get-walks-"))
+                .collect(Collectors.toSet());
+    }
+
+    private Store createBinaryTreeStore() throws Exception {
+        // Each vertex n has edges to 2n and 2n + 1
+        return createStore(new ArrayList<>(), vertex -> new int[]{2 * vertex, 2 * vertex + 1});
+    }
+
+    private Store createStore(final List<Object> queriedSeeds, final IntFunction<int[]> adjacentVertices) throws Exception {
+        final Store store = mock(Store.class);
+        given(store.execute(any(Output.class), any(Context.class))).willAnswer(invocation -> {
+            final OperationChain<?> chain = (OperationChain<?>) invocation.getArguments()[0];
+            final ToEntitySeeds toEntitySeeds = (ToEntitySeeds) chain.getOperations().get(0);
+            final List<Element> edges = new ArrayList<>();
+            for (final Object seed : toEntitySeeds.getInput()) {
+                final int vertex = (int) (seed instanceof EntityId ? ((EntityId) seed).getVertex() : seed);
+                queriedSeeds.add(vertex);
+                for (final int dest : adjacentVertices.apply(vertex)) {
+                    edges.add(new Edge.Builder()
+                            .group(TestGroups.EDGE)
+                            .source(vertex)
+                            .dest(dest)
+                            .directed(true)
+                            .matchedVertex(EdgeId.MatchedVertex.SOURCE)
+                            .build());
+                }
+            }
+            return edges;
+        });
+        return store;
+    }
 }
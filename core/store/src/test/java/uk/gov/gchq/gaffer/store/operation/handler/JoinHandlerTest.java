@@ -16,29 +16,45 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler;
 
+import com.google.common.collect.Lists;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.join.Join;
 import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
 import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinType;
+import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.join.JoinHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.join.match.ElementMatch;
 import uk.gov.gchq.gaffer.store.operation.handler.join.match.KeyFunctionMatch;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.function.Identity;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 
 public class JoinHandlerTest {
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
 
     private final Store store = mock(Store.class);
     private final Context context = new Context(new User());
@@ -104,4 +120,162 @@ public class JoinHandlerTest {
             assertEquals("A match method must be supplied", e.getMessage());
         }
     }
+
+    @Test
+    public void shouldStreamSameResultsAsListForEachJoinType() throws OperationException {
+        for (final JoinType joinType : JoinType.values()) {
+            for (final MatchKey matchKey : MatchKey.values()) {
+                for (final boolean flatten : Arrays.asList(true, false)) {
+                    // Given
+                    final Join<Integer> joinOp = createJoin(joinType, matchKey, flatten);
+                    final Join<Integer> streamingJoinOp = createJoin(joinType, matchKey, flatten);
+                    streamingJoinOp.addOption(Join.OPTION_STREAM, "true");
+
+                    // When
+                    final Iterable<? extends MapTuple> results = new JoinHandler<Integer>().doOperation(joinOp, context, store);
+                    final Iterable<? extends MapTuple> streamedResults = new JoinHandler<Integer>().doOperation(streamingJoinOp, context, store);
+
+                    // Then
+                    assertTrue(streamedResults instanceof CloseableIterable);
+                    assertEquals(Lists.newArrayList(results), Lists.newArrayList(streamedResults));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldSpillToDiskWhenMatchCandidatesExceedThreshold() throws Exception {
+        for (final JoinType joinType : JoinType.values()) {
+            for (final MatchKey matchKey : MatchKey.values()) {
+                for (final boolean flatten : Arrays.asList(true, false)) {
+                    // Given
+                    final Join<Integer> joinOp = createJoin(joinType, matchKey, flatten);
+                    final Join<Integer> spillingJoinOp = createJoin(joinType, matchKey, flatten);
+                    spillingJoinOp.addOption(Join.OPTION_STREAM, "true");
+                    spillingJoinOp.addOption(Join.OPTION_SPILL_THRESHOLD, "2");
+                    spillingJoinOp.addOption(Join.OPTION_SPILL_PARTITIONS, "3");
+                    spillingJoinOp.addOption(Join.OPTION_SPILL_DIR, testFolder.getRoot().getAbsolutePath());
+
+                    // When
+                    final Iterable<? extends MapTuple> results = new JoinHandler<Integer>().doOperation(joinOp, context, store);
+                    final CloseableIterable<? extends MapTuple> spilledResults = (CloseableIterable<? extends MapTuple>) new JoinHandler<Integer>().doOperation(spillingJoinOp, context, store);
+
+                    // Then
+                    assertEquals(sort(results), sort(spilledResults));
+                    assertEquals(sort(results), sort(spilledResults));
+                    spilledResults.close();
+                    assertEquals(0, testFolder.getRoot().listFiles().length);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotApplyCollectionLimitWhenSpillingToDisk() throws Exception {
+        // Given
+        final List<Integer> rightList = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        given(store.execute(any(Output.class), any(Context.class))).willReturn(rightList);
+        final Join<Integer> joinOp = new Join.Builder<Integer>()
+                .input(rightList)
+                .operation(new GetAllElements())
+                .joinType(JoinType.INNER)
+                .matchKey(MatchKey.LEFT)
+                .matchMethod(new KeyFunctionMatch())
+                .collectionLimit(10)
+                .option(Join.OPTION_STREAM, "true")
+                .option(Join.OPTION_SPILL_THRESHOLD, "10")
+                .option(Join.OPTION_SPILL_DIR, testFolder.getRoot().getAbsolutePath())
+                .build();
+
+        // When
+        final CloseableIterable<? extends MapTuple> results = (CloseableIterable<? extends MapTuple>) new JoinHandler<Integer>().doOperation(joinOp, context, store);
+
+        // Then
+        assertEquals(1000, Lists.newArrayList(results).size());
+        results.close();
+    }
+
+    @Test
+    public void shouldApplyCollectionLimitWhenMatchCandidatesAreUnderSpillThreshold() throws Exception {
+        // Given
+        final Join<Integer> joinOp = createJoin(JoinType.INNER, MatchKey.LEFT, true);
+        joinOp.setCollectionLimit(5);
+        joinOp.addOption(Join.OPTION_STREAM, "true");
+        joinOp.addOption(Join.OPTION_SPILL_THRESHOLD, "100");
+        joinOp.addOption(Join.OPTION_SPILL_DIR, testFolder.getRoot().getAbsolutePath());
+
+        // When / Then
+        try {
+            new JoinHandler<Integer>().doOperation(joinOp, context, store);
+            fail("exception expected");
+        } catch (final OperationException e) {
+            assertTrue(e.getCause().getMessage().contains("exceeded"));
+        }
+    }
+
+    @Test
+    public void shouldJoinInMemoryWhenMatchCandidatesAreNotSerializable() throws Exception {
+        // Given
+        final List<NonSerializableValue> values = IntStream.range(0, 10).mapToObj(NonSerializableValue::new).collect(Collectors.toList());
+        given(store.execute(any(Output.class), any(Context.class))).willReturn(values);
+        final Join<NonSerializableValue> joinOp = new Join.Builder<NonSerializableValue>()
+                .input(values)
+                .operation(new GetAllElements())
+                .joinType(JoinType.INNER)
+                .matchKey(MatchKey.LEFT)
+                .matchMethod(new KeyFunctionMatch(new Identity(), new Identity()))
+                .option(Join.OPTION_STREAM, "true")
+                .option(Join.OPTION_SPILL_THRESHOLD, "2")
+                .option(Join.OPTION_SPILL_DIR, testFolder.getRoot().getAbsolutePath())
+                .build();
+
+        // When
+        final Iterable<? extends MapTuple> results = new JoinHandler<NonSerializableValue>().doOperation(joinOp, context, store);
+
+        // Then
+        assertEquals(10, Lists.newArrayList(results).size());
+        assertEquals(0, testFolder.getRoot().listFiles().length);
+    }
+
+    private Join<Integer> createJoin(final JoinType joinType, final MatchKey matchKey, final boolean flatten) throws OperationException {
+        final List<Integer> leftList = Arrays.asList(1, 2, 2, 3, 4, 5, 8, 10);
+        final List<Integer> rightList = Arrays.asList(2, 3, 3, 4, 6, 7, 8, 8, 9);
+        given(store.execute(any(Output.class), any(Context.class))).willReturn(rightList);
+
+        return new Join.Builder<Integer>()
+                .input(leftList)
+                .operation(new GetAllElements())
+                .joinType(joinType)
+                .matchKey(matchKey)
+                .flatten(flatten)
+                .matchMethod(new KeyFunctionMatch(new Identity(), new Identity()))
+                .build();
+    }
+
+    private static final class NonSerializableValue {
+        private final int value;
+
+        private NonSerializableValue(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof NonSerializableValue && value == ((NonSerializableValue) obj).value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value;
+        }
+    }
+
+    private static List<String> sort(final Iterable<? extends MapTuple> results) {
+        final List<String> sorted = new ArrayList<>();
+        for (final MapTuple result : results) {
+            sorted.add(result.get(MatchKey.LEFT.name()) + ":" + result.get(MatchKey.RIGHT.name()));
+        }
+        sorted.sort(Comparator.naturalOrder());
+        return sorted;
+    }
 }
@@ -21,10 +21,13 @@ import org.junit.Test;
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -237,4 +240,105 @@ public class ElementMatchTest {
         // Then
         assertEquals(0, matchingElements.size());
     }
+
+    @Test
+    public void shouldMatchEdgesOnIdentifiersAndDirection() {
+        // Given
+        final Edge testEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+
+        final Edge matchingEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 5L)
+                .build();
+
+        final List<Edge> comparisonEdgeList = Arrays.asList(
+                matchingEdge,
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("source")
+                        .dest("dest")
+                        .directed(false)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("dest")
+                        .dest("source")
+                        .directed(true)
+                        .build());
+
+        final ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(comparisonEdgeList);
+
+        // When
+        final List<Element> matchingElements = elementMatch.matching(testEdge);
+
+        // Then
+        assertEquals(Collections.singletonList(matchingEdge), matchingElements);
+    }
+
+    @Test
+    public void shouldMatchUsingUpdatedGroupByProperties() {
+        // Given
+        final Entity testEntity = new Entity.Builder()
+                .group(TestGroups.ENTITY_3)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+
+        final Entity testEntity2 = new Entity.Builder()
+                .group(TestGroups.ENTITY_3)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 5L)
+                .build();
+
+        final ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(Arrays.asList(testEntity.shallowClone(), testEntity2.shallowClone()));
+
+        // When
+        elementMatch.setElementGroupByProperties(Collections.singleton(TestPropertyNames.COUNT));
+        final List<Element> matchingElements = elementMatch.matching(testEntity);
+
+        // Then
+        assertEquals(Collections.singletonList(testEntity), matchingElements);
+    }
+
+    @Test
+    public void shouldMatchLargeNumbersOfElementsInOrder() {
+        // Given
+        final List<Entity> comparisonEntityList = new ArrayList<>();
+        for (int i = 0; i < 200000; i++) {
+            comparisonEntityList.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + (i % 100000))
+                    .property(TestPropertyNames.COUNT, (long) i)
+                    .build());
+        }
+
+        final ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(comparisonEntityList);
+
+        // When
+        final List<List<Element>> results = new ArrayList<>();
+        for (int i = 0; i < 200000; i++) {
+            results.add(elementMatch.matching(new Entity(TestGroups.ENTITY, "vertex" + i)));
+        }
+
+        // Then
+        for (int i = 0; i < 200000; i++) {
+            if (i < 100000) {
+                assertEquals(Arrays.asList(comparisonEntityList.get(i), comparisonEntityList.get(i + 100000)), results.get(i));
+            } else {
+                assertTrue(results.get(i).isEmpty());
+            }
+        }
+    }
 }
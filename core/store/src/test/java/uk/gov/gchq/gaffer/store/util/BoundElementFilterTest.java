@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.ElementTuple;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.koryphe.impl.predicate.Exists;
+import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
+import uk.gov.gchq.koryphe.impl.predicate.IsTrue;
+import uk.gov.gchq.koryphe.impl.predicate.IsXLessThanY;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BoundElementFilterTest {
+
+    @Test
+    public void shouldTestElementsWithBoundSelections() {
+        // Given
+        final BoundElementFilter filter = new BoundElementFilter(new ElementFilter.Builder()
+                .select(IdentifierType.SOURCE.name())
+                .execute(new IsEqual("source"))
+                .select(IdentifierType.DIRECTED.name())
+                .execute(new IsTrue())
+                .select(ElementTuple.PROPERTIES)
+                .execute(new Exists())
+                .select(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2)
+                .execute(new IsXLessThanY())
+                .build());
+
+        // When / Then
+        assertFalse(filter.isEmpty());
+        assertTrue(filter.test(createEdge("source", true, 1, 2)));
+        assertFalse(filter.test(createEdge("other", true, 1, 2)));
+        assertFalse(filter.test(createEdge("source", false, 1, 2)));
+        assertFalse(filter.test(createEdge("source", true, 2, 1)));
+    }
+
+    @Test
+    public void shouldAcceptAllElementsWhenThereAreNoPredicates() {
+        // Given
+        final BoundElementFilter filter = new BoundElementFilter(null);
+
+        // When / Then
+        assertTrue(filter.isEmpty());
+        assertTrue(filter.test(createEdge("source", true, 1, 2)));
+    }
+
+    private Edge createEdge(final String source, final boolean directed, final int prop1, final int prop2) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest("dest")
+                .directed(directed)
+                .property(TestPropertyNames.PROP_1, prop1)
+                .property(TestPropertyNames.PROP_2, prop2)
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SerialisedPropertiesAggregatorTest {
+    private static final CompactRawLongSerialiser COUNT_SERIALISER = new CompactRawLongSerialiser();
+    private static final OrderedLongSerialiser MAX_SERIALISER = new OrderedLongSerialiser();
+
+    @Test
+    public void shouldAggregateSerialisedProperties() throws SerialisationException {
+        // Given
+        final SerialisedPropertiesAggregator aggregator = new SerialisedPropertiesAggregator(
+                createSchema().getEntity(TestGroups.ENTITY),
+                Arrays.asList(TestPropertyNames.COUNT, TestPropertyNames.PROP_1));
+
+        // When
+        final byte[] result = aggregator.aggregate(serialise(3L, 10L), serialise(4L, 7L));
+
+        // Then
+        assertTrue(aggregator.isSupported());
+        assertArrayEquals(serialise(7L, 10L), result);
+    }
+
+    @Test
+    public void shouldAggregateSerialisedPropertiesWithNullAndMissingValues() throws SerialisationException {
+        // Given
+        final SerialisedPropertiesAggregator aggregator = new SerialisedPropertiesAggregator(
+                createSchema().getEntity(TestGroups.ENTITY),
+                Arrays.asList(TestPropertyNames.COUNT, TestPropertyNames.PROP_1));
+        final ByteArrayOutputStream countOnly = new ByteArrayOutputStream();
+        LengthValueBytesSerialiserUtil.serialise(COUNT_SERIALISER, 5L, countOnly);
+
+        // When
+        final byte[] result1 = aggregator.aggregate(serialise(null, 10L), serialise(4L, null));
+        final byte[] result2 = aggregator.aggregate(countOnly.toByteArray(), serialise(4L, 7L));
+
+        // Then
+        assertArrayEquals(serialise(4L, 10L), result1);
+        assertArrayEquals(serialise(9L, 7L), result2);
+    }
+
+    @Test
+    public void shouldNotSupportPropertiesWithoutSerialisedAggregation() {
+        // Given
+        final Schema schema = createSchema();
+
+        // When
+        final SerialisedPropertiesAggregator aggregator = new SerialisedPropertiesAggregator(
+                schema.getEntity(TestGroups.ENTITY_2),
+                Arrays.asList(TestPropertyNames.COUNT, TestPropertyNames.STRING));
+
+        // Then
+        assertFalse(aggregator.isSupported());
+    }
+
+    private static byte[] serialise(final Long count, final Long max) throws SerialisationException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LengthValueBytesSerialiserUtil.serialise(COUNT_SERIALISER, count, out);
+        LengthValueBytesSerialiserUtil.serialise(MAX_SERIALISER, max, out);
+        return out.toByteArray();
+    }
+
+    private static Schema createSchema() {
+        return new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.COUNT, "count")
+                        .property(TestPropertyNames.PROP_1, "max")
+                        .build())
+                .entity(TestGroups.ENTITY_2, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.COUNT, "count")
+                        .property(TestPropertyNames.STRING, "string")
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .aggregateFunction(new StringConcat())
+                        .build())
+                .type("count", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .serialiser(COUNT_SERIALISER)
+                        .aggregateFunction(new Sum())
+                        .build())
+                .type("max", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .serialiser(MAX_SERIALISER)
+                        .aggregateFunction(new Max())
+                        .build())
+                .build();
+    }
+}
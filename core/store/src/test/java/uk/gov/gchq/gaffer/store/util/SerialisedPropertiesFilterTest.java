@@ -0,0 +1,223 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.LongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.RawLongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.predicate.Exists;
+import uk.gov.gchq.koryphe.impl.predicate.IsIn;
+import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SerialisedPropertiesFilterTest {
+    private static final StringSerialiser STRING_SERIALISER = new StringSerialiser();
+    private static final OrderedLongSerialiser ORDERED_SERIALISER = new OrderedLongSerialiser();
+    private static final CompactRawLongSerialiser COUNT_SERIALISER = new CompactRawLongSerialiser();
+
+    @Test
+    public void shouldTestSerialisedProperties() throws SerialisationException {
+        // Given
+        final SerialisedPropertiesFilter filter = createFilter(new ElementFilter.Builder()
+                .select(TestPropertyNames.STRING)
+                .execute(new IsIn("a", "b"))
+                .select(TestPropertyNames.PROP_1)
+                .execute(new IsMoreThan(10L, true))
+                .select(TestPropertyNames.PROP_2)
+                .execute(new IsLessThan(5L))
+                .build());
+
+        // When / Then
+        assertTrue(filter.hasPredicates());
+        assertTrue(filter.isComplete());
+        assertTrue(filter.testQualifier(serialiseQualifier("a"), 0));
+        assertFalse(filter.testQualifier(serialiseQualifier("c"), 0));
+        assertTrue(filter.testValue(serialiseValue(10L, 4L, 1L)));
+        assertTrue(filter.testValue(serialiseValue(Long.MAX_VALUE, Long.MIN_VALUE, 1L)));
+        assertFalse(filter.testValue(serialiseValue(9L, 4L, 1L)));
+        assertFalse(filter.testValue(serialiseValue(-20L, 4L, 1L)));
+        assertFalse(filter.testValue(serialiseValue(11L, 5L, 1L)));
+    }
+
+    @Test
+    public void shouldTestNullAndMissingPropertiesWithOriginalPredicate() throws SerialisationException {
+        // Given
+        final SerialisedPropertiesFilter filter = createFilter(new ElementFilter.Builder()
+                .select(TestPropertyNames.PROP_2)
+                .execute(new IsLessThan(5L))
+                .build());
+
+        // When / Then
+        assertFalse(filter.testValue(serialiseValue(1L, null, 1L)));
+        assertFalse(filter.testValue(new byte[0]));
+    }
+
+    @Test
+    public void shouldNotCompileUnsupportedPredicates() throws SerialisationException {
+        // Given
+        final SerialisedPropertiesFilter filter = createFilter(new ElementFilter.Builder()
+                .select(TestPropertyNames.COUNT)
+                .execute(new IsMoreThan(1L))
+                .select(TestPropertyNames.PROP_1)
+                .execute(new Exists())
+                .select(TestPropertyNames.PROP_2)
+                .execute(new IsMoreThan(1))
+                .select(IdentifierType.VERTEX.name())
+                .execute(new IsIn("a"))
+                .build());
+
+        // When / Then
+        assertFalse(filter.hasPredicates());
+        assertFalse(filter.isComplete());
+        assertTrue(filter.testValue(serialiseValue(0L, 0L, 0L)));
+    }
+
+    @Test
+    public void shouldCompileSomePredicates() throws SerialisationException {
+        // Given
+        final SerialisedPropertiesFilter filter = createFilter(new ElementFilter.Builder()
+                .select(TestPropertyNames.COUNT)
+                .execute(new IsMoreThan(1L))
+                .select(TestPropertyNames.PROP_1)
+                .execute(new IsIn(1L, 2L))
+                .build());
+
+        // When / Then
+        assertTrue(filter.hasPredicates());
+        assertFalse(filter.isComplete());
+        assertTrue(filter.testValue(serialiseValue(2L, 0L, 0L)));
+        assertFalse(filter.testValue(serialiseValue(3L, 0L, 0L)));
+    }
+
+    @Test
+    public void shouldCompileRangesForOrderedSerialiser() throws SerialisationException {
+        // Given
+        final SerialisedPropertiesFilter filter = createFilter(new ElementFilter.Builder()
+                .select(TestPropertyNames.PROP_1)
+                .execute(new IsMoreThan(100L))
+                .select(TestPropertyNames.PROP_2)
+                .execute(new IsMoreThan(9L))
+                .build());
+
+        // When / Then
+        assertTrue(filter.isComplete());
+        assertTrue(filter.testValue(serialiseValue(256L, 10L, 0L)));
+        assertFalse(filter.testValue(serialiseValue(2L, 10L, 0L)));
+        assertFalse(filter.testValue(serialiseValue(256L, 9L, 0L)));
+    }
+
+    @Test
+    public void shouldNotCompileRangesForRawLongSerialiser() throws SerialisationException {
+        shouldNotCompileRangesForSerialiser(new RawLongSerialiser());
+    }
+
+    @Test
+    public void shouldNotCompileRangesForLongSerialiser() throws SerialisationException {
+        shouldNotCompileRangesForSerialiser(new LongSerialiser());
+    }
+
+    private void shouldNotCompileRangesForSerialiser(final ToBytesSerialiser<Long> serialiser) throws SerialisationException {
+        // Given
+        final SerialisedPropertiesFilter filter = createFilter(serialiser, new ElementFilter.Builder()
+                .select(TestPropertyNames.PROP_1)
+                .execute(new IsMoreThan(100L))
+                .select(TestPropertyNames.PROP_2)
+                .execute(new IsLessThan(10L))
+                .build());
+
+        // When / Then
+        assertFalse(filter.hasPredicates());
+        assertFalse(filter.isComplete());
+        assertTrue(filter.testValue(serialiseValue(serialiser, 256L, 9L, 0L)));
+        assertTrue(filter.testValue(serialiseValue(serialiser, 2L, 10L, 0L)));
+    }
+
+    private static SerialisedPropertiesFilter createFilter(final ElementFilter elementFilter) {
+        return createFilter(ORDERED_SERIALISER, elementFilter);
+    }
+
+    private static SerialisedPropertiesFilter createFilter(final ToBytesSerialiser<Long> propertySerialiser, final ElementFilter elementFilter) {
+        final SchemaElementDefinition elementDef = createSchema(propertySerialiser).getEntity(TestGroups.ENTITY);
+        return new SerialisedPropertiesFilter(elementDef, elementFilter,
+                Collections.singletonList(TestPropertyNames.STRING),
+                Arrays.asList(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2, TestPropertyNames.COUNT));
+    }
+
+    private static byte[] serialiseQualifier(final String value) throws SerialisationException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LengthValueBytesSerialiserUtil.serialise(STRING_SERIALISER, value, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] serialiseValue(final Long prop1, final Long prop2, final Long count) throws SerialisationException {
+        return serialiseValue(ORDERED_SERIALISER, prop1, prop2, count);
+    }
+
+    private static byte[] serialiseValue(final ToBytesSerialiser<Long> propertySerialiser, final Long prop1, final Long prop2, final Long count) throws SerialisationException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LengthValueBytesSerialiserUtil.serialise(propertySerialiser, prop1, out);
+        LengthValueBytesSerialiserUtil.serialise(propertySerialiser, prop2, out);
+        LengthValueBytesSerialiserUtil.serialise(COUNT_SERIALISER, count, out);
+        return out.toByteArray();
+    }
+
+    private static Schema createSchema(final ToBytesSerialiser<Long> propertySerialiser) {
+        return new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.STRING, "string")
+                        .property(TestPropertyNames.PROP_1, "ordered")
+                        .property(TestPropertyNames.PROP_2, "ordered")
+                        .property(TestPropertyNames.COUNT, "count")
+                        .groupBy(TestPropertyNames.STRING)
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(STRING_SERIALISER)
+                        .build())
+                .type("ordered", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .serialiser(propertySerialiser)
+                        .build())
+                .type("count", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .serialiser(COUNT_SERIALISER)
+                        .build())
+                .build();
+    }
+}
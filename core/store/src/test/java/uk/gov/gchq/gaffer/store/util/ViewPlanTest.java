@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+import uk.gov.gchq.koryphe.impl.function.ToUpperCase;
+import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
+import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ViewPlanTest {
+
+    @Test
+    public void shouldCompileViewForEachGroup() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .groupBy()
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.COUNT)
+                                .execute(new IsMoreThan(1L))
+                                .build())
+                        .postAggregationFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.COUNT)
+                                .execute(new IsLessThan(10L))
+                                .build())
+                        .transformer(new ElementTransformer.Builder()
+                                .select(TestPropertyNames.STRING)
+                                .execute(new ToUpperCase())
+                                .project(TestPropertyNames.STRING)
+                                .build())
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.STRING)
+                                .execute(new IsEqual("A"))
+                                .build())
+                        .build())
+                .entity(TestGroups.ENTITY_2)
+                .build();
+
+        // When
+        final ViewPlan plan = new ViewPlan(view, createSchema());
+
+        // Then
+        assertSame(view, plan.getView());
+        assertEquals(Sets.newHashSet(TestGroups.ENTITY, TestGroups.ENTITY_2), plan.getGroups());
+        assertNull(plan.getGroupPlan(TestGroups.EDGE));
+
+        final ViewPlan.GroupPlan groupPlan = plan.getGroupPlan(TestGroups.ENTITY);
+        assertEquals(Collections.emptySet(), groupPlan.getGroupBy());
+        assertEquals(Collections.singleton(TestPropertyNames.STRING), groupPlan.getSchemaGroupBy());
+        assertTrue(groupPlan.hasPreAggregationFilter());
+        assertTrue(groupPlan.hasPostAggregationFilter());
+        assertTrue(groupPlan.hasTransformer());
+        assertTrue(groupPlan.hasPostTransformFilter());
+
+        final Entity entity = createEntity(TestGroups.ENTITY, "a", 5L);
+        assertTrue(groupPlan.testPreAggregationFilter(entity));
+        assertFalse(groupPlan.testPreAggregationFilter(createEntity(TestGroups.ENTITY, "a", 1L)));
+        assertTrue(groupPlan.testPostAggregationFilter(entity));
+        assertFalse(groupPlan.testPostAggregationFilter(createEntity(TestGroups.ENTITY, "a", 10L)));
+        assertFalse(plan.testPostTransformFilter(entity));
+        plan.transform(entity);
+        assertEquals("A", entity.getProperty(TestPropertyNames.STRING));
+        assertTrue(plan.testPostTransformFilter(entity));
+
+        final ViewPlan.GroupPlan emptyGroupPlan = plan.getGroupPlan(TestGroups.ENTITY_2);
+        assertNull(emptyGroupPlan.getGroupBy());
+        assertFalse(emptyGroupPlan.hasPreAggregationFilter());
+        assertFalse(emptyGroupPlan.hasPostAggregationFilter());
+        assertFalse(emptyGroupPlan.hasTransformer());
+        assertFalse(emptyGroupPlan.hasPostTransformFilter());
+        assertTrue(emptyGroupPlan.testPreAggregationFilter(createEntity(TestGroups.ENTITY_2, "a", 1L)));
+    }
+
+    @Test
+    public void shouldResolveQueryAggregatorOnce() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .groupBy()
+                        .aggregator(new ElementAggregator.Builder()
+                                .select(TestPropertyNames.COUNT)
+                                .execute(new Max())
+                                .build())
+                        .build())
+                .build();
+        final ViewPlan plan = new ViewPlan(view, createSchema());
+        final ViewPlan.GroupPlan groupPlan = plan.getGroupPlan(TestGroups.ENTITY);
+        final Properties properties = new Properties();
+        properties.put(TestPropertyNames.STRING, "a");
+        properties.put(TestPropertyNames.COUNT, 2L);
+        final Properties otherProperties = new Properties();
+        otherProperties.put(TestPropertyNames.STRING, "b");
+        otherProperties.put(TestPropertyNames.COUNT, 5L);
+
+        // When
+        final Properties result = groupPlan.getQueryAggregator().apply(properties, otherProperties);
+
+        // Then
+        assertSame(groupPlan.getQueryAggregator(), plan.getGroupPlan(TestGroups.ENTITY).getQueryAggregator());
+        assertEquals(5L, result.get(TestPropertyNames.COUNT));
+        assertEquals("a,b", result.get(TestPropertyNames.STRING));
+    }
+
+    private Schema createSchema() {
+        return new Schema.Builder()
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .aggregateFunction(new StringConcat())
+                        .build())
+                .type("long", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .aggregateFunction(new Sum())
+                        .build())
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.STRING, "string")
+                        .property(TestPropertyNames.COUNT, "long")
+                        .groupBy(TestPropertyNames.STRING)
+                        .build())
+                .entity(TestGroups.ENTITY_2, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.STRING, "string")
+                        .property(TestPropertyNames.COUNT, "long")
+                        .build())
+                .build();
+    }
+
+    private Entity createEntity(final String group, final String string, final long count) {
+        return new Entity.Builder()
+                .group(group)
+                .vertex("vertex")
+                .property(TestPropertyNames.STRING, string)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+}
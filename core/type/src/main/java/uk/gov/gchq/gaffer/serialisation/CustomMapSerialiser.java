@@ -47,8 +47,13 @@ public class CustomMapSerialiser implements ToBytesSerialiser<CustomMap> {
 
     @Override
     public CustomMap deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public CustomMap deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         try {
-            return CustomMapInterim.deserialise(bytes);
+            return CustomMapInterim.deserialise(allBytes, offset, length);
         } catch (final Exception e) {
             throw new SerialisationException("Problem serialising CustomMap", e);
         }
@@ -118,9 +123,9 @@ public class CustomMapSerialiser implements ToBytesSerialiser<CustomMap> {
             }
         }
 
-        public static CustomMap deserialise(final byte[] bytes) throws SerialisationException {
+        public static CustomMap deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
             try {
-                final CustomMapInterim mapInterim = (CustomMapInterim) new JavaSerialiser().deserialise(bytes);
+                final CustomMapInterim mapInterim = (CustomMapInterim) new JavaSerialiser().deserialise(allBytes, offset, length);
                 final Map<?, ?> innerMap = getInnerMap(mapInterim);
 
                 return new CustomMap(mapInterim.getKeySerialiser(), mapInterim.getValueSerialiser(), innerMap);
@@ -72,20 +72,27 @@ public class FreqMapSerialiser implements ToBytesSerialiser<FreqMap> {
     @Override
     public FreqMap deserialise(final byte[] bytes) throws
             SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public FreqMap deserialise(final byte[] allBytes, final int offset, final int length) throws
+            SerialisationException {
         FreqMap freqMap = new FreqMap();
-        if (bytes.length == 0) {
+        if (length == 0) {
             return freqMap;
         }
 
-        int lastDelimiter = 0;
+        final int end = offset + length;
+        int lastDelimiter = offset;
         String key = null;
-        for (int i = 0; i < bytes.length; i++) {
-            if (bytes[i] == ByteArrayEscapeUtils.DELIMITER) {
+        for (int i = offset; i < end; i++) {
+            if (allBytes[i] == ByteArrayEscapeUtils.DELIMITER) {
                 if (null == key) {
                     // Deserialise key
                     if (i > lastDelimiter) {
                         try {
-                            key = new String(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, i), CommonConstants.UTF_8);
+                            key = new String(ByteArrayEscapeUtils.unEscape(allBytes, lastDelimiter, i), CommonConstants.UTF_8);
                         } catch (final UnsupportedEncodingException e) {
                             throw new SerialisationException("Failed to deserialise a key from a FreqMap", e);
                         }
@@ -95,7 +102,7 @@ public class FreqMapSerialiser implements ToBytesSerialiser<FreqMap> {
                 } else {
                     // Deserialise value
                     if (i > lastDelimiter) {
-                        final Long value = longSerialiser.deserialise(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, i));
+                        final Long value = longSerialiser.deserialise(ByteArrayEscapeUtils.unEscape(allBytes, lastDelimiter, i));
                         freqMap.put(key, value);
                         key = null;
                     }
@@ -107,8 +114,8 @@ public class FreqMapSerialiser implements ToBytesSerialiser<FreqMap> {
 
         if (null != key) {
             // Deserialise value
-            if (bytes.length > lastDelimiter) {
-                final Long value = longSerialiser.deserialise(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, bytes.length));
+            if (end > lastDelimiter) {
+                final Long value = longSerialiser.deserialise(ByteArrayEscapeUtils.unEscape(allBytes, lastDelimiter, end));
                 freqMap.put(key, value);
             }
         }
@@ -65,13 +65,19 @@ public class TypeValueSerialiser implements ToBytesSerialiser<TypeValue> {
 
     @Override
     public TypeValue deserialise(final byte[] bytes) throws SerialisationException {
-        int lastDelimiter = 0;
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public TypeValue deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        final int end = offset + length;
+        int lastDelimiter = offset;
         TypeValue typeValue = new TypeValue();
-        for (int i = 0; i < bytes.length; i++) {
-            if (bytes[i] == ByteArrayEscapeUtils.DELIMITER) {
-                if (i > 0) {
+        for (int i = offset; i < end; i++) {
+            if (allBytes[i] == ByteArrayEscapeUtils.DELIMITER) {
+                if (i > offset) {
                     try {
-                        typeValue.setType(new String(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, i), CommonConstants.UTF_8));
+                        typeValue.setType(new String(ByteArrayEscapeUtils.unEscape(allBytes, lastDelimiter, i), CommonConstants.UTF_8));
                     } catch (final UnsupportedEncodingException e) {
                         throw new SerialisationException("Failed to deserialise the Type from TypeValue Object", e);
                     }
@@ -80,9 +86,9 @@ public class TypeValueSerialiser implements ToBytesSerialiser<TypeValue> {
                 break;
             }
         }
-        if (bytes.length > lastDelimiter) {
+        if (end > lastDelimiter) {
             try {
-                typeValue.setValue(new String(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, bytes.length), CommonConstants.UTF_8));
+                typeValue.setValue(new String(ByteArrayEscapeUtils.unEscape(allBytes, lastDelimiter, end), CommonConstants.UTF_8));
             } catch (final UnsupportedEncodingException e) {
                 throw new SerialisationException("Failed to deserialise the Value from TypeValue Object", e);
             }
@@ -53,6 +53,23 @@ public class FreqMapSerialiserTest extends ToBytesSerialisationTest<FreqMap> {
         assertEquals((Long) 20L, deserialised.get("z"));
     }
 
+    @Test
+    public void shouldDeserialiseFreqMapFromOffset() throws SerialisationException {
+        // Given
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put("x", 10L);
+        freqMap.put("y", 5L);
+        final byte[] serialised = serialiser.serialise(freqMap);
+        final byte[] allBytes = new byte[serialised.length + 4];
+        System.arraycopy(serialised, 0, allBytes, 2, serialised.length);
+
+        // When
+        final FreqMap deserialised = ((FreqMapSerialiser) serialiser).deserialise(allBytes, 2, serialised.length);
+
+        // Then
+        assertEquals(freqMap, deserialised);
+    }
+
     @Test
     public void shouldSerialiseDeserialiseFreqMapWithAnEmptyKey() throws SerialisationException {
         // Given
@@ -43,6 +43,21 @@ public class TypeSubTypeValueSerialiserTest extends ToBytesSerialisationTest<Typ
         assertEquals(typeSubTypeValue, deSerialisedTypeSubTypeValue);
     }
 
+    @Test
+    public void shouldDeserialiseFromOffset() throws SerialisationException {
+        // Given
+        final TypeSubTypeValue typeSubTypeValue = new TypeSubTypeValue(null, "testSubType", "testValue");
+        final byte[] bytes = SERIALISER.serialise(typeSubTypeValue);
+        final byte[] allBytes = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, allBytes, 2, bytes.length);
+
+        // When
+        final TypeSubTypeValue deserialised = SERIALISER.deserialise(allBytes, 2, bytes.length);
+
+        // Then
+        assertEquals(typeSubTypeValue, deserialised);
+    }
+
     @Test
     public void testCanSerialiseDeSerialiseCorrectlyValueOnly() throws SerialisationException {
         TypeSubTypeValue typeSubTypeValue = new TypeSubTypeValue();
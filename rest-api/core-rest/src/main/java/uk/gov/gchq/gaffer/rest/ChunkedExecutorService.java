@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.rest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@code ChunkedExecutorService} holds the bounded {@link ExecutorService}
+ * used to run chunked operations for the REST API.
+ * <p>
+ * The number of threads and the size of the queue of waiting operations are
+ * set using the {@link SystemProperty#CHUNKED_THREADS} and
+ * {@link SystemProperty#CHUNKED_QUEUE_SIZE} system properties. When the queue
+ * is full further operations are rejected with a
+ * {@link java.util.concurrent.RejectedExecutionException}, rather than
+ * starting an unbounded number of threads.
+ * </p>
+ */
+public final class ChunkedExecutorService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedExecutorService.class);
+    private static ExecutorService service;
+
+    private ChunkedExecutorService() {
+        // private constructor to prevent instantiation
+    }
+
+    public static synchronized ExecutorService getService() {
+        if (null == service) {
+            initialise(Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_THREADS, SystemProperty.CHUNKED_THREADS_DEFAULT)),
+                    Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_QUEUE_SIZE, SystemProperty.CHUNKED_QUEUE_SIZE_DEFAULT)));
+        }
+        return service;
+    }
+
+    public static synchronized void initialise(final int threadCount, final int queueSize) {
+        shutdown();
+        LOGGER.debug("Initialising ChunkedExecutorService with {} threads and a queue size of {}", threadCount, queueSize);
+        final AtomicInteger threadNumber = new AtomicInteger();
+        service = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+            final Thread thread = new Thread(runnable, "chunked-operation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized void shutdown() {
+        if (null != service) {
+            service.shutdown();
+        }
+        service = null;
+    }
+}
@@ -27,6 +27,11 @@ public final class ServiceConstants {
     public static final String JOB_ID_HEADER = "job-id";
     public static final String JOB_ID_HEADER_DESCRIPTION = "The job execution ID.";
 
+    // Chunked media types
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+    public static final String APPLICATION_CBOR = "application/cbor";
+
     // REST status error messages
     public static final String OK = "OK";
     public static final String BAD_REQUEST = "Error while processing request body";
@@ -43,6 +48,7 @@ public final class ServiceConstants {
     public static final String JOB_CREATED = "A new job was successfully submitted";
     public static final String JOB_NOT_FOUND = "Job was not found";
     public static final String JOB_SERVICE_UNAVAILABLE = "The job service is not available";
+    public static final String CHUNKED_SERVICE_UNAVAILABLE = "Too many chunked operations are already running";
 
     static {
         final String apiVersion = System.getProperty(SystemProperty.REST_API_VERSION, SystemProperty.CORE_VERSION);
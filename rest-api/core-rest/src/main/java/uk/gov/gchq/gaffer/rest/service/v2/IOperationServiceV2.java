@@ -33,11 +33,17 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Response;
 
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_CBOR;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_NDJSON;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_SMILE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.BAD_REQUEST;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.CHUNKED_SERVICE_UNAVAILABLE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.FORBIDDEN;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE_HEADER;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE_HEADER_DESCRIPTION;
@@ -103,20 +109,24 @@ public interface IOperationServiceV2 {
 
     @POST
     @Path("/execute/chunked")
-    @Produces({APPLICATION_JSON, TEXT_PLAIN})
+    @Produces({APPLICATION_JSON, APPLICATION_NDJSON, TEXT_PLAIN, APPLICATION_SMILE, APPLICATION_CBOR})
     @ApiOperation(value = "Performs the given operation on the graph, returning a chunked output",
-            notes = "<b>WARNING</b> - This does not work in Swagger.",
+            notes = "<b>WARNING</b> - This does not work in Swagger. Results are returned as newline delimited JSON, " +
+                    "or as a sequence of Smile or CBOR values if requested in the Accept header.",
             response = Object.class,
-            produces = (APPLICATION_JSON + "," + TEXT_PLAIN))
+            produces = (APPLICATION_JSON + "," + APPLICATION_NDJSON + "," + TEXT_PLAIN + "," + APPLICATION_SMILE + "," + APPLICATION_CBOR))
     @ApiResponses(value = {@ApiResponse(code = 202, message = OK, response = Object.class),
             @ApiResponse(code = 400, message = BAD_REQUEST),
             @ApiResponse(code = 403, message = FORBIDDEN),
             @ApiResponse(code = 500, message = INTERNAL_SERVER_ERROR),
+            @ApiResponse(code = 503, message = CHUNKED_SERVICE_UNAVAILABLE),
             @ApiResponse(code = 501, message = OPERATION_NOT_IMPLEMENTED)})
-    Response executeChunked(@ApiParam(value = "The operation to be performed, returning a chunked output") final Operation operation);
+    void executeChunked(@ApiParam(value = "The operation to be performed, returning a chunked output") final Operation operation,
+                        @Suspended final AsyncResponse asyncResponse);
 
     @SuppressFBWarnings
-    Response executeChunkedChain(@ApiParam(value = "The operation chain to be performed, returning a chunked output") final OperationChain opChain);
+    void executeChunkedChain(@ApiParam(value = "The operation chain to be performed, returning a chunked output") final OperationChain opChain,
+                             final AsyncResponse asyncResponse);
 
     @GET
     @Path("/{className}")
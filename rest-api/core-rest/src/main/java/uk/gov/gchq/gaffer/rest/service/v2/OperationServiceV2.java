@@ -16,18 +16,20 @@
 
 package uk.gov.gchq.gaffer.rest.service.v2;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
-import org.glassfish.jersey.server.ChunkedOutput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.Required;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
-import uk.gov.gchq.gaffer.commonutil.exception.UnauthorisedException;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.core.exception.Error;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
@@ -38,6 +40,7 @@ import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.rest.ChunkedExecutorService;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
 import uk.gov.gchq.gaffer.rest.service.v2.example.ExamplesFactory;
@@ -47,20 +50,32 @@ import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
 
 import javax.inject.Inject;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.createDefaultMapper;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_CBOR;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_NDJSON;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_SMILE;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.CHUNKED_SERVICE_UNAVAILABLE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE_HEADER;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_ID_HEADER;
@@ -75,6 +90,14 @@ import static uk.gov.gchq.gaffer.serialisation.util.JsonSerialisationUtil.getSer
  */
 public class OperationServiceV2 implements IOperationServiceV2 {
     private static final Logger LOGGER = LoggerFactory.getLogger(OperationServiceV2.class);
+    private static final String CHUNK_DELIMITER = "\r\n";
+    private static final MediaType NDJSON_TYPE = MediaType.valueOf(APPLICATION_NDJSON);
+    private static final MediaType SMILE_TYPE = MediaType.valueOf(APPLICATION_SMILE);
+    private static final MediaType CBOR_TYPE = MediaType.valueOf(APPLICATION_CBOR);
+    private static final List<MediaType> CHUNKED_MEDIA_TYPES = Arrays.asList(
+            MediaType.APPLICATION_JSON_TYPE, NDJSON_TYPE, MediaType.TEXT_PLAIN_TYPE, SMILE_TYPE, CBOR_TYPE);
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
 
     @Inject
     private GraphFactory graphFactory;
@@ -85,6 +108,9 @@ public class OperationServiceV2 implements IOperationServiceV2 {
     @Inject
     private ExamplesFactory examplesFactory;
 
+    @javax.ws.rs.core.Context
+    private HttpHeaders httpHeaders;
+
     public final ObjectMapper mapper = createDefaultMapper();
 
     @Override
@@ -118,77 +144,21 @@ public class OperationServiceV2 implements IOperationServiceV2 {
     }
 
     @Override
-    public Response executeChunked(final Operation operation) {
-        return executeChunkedChain(OperationChain.wrap(operation));
+    public void executeChunked(final Operation operation, final AsyncResponse asyncResponse) {
+        executeChunkedChain(OperationChain.wrap(operation), asyncResponse);
     }
 
-    @SuppressFBWarnings
     @Override
-    public Response executeChunkedChain(final OperationChain opChain) {
-        // Create chunked output instance
-        final Throwable[] threadException = new Throwable[1];
-        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
+    public void executeChunkedChain(final OperationChain opChain, final AsyncResponse asyncResponse) {
         final Context context = userFactory.createContext();
+        final MediaType mediaType = getChunkedMediaType();
 
-        // create thread to write chunks to the chunked output object
-        Thread thread = new Thread(() -> {
-            try {
-                final Object result = _execute(opChain, context).getFirst();
-                chunkResult(result, output);
-            } catch (final Exception e) {
-                throw new RuntimeException(e);
-            } finally {
-                CloseableUtil.close(output);
-                CloseableUtil.close(opChain);
-            }
-        });
-
-        // By default threads throw nothing, so set the ExceptionHandler
-        thread.setUncaughtExceptionHandler((thread1, exception) -> threadException[0] = exception.getCause());
-
-        thread.start();
-
-        // Sleep to check exception will be caught
         try {
-            Thread.sleep(1000);
-        } catch (final InterruptedException e) {
-            return Response.status(INTERNAL_SERVER_ERROR)
-                    .entity(new Error.ErrorBuilder()
-                            .status(Status.INTERNAL_SERVER_ERROR)
-                            .statusCode(500)
-                            .simpleMessage(e.getMessage())
-                            .build())
-                    .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                    .build();
+            ChunkedExecutorService.getService().execute(() -> executeChunkedChain(opChain, context, mediaType, asyncResponse));
+        } catch (final RejectedExecutionException e) {
+            CloseableUtil.close(opChain);
+            asyncResponse.resume(new GafferRuntimeException(CHUNKED_SERVICE_UNAVAILABLE, e, Status.SERVICE_UNAVAILABLE));
         }
-
-        // If there was an UnauthorisedException thrown return 403, else return a 500
-        if (null != threadException[0]) {
-            if (threadException.getClass().equals(UnauthorisedException.class)) {
-                return Response.status(INTERNAL_SERVER_ERROR)
-                        .entity(new Error.ErrorBuilder()
-                                .status(Status.FORBIDDEN)
-                                .statusCode(403)
-                                .simpleMessage(threadException[0].getMessage())
-                                .build())
-                        .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                        .build();
-            } else {
-                return Response.status(INTERNAL_SERVER_ERROR)
-                        .entity(new Error.ErrorBuilder()
-                                .status(Status.INTERNAL_SERVER_ERROR)
-                                .statusCode(500)
-                                .simpleMessage(threadException[0].getMessage())
-                                .build())
-                        .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                        .build();
-            }
-        }
-
-        // Return ok output
-        return Response.ok(output)
-                .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                .build();
     }
 
     @Override
@@ -296,25 +266,106 @@ public class OperationServiceV2 implements IOperationServiceV2 {
         return new Pair<>(result.getResult(), result.getContext().getJobId());
     }
 
-    protected void chunkResult(final Object result, final ChunkedOutput<String> output) {
-        if (result instanceof Iterable) {
-            final Iterable itr = (Iterable) result;
+    /**
+     * Executes a chunked operation chain and streams its result to the
+     * response. Jersey writes the response on the thread that resumes it, so
+     * both the iteration over the results and the writes to the client happen
+     * on the chunked executor rather than on a container thread. The
+     * operation chain and its result are closed once the response has been
+     * written, or if it is never written.
+     *
+     * @param opChain       the operation chain to execute
+     * @param context       the user context
+     * @param mediaType     the media type to write
+     * @param asyncResponse the suspended response
+     */
+    protected void executeChunkedChain(final OperationChain opChain, final Context context, final MediaType mediaType, final AsyncResponse asyncResponse) {
+        Object result = null;
+        try {
+            result = _execute(opChain, context).getFirst();
+            final Object chunks = result;
+            final StreamingOutput output = outputStream -> writeChunks(chunks, outputStream, mediaType);
+            asyncResponse.resume(Response.ok(output, mediaType)
+                    .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                    .build());
+        } catch (final RuntimeException e) {
+            // Failed chunked requests have always returned a 500, including unauthorised requests
+            asyncResponse.resume(Response.status(INTERNAL_SERVER_ERROR)
+                    .type(MediaType.APPLICATION_JSON_TYPE)
+                    .entity(new Error.ErrorBuilder()
+                            .status(Status.INTERNAL_SERVER_ERROR)
+                            .statusCode(500)
+                            .simpleMessage(e.getMessage())
+                            .build())
+                    .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                    .build());
+        } finally {
+            CloseableUtil.close(result);
+            CloseableUtil.close(opChain);
+        }
+    }
+
+    /**
+     * Streams the result of a chunked operation chain to the response. Each item
+     * is serialised straight to the output stream, so the blocking writes to the
+     * client hold back the iteration over the results. Text media types are
+     * written as newline delimited JSON; Smile and CBOR are written as a
+     * sequence of binary root values.
+     *
+     * @param result       the result of the operation chain
+     * @param outputStream the response output stream
+     * @param mediaType    the media type to write
+     * @throws IOException if the results could not be written
+     */
+    protected void writeChunks(final Object result, final OutputStream outputStream, final MediaType mediaType) throws IOException {
+        final boolean binary = isBinary(mediaType);
+        final ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (final JsonGenerator generator = createGenerator(outputStream, mediaType)) {
+            if (!binary) {
+                generator.setRootValueSeparator(null);
+            }
+            final Iterable<?> items = result instanceof Iterable ? (Iterable<?>) result : Collections.singletonList(result);
             try {
-                for (final Object item : itr) {
-                    output.write(mapper.writeValueAsString(item));
+                for (final Object item : items) {
+                    writer.writeValue(generator, item);
+                    if (!binary) {
+                        generator.writeRaw(CHUNK_DELIMITER);
+                    }
                 }
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
             } finally {
-                CloseableUtil.close(itr);
+                CloseableUtil.close(items);
             }
+        }
+    }
+
+    private JsonGenerator createGenerator(final OutputStream outputStream, final MediaType mediaType) throws IOException {
+        final JsonGenerator generator;
+        if (SMILE_TYPE.isCompatible(mediaType)) {
+            generator = SMILE_FACTORY.createGenerator(outputStream);
+        } else if (CBOR_TYPE.isCompatible(mediaType)) {
+            generator = CBOR_FACTORY.createGenerator(outputStream);
         } else {
-            try {
-                output.write(mapper.writeValueAsString(result));
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
+            generator = mapper.getFactory().createGenerator(outputStream);
+        }
+        // The servlet container owns the response stream
+        return generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private boolean isBinary(final MediaType mediaType) {
+        return SMILE_TYPE.isCompatible(mediaType) || CBOR_TYPE.isCompatible(mediaType);
+    }
+
+    private MediaType getChunkedMediaType() {
+        if (null != httpHeaders) {
+            for (final MediaType acceptable : httpHeaders.getAcceptableMediaTypes()) {
+                for (final MediaType chunkedType : CHUNKED_MEDIA_TYPES) {
+                    if (acceptable.isCompatible(chunkedType)) {
+                        return chunkedType;
+                    }
+                }
             }
         }
+        return MediaType.APPLICATION_JSON_TYPE;
     }
 
     private Operation generateExampleJson(final Class<? extends Operation> opClass) throws IllegalAccessException, InstantiationException {
@@ -17,6 +17,9 @@
 package uk.gov.gchq.gaffer.rest.service.v2;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -24,6 +27,7 @@ import org.junit.Test;
 
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.Operation;
@@ -65,6 +69,40 @@ public class OperationServiceV2IT extends OperationServiceIT {
         assertNotNull(response.getHeaderString(ServiceConstants.JOB_ID_HEADER));
     }
 
+    @Test
+    public void shouldReturnChunkedElementsAsSmile() throws IOException {
+        // Given
+        client.addElements(DEFAULT_ELEMENTS);
+
+        // When
+        final Response response = ((RestApiV2TestClient) client).executeOperationChunked(new GetAllElements(), ServiceConstants.APPLICATION_SMILE);
+
+        // Then
+        assertEquals(ServiceConstants.APPLICATION_SMILE, response.getMediaType().toString());
+        final byte[] bytes = response.readEntity(byte[].class);
+        final List<Element> results = Lists.newArrayList(JSONSerialiser.createDefaultMapper()
+                .readerFor(Element.class)
+                .<Element>readValues(new SmileFactory().createParser(bytes)));
+        verifyElements(DEFAULT_ELEMENTS, results);
+    }
+
+    @Test
+    public void shouldReturnChunkedElementsAsCbor() throws IOException {
+        // Given
+        client.addElements(DEFAULT_ELEMENTS);
+
+        // When
+        final Response response = ((RestApiV2TestClient) client).executeOperationChunked(new GetAllElements(), ServiceConstants.APPLICATION_CBOR);
+
+        // Then
+        assertEquals(ServiceConstants.APPLICATION_CBOR, response.getMediaType().toString());
+        final byte[] bytes = response.readEntity(byte[].class);
+        final List<Element> results = Lists.newArrayList(JSONSerialiser.createDefaultMapper()
+                .readerFor(Element.class)
+                .<Element>readValues(new CBORFactory().createParser(bytes)));
+        verifyElements(DEFAULT_ELEMENTS, results);
+    }
+
     @Test
     public void shouldReturn403WhenUnauthorised() throws IOException {
         // Given
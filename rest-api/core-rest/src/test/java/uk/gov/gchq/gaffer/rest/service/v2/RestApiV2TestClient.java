@@ -86,6 +86,14 @@ public class RestApiV2TestClient extends RestApiTestClient {
                 .post(Entity.entity(JSONSerialiser.serialise(operation), APPLICATION_JSON_TYPE));
     }
 
+    public Response executeOperationChunked(final Operation operation, final String acceptedMediaType) throws IOException {
+        startServer();
+        return client.target(uriString)
+                .path("/graph/operations/execute/chunked")
+                .request(acceptedMediaType)
+                .post(Entity.entity(JSONSerialiser.serialise(operation), APPLICATION_JSON_TYPE));
+    }
+
     @Override
     public SystemStatus getRestServiceStatus() {
         return client.target(uriString)
@@ -53,6 +53,13 @@ public class AccumuloProperties extends StoreProperties {
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
+    public static final String PIPELINED_RETRIEVER = "accumulo.pipelinedRetriever";
+    public static final String PIPELINED_RETRIEVER_QUEUE_SIZE = "accumulo.pipelinedRetrieverQueueSize";
+    public static final String PIPELINED_RETRIEVER_THREADS = "accumulo.pipelinedRetrieverThreads";
+    public static final String SHARED_INGEST_WRITER = "accumulo.sharedIngestWriter";
+    public static final String INGEST_THREADS = "accumulo.ingestThreads";
+    public static final String INGEST_BATCH_SIZE = "accumulo.ingestBatchSize";
+    public static final String INGEST_AGGREGATION = "accumulo.ingestAggregation";
     public static final String HDFS_SKIP_PERMISSIONS = "accumulostore.operation.hdfs.skip_permissions";
 
     // default values
@@ -65,6 +72,13 @@ public class AccumuloProperties extends StoreProperties {
     private static final String MAX_TIME_OUT_FOR_BATCH_WRITER_DEFAULT = "1000";
     private static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
     public static final String ENABLE_VALIDATOR_ITERATOR_DEFAULT = "true";
+    private static final String PIPELINED_RETRIEVER_DEFAULT = "false";
+    private static final String PIPELINED_RETRIEVER_QUEUE_SIZE_DEFAULT = "100000";
+    private static final String PIPELINED_RETRIEVER_THREADS_DEFAULT = "4";
+    private static final String SHARED_INGEST_WRITER_DEFAULT = "false";
+    private static final String INGEST_THREADS_DEFAULT = "4";
+    private static final String INGEST_BATCH_SIZE_DEFAULT = "1000";
+    private static final String INGEST_AGGREGATION_DEFAULT = "false";
 
     public AccumuloProperties() {
         super(AccumuloStore.class);
@@ -431,6 +445,148 @@ public class AccumuloProperties extends StoreProperties {
         set(ENABLE_VALIDATOR_ITERATOR, Boolean.toString(enableValidatorIterator));
     }
 
+    /**
+     * Gets the flag determining whether seeded queries should use a pipelined
+     * retriever, which scans the next batch of seeds and converts the results
+     * in the background.
+     *
+     * @return true if the pipelined retriever should be used.
+     */
+    public boolean getPipelinedRetriever() {
+        return Boolean.parseBoolean(get(PIPELINED_RETRIEVER, PIPELINED_RETRIEVER_DEFAULT));
+    }
+
+    /**
+     * Sets the flag determining whether seeded queries should use a pipelined
+     * retriever.
+     *
+     * @param pipelinedRetriever true if the pipelined retriever should be used.
+     */
+    public void setPipelinedRetriever(final boolean pipelinedRetriever) {
+        set(PIPELINED_RETRIEVER, Boolean.toString(pipelinedRetriever));
+    }
+
+    /**
+     * Gets the approximate max number of converted elements the pipelined
+     * retriever should hold in memory ahead of the consumer.
+     *
+     * @return An integer representing the number of elements to queue.
+     */
+    public int getPipelinedRetrieverQueueSize() {
+        return Integer.parseInt(get(PIPELINED_RETRIEVER_QUEUE_SIZE, PIPELINED_RETRIEVER_QUEUE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the approximate max number of converted elements the pipelined
+     * retriever should hold in memory ahead of the consumer.
+     *
+     * @param queueSize the number of elements to queue.
+     */
+    public void setPipelinedRetrieverQueueSize(final String queueSize) {
+        set(PIPELINED_RETRIEVER_QUEUE_SIZE, queueSize);
+    }
+
+    /**
+     * Gets the number of threads the pipelined retriever should use to convert,
+     * transform and filter elements.
+     *
+     * @return An integer representing the number of threads to use.
+     */
+    public int getPipelinedRetrieverThreads() {
+        return Integer.parseInt(get(PIPELINED_RETRIEVER_THREADS, PIPELINED_RETRIEVER_THREADS_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads the pipelined retriever should use to convert,
+     * transform and filter elements.
+     *
+     * @param threads the number of threads to use.
+     */
+    public void setPipelinedRetrieverThreads(final String threads) {
+        set(PIPELINED_RETRIEVER_THREADS, threads);
+    }
+
+    /**
+     * Gets the flag determining whether elements should be added through a
+     * long-lived writer shared by all AddElements operations on the store,
+     * rather than a new batch writer per operation.
+     *
+     * @return true if the shared ingest writer should be used.
+     */
+    public boolean getSharedIngestWriter() {
+        return Boolean.parseBoolean(get(SHARED_INGEST_WRITER, SHARED_INGEST_WRITER_DEFAULT));
+    }
+
+    /**
+     * Sets the flag determining whether elements should be added through a
+     * long-lived writer shared by all AddElements operations on the store.
+     *
+     * @param sharedIngestWriter true if the shared ingest writer should be used.
+     */
+    public void setSharedIngestWriter(final boolean sharedIngestWriter) {
+        set(SHARED_INGEST_WRITER, Boolean.toString(sharedIngestWriter));
+    }
+
+    /**
+     * Gets the number of threads the shared ingest writer should use to
+     * convert elements into mutations.
+     *
+     * @return An integer representing the number of threads to use.
+     */
+    public int getIngestThreads() {
+        return Integer.parseInt(get(INGEST_THREADS, INGEST_THREADS_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads the shared ingest writer should use to
+     * convert elements into mutations.
+     *
+     * @param threads the number of threads to use.
+     */
+    public void setIngestThreads(final String threads) {
+        set(INGEST_THREADS, threads);
+    }
+
+    /**
+     * Gets the number of elements the shared ingest writer hands to each
+     * conversion thread at a time.
+     *
+     * @return An integer representing the number of elements in a batch.
+     */
+    public int getIngestBatchSize() {
+        return Integer.parseInt(get(INGEST_BATCH_SIZE, INGEST_BATCH_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the number of elements the shared ingest writer hands to each
+     * conversion thread at a time.
+     *
+     * @param batchSize the number of elements in a batch.
+     */
+    public void setIngestBatchSize(final String batchSize) {
+        set(INGEST_BATCH_SIZE, batchSize);
+    }
+
+    /**
+     * Gets the flag determining whether the shared ingest writer should apply
+     * ingest aggregation to each batch of elements before writing it.
+     *
+     * @return true if elements should be aggregated before they are written.
+     */
+    public boolean getIngestAggregation() {
+        return Boolean.parseBoolean(get(INGEST_AGGREGATION, INGEST_AGGREGATION_DEFAULT));
+    }
+
+    /**
+     * Sets the flag determining whether the shared ingest writer should apply
+     * ingest aggregation to each batch of elements before writing it.
+     *
+     * @param ingestAggregation true if elements should be aggregated before they are written.
+     */
+    public void setIngestAggregation(final boolean ingestAggregation) {
+        set(INGEST_AGGREGATION, Boolean.toString(ingestAggregation));
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.accumulostore;
 
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.BatchWriter;
@@ -27,11 +28,8 @@ import org.apache.accumulo.core.client.MutationsRejectedException;
 import org.apache.accumulo.core.client.mapreduce.AccumuloInputFormat;
 import org.apache.accumulo.core.client.mapreduce.lib.impl.InputConfigurator;
 import org.apache.accumulo.core.client.security.tokens.PasswordToken;
-import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Mutation;
-import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.security.Authorizations;
-import org.apache.accumulo.core.security.ColumnVisibility;
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.io.Text;
@@ -62,6 +60,7 @@ import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsInRanges;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsWithinSet;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.SummariseGroupOverRanges;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.SharedIngestWriter;
 import uk.gov.gchq.gaffer.accumulostore.utils.TableUtils;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
@@ -107,6 +106,11 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -151,6 +155,9 @@ public class AccumuloStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloStore.class);
     private AccumuloKeyPackage keyPackage;
     private Connector connection = null;
+    private SharedIngestWriter sharedIngestWriter;
+    private ExecutorService retrieverScanExecutor;
+    private ExecutorService retrieverConversionExecutor;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -168,6 +175,8 @@ public class AccumuloStore extends Store {
      */
     public void preInitialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
         setProperties(properties);
+        closeSharedIngestWriter();
+        shutdownRetrieverExecutors();
 
         final String deprecatedTableName = getProperties().getTable();
         if (null == graphId && null != deprecatedTableName) {
@@ -422,55 +431,44 @@ public class AccumuloStore extends Store {
     }
 
     protected void insertGraphElements(final Iterable<? extends Element> elements) throws StoreException {
+        if (null == elements) {
+            throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
+        }
+        if (getProperties().getSharedIngestWriter()) {
+            getSharedIngestWriter().addElements(elements);
+            return;
+        }
+
         // Create BatchWriter
         final BatchWriter writer = TableUtils.createBatchWriter(this);
         // Loop through elements, convert to mutations, and add to
         // BatchWriter.as
         // The BatchWriter takes care of batching them up, sending them without
         // too high a latency, etc.
-        if (null != elements) {
-            for (final Element element : elements) {
-
-                final Pair<Key, Key> keys;
-                try {
-                    keys = keyPackage.getKeyConverter().getKeysFromElement(element);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
-                    continue;
-                }
-                final Value value;
-                try {
-                    value = keyPackage.getKeyConverter().getValueFromElement(element);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
-                    continue;
-                }
-                final Mutation m = new Mutation(keys.getFirst().getRow());
-                m.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(),
-                        new ColumnVisibility(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
+        for (final Element element : elements) {
+            final Pair<Mutation, Mutation> mutations;
+            try {
+                mutations = keyPackage.getKeyConverter().getMutationsFromElement(element);
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "mutation", element.getGroup());
+                continue;
+            }
+            try {
+                writer.addMutation(mutations.getFirst());
+            } catch (final MutationsRejectedException e) {
+                LOGGER.error("Failed to create an accumulo key mutation");
+                continue;
+            }
+            // If the GraphElement is a Vertex then there will only be 1 mutation,
+            // and the second will be null.
+            // If the GraphElement is an Edge then there will be 2 mutations.
+            if (null != mutations.getSecond()) {
                 try {
-                    writer.addMutation(m);
+                    writer.addMutation(mutations.getSecond());
                 } catch (final MutationsRejectedException e) {
                     LOGGER.error("Failed to create an accumulo key mutation");
-                    continue;
-                }
-                // If the GraphElement is a Vertex then there will only be 1 key,
-                // and the second will be null.
-                // If the GraphElement is an Edge then there will be 2 keys.
-                if (null != keys.getSecond()) {
-                    final Mutation m2 = new Mutation(keys.getSecond().getRow());
-                    m2.put(keys.getSecond().getColumnFamily(), keys.getSecond().getColumnQualifier(),
-                            new ColumnVisibility(keys.getSecond().getColumnVisibility()), keys.getSecond().getTimestamp(),
-                            value);
-                    try {
-                        writer.addMutation(m2);
-                    } catch (final MutationsRejectedException e) {
-                        LOGGER.error("Failed to create an accumulo key mutation");
-                    }
                 }
             }
-        } else {
-            throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
         }
         try {
             writer.close();
@@ -479,6 +477,80 @@ public class AccumuloStore extends Store {
         }
     }
 
+    /**
+     * Gets the {@link SharedIngestWriter} used to add elements when the
+     * shared ingest writer is enabled in the store properties. The writer is
+     * created on first use and shared by all AddElements operations.
+     *
+     * @return the shared ingest writer.
+     */
+    public synchronized SharedIngestWriter getSharedIngestWriter() {
+        if (null == sharedIngestWriter) {
+            sharedIngestWriter = new SharedIngestWriter(this);
+        }
+        return sharedIngestWriter;
+    }
+
+    private synchronized void closeSharedIngestWriter() {
+        if (null != sharedIngestWriter) {
+            sharedIngestWriter.close();
+            sharedIngestWriter = null;
+        }
+    }
+
+    /**
+     * Gets the executor used by pipelined retrievers to scan Accumulo. Each
+     * query holds a thread until it has been fully consumed or closed, so the
+     * executor creates threads as they are needed. Idle threads are released
+     * after a minute. The executor is shared by all queries and is shut down
+     * when the store is initialised again.
+     *
+     * @return the retriever scan executor.
+     */
+    public synchronized ExecutorService getRetrieverScanExecutor() {
+        if (null == retrieverScanExecutor) {
+            retrieverScanExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                    .setNameFormat("accumulo-retriever-scan-%d")
+                    .setDaemon(true)
+                    .build());
+        }
+        return retrieverScanExecutor;
+    }
+
+    /**
+     * Gets the executor used by pipelined retrievers to convert the scanned
+     * entries into elements. Its size is set by
+     * {@link AccumuloProperties#getPipelinedRetrieverThreads()}, and idle
+     * threads are released after a minute. The executor is shared by all
+     * queries and is shut down when the store is initialised again.
+     *
+     * @return the retriever conversion executor.
+     */
+    public synchronized ExecutorService getRetrieverConversionExecutor() {
+        if (null == retrieverConversionExecutor) {
+            final int threads = getProperties().getPipelinedRetrieverThreads();
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), new ThreadFactoryBuilder()
+                    .setNameFormat("accumulo-retriever-convert-%d")
+                    .setDaemon(true)
+                    .build());
+            executor.allowCoreThreadTimeOut(true);
+            retrieverConversionExecutor = executor;
+        }
+        return retrieverConversionExecutor;
+    }
+
+    private synchronized void shutdownRetrieverExecutors() {
+        if (null != retrieverScanExecutor) {
+            retrieverScanExecutor.shutdownNow();
+            retrieverScanExecutor = null;
+        }
+        if (null != retrieverConversionExecutor) {
+            retrieverConversionExecutor.shutdownNow();
+            retrieverConversionExecutor = null;
+        }
+    }
+
     /**
      * Gets the {@link uk.gov.gchq.gaffer.accumulostore.key.AccumuloKeyPackage} in use by
      * this AccumuloStore.
@@ -37,15 +37,19 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.LazyEdge;
 import uk.gov.gchq.gaffer.data.element.LazyEntity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.store.ElementValidator;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.util.SerialisedPropertiesFilter;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -55,6 +59,11 @@ import java.util.function.Predicate;
 /**
  * The AbstractElementFilter will filter out {@link Element}s based on the filtering
  * instructions given in the {@link Schema} or {@link View} that is passed to this iterator.
+ * <p>
+ * Simple {@link View} filters on single properties are first tested against the
+ * serialised column qualifier and value using a {@link SerialisedPropertiesFilter},
+ * so elements which fail them are not deserialised.
+ * </p>
  */
 public abstract class AbstractElementFilter extends Filter {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractElementFilter.class);
@@ -68,6 +77,8 @@ public abstract class AbstractElementFilter extends Filter {
 
     private Set<String> groupsWithoutFilters = Collections.emptySet();
 
+    private Map<String, SerialisedPropertiesFilter> serialisedFilters = Collections.emptyMap();
+
     private final ElementValidator.FilterType filterType;
 
     protected AbstractElementFilter(final ElementValidator.FilterType filterType) {
@@ -81,6 +92,21 @@ public abstract class AbstractElementFilter extends Filter {
             return true;
         }
 
+        final SerialisedPropertiesFilter serialisedFilter = serialisedFilters.get(group);
+        if (null != serialisedFilter) {
+            try {
+                if (!serialisedFilter.testQualifier(key.getColumnQualifierData().getBackingArray(), 0)
+                        || !serialisedFilter.testValue(value.get())) {
+                    return false;
+                }
+            } catch (final SerialisationException e) {
+                throw new ElementFilterException("Failed to filter the serialised properties", e);
+            }
+            if (serialisedFilter.isComplete()) {
+                return true;
+            }
+        }
+
         final Element element;
         if (schema.isEntity(group)) {
             element = new LazyEntity(new Entity(group), new AccumuloEntityValueLoader(group, key, value, elementConverter, schema));
@@ -124,9 +150,11 @@ public abstract class AbstractElementFilter extends Filter {
             LOGGER.debug("Determining groups that don't need to be filtered based on view {}", view);
             if (filterType == ElementValidator.FilterType.PRE_AGGREGATION_FILTER) {
                 updateViewGroupsWithoutFilters(view, ViewElementDefinition::hasPreAggregationFilters);
+                updateSerialisedFilters(view, ViewElementDefinition::getPreAggregationFilter);
                 elementPredicate = new ElementValidator(view)::validateInput;
             } else {
                 updateViewGroupsWithoutFilters(view, ViewElementDefinition::hasPostAggregationFilters);
+                updateSerialisedFilters(view, ViewElementDefinition::getPostAggregationFilter);
                 elementPredicate = new ElementValidator(view)::validateAggregation;
             }
         }
@@ -144,6 +172,7 @@ public abstract class AbstractElementFilter extends Filter {
         newInstance.schema = schema;
         newInstance.elementConverter = elementConverter;
         newInstance.elementPredicate = elementPredicate;
+        newInstance.serialisedFilters = serialisedFilters;
         return newInstance;
     }
 
@@ -172,6 +201,23 @@ public abstract class AbstractElementFilter extends Filter {
         LOGGER.debug("The following groups will not be filtered: {}", StringUtils.join(groupsWithoutFilters, ','));
     }
 
+    private void updateSerialisedFilters(final View view, final Function<ViewElementDefinition, ElementFilter> getFilter) {
+        serialisedFilters = new HashMap<>();
+        for (final Map.Entry<String, ViewElementDefinition> entry : new ChainedIterable<Map.Entry<String, ViewElementDefinition>>(view.getEntities().entrySet(), view.getEdges().entrySet())) {
+            final SchemaElementDefinition elementDef = schema.getElement(entry.getKey());
+            if (null != entry.getValue() && null != elementDef && !groupsWithoutFilters.contains(entry.getKey())) {
+                final SerialisedPropertiesFilter serialisedFilter = new SerialisedPropertiesFilter(elementDef,
+                        getFilter.apply(entry.getValue()),
+                        elementConverter.getPropertiesStoredInColumnQualifier(entry.getKey()),
+                        elementConverter.getPropertiesStoredInValue(entry.getKey()));
+                if (serialisedFilter.hasPredicates()) {
+                    serialisedFilters.put(entry.getKey(), serialisedFilter);
+                }
+            }
+        }
+        LOGGER.debug("The following groups will be filtered on their serialised properties: {}", StringUtils.join(serialisedFilters.keySet(), ','));
+    }
+
     private void updateSchemaGroupsWithoutFilters() {
         groupsWithoutFilters = new HashSet<>();
         for (final Map.Entry<String, SchemaElementDefinition> entry : new ChainedIterable<Map.Entry<String, SchemaElementDefinition>>(schema.getEntities().entrySet(), schema.getEdges().entrySet())) {
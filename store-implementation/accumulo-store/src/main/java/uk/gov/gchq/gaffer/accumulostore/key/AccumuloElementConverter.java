@@ -17,7 +17,9 @@
 package uk.gov.gchq.gaffer.accumulostore.key;
 
 import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
 import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
 
 import uk.gov.gchq.gaffer.accumulostore.utils.BytesAndRange;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
@@ -27,6 +29,8 @@ import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
 
+import java.util.List;
+
 /**
  * The Accumulo ElementConverter Interface details the methods necessary to
  * convert Gaffer {@link Element}s to Accumulo {@link Key}s and {@link Value}s
@@ -84,6 +88,29 @@ public interface AccumuloElementConverter {
      */
     Value getValueFromElement(final Element element);
 
+    /**
+     * Converts an {@link Element} to a {@link Pair} of Accumulo
+     * {@link Mutation}s ready to be written to the table. If the given element
+     * was an entity or a self edge only one mutation will be created and the
+     * second item in the pair will be null.
+     *
+     * @param element the element to be converted
+     * @return The mutation(s) that represent the given element.
+     */
+    default Pair<Mutation, Mutation> getMutationsFromElement(final Element element) {
+        final Pair<Key, Key> keys = getKeysFromElement(element);
+        final Value value = getValueFromElement(element);
+        final ColumnVisibility visibility = new ColumnVisibility(keys.getFirst().getColumnVisibility());
+        final Mutation mutation1 = new Mutation(keys.getFirst().getRow());
+        mutation1.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(), visibility, keys.getFirst().getTimestamp(), value);
+        Mutation mutation2 = null;
+        if (null != keys.getSecond()) {
+            mutation2 = new Mutation(keys.getSecond().getRow());
+            mutation2.put(keys.getSecond().getColumnFamily(), keys.getSecond().getColumnQualifier(), visibility, keys.getSecond().getTimestamp(), value);
+        }
+        return new Pair<>(mutation1, mutation2);
+    }
+
     /**
      * Converts an Accumulo {@link org.apache.accumulo.core.data.Value} to a
      * {@link uk.gov.gchq.gaffer.data.element.Properties} object.
@@ -95,6 +122,34 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromValue(final String group, final Value value);
 
+    /**
+     * Gets the names of the properties stored in the {@link Value}, in the
+     * order they are serialised. Each property is serialised as its length
+     * followed by its value. This allows iterators to aggregate the serialised
+     * properties directly, see
+     * {@link uk.gov.gchq.gaffer.store.util.SerialisedPropertiesAggregator}.
+     *
+     * @param group the element group
+     * @return the names of the properties stored in the value, or null if
+     * the properties are not serialised in this way
+     */
+    default List<String> getPropertiesStoredInValue(final String group) {
+        return null;
+    }
+
+    /**
+     * Gets the names of the properties stored in the column qualifier, in the
+     * order they are serialised. Each property is serialised as its length
+     * followed by its value.
+     *
+     * @param group the element group
+     * @return the names of the properties stored in the column qualifier, or
+     * null if the properties are not serialised in this way
+     */
+    default List<String> getPropertiesStoredInColumnQualifier(final String group) {
+        return null;
+    }
+
     /**
      * Gets a new {@link ElementId} from an Accumulo {@link Key}.
      *
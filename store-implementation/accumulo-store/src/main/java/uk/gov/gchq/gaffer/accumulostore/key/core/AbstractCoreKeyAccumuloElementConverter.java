@@ -18,7 +18,9 @@ package uk.gov.gchq.gaffer.accumulostore.key.core;
 import com.google.common.collect.Sets;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
 import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
 
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
@@ -47,8 +49,10 @@ import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 @SuppressWarnings("unchecked")
@@ -137,6 +141,35 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return getValueFromProperties(element.getGroup(), element.getProperties());
     }
 
+    /**
+     * Serialises the element's row keys and properties once and writes them
+     * straight into the mutations, rather than building intermediate
+     * {@link Key}s which are then copied into each mutation.
+     *
+     * @param element the element to be converted
+     * @return The mutation(s) that represent the given element.
+     */
+    @Override
+    public Pair<Mutation, Mutation> getMutationsFromElement(final Element element) {
+        final String group = element.getGroup();
+        final Properties properties = element.getProperties();
+        final Pair<byte[], byte[]> rowKeys = getRowKeysFromElement(element);
+        final byte[] columnFamily = buildColumnFamily(group);
+        final byte[] columnQualifier = buildColumnQualifier(group, properties);
+        final ColumnVisibility columnVisibility = new ColumnVisibility(buildColumnVisibility(group, properties));
+        final long timestamp = buildTimestamp(group, properties);
+        final byte[] value = getValueFromProperties(group, properties).get();
+
+        final Mutation mutation1 = new Mutation(rowKeys.getFirst());
+        mutation1.put(columnFamily, columnQualifier, columnVisibility, timestamp, value);
+        Mutation mutation2 = null;
+        if (null != rowKeys.getSecond()) {
+            mutation2 = new Mutation(rowKeys.getSecond());
+            mutation2.put(columnFamily, columnQualifier, columnVisibility, timestamp, value);
+        }
+        return new Pair<>(mutation1, mutation2);
+    }
+
     @Override
     public Properties getPropertiesFromValue(final String group, final Value value) {
         final Properties properties = new Properties();
@@ -160,6 +193,23 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    @Override
+    public List<String> getPropertiesStoredInValue(final String group) {
+        final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+        final List<String> propertyNames = new ArrayList<>();
+        for (final String propertyName : elementDefinition.getProperties()) {
+            if (isStoredInValue(propertyName, elementDefinition)) {
+                propertyNames.add(propertyName);
+            }
+        }
+        return propertyNames;
+    }
+
+    @Override
+    public List<String> getPropertiesStoredInColumnQualifier(final String group) {
+        return new ArrayList<>(getSchemaElementDefinition(group).getGroupBy());
+    }
+
     @Override
     public Element getElementFromKey(final Key key, final boolean includeMatchedVertex) {
         final byte[] row = key.getRowData().getBackingArray();
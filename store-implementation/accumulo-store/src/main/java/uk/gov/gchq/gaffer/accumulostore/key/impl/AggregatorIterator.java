@@ -33,11 +33,14 @@ import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.SerialisedPropertiesAggregator;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -46,12 +49,18 @@ import java.util.Map;
  * {@link Key} is the same (Except for the Timestamp column). The instructions
  * provided in the schema define how the aggregation takes place and
  * therefore what the resulting {@link Value} will be.
+ * <p>
+ * If all the properties stored in the {@link Value} can be aggregated in their
+ * serialised form, using a {@link SerialisedPropertiesAggregator}, the values
+ * are aggregated without being deserialised.
+ * </p>
  */
 public class AggregatorIterator extends Combiner {
     private static final Logger LOGGER = LoggerFactory.getLogger(AggregatorIterator.class);
 
     private Schema schema;
     private AccumuloElementConverter elementConverter;
+    private final Map<String, SerialisedPropertiesAggregator> serialisedAggregators = new HashMap<>();
 
     @Override
     public Value reduce(final Key key, final Iterator<Value> iter) {
@@ -62,6 +71,11 @@ public class AggregatorIterator extends Combiner {
             return value;
         }
         final String group = elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
+        final SerialisedPropertiesAggregator serialisedAggregator = getSerialisedAggregator(group);
+        if (serialisedAggregator.isSupported()) {
+            return reduceSerialised(serialisedAggregator, value, iter);
+        }
+
         Properties properties;
         final ElementAggregator aggregator = schema.getElement(group).getIngestAggregator();
         try {
@@ -86,6 +100,27 @@ public class AggregatorIterator extends Combiner {
         }
     }
 
+    private Value reduceSerialised(final SerialisedPropertiesAggregator aggregator, final Value first, final Iterator<Value> iter) {
+        byte[] aggregated = first.get();
+        while (iter.hasNext()) {
+            try {
+                aggregated = aggregator.aggregate(aggregated, iter.next().get());
+            } catch (final SerialisationException e) {
+                throw new AggregationException("Failed to aggregate serialised properties", e);
+            }
+        }
+        return new Value(aggregated);
+    }
+
+    private SerialisedPropertiesAggregator getSerialisedAggregator(final String group) {
+        SerialisedPropertiesAggregator aggregator = serialisedAggregators.get(group);
+        if (null == aggregator) {
+            aggregator = new SerialisedPropertiesAggregator(schema.getElement(group), elementConverter.getPropertiesStoredInValue(group));
+            serialisedAggregators.put(group, aggregator);
+        }
+        return aggregator;
+    }
+
     @Override
     public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
                      final IteratorEnvironment env) throws IOException {
@@ -96,6 +131,7 @@ public class AggregatorIterator extends Combiner {
             throw new SchemaException("Unable to deserialise the schema from json", e);
         }
         LOGGER.debug("Initialising AggregatorIterator with schema {}", schema);
+        serialisedAggregators.clear();
 
         final String elementConverterClass = options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
         try {
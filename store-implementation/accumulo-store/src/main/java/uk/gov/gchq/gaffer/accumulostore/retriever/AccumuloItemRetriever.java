@@ -38,18 +38,29 @@ import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.util.ViewPlan;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<? extends Element>> & GraphFilters, I_ITEM>
         extends AccumuloRetriever<OP, Element> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloItemRetriever.class);
+    private static final int PIPELINED_CHUNK_SIZE = 1000;
 
     protected final boolean includeMatchedVertex;
     private final Iterable<? extends I_ITEM> ids;
@@ -77,7 +88,11 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
         }
 
         try {
-            iterator = new ElementIterator(idIterator);
+            if (store.getProperties().getPipelinedRetriever()) {
+                iterator = new PipelinedElementIterator(idIterator, store.getRetrieverScanExecutor(), store.getRetrieverConversionExecutor());
+            } else {
+                iterator = new ElementIterator(idIterator);
+            }
         } catch (final RetrieverException e) {
             LOGGER.error("{} returning empty iterator", e.getMessage(), e);
             return new EmptyCloseableIterator<>();
@@ -202,4 +217,184 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
             }
         }
     }
+
+    /**
+     * An iterator which pipelines the scanning and conversion of elements.
+     * <p>
+     * A background thread creates a {@link BatchScanner} for each batch of
+     * seeds in turn and passes chunks of the scanned entries to a worker pool,
+     * which converts, transforms and filters them. The executors are owned by
+     * the {@link AccumuloStore} and shared by all queries. The converted chunks are
+     * held in a bounded queue in scan order, so the scan for the next batch of
+     * seeds overlaps with the conversion of the current batch and with the
+     * consumer.
+     */
+    protected class PipelinedElementIterator implements CloseableIterator<Element> {
+        private final Future<List<Element>> end = CompletableFuture.completedFuture(Collections.emptyList());
+        private final Iterator<? extends I_ITEM> idsIterator;
+        private final BlockingQueue<Future<List<Element>>> queue;
+        private final ExecutorService conversionExecutor;
+        private final Future<?> scanTask;
+        private final ViewPlan viewPlan;
+        private volatile boolean closed;
+        private boolean finished;
+        private Iterator<Element> elements = Collections.emptyIterator();
+
+        public PipelinedElementIterator(final Iterator<? extends I_ITEM> idIterator,
+                                        final ExecutorService scanExecutor,
+                                        final ExecutorService conversionExecutor) {
+            idsIterator = idIterator;
+            viewPlan = getViewPlan();
+            queue = new ArrayBlockingQueue<>(Math.max(1, store.getProperties().getPipelinedRetrieverQueueSize() / PIPELINED_CHUNK_SIZE));
+            this.conversionExecutor = conversionExecutor;
+            scanTask = scanExecutor.submit(this::scan);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!elements.hasNext()) {
+                if (finished) {
+                    return false;
+                }
+
+                final Future<List<Element>> chunk;
+                try {
+                    chunk = queue.take();
+                    if (end == chunk) {
+                        finished = true;
+                        close();
+                        return false;
+                    }
+                    elements = chunk.get().iterator();
+                } catch (final InterruptedException e) {
+                    close();
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted whilst waiting for elements", e);
+                } catch (final ExecutionException e) {
+                    close();
+                    throw new RuntimeException("Failed to convert elements: " + e.getCause().getMessage(), e.getCause());
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return elements.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove elements from this iterator");
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            // The executors are shared, so only cancel the tasks for this iterator
+            scanTask.cancel(true);
+            Future<List<Element>> chunk;
+            while (null != (chunk = queue.poll())) {
+                chunk.cancel(true);
+            }
+        }
+
+        private void scan() {
+            try {
+                while (!closed && idsIterator.hasNext()) {
+                    final Set<Range> ranges = new HashSet<>();
+                    int count = 0;
+                    while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+                        count++;
+                        try {
+                            addToRanges(idsIterator.next(), ranges);
+                        } catch (final RangeFactoryException e) {
+                            LOGGER.error("Failed to create a range from given seed", e);
+                        }
+                    }
+
+                    final BatchScanner scanner = getScanner(ranges);
+                    try {
+                        List<Entry<Key, Value>> entries = new ArrayList<>(PIPELINED_CHUNK_SIZE);
+                        for (final Entry<Key, Value> entry : scanner) {
+                            if (closed) {
+                                return;
+                            }
+                            entries.add(entry);
+                            if (entries.size() == PIPELINED_CHUNK_SIZE) {
+                                submit(entries);
+                                entries = new ArrayList<>(PIPELINED_CHUNK_SIZE);
+                            }
+                        }
+                        if (!entries.isEmpty()) {
+                            submit(entries);
+                        }
+                    } finally {
+                        scanner.close();
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final TableNotFoundException | StoreException e) {
+                LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
+            } catch (final RuntimeException e) {
+                final CompletableFuture<List<Element>> failure = new CompletableFuture<>();
+                failure.completeExceptionally(e);
+                try {
+                    put(failure);
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            } finally {
+                try {
+                    put(end);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void submit(final List<Entry<Key, Value>> entries) throws InterruptedException {
+            put(conversionExecutor.submit(() -> convert(entries)));
+        }
+
+        private void put(final Future<List<Element>> chunk) throws InterruptedException {
+            while (!closed) {
+                if (queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        }
+
+        private List<Element> convert(final List<Entry<Key, Value>> entries) {
+            final List<Element> converted = new ArrayList<>(entries.size());
+            for (final Entry<Key, Value> entry : entries) {
+                final Element element;
+                try {
+                    element = elementConverter.getFullElement(
+                            entry.getKey(),
+                            entry.getValue(),
+                            includeMatchedVertex);
+                } catch (final AccumuloElementConversionException e) {
+                    LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
+                            e);
+                    continue;
+                }
+
+                final ViewPlan.GroupPlan groupPlan = viewPlan.getGroupPlan(element.getGroup());
+                if (null != groupPlan) {
+                    groupPlan.transform(element);
+                    if (!groupPlan.testPostTransformFilter(element)) {
+                        continue;
+                    }
+                }
+                ViewUtil.removeProperties(viewPlan.getView(), element);
+                converted.add(element);
+            }
+            return converted;
+        }
+    }
 }
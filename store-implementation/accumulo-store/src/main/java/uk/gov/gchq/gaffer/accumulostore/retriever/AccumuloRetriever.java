@@ -34,10 +34,10 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
-import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.util.ViewPlan;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Set;
@@ -54,6 +54,7 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
     protected final OP operation;
     protected final AccumuloElementConverter elementConverter;
     protected final IteratorSetting[] iteratorSettings;
+    private ViewPlan viewPlan;
 
     protected AccumuloRetriever(final AccumuloStore store, final OP operation,
                                 final User user, final IteratorSetting... iteratorSettings)
@@ -79,10 +80,7 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
      * @param element the element to transform
      */
     public void doTransformation(final Element element) {
-        final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
-        if (null != viewDef) {
-            transform(element, viewDef.getTransformer());
-        }
+        getViewPlan().transform(element);
     }
 
     /**
@@ -92,11 +90,7 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
      * @return the result of validating the element against the post filters
      */
     public boolean doPostFilter(final Element element) {
-        final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
-        if (null != viewDef) {
-            return postFilter(element, viewDef.getPostTransformFilter());
-        }
-        return true;
+        return getViewPlan().testPostTransformFilter(element);
     }
 
     @Override
@@ -143,6 +137,16 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
         return scanner;
     }
 
+    /**
+     * @return the operation's view compiled against the store schema
+     */
+    protected ViewPlan getViewPlan() {
+        if (null == viewPlan) {
+            viewPlan = new ViewPlan(operation.getView(), store.getSchema());
+        }
+        return viewPlan;
+    }
+
     protected void transform(final Element element, final ElementTransformer transformer) {
         if (null != transformer) {
             transformer.apply(element);
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MultiTableBatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.ConstraintViolationSummary;
+import org.apache.accumulo.core.data.Mutation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@code SharedIngestWriter} adds elements to an {@link AccumuloStore}
+ * through a single long-lived {@link MultiTableBatchWriter}, so many small
+ * AddElements operations do not each pay the cost of creating and closing a
+ * batch writer.
+ * <p>
+ * Elements are split into batches which are converted to mutations on a pool
+ * of worker threads and added to the shared writer. If ingest aggregation is
+ * enabled then each batch is aggregated before it is converted. A call to
+ * {@link #addElements(Iterable)} flushes the writer before returning, so the
+ * elements have been written once the call completes.
+ * </p>
+ * <p>
+ * If mutations are rejected the writer is discarded and a new one is created
+ * for subsequent mutations. Mutations are added and flushed under a shared
+ * lock, and the writer is only closed under the exclusive lock, so it is never
+ * closed while another thread is using it. The number of elements and mutations written and
+ * rejected are recorded and can be retrieved for monitoring.
+ * </p>
+ */
+public class SharedIngestWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedIngestWriter.class);
+
+    private final AccumuloStore store;
+    private final int batchSize;
+    private final int maxRunningBatches;
+    private final boolean ingestAggregation;
+    private final ExecutorService executor;
+    private final long startTime = System.currentTimeMillis();
+    private final AtomicLong elementCount = new AtomicLong();
+    private final AtomicLong failedElementCount = new AtomicLong();
+    private final AtomicLong mutationCount = new AtomicLong();
+    private final AtomicLong rejectedMutationCount = new AtomicLong();
+    private final ReadWriteLock writerLock = new ReentrantReadWriteLock();
+    private MultiTableBatchWriter writer;
+    private volatile BatchWriter batchWriter;
+
+    public SharedIngestWriter(final AccumuloStore store) {
+        final AccumuloProperties properties = store.getProperties();
+        final int threads = properties.getIngestThreads();
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of ingest threads must be at least 1");
+        }
+        if (properties.getIngestBatchSize() < 1) {
+            throw new IllegalArgumentException("The ingest batch size must be at least 1");
+        }
+
+        this.store = store;
+        this.batchSize = properties.getIngestBatchSize();
+        this.maxRunningBatches = 2 * threads;
+        this.ingestAggregation = properties.getIngestAggregation();
+        this.executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("accumulo-ingest-%d")
+                .build());
+    }
+
+    /**
+     * Converts the elements to mutations and adds them to the shared writer,
+     * then flushes the writer.
+     *
+     * @param elements the elements to add
+     * @throws StoreException if the writer could not be created or a batch
+     *                        of elements failed to be converted
+     */
+    public void addElements(final Iterable<? extends Element> elements) throws StoreException {
+        final long count = elementCount.get();
+        final Deque<Future<?>> batches = new ArrayDeque<>();
+        try {
+            for (final List<? extends Element> batch : Iterables.partition(elements, batchSize)) {
+                if (batches.size() >= maxRunningBatches) {
+                    waitFor(batches.poll());
+                }
+                batches.add(executor.submit(() -> {
+                    write(batch);
+                    return null;
+                }));
+            }
+            while (!batches.isEmpty()) {
+                waitFor(batches.poll());
+            }
+        } finally {
+            for (final Future<?> batch : batches) {
+                batch.cancel(false);
+            }
+        }
+        flush();
+        LOGGER.debug("Added approximately {} elements, {} elements per second since the writer was created",
+                elementCount.get() - count, getElementsPerSecond());
+    }
+
+    /**
+     * Flushes and closes the shared writer and stops the conversion threads.
+     */
+    public void close() {
+        executor.shutdown();
+        writerLock.writeLock().lock();
+        try {
+            if (null != writer) {
+                try {
+                    writer.close();
+                } catch (final MutationsRejectedException e) {
+                    recordRejected(e);
+                }
+                writer = null;
+                batchWriter = null;
+            }
+        } finally {
+            writerLock.writeLock().unlock();
+        }
+    }
+
+    public long getElementCount() {
+        return elementCount.get();
+    }
+
+    public long getFailedElementCount() {
+        return failedElementCount.get();
+    }
+
+    public long getMutationCount() {
+        return mutationCount.get();
+    }
+
+    public long getRejectedMutationCount() {
+        return rejectedMutationCount.get();
+    }
+
+    /**
+     * Gets the average number of elements added per second since the writer
+     * was created.
+     *
+     * @return the number of elements added per second.
+     */
+    public double getElementsPerSecond() {
+        final long millis = Math.max(1, System.currentTimeMillis() - startTime);
+        return elementCount.get() * 1000.0 / millis;
+    }
+
+    private void write(final List<? extends Element> batch) throws StoreException {
+        final Iterable<? extends Element> elements = ingestAggregation
+                ? AggregatorUtil.ingestAggregate(batch, store.getSchema())
+                : batch;
+        final AccumuloElementConverter converter = store.getKeyPackage().getKeyConverter();
+        for (final Element element : elements) {
+            elementCount.incrementAndGet();
+            final Pair<Mutation, Mutation> mutations;
+            try {
+                mutations = converter.getMutationsFromElement(element);
+            } catch (final AccumuloElementConversionException e) {
+                failedElementCount.incrementAndGet();
+                LOGGER.error(AccumuloStore.FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "mutation", element.getGroup());
+                continue;
+            }
+            addMutation(mutations.getFirst());
+            if (null != mutations.getSecond()) {
+                addMutation(mutations.getSecond());
+            }
+        }
+    }
+
+    private void addMutation(final Mutation mutation) throws StoreException {
+        BatchWriter failedWriter = null;
+        writerLock.readLock().lock();
+        try {
+            final BatchWriter currentWriter = getBatchWriter();
+            try {
+                currentWriter.addMutation(mutation);
+                mutationCount.incrementAndGet();
+            } catch (final MutationsRejectedException e) {
+                recordRejected(e);
+                failedWriter = currentWriter;
+            }
+        } finally {
+            writerLock.readLock().unlock();
+        }
+        if (null != failedWriter) {
+            resetWriter(failedWriter);
+        }
+    }
+
+    private void flush() {
+        BatchWriter failedWriter = null;
+        writerLock.readLock().lock();
+        try {
+            final BatchWriter currentWriter = batchWriter;
+            if (null != currentWriter) {
+                try {
+                    currentWriter.flush();
+                } catch (final MutationsRejectedException e) {
+                    recordRejected(e);
+                    failedWriter = currentWriter;
+                }
+            }
+        } finally {
+            writerLock.readLock().unlock();
+        }
+        if (null != failedWriter) {
+            resetWriter(failedWriter);
+        }
+    }
+
+    private BatchWriter getBatchWriter() throws StoreException {
+        BatchWriter currentWriter = batchWriter;
+        if (null == currentWriter) {
+            synchronized (this) {
+                if (null == batchWriter) {
+                    writer = TableUtils.createMultiTableBatchWriter(store);
+                    try {
+                        batchWriter = writer.getBatchWriter(store.getTableName());
+                    } catch (final AccumuloException | AccumuloSecurityException | TableNotFoundException e) {
+                        throw new StoreException("Unable to create a batch writer for table " + store.getTableName(), e);
+                    }
+                }
+                currentWriter = batchWriter;
+            }
+        }
+        return currentWriter;
+    }
+
+    /**
+     * Discards the failed writer, waiting for any other threads using it to
+     * finish first. The read lock must not be held by the calling thread.
+     *
+     * @param failedWriter the writer which rejected mutations
+     */
+    private void resetWriter(final BatchWriter failedWriter) {
+        writerLock.writeLock().lock();
+        try {
+            if (failedWriter == batchWriter) {
+                batchWriter = null;
+                try {
+                    writer.close();
+                } catch (final MutationsRejectedException e) {
+                    LOGGER.debug("Closed the failed Accumulo batch writer", e);
+                }
+                writer = null;
+            }
+        } finally {
+            writerLock.writeLock().unlock();
+        }
+    }
+
+    private void recordRejected(final MutationsRejectedException e) {
+        long rejected = e.getUnknownExceptions();
+        for (final ConstraintViolationSummary summary : e.getConstraintViolationSummaries()) {
+            rejected += summary.getNumberOfViolatingMutations();
+        }
+        rejectedMutationCount.addAndGet(Math.max(1, rejected));
+        LOGGER.error("Accumulo rejected mutations", e);
+    }
+
+    private void waitFor(final Future<?> batch) throws StoreException {
+        try {
+            batch.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted while adding elements", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof StoreException) {
+                throw (StoreException) e.getCause();
+            }
+            throw new StoreException("Failed to add elements", e.getCause());
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.accumulo.core.client.BatchWriterConfig;
 import org.apache.accumulo.core.client.Connector;
 import org.apache.accumulo.core.client.Instance;
 import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.MultiTableBatchWriter;
 import org.apache.accumulo.core.client.NamespaceExistsException;
 import org.apache.accumulo.core.client.TableExistsException;
 import org.apache.accumulo.core.client.TableNotFoundException;
@@ -199,6 +200,19 @@ public final class TableUtils {
         return createBatchWriter(store, store.getTableName());
     }
 
+    /**
+     * Creates a {@link MultiTableBatchWriter}, which can be shared by multiple
+     * threads writing to the store's tables.
+     *
+     * @param store the accumulo store
+     * @return A new MultiTableBatchWriter with the settings defined in the
+     * gaffer.accumulostore properties
+     * @throws StoreException if a connection to accumulo could not be created
+     */
+    public static MultiTableBatchWriter createMultiTableBatchWriter(final AccumuloStore store) throws StoreException {
+        return store.getConnection().createMultiTableBatchWriter(createBatchWriterConfig(store));
+    }
+
     /**
      * Creates a connection to an accumulo instance using the provided
      * parameters
@@ -250,13 +264,8 @@ public final class TableUtils {
 
     private static BatchWriter createBatchWriter(final AccumuloStore store, final String tableName)
             throws StoreException {
-        final BatchWriterConfig batchConfig = new BatchWriterConfig();
-        batchConfig.setMaxMemory(store.getProperties().getMaxBufferSizeForBatchWriterInBytes());
-        batchConfig.setMaxLatency(store.getProperties().getMaxTimeOutForBatchWriterInMilliseconds(),
-                TimeUnit.MILLISECONDS);
-        batchConfig.setMaxWriteThreads(store.getProperties().getNumThreadsForBatchWriter());
         try {
-            return store.getConnection().createBatchWriter(tableName, batchConfig);
+            return store.getConnection().createBatchWriter(tableName, createBatchWriterConfig(store));
         } catch (final TableNotFoundException e) {
             throw new StoreException("Table not set up! Use table gaffer.accumulostore.utils to create the table"
                     + store.getTableName(), e);
@@ -360,4 +369,13 @@ public final class TableUtils {
                     + "\nEither delete the table and let Gaffer create it for you or fix it manually using the Accumulo shell or the Gaffer AddUpdateTableIterator utility.");
         }
     }
+
+    private static BatchWriterConfig createBatchWriterConfig(final AccumuloStore store) {
+        final BatchWriterConfig batchConfig = new BatchWriterConfig();
+        batchConfig.setMaxMemory(store.getProperties().getMaxBufferSizeForBatchWriterInBytes());
+        batchConfig.setMaxLatency(store.getProperties().getMaxTimeOutForBatchWriterInMilliseconds(),
+                TimeUnit.MILLISECONDS);
+        batchConfig.setMaxWriteThreads(store.getProperties().getNumThreadsForBatchWriter());
+        return batchConfig;
+    }
 }
@@ -85,6 +85,13 @@ public class AccumuloPropertiesTest {
         props.setTableFileReplicationFactor(REPLICATION_FACTOR);
         props.setEnableValidatorIterator(true);
         props.setNamespace(NAMESPACE);
+        props.setPipelinedRetriever(true);
+        props.setPipelinedRetrieverQueueSize("5000");
+        props.setPipelinedRetrieverThreads("2");
+        props.setSharedIngestWriter(true);
+        props.setIngestThreads("3");
+        props.setIngestBatchSize("500");
+        props.setIngestAggregation(true);
 
         // Then
         assertEquals(Integer.parseInt(NUM_THREADS_WRITER), props.getNumThreadsForBatchWriter());
@@ -100,6 +107,13 @@ public class AccumuloPropertiesTest {
         assertEquals(REPLICATION_FACTOR, props.getTableFileReplicationFactor());
         assertTrue(props.getEnableValidatorIterator());
         assertEquals(NAMESPACE, props.getNamespace());
+        assertTrue(props.getPipelinedRetriever());
+        assertEquals(5000, props.getPipelinedRetrieverQueueSize());
+        assertEquals(2, props.getPipelinedRetrieverThreads());
+        assertTrue(props.getSharedIngestWriter());
+        assertEquals(3, props.getIngestThreads());
+        assertEquals(500, props.getIngestBatchSize());
+        assertTrue(props.getIngestAggregation());
 
     }
 
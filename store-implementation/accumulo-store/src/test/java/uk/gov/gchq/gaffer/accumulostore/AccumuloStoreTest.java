@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.accumulostore;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.Connector;
@@ -38,6 +39,7 @@ import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsBetweenSets;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsInRanges;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsWithinSet;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.SummariseGroupOverRanges;
+import uk.gov.gchq.gaffer.accumulostore.utils.SharedIngestWriter;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
@@ -59,6 +61,7 @@ import uk.gov.gchq.gaffer.operation.impl.Validate;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateElements;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
@@ -82,12 +85,16 @@ import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
@@ -292,6 +299,67 @@ public class AccumuloStoreTest {
         testAbleToInsertAndRetrieveEntityQueryingEqualAndRelated(byteEntityStore);
     }
 
+    @Test
+    public void shouldAddElementsUsingSharedIngestWriter() throws OperationException, StoreException {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setSharedIngestWriter(true);
+        properties.setIngestThreads("2");
+        properties.setIngestBatchSize("10");
+        properties.setIngestAggregation(true);
+        final SingleUseMockAccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("sharedIngestWriterGraph", SCHEMA, properties);
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("" + (i % 25))
+                    .property(TestPropertyNames.COUNT, 1)
+                    .build());
+        }
+        final Context context = new Context(new User());
+
+        // When
+        store.execute(new AddElements.Builder().input(elements.subList(0, 50)).build(), context);
+        store.execute(new AddElements.Builder().input(elements.subList(50, 100)).build(), context);
+        final List<Element> results = Lists.newArrayList(store.execute(new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build(), context));
+
+        // Then
+        assertEquals(25, results.size());
+        for (final Element result : results) {
+            assertEquals(4, result.getProperty(TestPropertyNames.COUNT));
+        }
+        final SharedIngestWriter writer = store.getSharedIngestWriter();
+        assertTrue(writer.getElementCount() >= 25);
+        assertEquals(writer.getElementCount(), writer.getMutationCount());
+        assertEquals(0, writer.getFailedElementCount());
+        assertEquals(0, writer.getRejectedMutationCount());
+    }
+
+    @Test
+    public void shouldShareRetrieverExecutorsAndShutThemDownWhenReinitialised() throws StoreException {
+        // Given
+        final SingleUseMockAccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("retrieverExecutorsGraph", SCHEMA, PROPERTIES);
+        final ExecutorService scanExecutor = store.getRetrieverScanExecutor();
+        final ExecutorService conversionExecutor = store.getRetrieverConversionExecutor();
+
+        // When
+        store.initialise("retrieverExecutorsGraph", SCHEMA, PROPERTIES);
+
+        // Then
+        assertTrue(scanExecutor.isShutdown());
+        assertTrue(conversionExecutor.isShutdown());
+        assertFalse(store.getRetrieverScanExecutor().isShutdown());
+        assertSame(store.getRetrieverScanExecutor(), store.getRetrieverScanExecutor());
+        assertSame(store.getRetrieverConversionExecutor(), store.getRetrieverConversionExecutor());
+    }
+
     public void testAbleToInsertAndRetrieveEntityQueryingEqualAndRelated(final AccumuloStore store) throws OperationException {
         final Entity e = new Entity(TestGroups.ENTITY, "1");
         e.putProperty(TestPropertyNames.PROP_1, 1);
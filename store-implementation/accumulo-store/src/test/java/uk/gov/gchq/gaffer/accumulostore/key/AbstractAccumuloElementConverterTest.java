@@ -16,7 +16,9 @@
 package uk.gov.gchq.gaffer.accumulostore.key;
 
 import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
 import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -141,6 +143,49 @@ public abstract class AbstractAccumuloElementConverterTest<T extends AccumuloEle
         assertEquals(100, newEntity.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
     }
 
+    @Test
+    public void shouldCreateMutationsMatchingKeysAndValueFromEdge() {
+        // Given
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("1")
+                .dest("2")
+                .directed(true)
+                .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 100)
+                .property(AccumuloPropertyNames.PROP_1, 5)
+                .property(AccumuloPropertyNames.COUNT, 3)
+                .build();
+        final Pair<Key, Key> keys = converter.getKeysFromElement(edge);
+        final Value value = converter.getValueFromElement(edge);
+
+        // When
+        final Pair<Mutation, Mutation> mutations = converter.getMutationsFromElement(edge);
+
+        // Then
+        assertEquals(createMutation(keys.getFirst(), value), mutations.getFirst());
+        assertEquals(createMutation(keys.getSecond(), value), mutations.getSecond());
+    }
+
+    @Test
+    public void shouldCreateSingleMutationFromEntity() {
+        // Given
+        final Entity entity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("3")
+                .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 100)
+                .property(AccumuloPropertyNames.PROP_1, 5)
+                .build();
+        final Key key = converter.getKeyFromEntity(entity);
+        final Value value = converter.getValueFromElement(entity);
+
+        // When
+        final Pair<Mutation, Mutation> mutations = converter.getMutationsFromElement(entity);
+
+        // Then
+        assertEquals(createMutation(key, value), mutations.getFirst());
+        assertNull(mutations.getSecond());
+    }
+
     @Test
     public void shouldReturnAccumuloKeyConverterMultipleCQPropertyEdge() throws SchemaException, IOException {
         // Given
@@ -605,4 +650,10 @@ public abstract class AbstractAccumuloElementConverterTest<T extends AccumuloEle
         // Then
         assertEquals(expectedElementId, elementId);
     }
+
+    private Mutation createMutation(final Key key, final Value value) {
+        final Mutation mutation = new Mutation(key.getRow());
+        mutation.put(key.getColumnFamily(), key.getColumnQualifier(), new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), value);
+        return mutation;
+    }
 }
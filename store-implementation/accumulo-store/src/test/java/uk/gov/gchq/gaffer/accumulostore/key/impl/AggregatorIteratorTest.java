@@ -32,6 +32,7 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.MockAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
@@ -39,6 +40,7 @@ import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
@@ -56,6 +58,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -173,6 +176,39 @@ public class AggregatorIteratorTest {
         assertEquals(expectedResult.getProperties(), aggregatedEdge.getProperties());
     }
 
+    @Test
+    public void shouldAggregateSerialisedValues() throws IOException {
+        // Given
+        final AccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(SCHEMA);
+        final List<Value> values = Arrays.asList(
+                converter.getValueFromProperties(TestGroups.EDGE, createProperties(1, null, 3)),
+                converter.getValueFromProperties(TestGroups.EDGE, createProperties(2, 5, null)),
+                converter.getValueFromProperties(TestGroups.EDGE, createProperties(10, 1, 4)));
+        final Map<String, String> options = new HashMap<>();
+        options.put("columns", "test");
+        options.put(AccumuloStoreConstants.SCHEMA, new String(SCHEMA.toCompactJson()));
+        options.put(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS, ByteEntityAccumuloElementConverter.class.getName());
+        final AggregatorIterator aggregatorIterator = new AggregatorIterator();
+        aggregatorIterator.init(mock(SortedKeyValueIterator.class), options, mock(IteratorEnvironment.class));
+
+        // When
+        final Value result = aggregatorIterator.reduce(new Key("row", TestGroups.EDGE), values.iterator());
+
+        // Then
+        assertArrayEquals(converter.getValueFromProperties(TestGroups.EDGE, createProperties(13, 6, 7)).get(), result.get());
+        assertEquals(createProperties(13, 6, 7), converter.getPropertiesFromValue(TestGroups.EDGE, result));
+    }
+
+    private static Properties createProperties(final Integer count, final Integer prop1, final Integer prop2) {
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.COUNT, count);
+        properties.put(AccumuloPropertyNames.PROP_1, prop1);
+        properties.put(AccumuloPropertyNames.PROP_2, prop2);
+        properties.put(AccumuloPropertyNames.PROP_3, 0);
+        properties.put(AccumuloPropertyNames.PROP_4, 0);
+        return properties;
+    }
+
     @Test
     public void shouldGetGroupFromElementConverter() throws IOException {
         MockAccumuloElementConverter.cleanUp();
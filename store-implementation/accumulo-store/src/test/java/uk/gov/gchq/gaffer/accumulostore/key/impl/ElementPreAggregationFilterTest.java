@@ -25,13 +25,22 @@ import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccum
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
+import uk.gov.gchq.koryphe.impl.predicate.IsIn;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
 import java.io.UnsupportedEncodingException;
 import java.util.HashMap;
@@ -179,6 +188,73 @@ public class ElementPreAggregationFilterTest {
         assertFalse(accept);
     }
 
+    @Test
+    public void shouldFilterOnSerialisedProperties() throws Exception {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type("long", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .serialiser(new OrderedLongSerialiser())
+                        .build())
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .property(TestPropertyNames.STRING, "string")
+                        .property(TestPropertyNames.COUNT, "long")
+                        .groupBy(TestPropertyNames.STRING)
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.STRING)
+                                .execute(new IsIn("a", "b"))
+                                .select(TestPropertyNames.COUNT)
+                                .execute(new IsMoreThan(5L))
+                                .select(IdentifierType.SOURCE.name())
+                                .execute(new IsEqual("source"))
+                                .build())
+                        .build())
+                .build();
+
+        final AbstractElementFilter filter = new ElementPreAggregationFilter();
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.SCHEMA, new String(schema.toCompactJson(), CommonConstants.UTF_8));
+        options.put(AccumuloStoreConstants.VIEW, new String(view.toCompactJson(), CommonConstants.UTF_8));
+        options.put(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS,
+                ByteEntityAccumuloElementConverter.class.getName());
+        filter.init(null, options, null);
+
+        final ByteEntityAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(schema);
+
+        // When / Then
+        assertTrue(accept(filter, converter, "source", "a", 6L));
+        assertFalse(accept(filter, converter, "source", "c", 6L));
+        assertFalse(accept(filter, converter, "source", "a", 5L));
+        assertFalse(accept(filter, converter, "source", "a", null));
+        assertFalse(accept(filter, converter, "otherSource", "a", 6L));
+    }
+
+    private boolean accept(final AbstractElementFilter filter, final ByteEntityAccumuloElementConverter converter,
+                           final String source, final String string, final Long count) {
+        final Element element = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.STRING, string)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+        final Pair<Key, Key> key = converter.getKeysFromElement(element);
+        final Value value = converter.getValueFromElement(element);
+        return filter.accept(key.getFirst(), value);
+    }
+
     private String getViewJson() throws UnsupportedEncodingException {
         final View view = new View.Builder()
                 .edge(TestGroups.EDGE)
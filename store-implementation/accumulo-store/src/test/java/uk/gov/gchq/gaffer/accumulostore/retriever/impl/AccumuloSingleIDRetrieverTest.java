@@ -114,6 +114,40 @@ public class AccumuloSingleIDRetrieverTest {
         //Should find both i-B and i-C edges and entities i
     }
 
+    @Test
+    public void shouldReturnSameElementsWithPipelinedRetriever() throws StoreException {
+        // Given
+        final AccumuloProperties pipelinedProperties = PROPERTIES.clone();
+        pipelinedProperties.setPipelinedRetriever(true);
+        pipelinedProperties.setPipelinedRetrieverThreads("3");
+        pipelinedProperties.setPipelinedRetrieverQueueSize("2000");
+        pipelinedProperties.setMaxEntriesForBatchScanner("100");
+        final AccumuloStore pipelinedStore = new SingleUseMockAccumuloStore();
+        pipelinedStore.initialise("pipelinedGraph", SCHEMA, pipelinedProperties);
+        setupGraph(pipelinedStore, NUM_ENTRIES);
+
+        final Set<ElementId> ids = new HashSet<>();
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder().view(view).input(ids).build();
+
+        // When
+        final Set<Element> expected = new HashSet<>();
+        final Set<Element> results = new HashSet<>();
+        try {
+            Iterables.addAll(expected, new AccumuloSingleIDRetriever<>(byteEntityStore, operation, new User()));
+            Iterables.addAll(results, new AccumuloSingleIDRetriever<>(pipelinedStore, operation, new User()));
+        } catch (final IteratorSettingException e) {
+            throw new RuntimeException(e);
+        }
+
+        // Then
+        assertEquals(NUM_ENTRIES * 3, results.size());
+        assertEquals(expected, results);
+    }
+
     @Test
     public void testEntityIdQueryEdgesOnly() throws AccumuloException, StoreException {
         testEntityIdQueryEdgesOnly(byteEntityStore);
@@ -39,6 +39,7 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.Schema.Builder;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -48,6 +49,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -66,6 +69,19 @@ public class FederatedGraphStorage {
     private Boolean isCacheEnabled = false;
     private GraphLibrary graphLibrary;
 
+    /**
+     * Merged schemas and traits, keyed on the type of merge and the ids of the
+     * graphs that were merged. The whole map is replaced whenever a graph is
+     * added or removed, after the graphs have been updated. Callers read the
+     * map before collecting the graphs to merge, so a merge that is still
+     * running against the old graphs can only populate the old map.
+     */
+    private volatile Map<List<Object>, Object> mergedCache = new ConcurrentHashMap<>();
+
+    private enum MergeType {
+        SCHEMA, COMPACT_SCHEMA, TRAITS, CURRENT_TRAITS
+    }
+
     protected void startCacheServiceLoader() throws StorageException {
         if (CacheServiceLoader.isEnabled()) {
             isCacheEnabled = true;
@@ -124,6 +140,7 @@ public class FederatedGraphStorage {
                 } else {
                     existingGraphs.add(builtGraph);
                 }
+                clearMergedCache();
             } catch (final Exception e) {
                 throw new StorageException("Error adding graph " + graphId + " to storage due to: " + e.getMessage(), e);
             }
@@ -187,6 +204,9 @@ public class FederatedGraphStorage {
                 }
             }
         }
+        if (isRemoved) {
+            clearMergedCache();
+        }
         return isRemoved;
     }
 
@@ -228,29 +248,33 @@ public class FederatedGraphStorage {
             return getSchema((Map<String, String>) null, context);
         }
 
+        final Map<List<Object>, Object> cache = mergedCache;
         final List<String> graphIds = FederatedStoreUtil.getGraphIds(operation.getOptions());
-        final Stream<Graph> graphs = getStream(context.getUser(), graphIds);
-        final Builder schemaBuilder = new Builder();
-        try {
-            if (operation.isCompact()) {
-                final GetSchema getSchema = new GetSchema.Builder()
-                        .compact(true)
-                        .build();
-                graphs.forEach(g -> {
-                    try {
-                        schemaBuilder.merge(g.execute(getSchema, context));
-                    } catch (final OperationException e) {
-                        throw new RuntimeException("Unable to fetch schema from graph " + g.getGraphId(), e);
-                    }
-                });
-            } else {
-                graphs.forEach(g -> schemaBuilder.merge(g.getSchema()));
+        final List<Graph> graphs = getStream(context.getUser(), graphIds).collect(Collectors.toList());
+        final MergeType mergeType = operation.isCompact() ? MergeType.COMPACT_SCHEMA : MergeType.SCHEMA;
+        return getMerged(cache, mergeType, graphs, () -> {
+            final Builder schemaBuilder = new Builder();
+            try {
+                if (operation.isCompact()) {
+                    final GetSchema getSchema = new GetSchema.Builder()
+                            .compact(true)
+                            .build();
+                    graphs.forEach(g -> {
+                        try {
+                            schemaBuilder.merge(g.execute(getSchema, context));
+                        } catch (final OperationException e) {
+                            throw new RuntimeException("Unable to fetch schema from graph " + g.getGraphId(), e);
+                        }
+                    });
+                } else {
+                    graphs.forEach(g -> schemaBuilder.merge(g.getSchema()));
+                }
+            } catch (final SchemaException e) {
+                final List<String> resultGraphIds = graphs.stream().map(Graph::getGraphId).collect(Collectors.toList());
+                throw new SchemaException("Unable to merge the schemas for all of your federated graphs: " + resultGraphIds + ". You can limit which graphs to query for using the operation option: " + KEY_OPERATION_OPTIONS_GRAPH_IDS, e);
             }
-        } catch (final SchemaException e) {
-            final List<String> resultGraphIds = getStream(context.getUser(), graphIds).map(Graph::getGraphId).collect(Collectors.toList());
-            throw new SchemaException("Unable to merge the schemas for all of your federated graphs: " + resultGraphIds + ". You can limit which graphs to query for using the operation option: " + KEY_OPERATION_OPTIONS_GRAPH_IDS, e);
-        }
-        return schemaBuilder.build();
+            return schemaBuilder.build();
+        });
     }
 
     /**
@@ -273,16 +297,19 @@ public class FederatedGraphStorage {
             return new Schema();
         }
 
+        final Map<List<Object>, Object> cache = mergedCache;
         final List<String> graphIds = FederatedStoreUtil.getGraphIds(config);
-        final Stream<Graph> graphs = getStream(user, graphIds);
-        final Builder schemaBuilder = new Builder();
-        try {
-            graphs.forEach(g -> schemaBuilder.merge(g.getSchema()));
-        } catch (final SchemaException e) {
-            final List<String> resultGraphIds = getStream(user, graphIds).map(Graph::getGraphId).collect(Collectors.toList());
-            throw new SchemaException(String.format(UNABLE_TO_MERGE_THE_SCHEMAS_FOR_ALL_OF_YOUR_FEDERATED_GRAPHS, resultGraphIds, KEY_OPERATION_OPTIONS_GRAPH_IDS), e);
-        }
-        return schemaBuilder.build();
+        final List<Graph> graphs = getStream(user, graphIds).collect(Collectors.toList());
+        return getMerged(cache, MergeType.SCHEMA, graphs, () -> {
+            final Builder schemaBuilder = new Builder();
+            try {
+                graphs.forEach(g -> schemaBuilder.merge(g.getSchema()));
+            } catch (final SchemaException e) {
+                final List<String> resultGraphIds = graphs.stream().map(Graph::getGraphId).collect(Collectors.toList());
+                throw new SchemaException(String.format(UNABLE_TO_MERGE_THE_SCHEMAS_FOR_ALL_OF_YOUR_FEDERATED_GRAPHS, resultGraphIds, KEY_OPERATION_OPTIONS_GRAPH_IDS), e);
+            }
+            return schemaBuilder.build();
+        });
     }
 
     /**
@@ -297,21 +324,26 @@ public class FederatedGraphStorage {
      * @return the set of {@link StoreTrait} that are common for all visible graphs
      */
     public Set<StoreTrait> getTraits(final GetTraits op, final Context context) {
-        final Set<StoreTrait> traits = Sets.newHashSet(StoreTrait.values());
-        if (null != op && op.isCurrentTraits()) {
-            final List<String> graphIds = FederatedStoreUtil.getGraphIds(op.getOptions());
-            final Stream<Graph> graphs = getStream(context.getUser(), graphIds);
+        if (null == op || !op.isCurrentTraits()) {
+            return Sets.newHashSet(StoreTrait.values());
+        }
+
+        final Map<List<Object>, Object> cache = mergedCache;
+        final List<String> graphIds = FederatedStoreUtil.getGraphIds(op.getOptions());
+        final List<Graph> graphs = getStream(context.getUser(), graphIds).collect(Collectors.toList());
+        final Set<StoreTrait> traits = getMerged(cache, MergeType.CURRENT_TRAITS, graphs, () -> {
+            final Set<StoreTrait> mergedTraits = Sets.newHashSet(StoreTrait.values());
             final GetTraits getTraits = op.shallowClone();
             graphs.forEach(g -> {
                 try {
-                    traits.retainAll(g.execute(getTraits, context));
+                    mergedTraits.retainAll(g.execute(getTraits, context));
                 } catch (final OperationException e) {
                     throw new RuntimeException("Unable to fetch traits from graph " + g.getGraphId(), e);
                 }
             });
-        }
-
-        return traits;
+            return Collections.unmodifiableSet(mergedTraits);
+        });
+        return Sets.newHashSet(traits);
     }
 
     /**
@@ -326,14 +358,44 @@ public class FederatedGraphStorage {
      * @return the set of {@link StoreTrait} that are common for all visible graphs
      */
     public Set<StoreTrait> getTraits(final Map<String, String> config, final User user) {
+        final Map<List<Object>, Object> cache = mergedCache;
         final List<String> graphIds = FederatedStoreUtil.getGraphIds(config);
-        Collection<Graph> graphs = get(user, graphIds);
+        final Collection<Graph> graphs = get(user, graphIds);
+        final Set<StoreTrait> traits = getMerged(cache, MergeType.TRAITS, graphs, () -> {
+            final Set<StoreTrait> mergedTraits = graphs.isEmpty() ? Sets.newHashSet() : Sets.newHashSet(StoreTrait.values());
+            for (final Graph graph : graphs) {
+                mergedTraits.retainAll(graph.getStoreTraits());
+            }
+            return Collections.unmodifiableSet(mergedTraits);
+        });
+        return Sets.newHashSet(traits);
+    }
 
-        final Set<StoreTrait> traits = graphs.isEmpty() ? Sets.newHashSet() : Sets.newHashSet(StoreTrait.values());
-        for (final Graph graph : graphs) {
-            traits.retainAll(graph.getStoreTraits());
+    /**
+     * Returns the cached result of merging the given graphs, merging them if
+     * the result has not been cached. Results are shared between users that
+     * can see the same graphs, as the merge only depends on the graphs.
+     *
+     * @param cache     the merged cache, read before the graphs were collected
+     * @param mergeType the type of merge
+     * @param graphs    the graphs to merge, in merge order
+     * @param merge     merges the graphs
+     * @param <T>       the type of the merged result
+     * @return the merged result
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T getMerged(final Map<List<Object>, Object> cache, final MergeType mergeType, final Collection<Graph> graphs, final Supplier<T> merge) {
+        final List<Object> key = Arrays.asList(mergeType, graphs.stream().map(Graph::getGraphId).collect(Collectors.toList()));
+        T merged = (T) cache.get(key);
+        if (null == merged) {
+            merged = merge.get();
+            cache.put(key, merged);
         }
-        return traits;
+        return merged;
+    }
+
+    private void clearMergedCache() {
+        mergedCache = new ConcurrentHashMap<>();
     }
 
     private void validateAllGivenGraphIdsAreVisibleForUser(final User user, final Collection<String> graphIds) {
@@ -79,6 +79,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreProperties.IS_PUBLIC_ACCESS_ALLOWED_DEFAULT;
 import static uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil.getCleanStrings;
@@ -100,6 +106,10 @@ public class FederatedStore extends Store {
     private FederatedGraphStorage graphStorage = new FederatedGraphStorage();
     private Set<String> customPropertiesAuths;
     private Boolean isPublicAccessAllowed = Boolean.valueOf(IS_PUBLIC_ACCESS_ALLOWED_DEFAULT);
+    private ExecutorService graphExecutorService;
+    private long graphExecutionTimeout;
+    private ExecutorService resultReaderExecutorService;
+    private long resultReaderTimeout;
 
     /**
      * Initialise this FederatedStore with any sub-graphs defined within the
@@ -116,6 +126,10 @@ public class FederatedStore extends Store {
         super.initialise(graphId, new Schema(), properties);
         customPropertiesAuths = getCustomPropertiesAuths();
         isPublicAccessAllowed = Boolean.valueOf(getProperties().getIsPublicAccessAllowed());
+        graphExecutorService = createGraphExecutorService();
+        graphExecutionTimeout = getProperties().getGraphExecutionTimeout();
+        resultReaderExecutorService = null == graphExecutorService ? null : createResultReaderExecutorService();
+        resultReaderTimeout = getProperties().getResultReaderTimeout();
     }
 
     @Override
@@ -287,6 +301,40 @@ public class FederatedStore extends Store {
         return graphStorage.getTraits(getTraits, context);
     }
 
+    /**
+     * @return the executor used to execute operations against the sub-graphs
+     * concurrently, or null if the sub-graphs should be queried one at a time.
+     */
+    public ExecutorService getGraphExecutorService() {
+        return graphExecutorService;
+    }
+
+    /**
+     * @return the maximum time in milliseconds to wait for each sub-graph to
+     * execute an operation, or 0 if there is no timeout.
+     */
+    public long getGraphExecutionTimeout() {
+        return graphExecutionTimeout;
+    }
+
+    /**
+     * @return the executor used to read the sub-graph results when they are
+     * merged as they arrive, or null if the sub-graphs are queried one at a
+     * time. This is separate from the graph executor, so readers waiting for
+     * their results to be consumed do not block the sub-graph executions.
+     */
+    public ExecutorService getResultReaderExecutorService() {
+        return resultReaderExecutorService;
+    }
+
+    /**
+     * @return the maximum time in milliseconds a reader of sub-graph results
+     * waits for the results to be consumed, or 0 to wait indefinitely.
+     */
+    public long getResultReaderTimeout() {
+        return resultReaderTimeout;
+    }
+
     /**
      * <p>
      * Gets a collection of graph objects within FederatedStore scope from the
@@ -390,6 +438,35 @@ public class FederatedStore extends Store {
         }
     }
 
+    protected ExecutorService createGraphExecutorService() {
+        final int threads = getProperties().getExecutorThreads();
+        if (threads < 1) {
+            return null;
+        }
+
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "federated-store-" + getGraphId() + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Allow idle threads to finish, so unused stores do not hold on to them
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    protected ExecutorService createResultReaderExecutorService() {
+        // Each reader holds a thread until its results are consumed, so the pool grows with demand
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "federated-store-" + getGraphId() + "-reader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     private Set<String> getCustomPropertiesAuths() {
         final String value = getProperties().getCustomPropsValue();
         return (Strings.isNullOrEmpty(value)) ? null : Sets.newHashSet(getCleanStrings(value));
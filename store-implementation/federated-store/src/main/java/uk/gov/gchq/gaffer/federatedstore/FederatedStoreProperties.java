@@ -47,6 +47,33 @@ public class FederatedStoreProperties extends StoreProperties {
     public static final String CACHE_SERVICE_CLASS = CacheProperties.CACHE_SERVICE_CLASS;
     public static final String CACHE_SERVICE_CLASS_DEFAULT = null;
 
+    /**
+     * The number of threads used to execute operations against the sub-graphs
+     * concurrently. If less than 1, the default, the sub-graphs are queried
+     * one at a time. When the sub-graphs are queried concurrently, iterable
+     * results are returned in the order they arrive rather than grouped by
+     * graph.
+     * e.g gaffer.federatedstore.executor.threads=10
+     */
+    public static final String EXECUTOR_THREADS = "gaffer.federatedstore.executor.threads";
+    public static final String EXECUTOR_THREADS_DEFAULT = String.valueOf(0);
+    /**
+     * The maximum time in milliseconds to wait for each sub-graph to execute
+     * an operation. If 0 there is no timeout.
+     * e.g gaffer.federatedstore.graphExecutionTimeout=60000
+     */
+    public static final String GRAPH_EXECUTION_TIMEOUT = "gaffer.federatedstore.graphExecutionTimeout";
+    public static final String GRAPH_EXECUTION_TIMEOUT_DEFAULT = String.valueOf(0);
+    /**
+     * The maximum time in milliseconds that a reader of sub-graph results
+     * waits for the results to be consumed when they are merged as they
+     * arrive. If exceeded the reader stops and the merged results throw an
+     * exception. If 0 the readers wait indefinitely.
+     * e.g gaffer.federatedstore.resultReaderTimeout=300000
+     */
+    public static final String RESULT_READER_TIMEOUT = "gaffer.federatedstore.resultReaderTimeout";
+    public static final String RESULT_READER_TIMEOUT_DEFAULT = String.valueOf(300000);
+
     public FederatedStoreProperties() {
         super(FederatedStore.class);
     }
@@ -79,6 +106,30 @@ public class FederatedStoreProperties extends StoreProperties {
         return this.get(CUSTOM_PROPERTIES_AUTHS, CUSTOM_PROPERTIES_AUTHS_DEFAULT);
     }
 
+    public int getExecutorThreads() {
+        return Integer.parseInt(get(EXECUTOR_THREADS, EXECUTOR_THREADS_DEFAULT));
+    }
+
+    public void setExecutorThreads(final int threads) {
+        set(EXECUTOR_THREADS, String.valueOf(threads));
+    }
+
+    public long getGraphExecutionTimeout() {
+        return Long.parseLong(get(GRAPH_EXECUTION_TIMEOUT, GRAPH_EXECUTION_TIMEOUT_DEFAULT));
+    }
+
+    public void setGraphExecutionTimeout(final long timeoutMillis) {
+        set(GRAPH_EXECUTION_TIMEOUT, String.valueOf(timeoutMillis));
+    }
+
+    public long getResultReaderTimeout() {
+        return Long.parseLong(get(RESULT_READER_TIMEOUT, RESULT_READER_TIMEOUT_DEFAULT));
+    }
+
+    public void setResultReaderTimeout(final long timeoutMillis) {
+        set(RESULT_READER_TIMEOUT, String.valueOf(timeoutMillis));
+    }
+
     public String getIsPublicAccessAllowed() {
         return get(IS_PUBLIC_ACCESS_ALLOWED, IS_PUBLIC_ACCESS_ALLOWED_DEFAULT);
     }
@@ -21,7 +21,9 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
 import uk.gov.gchq.gaffer.federatedstore.operation.FederatedOperationChain;
+import uk.gov.gchq.gaffer.federatedstore.util.FederatedExecutionUtil;
 import uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil;
+import uk.gov.gchq.gaffer.federatedstore.util.InterleavedIterable;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -30,36 +32,25 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_OPERATION_OPTIONS_GRAPH_IDS;
-import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE;
 
 public class FederatedOperationChainHandler<I, O_ITEM> implements OutputOperationHandler<FederatedOperationChain<I, O_ITEM>, CloseableIterable<O_ITEM>> {
     @Override
     public CloseableIterable<O_ITEM> doOperation(final FederatedOperationChain<I, O_ITEM> operation, final Context context, final Store store) throws OperationException {
-        final Collection<Graph> graphs = ((FederatedStore) store).getGraphs(context.getUser(), operation.getOption(KEY_OPERATION_OPTIONS_GRAPH_IDS));
-        final List<Object> results = new ArrayList<>(graphs.size());
-        for (final Graph graph : graphs) {
-            final OperationChain opChain = operation.getOperationChain();
-            OperationHandlerUtil.updateOperationInput(opChain, operation.getInput());
-            final OperationChain updatedOp = FederatedStoreUtil.updateOperationForGraph(opChain, graph);
-            if (null != updatedOp) {
-                Object result = null;
-                try {
-                    result = graph.execute(updatedOp, context);
-                } catch (final Exception e) {
-                    if (!Boolean.valueOf(updatedOp.getOption(KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE))) {
-                        throw new OperationException(FederatedStoreUtil.createOperationErrorMsg(operation, graph.getGraphId(), e), e);
-                    }
-                }
-                if (null != result) {
-                    results.add(result);
-                }
-            }
-        }
+        final FederatedStore federatedStore = (FederatedStore) store;
+        final Collection<Graph> graphs = federatedStore.getGraphs(context.getUser(), operation.getOption(KEY_OPERATION_OPTIONS_GRAPH_IDS));
+        final List<Object> results = FederatedExecutionUtil.executeOnGraphs(operation, graphs,
+                graph -> {
+                    final OperationChain opChain = operation.getOperationChain();
+                    OperationHandlerUtil.updateOperationInput(opChain, operation.getInput());
+                    return FederatedStoreUtil.updateOperationForGraph(opChain, graph);
+                },
+                (graph, updatedOp, graphContext) -> graph.execute(updatedOp, graphContext),
+                context, federatedStore);
         return mergeResults(results, operation, context, store);
     }
 
@@ -85,6 +76,11 @@ public class FederatedOperationChainHandler<I, O_ITEM> implements OutputOperatio
         }
 
         if (areIterable) {
+            final FederatedStore federatedStore = (FederatedStore) store;
+            final ExecutorService executor = federatedStore.getResultReaderExecutorService();
+            if (null != executor) {
+                return new InterleavedIterable(results, executor, InterleavedIterable.DEFAULT_BUFFER_SIZE, federatedStore.getResultReaderTimeout());
+            }
             return new ChainedIterable(CollectionUtil.toIterableArray((List) results));
         }
 
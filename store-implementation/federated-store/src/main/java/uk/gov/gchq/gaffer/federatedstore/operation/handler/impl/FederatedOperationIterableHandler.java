@@ -19,17 +19,22 @@ package uk.gov.gchq.gaffer.federatedstore.operation.handler.impl;
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.FederatedOperationOutputHandler;
+import uk.gov.gchq.gaffer.federatedstore.util.InterleavedIterable;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * A generic handler for Operations with CloseableIterable of elements for FederatedStore.
- * Simply executes the operation on each delegate graph then chains the results together
- * using a {@link ChainedIterable}.
+ * Executes the operation on each delegate graph then merges the results. If the
+ * FederatedStore queries its graphs concurrently the results are interleaved as
+ * they arrive using an {@link InterleavedIterable}, otherwise they are chained
+ * together using a {@link ChainedIterable}.
  *
  * @see FederatedOperationOutputHandler
  */
@@ -40,6 +45,13 @@ public class FederatedOperationIterableHandler<OP extends Output<O>, O extends I
             return (O) new EmptyClosableIterable<>();
         }
 
+        // Interleave the results as they arrive if the graphs are queried concurrently
+        final FederatedStore federatedStore = (FederatedStore) store;
+        final ExecutorService executor = federatedStore.getResultReaderExecutorService();
+        if (null != executor && results.size() > 1) {
+            return (O) new InterleavedIterable<>((List) results, executor, InterleavedIterable.DEFAULT_BUFFER_SIZE, federatedStore.getResultReaderTimeout());
+        }
+
         // Concatenate all the results into 1 iterable
         return (O) new ChainedIterable<>(CollectionUtil.toIterableArray(results));
     }
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.export.Exporter;
+import uk.gov.gchq.gaffer.store.Context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getSkipFailedFederatedStoreExecute;
+
+/**
+ * Utility methods for executing an {@link Operation} against the sub-graphs of
+ * a {@link FederatedStore}.
+ * <p>
+ * If the store has an executor the sub-graphs are queried concurrently, and
+ * each sub-graph is given up to the store's graph execution timeout to
+ * respond, measured from when its execution starts rather than when it is
+ * queued. Each sub-graph is given its own copy of the context, with the same
+ * job ID, and any variables and exporters it adds are merged back into the
+ * original context in the order of the graphs once it has finished.
+ * Otherwise the sub-graphs are queried one at a time on the calling thread
+ * using the original context. In both cases the results are returned in the
+ * order of the graphs, and a failed sub-graph is skipped if the operation has
+ * the skipFailedFederatedStoreExecute option set.
+ * </p>
+ */
+public final class FederatedExecutionUtil {
+    private static final long NOT_STARTED = -1L;
+
+    private FederatedExecutionUtil() {
+    }
+
+    /**
+     * Executes an operation against each of the given graphs.
+     *
+     * @param operation         the original operation, used for error messages
+     * @param graphs            the graphs to execute the operation on
+     * @param updateOperation   creates the operation to execute on a graph, or
+     *                          returns null if the graph should not be queried
+     * @param graphExecution    executes the updated operation on a graph
+     * @param context           the user context
+     * @param store             the federated store
+     * @param <OP>              the type of the updated operations
+     * @param <O>               the type of the results
+     * @return the non null results from each graph, in the order of the graphs
+     * @throws OperationException if a graph fails and failures are not skipped
+     */
+    public static <OP extends Operation, O> List<O> executeOnGraphs(final Operation operation,
+                                                                    final Collection<Graph> graphs,
+                                                                    final Function<Graph, OP> updateOperation,
+                                                                    final GraphExecution<OP, O> graphExecution,
+                                                                    final Context context,
+                                                                    final FederatedStore store) throws OperationException {
+        final List<Graph> graphsToQuery = new ArrayList<>(graphs.size());
+        final List<OP> updatedOps = new ArrayList<>(graphs.size());
+        for (final Graph graph : graphs) {
+            final OP updatedOp = updateOperation.apply(graph);
+            if (null != updatedOp) {
+                graphsToQuery.add(graph);
+                updatedOps.add(updatedOp);
+            }
+        }
+
+        final ExecutorService executor = store.getGraphExecutorService();
+        if (null == executor) {
+            return executeSequentially(operation, graphsToQuery, updatedOps, graphExecution, context);
+        }
+        return executeConcurrently(operation, graphsToQuery, updatedOps, graphExecution, context, executor, store.getGraphExecutionTimeout());
+    }
+
+    private static <OP extends Operation, O> List<O> executeSequentially(final Operation operation,
+                                                                         final List<Graph> graphs,
+                                                                         final List<OP> updatedOps,
+                                                                         final GraphExecution<OP, O> graphExecution,
+                                                                         final Context context) throws OperationException {
+        final List<O> results = new ArrayList<>(graphs.size());
+        for (int i = 0; i < graphs.size(); i++) {
+            O result = null;
+            try {
+                result = graphExecution.execute(graphs.get(i), updatedOps.get(i), context);
+            } catch (final Exception e) {
+                handleFailure(operation, graphs.get(i), updatedOps.get(i), e, results);
+            }
+            if (null != result) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    private static <OP extends Operation, O> List<O> executeConcurrently(final Operation operation,
+                                                                         final List<Graph> graphs,
+                                                                         final List<OP> updatedOps,
+                                                                         final GraphExecution<OP, O> graphExecution,
+                                                                         final Context context,
+                                                                         final ExecutorService executor,
+                                                                         final long timeoutMillis) throws OperationException {
+        final List<Future<O>> futures = new ArrayList<>(graphs.size());
+        final List<AtomicLong> startTimes = new ArrayList<>(graphs.size());
+        final List<Context> graphContexts = new ArrayList<>(graphs.size());
+        for (int i = 0; i < graphs.size(); i++) {
+            final Graph graph = graphs.get(i);
+            final OP updatedOp = updatedOps.get(i);
+            // Each graph gets its own copy of the context, as the context maps are not thread safe
+            final Context graphContext = context.copy();
+            graphContexts.add(graphContext);
+            final AtomicLong startTime = new AtomicLong(NOT_STARTED);
+            startTimes.add(startTime);
+            futures.add(executor.submit(() -> {
+                startTime.set(System.currentTimeMillis());
+                return graphExecution.execute(graph, updatedOp, graphContext);
+            }));
+        }
+
+        final List<O> results = new ArrayList<>(graphs.size());
+        boolean completed = false;
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                final Future<O> future = futures.get(i);
+                O result = null;
+                try {
+                    if (timeoutMillis > 0) {
+                        result = getResult(future, startTimes.get(i), timeoutMillis);
+                    } else {
+                        result = future.get();
+                    }
+                    mergeContext(graphContexts.get(i), context);
+                } catch (final ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    handleFailure(operation, graphs.get(i), updatedOps.get(i), (Exception) cause, results);
+                } catch (final TimeoutException e) {
+                    future.cancel(true);
+                    handleFailure(operation, graphs.get(i), updatedOps.get(i),
+                            new TimeoutException("No response within " + timeoutMillis + "ms"), results);
+                }
+                if (null != result) {
+                    results.add(result);
+                }
+            }
+            completed = true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closeResults(results);
+            throw new OperationException("Interrupted while executing " + operation.getClass().getSimpleName() + " on the federated graphs", e);
+        } finally {
+            if (!completed) {
+                for (final Future<O> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+        return results;
+    }
+
+    // Waits for the result of a graph, timing out once the graph has been
+    // executing for longer than the timeout. Time spent queued for the
+    // executor does not count towards the timeout.
+    private static <O> O getResult(final Future<O> future, final AtomicLong startTime, final long timeoutMillis)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        while (true) {
+            final long started = startTime.get();
+            final long waitMillis = NOT_STARTED == started ? timeoutMillis : started + timeoutMillis - System.currentTimeMillis();
+            try {
+                return future.get(Math.max(0L, waitMillis), TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) {
+                final long startedAfterWait = startTime.get();
+                if (NOT_STARTED != startedAfterWait && System.currentTimeMillis() - startedAfterWait >= timeoutMillis) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static void mergeContext(final Context graphContext, final Context context) {
+        if (null != graphContext.getVariables() && !graphContext.getVariables().isEmpty()) {
+            context.addVariables(graphContext.getVariables());
+        }
+        for (final Exporter exporter : graphContext.getExporters()) {
+            if (null == context.getExporter(exporter.getClass())) {
+                context.addExporter(exporter);
+            }
+        }
+    }
+
+    private static <O> void handleFailure(final Operation operation, final Graph graph, final Operation updatedOp, final Exception e, final List<O> results) throws OperationException {
+        if (!Boolean.valueOf(getSkipFailedFederatedStoreExecute(updatedOp))) {
+            closeResults(results);
+            throw new OperationException(FederatedStoreUtil.createOperationErrorMsg(operation, graph.getGraphId(), e), e);
+        }
+    }
+
+    private static <O> void closeResults(final List<O> results) {
+        for (final O result : results) {
+            CloseableUtil.close(result);
+        }
+    }
+
+    /**
+     * Executes an operation on a single graph.
+     *
+     * @param <OP> the type of operation
+     * @param <O>  the type of result
+     */
+    @FunctionalInterface
+    public interface GraphExecution<OP extends Operation, O> {
+        O execute(final Graph graph, final OP operation, final Context context) throws OperationException;
+    }
+}
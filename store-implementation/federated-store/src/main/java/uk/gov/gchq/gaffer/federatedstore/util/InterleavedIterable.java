@@ -0,0 +1,231 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@code InterleavedIterable} merges a number of iterables by reading them
+ * concurrently and returning their items in the order they arrive.
+ * <p>
+ * Each iterator reads the iterables on the given {@link ExecutorService},
+ * passing the items through a bounded buffer. A slow sub-graph therefore does
+ * not hold up the results from the others, and the readers block when the
+ * buffer is full so results are not read faster than they are consumed.
+ * </p>
+ * <p>
+ * The iterators should be closed if they are not fully consumed, to stop the
+ * readers and release the executor threads. If a reader timeout is set, a
+ * reader that cannot add an item to the buffer within the timeout stops
+ * reading, so an abandoned iterator does not hold an executor thread forever.
+ * The iterator then throws an exception once it has returned the buffered
+ * items.
+ * </p>
+ *
+ * @param <T> the type of items
+ */
+public class InterleavedIterable<T> implements CloseableIterable<T> {
+    public static final int DEFAULT_BUFFER_SIZE = 1000;
+
+    private static final Object END = new Object();
+    private static final Object NULL_ITEM = new Object();
+    private static final long POLL_INTERVAL_MILLIS = 100L;
+
+    private final List<? extends Iterable<? extends T>> iterables;
+    private final ExecutorService executor;
+    private final int bufferSize;
+    private final long readerTimeoutMillis;
+
+    public InterleavedIterable(final List<? extends Iterable<? extends T>> iterables, final ExecutorService executor) {
+        this(iterables, executor, DEFAULT_BUFFER_SIZE);
+    }
+
+    public InterleavedIterable(final List<? extends Iterable<? extends T>> iterables, final ExecutorService executor, final int bufferSize) {
+        this(iterables, executor, bufferSize, 0L);
+    }
+
+    /**
+     * @param iterables           the iterables to merge
+     * @param executor            the executor to read the iterables on
+     * @param bufferSize          the maximum number of items to buffer
+     * @param readerTimeoutMillis the maximum time in milliseconds a reader
+     *                            waits for space in the buffer, or 0 to wait
+     *                            indefinitely
+     */
+    public InterleavedIterable(final List<? extends Iterable<? extends T>> iterables, final ExecutorService executor, final int bufferSize, final long readerTimeoutMillis) {
+        if (null == executor) {
+            throw new IllegalArgumentException("An executor is required");
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("The buffer size must be at least 1");
+        }
+        this.iterables = iterables;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.readerTimeoutMillis = readerTimeoutMillis;
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        return new InterleavedIterator();
+    }
+
+    @Override
+    public void close() {
+        for (final Iterable<? extends T> iterable : iterables) {
+            CloseableUtil.close(iterable);
+        }
+    }
+
+    private static final class Failure {
+        private final Throwable error;
+
+        private Failure(final Throwable error) {
+            this.error = error;
+        }
+    }
+
+    private final class InterleavedIterator implements CloseableIterator<T> {
+        private final BlockingQueue<Object> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final List<Future<?>> readers = new ArrayList<>(iterables.size());
+        private int remainingReaders;
+        private Object next;
+        private boolean closed;
+        private volatile Throwable readerTimeout;
+
+        private InterleavedIterator() {
+            remainingReaders = iterables.size();
+            for (final Iterable<? extends T> iterable : iterables) {
+                readers.add(executor.submit(() -> read(iterable)));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next && remainingReaders > 0 && !closed) {
+                final Object item;
+                try {
+                    item = readerTimeoutMillis > 0 ? buffer.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS) : buffer.take();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    close();
+                    throw new GafferRuntimeException("Interrupted while waiting for results", e);
+                }
+
+                if (null == item) {
+                    // A reader that timed out will never add an END marker
+                    if (null != readerTimeout) {
+                        close();
+                        throw new GafferRuntimeException(readerTimeout.getMessage(), readerTimeout);
+                    }
+                } else if (END == item) {
+                    remainingReaders--;
+                } else if (item instanceof Failure) {
+                    close();
+                    final Throwable error = ((Failure) item).error;
+                    if (error instanceof RuntimeException) {
+                        throw (RuntimeException) error;
+                    }
+                    if (error instanceof Error) {
+                        throw (Error) error;
+                    }
+                    throw new GafferRuntimeException(error.getMessage(), error);
+                } else {
+                    next = item;
+                }
+            }
+
+            if (null == next) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Object item = next;
+            next = null;
+            return NULL_ITEM == item ? null : (T) item;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                for (final Future<?> reader : readers) {
+                    reader.cancel(true);
+                }
+                buffer.clear();
+            }
+        }
+
+        private void read(final Iterable<? extends T> iterable) {
+            Object last = END;
+            Iterator<? extends T> itr = null;
+            try {
+                itr = iterable.iterator();
+                while (itr.hasNext() && !Thread.currentThread().isInterrupted()) {
+                    final T item = itr.next();
+                    if (!add(null == item ? NULL_ITEM : item)) {
+                        return;
+                    }
+                }
+            } catch (final InterruptedException e) {
+                // The iterator has been closed
+                return;
+            } catch (final Throwable e) {
+                last = new Failure(e);
+            } finally {
+                CloseableUtil.close(itr);
+            }
+
+            try {
+                add(last);
+            } catch (final InterruptedException e) {
+                // The iterator has been closed
+            }
+        }
+
+        private boolean add(final Object item) throws InterruptedException {
+            if (readerTimeoutMillis > 0) {
+                if (!buffer.offer(item, readerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    readerTimeout = new GafferRuntimeException("Results were not consumed within " + readerTimeoutMillis + "ms");
+                    return false;
+                }
+                return true;
+            }
+            buffer.put(item);
+            return true;
+        }
+    }
+}
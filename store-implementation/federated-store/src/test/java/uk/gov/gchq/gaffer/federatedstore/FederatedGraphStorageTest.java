@@ -31,6 +31,7 @@ import uk.gov.gchq.gaffer.graph.GraphSerialisable;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.StoreTrait;
 import uk.gov.gchq.gaffer.store.library.GraphLibrary;
+import uk.gov.gchq.gaffer.store.operation.GetSchema;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
@@ -42,10 +43,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -351,6 +354,110 @@ public class FederatedGraphStorageTest {
         assertEquals("Revealing hidden traits", 0, traits.size());
     }
 
+    @Test
+    public void shouldReuseMergedSchemaForSameGraphs() throws Exception {
+        // Given
+        graphStorage.put(a, access);
+        graphStorage.put(b, access);
+
+        // When
+        final Schema schema1 = graphStorage.getSchema((Map<String, String>) null, testUserContext);
+        final Schema schema2 = graphStorage.getSchema((Map<String, String>) null, authUserContext);
+
+        // Then
+        assertSame(schema1, schema2);
+    }
+
+    @Test
+    public void shouldNotShareMergedSchemaBetweenDifferentGraphs() throws Exception {
+        // Given
+        graphStorage.put(a, access);
+        graphStorage.put(b, new FederatedAccess(Sets.newHashSet(X), testUser.getUserId()));
+
+        // When
+        final Schema schemaAB = graphStorage.getSchema((Map<String, String>) null, testUserContext);
+        final Schema schemaA = graphStorage.getSchema((Map<String, String>) null, authUserContext);
+
+        // Then
+        assertEquals(2, schemaAB.getTypes().size());
+        assertEquals(1, schemaA.getTypes().size());
+    }
+
+    @Test
+    public void shouldInvalidateMergedSchemaAndTraitsWhenGraphsChange() throws Exception {
+        // Given
+        graphStorage.put(a, access);
+        final Schema schemaA = graphStorage.getSchema((Map<String, String>) null, testUserContext);
+        final Set<StoreTrait> traitsA = graphStorage.getTraits(null, testUser);
+
+        // When
+        graphStorage.put(b, access);
+        final Schema schemaAB = graphStorage.getSchema((Map<String, String>) null, testUserContext);
+        graphStorage.remove(GRAPH_ID_B, testUser);
+        final Schema schemaAfterRemove = graphStorage.getSchema((Map<String, String>) null, testUserContext);
+        final Set<StoreTrait> traitsAfterRemove = graphStorage.getTraits(null, testUser);
+
+        // Then
+        assertEquals(2, schemaAB.getTypes().size());
+        assertEquals(1, schemaAfterRemove.getTypes().size());
+        assertNotSame(schemaA, schemaAfterRemove);
+        assertEquals(traitsA, traitsAfterRemove);
+    }
+
+    @Test
+    public void shouldNotCacheMergedSchemaOfReplacedGraph() throws Exception {
+        // Given
+        graphStorage.put(a, access);
+        final GraphSerialisable replacementA = new GraphSerialisable.Builder()
+                .config(new GraphConfig(GRAPH_ID_A))
+                .properties(accumuloProperties)
+                .schema(new Schema.Builder()
+                        .entity("e2", e2)
+                        .type("string2", String.class)
+                        .build())
+                .build();
+
+        // Replace graph a after the graphs to merge have been collected,
+        // but before the merged schema is cached
+        final AtomicBoolean replaced = new AtomicBoolean(false);
+        final GetSchema getSchema = new GetSchema() {
+            @Override
+            public boolean isCompact() {
+                if (replaced.compareAndSet(false, true)) {
+                    graphStorage.remove(GRAPH_ID_A, testUser);
+                    try {
+                        graphStorage.put(replacementA, access);
+                    } catch (final StorageException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                return super.isCompact();
+            }
+        };
+
+        // When
+        final Schema schemaDuringReplace = graphStorage.getSchema(getSchema, testUserContext);
+        final Schema schemaAfterReplace = graphStorage.getSchema((Map<String, String>) null, testUserContext);
+
+        // Then
+        assertTrue(replaced.get());
+        assertTrue(schemaDuringReplace.getEntityGroups().contains("e1"));
+        assertEquals(Sets.newHashSet("e2"), schemaAfterReplace.getEntityGroups());
+    }
+
+    @Test
+    public void shouldNotAllowCachedTraitsToBeModified() throws Exception {
+        // Given
+        graphStorage.put(a, access);
+        final Set<StoreTrait> traits = graphStorage.getTraits(null, testUser);
+
+        // When
+        traits.clear();
+
+        // Then
+        assertEquals(10, graphStorage.getTraits(null, testUser).size());
+    }
+
     @Test
     public void shouldRemoveForAddingUser() throws Exception {
         graphStorage.put(a, access);
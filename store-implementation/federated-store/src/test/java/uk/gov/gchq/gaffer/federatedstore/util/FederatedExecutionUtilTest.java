@@ -0,0 +1,267 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE;
+import static uk.gov.gchq.gaffer.user.StoreUser.testUser;
+
+public class FederatedExecutionUtilTest {
+    private ExecutorService executor;
+    private FederatedStore store;
+    private Context context;
+    private List<Graph> graphs;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+        store = mock(FederatedStore.class);
+        given(store.getGraphExecutorService()).willReturn(executor);
+        context = new Context(testUser());
+        graphs = Arrays.asList(createGraph("graph1"), createGraph("graph2"), createGraph("graph3"));
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldExecuteOnGraphsConcurrentlyAndReturnResultsInGraphOrder() throws OperationException {
+        // Given
+        final CountDownLatch allStarted = new CountDownLatch(graphs.size());
+
+        // When
+        final List<String> results = FederatedExecutionUtil.executeOnGraphs(new GetAllElements(), graphs,
+                graph -> new GetAllElements(),
+                (graph, op, graphContext) -> {
+                    allStarted.countDown();
+                    // Only completes if all the graphs are queried at the same time
+                    await(allStarted);
+                    return graph.getGraphId();
+                },
+                context, store);
+
+        // Then
+        assertEquals(Arrays.asList("graph1", "graph2", "graph3"), results);
+    }
+
+    @Test
+    public void shouldGiveEachGraphACopyOfTheContextAndMergeTheVariables() throws OperationException {
+        // Given
+        context.setVariable("var", "value");
+        final List<Context> graphContexts = Lists.newArrayList();
+
+        // When
+        FederatedExecutionUtil.executeOnGraphs(new GetAllElements(), graphs,
+                graph -> new GetAllElements(),
+                (graph, op, graphContext) -> {
+                    synchronized (graphContexts) {
+                        graphContexts.add(graphContext);
+                    }
+                    graphContext.setVariable(graph.getGraphId(), graph.getGraphId());
+                    return graph.getGraphId();
+                },
+                context, store);
+
+        // Then
+        assertEquals(graphs.size(), graphContexts.size());
+        for (final Context graphContext : graphContexts) {
+            assertNotSame(context, graphContext);
+            assertEquals(context.getJobId(), graphContext.getJobId());
+            assertEquals("value", graphContext.getVariable("var"));
+        }
+        assertEquals("value", context.getVariable("var"));
+        assertEquals("graph1", context.getVariable("graph1"));
+        assertEquals("graph2", context.getVariable("graph2"));
+        assertEquals("graph3", context.getVariable("graph3"));
+    }
+
+    @Test
+    public void shouldExecuteOnGraphsSequentiallyWithoutAnExecutor() throws OperationException {
+        // Given
+        given(store.getGraphExecutorService()).willReturn(null);
+        final List<String> threads = Lists.newArrayList();
+
+        // When
+        final List<String> results = FederatedExecutionUtil.executeOnGraphs(new GetAllElements(), graphs,
+                graph -> "graph2".equals(graph.getGraphId()) ? null : new GetAllElements(),
+                (graph, op, graphContext) -> {
+                    threads.add(Thread.currentThread().getName());
+                    return graph.getGraphId();
+                },
+                context, store);
+
+        // Then
+        assertEquals(Arrays.asList("graph1", "graph3"), results);
+        assertEquals(Arrays.asList(Thread.currentThread().getName(), Thread.currentThread().getName()), threads);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenGraphTimesOut() {
+        // Given
+        given(store.getGraphExecutionTimeout()).willReturn(100L);
+        final CountDownLatch neverReleased = new CountDownLatch(1);
+
+        // When / Then
+        try {
+            FederatedExecutionUtil.executeOnGraphs(new GetAllElements(), graphs,
+                    graph -> new GetAllElements(),
+                    (graph, op, graphContext) -> {
+                        if ("graph2".equals(graph.getGraphId())) {
+                            await(neverReleased);
+                        }
+                        return graph.getGraphId();
+                    },
+                    context, store);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("graph2"));
+        }
+    }
+
+    @Test
+    public void shouldSkipGraphThatTimesOutWhenSkipFailedExecuteIsSet() throws OperationException {
+        // Given
+        given(store.getGraphExecutionTimeout()).willReturn(100L);
+        final CountDownLatch neverReleased = new CountDownLatch(1);
+        final GetAllElements operation = new GetAllElements.Builder()
+                .option(KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE, "true")
+                .build();
+
+        // When
+        final List<String> results = FederatedExecutionUtil.executeOnGraphs(operation, graphs,
+                graph -> operation,
+                (graph, op, graphContext) -> {
+                    if ("graph2".equals(graph.getGraphId())) {
+                        await(neverReleased);
+                    }
+                    return graph.getGraphId();
+                },
+                context, store);
+
+        // Then
+        assertEquals(Arrays.asList("graph1", "graph3"), results);
+    }
+
+    @Test
+    public void shouldNotCountTimeQueuedForTheExecutorTowardsTheTimeout() throws OperationException {
+        // Given
+        final ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+        given(store.getGraphExecutorService()).willReturn(singleThreadExecutor);
+        given(store.getGraphExecutionTimeout()).willReturn(500L);
+
+        // When
+        final List<String> results;
+        try {
+            // Each graph completes within the timeout, but all of them together do not
+            results = FederatedExecutionUtil.executeOnGraphs(new GetAllElements(), graphs,
+                    graph -> new GetAllElements(),
+                    (graph, op, graphContext) -> {
+                        sleep(250);
+                        return graph.getGraphId();
+                    },
+                    context, store);
+        } finally {
+            singleThreadExecutor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(Arrays.asList("graph1", "graph2", "graph3"), results);
+    }
+
+    @Test
+    public void shouldThrowExceptionFromFailedGraph() {
+        // Given
+        final GetAllElements operation = new GetAllElements();
+
+        // When / Then
+        try {
+            FederatedExecutionUtil.executeOnGraphs(operation, graphs,
+                    graph -> operation,
+                    (graph, op, graphContext) -> {
+                        if ("graph3".equals(graph.getGraphId())) {
+                            throw new IllegalArgumentException("Test Exception");
+                        }
+                        return graph.getGraphId();
+                    },
+                    context, store);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertEquals("Test Exception", e.getCause().getMessage());
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for latch");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Graph createGraph(final String graphId) {
+        final Store store = mock(Store.class);
+        given(store.getGraphId()).willReturn(graphId);
+        given(store.getSchema()).willReturn(new Schema());
+        given(store.getProperties()).willReturn(new StoreProperties());
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(graphId)
+                        .build())
+                .store(store)
+                .build();
+    }
+}
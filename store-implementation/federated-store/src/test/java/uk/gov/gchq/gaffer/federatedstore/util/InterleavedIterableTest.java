@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class InterleavedIterableTest {
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldReturnAllItemsFromAllIterables() {
+        // Given
+        final List<Integer> itr1 = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        final List<Integer> itr2 = IntStream.range(1000, 1500).boxed().collect(Collectors.toList());
+        final List<Integer> itr3 = Arrays.asList(1500, null);
+
+        // When
+        final List<Integer> results = Lists.newArrayList(new InterleavedIterable<>(Arrays.asList(itr1, itr2, itr3), executor, 10));
+
+        // Then
+        assertEquals(1502, results.size());
+        final List<Integer> expected = Lists.newArrayList(itr1);
+        expected.addAll(itr2);
+        expected.addAll(itr3);
+        assertEquals(Sets.newHashSet(expected), Sets.newHashSet(results));
+    }
+
+    @Test
+    public void shouldReturnNoItemsFromEmptyIterables() {
+        // Given
+        final InterleavedIterable<Integer> iterable = new InterleavedIterable<>(
+                Arrays.asList(Collections.<Integer>emptyList(), Collections.<Integer>emptyList()), executor);
+
+        // When / Then
+        assertFalse(iterable.iterator().hasNext());
+    }
+
+    @Test
+    public void shouldThrowExceptionFromFailedIterable() {
+        // Given
+        final Iterable<Integer> failingIterable = () -> {
+            throw new IllegalArgumentException("Test Exception");
+        };
+        final InterleavedIterable<Integer> iterable = new InterleavedIterable<>(
+                Arrays.asList(Arrays.asList(1, 2), failingIterable), executor);
+
+        // When / Then
+        try {
+            Lists.newArrayList(iterable);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("Test Exception", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldStopReadingWhenClosed() {
+        // Given
+        final Iterable<Integer> infiniteIterable = () -> IntStream.iterate(0, i -> i + 1).iterator();
+        final InterleavedIterable<Integer> iterable = new InterleavedIterable<>(
+                Arrays.asList(infiniteIterable, infiniteIterable), executor, 10);
+
+        // When
+        final CloseableIterator<Integer> iterator = iterable.iterator();
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        iterator.close();
+
+        // Then
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void shouldStopReadingWhenResultsAreNotConsumedWithinTimeout() throws Exception {
+        // Given
+        final List<Integer> items = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        final InterleavedIterable<Integer> iterable = new InterleavedIterable<>(
+                Collections.singletonList(items), executor, 10, 50L);
+        final CloseableIterator<Integer> iterator = iterable.iterator();
+
+        // When
+        final List<Integer> results = Lists.newArrayList();
+        results.add(iterator.next());
+        Thread.sleep(500L);
+        GafferRuntimeException exception = null;
+        try {
+            while (iterator.hasNext()) {
+                results.add(iterator.next());
+            }
+        } catch (final GafferRuntimeException e) {
+            exception = e;
+        }
+
+        // Then
+        assertNotNull(exception);
+        assertTrue(results.size() < items.size());
+        assertEquals(items.subList(0, results.size()), results);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+}
@@ -42,9 +42,16 @@ public class HBaseProperties extends StoreProperties {
     public static final String WRITE_BUFFER_SIZE = "hbase.writeBufferSize";
     public static final String DEPENDENCY_JARS_HDFS_DIR_PATH = "hbase.hdfs.jars.path";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "hbase.entriesForBatchScanner";
+    public static final String BUFFERED_MUTATOR = "hbase.bufferedMutator";
+    public static final String MUTATOR_BUFFER_SIZE = "hbase.mutatorBufferSize";
+    public static final String INGEST_THREADS = "hbase.ingestThreads";
+    public static final String MAX_PENDING_INGEST_BATCHES = "hbase.maxPendingIngestBatches";
 
     public static final int WRITE_BUFFER_SIZE_DEFAULT = 1000000;
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    public static final String BUFFERED_MUTATOR_DEFAULT = "false";
+    public static final String INGEST_THREADS_DEFAULT = "4";
+    public static final String MAX_PENDING_INGEST_BATCHES_DEFAULT = "8";
 
     public HBaseProperties() {
         super(HBaseStore.class);
@@ -164,6 +171,89 @@ public class HBaseProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Get the flag determining whether elements should be added using an HBase
+     * BufferedMutator, which serialises elements on parallel threads and
+     * flushes them to HBase asynchronously.
+     *
+     * @return true if the BufferedMutator should be used
+     */
+    public boolean getBufferedMutator() {
+        return Boolean.parseBoolean(get(BUFFERED_MUTATOR, BUFFERED_MUTATOR_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether elements should be added using an HBase
+     * BufferedMutator.
+     *
+     * @param bufferedMutator true if the BufferedMutator should be used
+     */
+    public void setBufferedMutator(final boolean bufferedMutator) {
+        set(BUFFERED_MUTATOR, Boolean.toString(bufferedMutator));
+    }
+
+    /**
+     * Get the size in bytes of the BufferedMutator write buffer. Once the
+     * buffer is full the puts are sent to HBase in the background.
+     *
+     * @return the size of the write buffer in bytes, or null to use the HBase
+     * default
+     */
+    public Long getMutatorBufferSize() {
+        final String bufferSize = get(MUTATOR_BUFFER_SIZE, null);
+        return null == bufferSize ? null : Long.parseLong(bufferSize);
+    }
+
+    /**
+     * Set the size in bytes of the BufferedMutator write buffer.
+     *
+     * @param bufferSize the size of the write buffer in bytes
+     */
+    public void setMutatorBufferSize(final String bufferSize) {
+        set(MUTATOR_BUFFER_SIZE, bufferSize);
+    }
+
+    /**
+     * Get the number of threads used to serialise elements when adding them
+     * using the BufferedMutator.
+     *
+     * @return An integer representing the number of threads to use
+     */
+    public int getIngestThreads() {
+        return Integer.parseInt(get(INGEST_THREADS, INGEST_THREADS_DEFAULT));
+    }
+
+    /**
+     * Set the number of threads used to serialise elements when adding them
+     * using the BufferedMutator.
+     *
+     * @param threads the number of threads to use
+     */
+    public void setIngestThreads(final String threads) {
+        set(INGEST_THREADS, threads);
+    }
+
+    /**
+     * Get the max number of serialised batches of puts that can be waiting to
+     * be written to the BufferedMutator. Once this is reached, serialisation
+     * pauses until HBase catches up.
+     *
+     * @return An integer representing the max number of pending batches
+     */
+    public int getMaxPendingIngestBatches() {
+        return Integer.parseInt(get(MAX_PENDING_INGEST_BATCHES, MAX_PENDING_INGEST_BATCHES_DEFAULT));
+    }
+
+    /**
+     * Set the max number of serialised batches of puts that can be waiting to
+     * be written to the BufferedMutator.
+     *
+     * @param maxPendingBatches the max number of pending batches
+     */
+    public void setMaxPendingIngestBatches(final String maxPendingBatches) {
+        set(MAX_PENDING_INGEST_BATCHES, maxPendingBatches);
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
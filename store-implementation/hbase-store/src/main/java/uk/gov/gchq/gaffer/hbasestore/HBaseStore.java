@@ -17,10 +17,13 @@
 package uk.gov.gchq.gaffer.hbasestore;
 
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.HBaseConfiguration;
 import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.client.Table;
@@ -67,6 +70,8 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
 import static uk.gov.gchq.gaffer.store.StoreTrait.MATCHED_VERTEX;
@@ -106,6 +111,7 @@ public class HBaseStore extends Store {
                     MATCHED_VERTEX
             ));
     private Connection connection;
+    private ExecutorService ingestExecutor;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties)
@@ -125,6 +131,7 @@ public class HBaseStore extends Store {
     public void preInitialise(final String graphId, final Schema schema, final StoreProperties properties)
             throws StoreException {
         setProperties(properties);
+        shutdownIngestExecutor();
         final String deprecatedTableName = getProperties().getTableName();
         if (null == graphId && null != deprecatedTableName) {
             // Deprecated
@@ -178,6 +185,51 @@ public class HBaseStore extends Store {
         }
     }
 
+    /**
+     * Gets a new {@link BufferedMutator} for the table. The write buffer size
+     * can be configured using the store property hbase.mutatorBufferSize.
+     *
+     * @return the buffered mutator.
+     * @throws StoreException if the buffered mutator could not be created.
+     */
+    public BufferedMutator getBufferedMutator() throws StoreException {
+        final BufferedMutatorParams params = new BufferedMutatorParams(getTableName());
+        final Long bufferSize = getProperties().getMutatorBufferSize();
+        if (null != bufferSize) {
+            params.writeBufferSize(bufferSize);
+        }
+        try {
+            return getConnection().getBufferedMutator(params);
+        } catch (final IOException e) {
+            throw new StoreException(e);
+        }
+    }
+
+    /**
+     * Gets the executor used to serialise elements in parallel when adding
+     * them using a {@link BufferedMutator}. The executor is shared by all
+     * AddElements operations on this store and is shut down when the store is
+     * re-initialised.
+     *
+     * @return the ingest executor.
+     */
+    public synchronized ExecutorService getIngestExecutor() {
+        if (null == ingestExecutor) {
+            ingestExecutor = Executors.newFixedThreadPool(getProperties().getIngestThreads(), new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("hbase-ingest-%d")
+                    .build());
+        }
+        return ingestExecutor;
+    }
+
+    private synchronized void shutdownIngestExecutor() {
+        if (null != ingestExecutor) {
+            ingestExecutor.shutdownNow();
+            ingestExecutor = null;
+        }
+    }
+
     public <OP extends Output<CloseableIterable<? extends Element>> & GraphFilters> HBaseRetriever<OP>
     createRetriever(final OP operation,
                     final User user,
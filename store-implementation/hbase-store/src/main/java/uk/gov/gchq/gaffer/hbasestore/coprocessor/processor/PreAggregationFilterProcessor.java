@@ -15,23 +15,93 @@
  */
 package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
 
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
 import uk.gov.gchq.gaffer.store.ElementValidator;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.util.SerialisedPropertiesFilter;
 import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Filters out elements which fail the pre aggregation filters in the {@link View}.
+ * <p>
+ * If a {@link Schema} and {@link ElementSerialisation} are provided, simple
+ * filters on single properties are first tested against the serialised cell
+ * using a {@link SerialisedPropertiesFilter}, so cells which fail them are not
+ * deserialised.
+ * </p>
+ */
 @Since("1.0.0")
 @Summary("Filters out invalid elements before aggregation")
 public class PreAggregationFilterProcessor extends FilterProcessor {
     private final ElementValidator validator;
+    private final Map<String, SerialisedPropertiesFilter> serialisedFilters;
 
     public PreAggregationFilterProcessor(final View view) {
         validator = new ElementValidator(view);
+        serialisedFilters = Collections.emptyMap();
+    }
+
+    public PreAggregationFilterProcessor(final View view, final Schema schema, final ElementSerialisation serialisation) {
+        validator = new ElementValidator(view);
+        serialisedFilters = new HashMap<>();
+        for (final Map.Entry<String, ViewElementDefinition> entry : new ChainedIterable<Map.Entry<String, ViewElementDefinition>>(view.getEntities().entrySet(), view.getEdges().entrySet())) {
+            final SchemaElementDefinition elementDef = schema.getElement(entry.getKey());
+            if (null != entry.getValue() && null != elementDef && entry.getValue().hasPreAggregationFilters()) {
+                final SerialisedPropertiesFilter serialisedFilter;
+                try {
+                    serialisedFilter = new SerialisedPropertiesFilter(elementDef,
+                            entry.getValue().getPreAggregationFilter(),
+                            new ArrayList<>(elementDef.getGroupBy()),
+                            serialisation.getPropertiesStoredInValue(entry.getKey()));
+                } catch (final SerialisationException e) {
+                    throw new RuntimeException(e);
+                }
+                if (serialisedFilter.hasPredicates()) {
+                    serialisedFilters.put(entry.getKey(), serialisedFilter);
+                }
+            }
+        }
     }
 
     @Override
     public boolean test(final LazyElementCell elementCell) {
+        if (!elementCell.isElementLoaded()) {
+            final SerialisedPropertiesFilter serialisedFilter = serialisedFilters.get(elementCell.getGroup());
+            if (null != serialisedFilter) {
+                final Cell cell = elementCell.getCell();
+                final byte[] qualifier = CellUtil.cloneQualifier(cell);
+                try {
+                    // The column qualifier starts with the group
+                    final int offset = CompactRawSerialisationUtils.decodeVIntSize(qualifier[0])
+                            + (int) CompactRawSerialisationUtils.readLong(qualifier, 0);
+                    if (!serialisedFilter.testQualifier(qualifier, offset)
+                            || !serialisedFilter.testValue(CellUtil.cloneValue(cell))) {
+                        return false;
+                    }
+                } catch (final SerialisationException e) {
+                    throw new RuntimeException(e);
+                }
+                if (serialisedFilter.isComplete()) {
+                    return true;
+                }
+            }
+        }
         return validator.validateInput(elementCell.getElement());
     }
 
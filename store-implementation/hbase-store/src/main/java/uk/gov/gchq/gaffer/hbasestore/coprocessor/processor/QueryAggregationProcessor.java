@@ -23,12 +23,12 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
-import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseUtil;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.ViewPlan;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,6 +38,7 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
     private final ElementSerialisation serialisation;
     private final Schema schema;
     private final View view;
+    private final ViewPlan viewPlan;
     private final List<String> aggregatedGroups;
 
     public QueryAggregationProcessor(final ElementSerialisation serialisation,
@@ -46,6 +47,7 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
         this.serialisation = serialisation;
         this.schema = schema;
         this.view = view;
+        this.viewPlan = new ViewPlan(view, schema);
         aggregatedGroups = schema.getAggregatedGroups();
     }
 
@@ -78,9 +80,9 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
                 aggregator = null;
             } else {
                 final String group = elementCell.getGroup();
+                final ViewPlan.GroupPlan groupPlan = viewPlan.getGroupPlan(group);
                 final Set<String> schemaGroupBy = schema.getElement(group).getGroupBy();
-                final ViewElementDefinition elementDef = view.getElement(group);
-                final Set<String> groupBy = null != elementDef ? elementDef.getGroupBy() : null;
+                final Set<String> groupBy = null != groupPlan ? groupPlan.getGroupBy() : null;
                 if (!compareGroupByKeys(firstElementCell.getCell(), elementCell.getCell(), group, schemaGroupBy, groupBy)) {
                     output(firstElementCell, aggregatedProperties, output);
                     firstElementCell = elementCell;
@@ -88,8 +90,9 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
                     aggregator = null;
                 } else {
                     if (null == aggregator) {
-                        final ElementAggregator viewAggregator = null != elementDef ? elementDef.getAggregator() : null;
-                        aggregator = schema.getElement(group).getQueryAggregator(groupBy, viewAggregator);
+                        aggregator = null != groupPlan
+                                ? groupPlan.getQueryAggregator()
+                                : schema.getElement(group).getQueryAggregator(null, null);
                         aggregatedProperties = firstElementCell.getElement().getProperties();
                     }
 
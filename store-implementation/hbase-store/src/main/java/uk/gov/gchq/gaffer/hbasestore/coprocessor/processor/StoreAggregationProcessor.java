@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.CellUtil;
 
+import uk.gov.gchq.gaffer.commonutil.LongUtil;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
@@ -26,14 +27,29 @@ import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseUtil;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.util.SerialisedPropertiesAggregator;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Applies ingest aggregation to cells with the same key.
+ * <p>
+ * If all the properties stored in the cell value can be aggregated in their
+ * serialised form, using a {@link SerialisedPropertiesAggregator}, the cell
+ * values are aggregated without deserialising the elements. Groups with the
+ * timestamp property are always deserialised, as the aggregated timestamp is
+ * stored in the cell timestamp.
+ * </p>
+ */
 public class StoreAggregationProcessor implements GafferScannerProcessor {
     private final ElementSerialisation serialisation;
     private final Schema schema;
     private final List<String> aggregatedGroups;
+    private final Map<String, SerialisedPropertiesAggregator> serialisedAggregators = new HashMap<>();
 
     public StoreAggregationProcessor(final ElementSerialisation serialisation,
                                      final Schema schema) {
@@ -51,6 +67,7 @@ public class StoreAggregationProcessor implements GafferScannerProcessor {
         final List<LazyElementCell> output = new ArrayList<>();
         ElementAggregator aggregator = null;
         Properties aggregatedProperties = null;
+        byte[] aggregatedValue = null;
         LazyElementCell firstElementCell = null;
         for (final LazyElementCell elementCell : elementCells) {
             if (elementCell.isDeleted()) {
@@ -59,38 +76,88 @@ public class StoreAggregationProcessor implements GafferScannerProcessor {
 
             if (!aggregatedGroups.contains(elementCell.getGroup())) {
                 if (null != firstElementCell) {
-                    output(firstElementCell, aggregatedProperties, output);
+                    output(firstElementCell, aggregatedProperties, aggregatedValue, output);
                     firstElementCell = null;
                 }
-                output(elementCell, null, output);
+                output(elementCell, null, null, output);
                 aggregatedProperties = null;
+                aggregatedValue = null;
                 aggregator = null;
             } else if (null == firstElementCell) {
                 firstElementCell = elementCell;
                 aggregatedProperties = null;
+                aggregatedValue = null;
                 aggregator = null;
             } else if (!HBaseUtil.compareKeys(firstElementCell.getCell(), elementCell.getCell())) {
-                output(firstElementCell, aggregatedProperties, output);
+                output(firstElementCell, aggregatedProperties, aggregatedValue, output);
                 firstElementCell = elementCell;
                 aggregatedProperties = null;
+                aggregatedValue = null;
                 aggregator = null;
             } else {
                 final String group = firstElementCell.getGroup();
-                if (null == aggregator) {
-                    aggregator = schema.getElement(group).getIngestAggregator();
-                    aggregatedProperties = firstElementCell.getElement().getProperties();
-                }
+                final SerialisedPropertiesAggregator serialisedAggregator = getSerialisedAggregator(group);
+                if (serialisedAggregator.isSupported()) {
+                    if (null == aggregatedValue) {
+                        aggregatedValue = CellUtil.cloneValue(firstElementCell.getCell());
+                    }
+                    try {
+                        aggregatedValue = serialisedAggregator.aggregate(CellUtil.cloneValue(elementCell.getCell()), aggregatedValue);
+                    } catch (final SerialisationException e) {
+                        throw new RuntimeException(e);
+                    }
+                } else {
+                    if (null == aggregator) {
+                        aggregator = schema.getElement(group).getIngestAggregator();
+                        aggregatedProperties = firstElementCell.getElement().getProperties();
+                    }
 
-                final Properties properties = elementCell.getElement().getProperties();
-                aggregatedProperties = aggregator.apply(properties, aggregatedProperties);
+                    final Properties properties = elementCell.getElement().getProperties();
+                    aggregatedProperties = aggregator.apply(properties, aggregatedProperties);
+                }
             }
         }
-        output(firstElementCell, aggregatedProperties, output);
+        output(firstElementCell, aggregatedProperties, aggregatedValue, output);
         return output;
     }
 
-    private void output(final LazyElementCell elementCell, final Properties aggregatedProperties, final List<LazyElementCell> output) {
-        if (null == aggregatedProperties) {
+    private SerialisedPropertiesAggregator getSerialisedAggregator(final String group) {
+        SerialisedPropertiesAggregator aggregator = serialisedAggregators.get(group);
+        if (null == aggregator) {
+            final SchemaElementDefinition elementDefinition = schema.getElement(group);
+            List<String> propertyNames = null;
+            if (null == schema.getTimestampProperty() || !elementDefinition.containsProperty(schema.getTimestampProperty())) {
+                try {
+                    propertyNames = serialisation.getPropertiesStoredInValue(group);
+                } catch (final SerialisationException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            aggregator = new SerialisedPropertiesAggregator(elementDefinition, propertyNames);
+            serialisedAggregators.put(group, aggregator);
+        }
+        return aggregator;
+    }
+
+    private void output(final LazyElementCell elementCell, final Properties aggregatedProperties, final byte[] aggregatedValue, final List<LazyElementCell> output) {
+        if (null != aggregatedValue) {
+            final Cell firstCell = elementCell.getCell();
+            // There is no timestamp property, so a time based random
+            // timestamp is used, as when serialising the element.
+            final Cell aggregatedCell = CellUtil.createCell(
+                    CellUtil.cloneRow(firstCell),
+                    CellUtil.cloneFamily(firstCell),
+                    CellUtil.cloneQualifier(firstCell),
+                    LongUtil.getTimeBasedRandom(),
+                    firstCell.getTypeByte(),
+                    aggregatedValue,
+                    CellUtil.getTagArray(firstCell),
+                    0);
+
+            elementCell.setCell(aggregatedCell);
+            elementCell.setElement(null);
+            output.add(elementCell);
+        } else if (null == aggregatedProperties) {
             if (null != elementCell) {
                 output.add(elementCell);
             }
@@ -74,7 +74,7 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
         processors.add(new ValidationProcessor(schema));
 
         if (null != view) {
-            processors.add(new PreAggregationFilterProcessor(view));
+            processors.add(new PreAggregationFilterProcessor(view, schema, serialisation));
             if (schema.isAggregationEnabled()) {
                 processors.add(new QueryAggregationProcessor(serialisation, schema, view));
             }
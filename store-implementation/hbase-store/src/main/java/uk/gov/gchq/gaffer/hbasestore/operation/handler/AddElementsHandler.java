@@ -16,12 +16,15 @@
 
 package uk.gov.gchq.gaffer.hbasestore.operation.handler;
 
+import com.google.common.collect.Iterables;
+import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.HTable;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Table;
 
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -32,15 +35,27 @@ import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * HBase will skip 'puts' if there are multiple 'puts' with the same rowId and column qualifier.
  * To work around this issue, we need to aggregate elements within each batch before adding them to HBase.
  * Due to this, optimising the batch size could have a big impact on performance.
  * Configure the batch size using store property: hbase.writeBufferSize
+ * <p>
+ * If the store property hbase.bufferedMutator is set to true then each batch
+ * is serialised on the store's ingest threads and written using a
+ * {@link BufferedMutator}, which flushes puts to HBase in the background. The
+ * number of serialised batches waiting to be written is limited by the store
+ * property hbase.maxPendingIngestBatches.
+ * </p>
  */
 public class AddElementsHandler implements OperationHandler<AddElements> {
     @Override
@@ -57,6 +72,11 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             return;
         }
 
+        if (store.getProperties().getBufferedMutator()) {
+            addElementsWithBufferedMutator(addElementsOperation, store);
+            return;
+        }
+
         try {
             final Table table = store.getTable();
             final Iterator<? extends Element> elements = addElementsOperation.getInput().iterator();
@@ -97,6 +117,66 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         }
     }
 
+    private void addElementsWithBufferedMutator(final AddElements addElementsOperation, final HBaseStore store)
+            throws OperationException {
+        final ElementSerialisation serialisation = new ElementSerialisation(store.getSchema());
+        final int batchSize = store.getProperties().getWriteBufferSize();
+        final int maxPendingBatches = store.getProperties().getMaxPendingIngestBatches();
+        final ExecutorService executor = store.getIngestExecutor();
+        final Deque<Future<List<Put>>> batches = new ArrayDeque<>();
+        try (final BufferedMutator mutator = store.getBufferedMutator()) {
+            for (final List<? extends Element> batch : Iterables.partition(addElementsOperation.getInput(), batchSize)) {
+                if (batches.size() >= maxPendingBatches) {
+                    mutator.mutate(getPuts(batches.poll()));
+                }
+                batches.add(executor.submit(() -> serialise(batch, serialisation, addElementsOperation)));
+            }
+            while (!batches.isEmpty()) {
+                mutator.mutate(getPuts(batches.poll()));
+            }
+            mutator.flush();
+        } catch (final IOException | StoreException e) {
+            throw new OperationException("Failed to add elements", e);
+        } finally {
+            for (final Future<List<Put>> batch : batches) {
+                batch.cancel(true);
+            }
+        }
+    }
+
+    private List<Put> serialise(final List<? extends Element> elements, final ElementSerialisation serialisation,
+                                final AddElements addElementsOperation) throws SerialisationException {
+        final List<Put> puts = new ArrayList<>(elements.size());
+        for (final Element element : elements) {
+            if (null != element) {
+                try {
+                    final Pair<Put, Put> putPair = serialisation.getPuts(element);
+                    puts.add(putPair.getFirst());
+                    if (null != putPair.getSecond()) {
+                        puts.add(putPair.getSecond());
+                    }
+                } catch (final SerialisationException | RuntimeException e) {
+                    if (addElementsOperation.isValidate() && !addElementsOperation.isSkipInvalidElements()) {
+                        throw e;
+                    }
+                    // otherwise just ignore the error
+                }
+            }
+        }
+        return puts;
+    }
+
+    private List<Put> getPuts(final Future<List<Put>> batch) throws OperationException {
+        try {
+            return batch.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted whilst adding elements", e);
+        } catch (final ExecutionException e) {
+            throw new OperationException("Failed to add elements", e.getCause());
+        }
+    }
+
     private void executePuts(final Table table, final List<Put> puts) throws IOException {
         if (!puts.isEmpty()) {
             table.put(puts);
@@ -33,9 +33,7 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.TransformOneToManyIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
-import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
@@ -43,8 +41,8 @@ import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
-import uk.gov.gchq.gaffer.store.ElementValidator;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.util.ViewPlan;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
@@ -57,7 +55,7 @@ import java.util.NoSuchElementException;
 public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Element>> & GraphFilters> implements CloseableIterable<Element> {
     private final ElementSerialisation serialisation;
     private final RowRangeFactory rowRangeFactory;
-    private final ElementValidator validator;
+    private final ViewPlan viewPlan;
     private final Iterable<? extends ElementId> ids;
     private final HBaseStore store;
     private final Authorizations authorisations;
@@ -76,7 +74,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
                           final Class<?>... extraProcessors) throws StoreException {
         this.serialisation = new ElementSerialisation(store.getSchema());
         this.rowRangeFactory = new RowRangeFactory(serialisation);
-        this.validator = new ElementValidator(operation.getView());
+        this.viewPlan = new ViewPlan(operation.getView(), store.getSchema());
         this.store = store;
         this.operation = operation;
         this.ids = ids;
@@ -126,14 +124,8 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
 
     private Element deserialiseAndTransform(final Cell cell) {
         try {
-            Element element = serialisation.getElement(cell, includeMatchedVertex);
-            final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
-            if (null != viewDef) {
-                final ElementTransformer transformer = viewDef.getTransformer();
-                if (null != transformer) {
-                    element = transformer.apply(element);
-                }
-            }
+            final Element element = serialisation.getElement(cell, includeMatchedVertex);
+            viewPlan.transform(element);
             return element;
         } catch (final SerialisationException e) {
             throw new RuntimeException(e);
@@ -141,7 +133,8 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
     }
 
     private boolean postTransformFilter(final Element element) {
-        return validator.validateTransform(element);
+        final ViewPlan.GroupPlan groupPlan = viewPlan.getGroupPlan(element.getGroup());
+        return null != groupPlan && groupPlan.testPostTransformFilter(element);
     }
 
     private CloseableIterable<Result> createScanner() {
@@ -48,8 +48,10 @@ import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
 public class ElementSerialisation {
     private static final Logger LOGGER = LoggerFactory.getLogger(ElementSerialisation.class);
@@ -102,6 +104,28 @@ public class ElementSerialisation {
         return out.toByteArray();
     }
 
+    /**
+     * Gets the names of the properties stored in the cell value, in the order
+     * they are serialised.
+     *
+     * @param group the element group
+     * @return the names of the properties stored in the value
+     * @throws SerialisationException if the group is not in the schema
+     */
+    public List<String> getPropertiesStoredInValue(final String group) throws SerialisationException {
+        final SchemaElementDefinition elementDefinition = schema.getElement(group);
+        if (null == elementDefinition) {
+            throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
+        }
+        final List<String> propertyNames = new ArrayList<>();
+        for (final String propertyName : elementDefinition.getProperties()) {
+            if (isStoredInValue(propertyName, elementDefinition)) {
+                propertyNames.add(propertyName);
+            }
+        }
+        return propertyNames;
+    }
+
     public Properties getPropertiesFromValue(final String group, final byte[] value)
             throws SerialisationException {
         final Properties properties = new Properties();
@@ -319,10 +343,8 @@ public class ElementSerialisation {
         int propIndex = 0;
         while (propIndex < numProps && lastDelimiter < arrayLength) {
             final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
-            final byte[] length = new byte[numBytesForLength];
-            System.arraycopy(bytes, lastDelimiter, length, 0, numBytesForLength);
             try {
-                currentPropLength = CompactRawSerialisationUtils.readLong(length);
+                currentPropLength = CompactRawSerialisationUtils.readLong(bytes, lastDelimiter);
             } catch (final SerialisationException e) {
                 throw new SerialisationException("Exception reading length of property");
             }
@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class HBasePropertiesTest {
     @Test
@@ -39,11 +40,19 @@ public class HBasePropertiesTest {
         properties.setDependencyJarsHdfsDirPath("pathTo/jars");
         properties.setWriteBufferSize(10);
         properties.setZookeepers("zookeeper1,zookeeper2");
+        properties.setBufferedMutator(true);
+        properties.setMutatorBufferSize("4194304");
+        properties.setIngestThreads("3");
+        properties.setMaxPendingIngestBatches("6");
 
         // Then
         assertEquals(new Path("pathTo/jars"), properties.getDependencyJarsHdfsDirPath());
         assertEquals(10, properties.getWriteBufferSize());
         assertEquals("zookeeper1,zookeeper2", properties.getZookeepers());
+        assertTrue(properties.getBufferedMutator());
+        assertEquals(Long.valueOf(4194304L), properties.getMutatorBufferSize());
+        assertEquals(3, properties.getIngestThreads());
+        assertEquals(6, properties.getMaxPendingIngestBatches());
     }
 
     @Test
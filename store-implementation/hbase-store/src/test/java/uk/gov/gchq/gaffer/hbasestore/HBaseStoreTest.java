@@ -47,11 +47,14 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
@@ -122,6 +125,26 @@ public class HBaseStoreTest {
         }
     }
 
+    @Test
+    public void shouldShutDownIngestExecutorWhenReinitialised() throws StoreException {
+        // Given
+        final HBaseProperties properties = PROPERTIES.clone();
+        properties.setIngestThreads("2");
+        store.initialise(GRAPH_ID, SCHEMA, properties);
+        final ExecutorService executor = store.getIngestExecutor();
+
+        // When
+        properties.setIngestThreads("3");
+        store.initialise(GRAPH_ID, SCHEMA, properties);
+
+        // Then
+        assertTrue(executor.isShutdown());
+        assertFalse(store.getIngestExecutor().isShutdown());
+        assertSame(store.getIngestExecutor(), store.getIngestExecutor());
+        assertEquals(3, ((ThreadPoolExecutor) store.getIngestExecutor()).getMaximumPoolSize());
+        store.initialise(GRAPH_ID, SCHEMA, PROPERTIES);
+    }
+
     @Test
     public void shouldCreateAStoreUsingTableName() throws Exception {
         // Given
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.hbasestore.operation.handler;
 
 import com.google.common.collect.Lists;
+import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.HTable;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Table;
@@ -48,10 +49,14 @@ import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Mockito.mock;
@@ -174,6 +179,130 @@ public class AddElementsHandlerTest {
         assertThat(elementsAdded, IsCollectionContaining.hasItems(expectedElementsArr));
     }
 
+    @Test
+    public void shouldAddElementsUsingBufferedMutator() throws OperationException, StoreException, IOException {
+        // Given
+        final AddElementsHandler handler = new AddElementsHandler();
+        final List<Element> elements = createElements();
+        final List<Element> elementsWithNull = new ArrayList<>(elements);
+        elementsWithNull.add(null); // null should be skipped
+
+        final AddElements addElements = new AddElements.Builder()
+                .input(elementsWithNull)
+                .build();
+        final Context context = mock(Context.class);
+        final HBaseStore store = mock(HBaseStore.class);
+
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        given(store.getBufferedMutator()).willReturn(mutator);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        given(store.getIngestExecutor()).willReturn(executor);
+
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setBufferedMutator(true);
+        properties.setWriteBufferSize(2);
+        properties.setMaxPendingIngestBatches("1");
+        given(store.getProperties()).willReturn(properties);
+
+        given(store.getSchema()).willReturn(SCHEMA);
+
+        // When
+        try {
+            handler.doOperation(addElements, context, store);
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        final ArgumentCaptor<List<Put>> putsCaptor = (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+        verify(mutator, times(4)).mutate(putsCaptor.capture());
+        verify(mutator).flush();
+        verify(mutator).close();
+        final List<Put> combinedPuts = new ArrayList<>();
+        for (final List<Put> puts : putsCaptor.getAllValues()) {
+            combinedPuts.addAll(puts);
+        }
+
+        final List<Element> expectedElements = new ArrayList<>();
+        for (final Element element : elements) {
+            expectedElements.add(element);
+            if (element instanceof Edge && !((Edge) element).getSource().equals(((Edge) element).getDestination())) {
+                expectedElements.add(element);
+            }
+        }
+        final Element[] expectedElementsArr = expectedElements.toArray(new Element[expectedElements.size()]);
+        final List<Element> elementsAdded = CellUtil.getElements(combinedPuts, new ElementSerialisation(SCHEMA), false);
+        assertEquals(expectedElements.size(), elementsAdded.size());
+        assertThat(elementsAdded, IsCollectionContaining.hasItems(expectedElementsArr));
+    }
+
+    @Test
+    public void shouldSkipInvalidElementsUsingBufferedMutator() throws OperationException, StoreException, IOException {
+        // Given
+        final AddElementsHandler handler = new AddElementsHandler();
+        final AddElements addElements = new AddElements.Builder()
+                .input(new Edge("Unknown group", "source", "dest", true))
+                .skipInvalidElements(true)
+                .build();
+        final Context context = mock(Context.class);
+        final HBaseStore store = mock(HBaseStore.class);
+
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        given(store.getBufferedMutator()).willReturn(mutator);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        given(store.getIngestExecutor()).willReturn(executor);
+
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setBufferedMutator(true);
+        given(store.getProperties()).willReturn(properties);
+
+        given(store.getSchema()).willReturn(SCHEMA);
+
+        // When
+        try {
+            handler.doOperation(addElements, context, store);
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        verify(mutator).mutate(Collections.<Put>emptyList());
+        verify(mutator).flush();
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidElementsUsingBufferedMutator() throws StoreException {
+        // Given
+        final AddElementsHandler handler = new AddElementsHandler();
+        final AddElements addElements = new AddElements.Builder()
+                .input(new Edge("Unknown group", "source", "dest", true))
+                .skipInvalidElements(false)
+                .build();
+        final Context context = mock(Context.class);
+        final HBaseStore store = mock(HBaseStore.class);
+
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        given(store.getBufferedMutator()).willReturn(mutator);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        given(store.getIngestExecutor()).willReturn(executor);
+
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setBufferedMutator(true);
+        given(store.getProperties()).willReturn(properties);
+
+        given(store.getSchema()).willReturn(SCHEMA);
+
+        // When / Then
+        try {
+            handler.doOperation(addElements, context, store);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertEquals("Failed to add elements", e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void shouldDoNothingIfNoElementsProvided() throws OperationException, StoreException, IOException {
         // Given
@@ -28,7 +28,9 @@ import uk.gov.gchq.gaffer.mapstore.impl.GetAdjacentIdsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.GetElementsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.MapImpl;
+import uk.gov.gchq.gaffer.mapstore.impl.WriteSnapshotHandler;
 import uk.gov.gchq.gaffer.mapstore.operation.CountAllElementsDefaultView;
+import uk.gov.gchq.gaffer.mapstore.operation.WriteSnapshot;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
@@ -60,6 +62,10 @@ import java.util.Set;
  * Indices can optionally be maintained to allow quick look-up of {@link Element}s based on {@link EntityId}s
  * or {@link uk.gov.gchq.gaffer.data.element.id.EdgeId}s.
  * </p>
+ * <p>
+ * The maps can optionally be persisted to a snapshot on local disk using the {@link WriteSnapshot} operation, which is
+ * loaded when the store is next initialised.
+ * </p>
  */
 public class MapStore extends Store {
     public static final Set<StoreTrait> TRAITS = new HashSet<>(Arrays.asList(
@@ -123,6 +129,9 @@ public class MapStore extends Store {
     protected void addAdditionalOperationHandlers() {
         addOperationHandler(CountAllElementsDefaultView.class, new CountAllElementsDefaultViewHandler());
         addOperationHandler(GetAllJobDetails.class, new GetAllJobDetailsHandler());
+        if (null != getProperties().getSnapshotDir()) {
+            addOperationHandler(WriteSnapshot.class, new WriteSnapshotHandler());
+        }
     }
 
     @Override
@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.mapstore;
 
+import uk.gov.gchq.gaffer.mapstore.factory.ConcurrentMapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
 import uk.gov.gchq.gaffer.store.StoreProperties;
@@ -29,6 +30,15 @@ public class MapStoreProperties extends StoreProperties {
     public static final String CREATE_INDEX = "gaffer.store.mapstore.createIndex";
     public static final String CREATE_INDEX_DEFAULT = "true";
 
+    /**
+     * Property name for using an adjacency index instead of a single index from
+     * each vertex to all of its elements. The adjacency index holds the elements
+     * for each vertex partitioned by group and edge direction, so seeded queries
+     * only read the partitions they require.
+     */
+    public static final String ADJACENCY_INDEX = "gaffer.store.mapstore.adjacencyIndex";
+    public static final String ADJACENCY_INDEX_DEFAULT = "false";
+
     public static final String MAP_FACTORY = "gaffer.store.mapstore.map.factory";
     public static final Class<? extends MapFactory> MAP_FACTORY_DEFAULT = SimpleMapFactory.class;
 
@@ -38,6 +48,31 @@ public class MapStoreProperties extends StoreProperties {
     public static final String STATIC_MAP = "gaffer.store.mapstore.static";
     public static final String STATIC_MAP_DEFAULT = "false";
 
+    /**
+     * Property name for enabling concurrent ingest and query. If set to true
+     * elements are added using multiple threads and the map factory must be
+     * thread safe. If no map factory is configured the
+     * {@link ConcurrentMapFactory} is used.
+     */
+    public static final String CONCURRENT = "gaffer.store.mapstore.concurrent";
+    public static final String CONCURRENT_DEFAULT = "false";
+
+    /**
+     * Property name for the directory the maps are persisted to. If set, a
+     * snapshot of the maps written to this directory is loaded when the store
+     * is initialised. If not set the maps are only held in memory.
+     */
+    public static final String SNAPSHOT_DIR = "gaffer.store.mapstore.snapshot.dir";
+    public static final String SNAPSHOT_DIR_DEFAULT = null;
+
+    /**
+     * Property name for logging elements added after the last snapshot to an
+     * append log in the snapshot directory, so they are restored when the
+     * store is initialised.
+     */
+    public static final String SNAPSHOT_APPEND_LOG = "gaffer.store.mapstore.snapshot.appendLog";
+    public static final String SNAPSHOT_APPEND_LOG_DEFAULT = "false";
+
     /**
      * Property name for the ingest buffer size. If the value is set to less
      * than 1 then
@@ -80,8 +115,16 @@ public class MapStoreProperties extends StoreProperties {
         return Boolean.parseBoolean(get(CREATE_INDEX, CREATE_INDEX_DEFAULT));
     }
 
+    public void setAdjacencyIndex(final boolean adjacencyIndex) {
+        set(ADJACENCY_INDEX, Boolean.toString(adjacencyIndex));
+    }
+
+    public boolean getAdjacencyIndex() {
+        return Boolean.parseBoolean(get(ADJACENCY_INDEX, ADJACENCY_INDEX_DEFAULT));
+    }
+
     public String getMapFactory() {
-        return get(MAP_FACTORY, MAP_FACTORY_DEFAULT.getName());
+        return get(MAP_FACTORY, isConcurrent() ? ConcurrentMapFactory.class.getName() : MAP_FACTORY_DEFAULT.getName());
     }
 
     public void setMapFactory(final String mapFactory) {
@@ -120,4 +163,28 @@ public class MapStoreProperties extends StoreProperties {
     public void setStaticMap(final boolean staticMap) {
         set(STATIC_MAP, Boolean.toString(staticMap));
     }
+
+    public boolean isConcurrent() {
+        return Boolean.parseBoolean(get(CONCURRENT, CONCURRENT_DEFAULT));
+    }
+
+    public void setConcurrent(final boolean concurrent) {
+        set(CONCURRENT, Boolean.toString(concurrent));
+    }
+
+    public String getSnapshotDir() {
+        return get(SNAPSHOT_DIR, SNAPSHOT_DIR_DEFAULT);
+    }
+
+    public void setSnapshotDir(final String snapshotDir) {
+        set(SNAPSHOT_DIR, snapshotDir);
+    }
+
+    public boolean isSnapshotAppendLog() {
+        return Boolean.parseBoolean(get(SNAPSHOT_APPEND_LOG, SNAPSHOT_APPEND_LOG_DEFAULT));
+    }
+
+    public void setSnapshotAppendLog(final boolean appendLog) {
+        set(SNAPSHOT_APPEND_LOG, Boolean.toString(appendLog));
+    }
 }
@@ -90,4 +90,14 @@ public interface MapFactory {
      * @return the cloned element
      */
     Element cloneElement(final Element element, final Schema schema);
+
+    /**
+     * Whether the maps created by this factory can be safely read and updated
+     * by multiple threads concurrently.
+     *
+     * @return true if the maps are thread safe, otherwise false
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.offheap.OffHeapByteStore;
+import uk.gov.gchq.gaffer.mapstore.offheap.OffHeapElementSerialiser;
+import uk.gov.gchq.gaffer.mapstore.offheap.OffHeapGroupedPropertiesSerialiser;
+import uk.gov.gchq.gaffer.mapstore.offheap.OffHeapMap;
+import uk.gov.gchq.gaffer.mapstore.offheap.OffHeapMultiMap;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.store.SerialisationFactory;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.store.serialiser.EdgeIdSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.EntityIdSerialiser;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of the {@link MapFactory} interface that creates maps holding
+ * their keys and values serialised off-heap, using the serialisers in the
+ * {@link Schema}. Entries are only deserialised when they are read, so the
+ * heap cost per element is a few primitive array slots rather than a
+ * graph of {@link Element} and {@link java.util.HashMap} objects.
+ * <p>
+ * Keys are compared in their serialised form, so the vertex serialiser, the
+ * groupBy property serialisers of aggregated groups and all property
+ * serialisers of non-aggregated groups must be consistent.
+ * </p>
+ * <p>
+ * The maps created by this factory are not thread safe.
+ * </p>
+ */
+public class OffHeapMapFactory implements MapFactory {
+    public static final String SLAB_SIZE = "gaffer.store.mapstore.map.offheap.slab.size";
+    public static final String SLAB_SIZE_DEFAULT = String.valueOf(OffHeapByteStore.DEFAULT_SLAB_SIZE);
+
+    private final SerialisationFactory serialisationFactory = new SerialisationFactory();
+    private final Map<String, Map> maps = new HashMap<>();
+    private final Map<String, MultiMap> multiMaps = new HashMap<>();
+    private Schema schema;
+    private int slabSize = OffHeapByteStore.DEFAULT_SLAB_SIZE;
+
+    @Override
+    public void initialise(final Schema schema, final MapStoreProperties properties) {
+        final String slabSizeStr = properties.get(SLAB_SIZE, SLAB_SIZE_DEFAULT);
+        try {
+            slabSize = Integer.parseInt(slabSizeStr);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Off heap slab size is invalid: " + slabSizeStr, e);
+        }
+
+        validateSchema(schema);
+        this.schema = schema;
+    }
+
+    @Override
+    public <K, V> Map<K, V> getMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return maps.computeIfAbsent(mapName, n -> new OffHeapMap<>(
+                getSerialiser(keyClass, false),
+                getSerialiser(valueClass, false),
+                new OffHeapByteStore(slabSize)));
+    }
+
+    @Override
+    public <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return multiMaps.computeIfAbsent(mapName, n -> new OffHeapMultiMap<>(
+                getSerialiser(keyClass, false),
+                getSerialiser(valueClass, true),
+                new OffHeapByteStore(slabSize)));
+    }
+
+    @Override
+    public void clear() {
+        maps.values().forEach(Map::clear);
+        multiMaps.values().forEach(MultiMap::clear);
+        maps.clear();
+        multiMaps.clear();
+    }
+
+    /**
+     * Elements read from the off-heap maps are always freshly deserialised,
+     * so a shallow clone is sufficient to isolate them from the store.
+     *
+     * @param element the element to clone
+     * @param schema  the relevant schema
+     * @return the cloned element
+     */
+    @Override
+    public Element cloneElement(final Element element, final Schema schema) {
+        return element.shallowClone();
+    }
+
+    protected int getSlabSize() {
+        return slabSize;
+    }
+
+    protected <T> ToBytesSerialiser<T> getSerialiser(final Class<T> clazz, final boolean isIndexValue) {
+        if (null == schema) {
+            throw new IllegalStateException(getClass().getSimpleName() + " has not been initialised");
+        }
+
+        final ToBytesSerialiser serialiser;
+        if (Element.class.isAssignableFrom(clazz)) {
+            serialiser = new OffHeapElementSerialiser(schema, isIndexValue);
+        } else if (GroupedProperties.class.isAssignableFrom(clazz)) {
+            serialiser = new OffHeapGroupedPropertiesSerialiser(schema);
+        } else if (EntityId.class.isAssignableFrom(clazz)) {
+            serialiser = new EntityIdSerialiser(schema);
+        } else if (EdgeId.class.isAssignableFrom(clazz)) {
+            serialiser = new EdgeIdSerialiser(schema);
+        } else if (Long.class.equals(clazz)) {
+            serialiser = new CompactRawLongSerialiser();
+        } else {
+            final Serialiser defaultSerialiser = serialisationFactory.getSerialiser(clazz, false, true);
+            if (!(defaultSerialiser instanceof ToBytesSerialiser)) {
+                throw new IllegalArgumentException("Unable to find a " + ToBytesSerialiser.class.getSimpleName() + " for class: " + clazz.getName());
+            }
+            serialiser = (ToBytesSerialiser) defaultSerialiser;
+        }
+        return serialiser;
+    }
+
+    private void validateSchema(final Schema schema) {
+        if (!(schema.getVertexSerialiser() instanceof ToBytesSerialiser)
+                || !schema.getVertexSerialiser().isConsistent()) {
+            throw new IllegalArgumentException(getClass().getSimpleName() + " requires a consistent "
+                    + ToBytesSerialiser.class.getSimpleName() + " vertex serialiser");
+        }
+
+        final List<String> aggregatedGroups = schema.getAggregatedGroups();
+        for (final String group : schema.getGroups()) {
+            final SchemaElementDefinition elementDef = schema.getElement(group);
+            final Set<String> keyProperties = aggregatedGroups.contains(group)
+                    ? elementDef.getGroupBy() : elementDef.getProperties();
+            for (final String property : elementDef.getProperties()) {
+                final TypeDefinition typeDef = elementDef.getPropertyTypeDef(property);
+                final Serialiser serialiser = null != typeDef ? typeDef.getSerialiser() : null;
+                if (!(serialiser instanceof ToBytesSerialiser)) {
+                    throw new IllegalArgumentException(getClass().getSimpleName() + " requires a "
+                            + ToBytesSerialiser.class.getSimpleName() + " for property " + property + " in group " + group);
+                }
+                if (keyProperties.contains(property) && !serialiser.isConsistent()) {
+                    throw new IllegalArgumentException(getClass().getSimpleName() + " requires a consistent serialiser for property "
+                            + property + " in group " + group + ", " + serialiser.getClass().getName() + " is not consistent");
+                }
+            }
+        }
+    }
+}
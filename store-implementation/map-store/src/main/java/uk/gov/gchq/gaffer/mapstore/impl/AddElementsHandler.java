@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.mapstore.impl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
@@ -60,9 +61,17 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
     private void addElements(final Iterable<? extends Element> elements, final MapStore mapStore) {
         final MapImpl mapImpl = mapStore.getMapImpl();
         final Schema schema = mapStore.getSchema();
-
         final int bufferSize = mapStore.getProperties().getIngestBufferSize();
 
+        final MapSnapshot snapshot = mapImpl.getSnapshot();
+        if (null == snapshot) {
+            addElements(elements, mapImpl, schema, bufferSize);
+        } else {
+            snapshot.add(() -> addElements(elements, mapImpl, schema, bufferSize));
+        }
+    }
+
+    void addElements(final Iterable<? extends Element> elements, final MapImpl mapImpl, final Schema schema, final int bufferSize) {
         if (bufferSize < 1) {
             // Add all elements directly
             addBatch(mapImpl, schema, elements);
@@ -75,7 +84,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                     batch.add(element);
                     count++;
                     if (count >= bufferSize) {
-                        addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema));
+                        addBatch(mapImpl, schema, aggregateBatch(mapImpl, schema, batch));
                         batch.clear();
                         count = 0;
                     }
@@ -83,24 +92,50 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             }
 
             if (count > 0) {
-                addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema));
+                addBatch(mapImpl, schema, aggregateBatch(mapImpl, schema, batch));
             }
         }
     }
 
+    private Iterable<? extends Element> aggregateBatch(final MapImpl mapImpl, final Schema schema, final List<Element> batch) {
+        if (mapImpl.isConcurrent()) {
+            // The batch is not pre-aggregated as the shared schema aggregators are not thread safe.
+            // The elements are aggregated into the maps instead.
+            return batch;
+        }
+        return AggregatorUtil.ingestAggregate(batch, schema);
+    }
+
     private void addBatch(final MapImpl mapImpl, final Schema schema, final Iterable<? extends Element> elements) {
-        for (final Element element : elements) {
-            if (null != element) {
-                final Element elementForIndexing = addElement(element, schema, mapImpl);
+        if (mapImpl.isConcurrent()) {
+            Streams.toParallelStream(elements).forEach(element -> addElementAndIndex(element, schema, mapImpl));
+        } else {
+            for (final Element element : elements) {
+                addElementAndIndex(element, schema, mapImpl);
+            }
+        }
+    }
 
-                // Update entityIdToElements and edgeIdToElements if index required
-                if (mapImpl.isMaintainIndex()) {
-                    updateElementIndex(elementForIndexing, mapImpl);
-                }
+    private void addElementAndIndex(final Element element, final Schema schema, final MapImpl mapImpl) {
+        if (null != element && null != schema.getElement(element.getGroup())) {
+            final Element elementForIndexing = addElement(element, schema, mapImpl);
+            updateIndex(elementForIndexing, mapImpl);
+
+            if (null != mapImpl.getSnapshot()) {
+                mapImpl.getSnapshot().log(element);
             }
         }
     }
 
+    void updateIndex(final Element element, final MapImpl mapImpl) {
+        // Update entityIdToElements and edgeIdToElements if index required
+        if (mapImpl.isMaintainAdjacencyIndex()) {
+            updateAdjacencyIndex(element, mapImpl);
+        } else if (mapImpl.isMaintainIndex()) {
+            updateElementIndex(element, mapImpl);
+        }
+    }
+
     private Element addElement(final Element element, final Schema schema, final MapImpl mapImpl) {
         final Element elementForIndexing;
         if (!mapImpl.isAggregationEnabled(element)) {
@@ -162,4 +197,24 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             mapImpl.addIndex(edgeId, edge);
         }
     }
+
+    private void updateAdjacencyIndex(final Element element, final MapImpl mapImpl) {
+        if (element instanceof Entity) {
+            final Entity entity = (Entity) element;
+            mapImpl.addIndex(new EntitySeed(entity.getVertex()), MapImpl.Adjacency.ENTITY, element);
+        } else {
+            final Edge edge = (Edge) element;
+            edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.SOURCE);
+            mapImpl.addIndex(new EntitySeed(edge.getSource()), edge.isDirected() ? MapImpl.Adjacency.OUTGOING : MapImpl.Adjacency.UNDIRECTED, edge);
+
+            // Self loops are only indexed once, matched on the source
+            if (!edge.getSource().equals(edge.getDestination())) {
+                final Edge destMatchedEdge = new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.DESTINATION, edge.getProperties());
+                mapImpl.addIndex(new EntitySeed(edge.getDestination()), edge.isDirected() ? MapImpl.Adjacency.INCOMING : MapImpl.Adjacency.UNDIRECTED, destMatchedEdge);
+            }
+
+            final EdgeId edgeId = new EdgeSeed(edge.getSource(), edge.getDestination(), edge.isDirected());
+            mapImpl.addIndex(edgeId, edge);
+        }
+    }
 }
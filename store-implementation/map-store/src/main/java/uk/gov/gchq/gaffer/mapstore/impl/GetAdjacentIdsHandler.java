@@ -81,8 +81,7 @@ public class GetAdjacentIdsHandler implements
             // Extract adjacent vertices
             Stream<Element> elementStream = Streams.toStream(getAdjacentIds.getInput())
                     .flatMap(entityId ->
-                            GetElementsUtil.getRelevantElements(mapImpl, entityId, getAdjacentIds.getView(), getAdjacentIds.getDirectedType(), getAdjacentIds.getIncludeIncomingOutGoing(), SeedMatching.SeedMatchingType.RELATED)
-                                    .stream()
+                            GetElementsUtil.streamRelevantElements(mapImpl, entityId, getAdjacentIds.getView(), getAdjacentIds.getDirectedType(), getAdjacentIds.getIncludeIncomingOutGoing(), SeedMatching.SeedMatchingType.RELATED)
                                     .map(mapImpl::getAggElement));
 
             // Apply the view
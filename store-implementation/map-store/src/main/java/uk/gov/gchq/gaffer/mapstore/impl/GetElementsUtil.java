@@ -19,22 +19,23 @@ package uk.gov.gchq.gaffer.mapstore.impl;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
-import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
-import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.ViewPlan;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -49,6 +50,31 @@ public final class GetElementsUtil {
         // Private constructor to prevent instantiation.
     }
 
+    /**
+     * Gets the elements relevant to a seed. If the {@link MapImpl} maintains an
+     * adjacency index, only the partitions of the index required by the view and
+     * filters are read for {@link EntityId} seeds and the elements are not copied.
+     *
+     * @param mapImpl          the map implementation
+     * @param elementId        the seed
+     * @param view             the view
+     * @param directedType     the directed type
+     * @param inOutType        the incoming/outgoing type
+     * @param seedMatchingType the seed matching type
+     * @return a stream of the relevant elements
+     */
+    public static Stream<Element> streamRelevantElements(final MapImpl mapImpl,
+                                                         final ElementId elementId,
+                                                         final View view,
+                                                         final DirectedType directedType,
+                                                         final IncludeIncomingOutgoingType inOutType,
+                                                         final SeedMatchingType seedMatchingType) {
+        if (mapImpl.isMaintainAdjacencyIndex() && elementId instanceof EntityId) {
+            return streamAdjacentElements(mapImpl, new EntitySeed(((EntityId) elementId).getVertex()), view, directedType, inOutType, seedMatchingType);
+        }
+        return getRelevantElements(mapImpl, elementId, view, directedType, inOutType, seedMatchingType).stream();
+    }
+
     public static Set<Element> getRelevantElements(final MapImpl mapImpl,
                                                    final ElementId elementId,
                                                    final View view,
@@ -120,6 +146,37 @@ public final class GetElementsUtil {
         return relevantElements;
     }
 
+    private static Stream<Element> streamAdjacentElements(final MapImpl mapImpl,
+                                                          final EntityId entityId,
+                                                          final View view,
+                                                          final DirectedType directedType,
+                                                          final IncludeIncomingOutgoingType inOutType,
+                                                          final SeedMatchingType seedMatchingType) {
+        final List<Collection<Element>> partitions = new ArrayList<>();
+        for (final String group : view.getEntityGroups()) {
+            partitions.add(mapImpl.lookup(entityId, group, MapImpl.Adjacency.ENTITY));
+        }
+
+        if (seedMatchingType != SeedMatchingType.EQUAL) {
+            final boolean includeOutgoing = DirectedType.isDirected(directedType) && inOutType != IncludeIncomingOutgoingType.INCOMING;
+            final boolean includeIncoming = DirectedType.isDirected(directedType) && inOutType != IncludeIncomingOutgoingType.OUTGOING;
+            final boolean includeUndirected = DirectedType.isUndirected(directedType);
+            for (final String group : view.getEdgeGroups()) {
+                if (includeOutgoing) {
+                    partitions.add(mapImpl.lookup(entityId, group, MapImpl.Adjacency.OUTGOING));
+                }
+                if (includeIncoming) {
+                    partitions.add(mapImpl.lookup(entityId, group, MapImpl.Adjacency.INCOMING));
+                }
+                if (includeUndirected) {
+                    partitions.add(mapImpl.lookup(entityId, group, MapImpl.Adjacency.UNDIRECTED));
+                }
+            }
+        }
+
+        return partitions.stream().flatMap(Collection::stream);
+    }
+
     public static Stream<Element> applyDirectedTypeFilter(final Stream<Element> elements,
                                                           final boolean includeEdges,
                                                           final DirectedType directedType) {
@@ -137,41 +194,24 @@ public final class GetElementsUtil {
     public static Stream<Element> applyView(final Stream<Element> elementStream,
                                             final Schema schema,
                                             final View view) {
-        final Set<String> viewGroups = view.getGroups();
+        final ViewPlan viewPlan = new ViewPlan(view, schema);
         Stream<Element> stream = elementStream;
         // Check group is valid
         if (!view.getEntityGroups().equals(schema.getEntityGroups())
                 || !view.getEdgeGroups().equals(schema.getEdgeGroups())) {
-            stream = stream.filter(e -> viewGroups.contains(e.getGroup()));
+            stream = stream.filter(e -> null != viewPlan.getGroupPlan(e.getGroup()));
         }
 
-        // Apply pre-aggregation filter
+        // Apply the filters and transform for each group
         stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            return ved.getPreAggregationFilter() == null || ved.getPreAggregationFilter().test(e);
+            final ViewPlan.GroupPlan plan = viewPlan.getGroupPlan(e.getGroup());
+            return plan.testPreAggregationFilter(e) && plan.testPostAggregationFilter(e);
         });
-
-        // Apply post-aggregation filter
-        stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            return ved.getPostAggregationFilter() == null || ved.getPostAggregationFilter().test(e);
-        });
-
-        // Apply transform
         stream = stream.map(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            final ElementTransformer transformer = ved.getTransformer();
-            if (transformer != null) {
-                transformer.apply(e);
-            }
+            viewPlan.getGroupPlan(e.getGroup()).transform(e);
             return e;
         });
-
-        // Apply post transform filter
-        stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            return ved.getPostTransformFilter() == null || ved.getPostTransformFilter().test(e);
-        });
+        stream = stream.filter(e -> viewPlan.getGroupPlan(e.getGroup()).testPostTransformFilter(e));
 
         return stream;
     }
@@ -17,25 +17,33 @@ package uk.gov.gchq.gaffer.mapstore.impl;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.RepeatItemIterable;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
 import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BinaryOperator;
 import java.util.stream.Stream;
 
 /**
@@ -53,12 +61,20 @@ import java.util.stream.Stream;
  * handlers for the {@link uk.gov.gchq.gaffer.mapstore.MapStore} to be placed in the
  * same package and get access to the maps, without exposing the internal state of
  * the MapStore to classes outside of this package.
+ * <p>
+ * If {@link MapStoreProperties#CONCURRENT} is set, the maps must be thread safe
+ * and the properties of aggregated elements are never updated in place, so
+ * elements can be added by multiple threads whilst other threads are reading.
+ * <p>
+ * If {@link MapStoreProperties#SNAPSHOT_DIR} is set, the maps are loaded from
+ * the {@link MapSnapshot} in that directory when they are created.
  */
 public class MapImpl {
     public static final String AGG_ELEMENTS = "aggElements";
     public static final String NON_AGG_ELEMENTS = "nonAggElements";
     public static final String ENTITY_ID_TO_ELEMENTS = "entityIdToElements";
     public static final String EDGE_ID_TO_ELEMENTS = "edgeIdToElements";
+    public static final String ADJACENCY = "adjacency";
 
     /**
      * aggElements maps from an Element group to a map of Elements containing the group-by properties
@@ -82,6 +98,12 @@ public class MapImpl {
      */
     private final MultiMap<EdgeId, Element> edgeIdToElements;
 
+    /**
+     * adjacency is an alternative to entityIdToElements. It maps from an Element group and an
+     * {@link Adjacency} to a map from an EntityId to the element keys from aggElements or nonAggElements
+     */
+    private final Map<String, Map<Adjacency, MultiMap<EntityId, Element>>> adjacency = new HashMap<>();
+
     private final MapFactory mapFactory;
     private final Map<String, Set<String>> groupToGroupByProperties = new HashMap<>();
     private final Map<String, Set<String>> groupToNonGroupByProperties = new HashMap<>();
@@ -89,20 +111,42 @@ public class MapImpl {
     private final List<String> aggregatedGroups;
     private final Schema schema;
     private final boolean maintainIndex;
-    private final AggregatorUtil.IngestPropertiesBinaryOperator propertyAggregator;
+    private final boolean maintainAdjacencyIndex;
+    private final boolean concurrent;
+    private final BinaryOperator<GroupedProperties> propertyAggregator;
+    private final MapSnapshot snapshot;
 
     public MapImpl(final Schema schema, final MapStoreProperties mapStoreProperties) {
         this.schema = schema;
-        propertyAggregator = new AggregatorUtil.IngestPropertiesBinaryOperator(schema);
         mapFactory = createMapFactory(schema, mapStoreProperties);
         maintainIndex = mapStoreProperties.getCreateIndex();
+        maintainAdjacencyIndex = maintainIndex && mapStoreProperties.getAdjacencyIndex();
+        concurrent = mapStoreProperties.isConcurrent();
+        if (concurrent) {
+            if (!mapFactory.isThreadSafe()) {
+                throw new IllegalArgumentException("MapFactory " + mapFactory.getClass().getName()
+                        + " is not thread safe so it cannot be used when " + MapStoreProperties.CONCURRENT + " is set");
+            }
+            propertyAggregator = new CopyOnWriteIngestPropertiesBinaryOperator(schema);
+        } else {
+            propertyAggregator = new AggregatorUtil.IngestPropertiesBinaryOperator(schema);
+        }
 
         for (final String group : schema.getGroups()) {
             aggElements.put(group, mapFactory.getMap(group + "|" + AGG_ELEMENTS, Element.class, GroupedProperties.class));
             nonAggElements.put(group, mapFactory.getMap(group + "|" + NON_AGG_ELEMENTS, Element.class, Long.class));
         }
 
-        if (maintainIndex) {
+        if (maintainAdjacencyIndex) {
+            entityIdToElements = null;
+            edgeIdToElements = mapFactory.getMultiMap(EDGE_ID_TO_ELEMENTS, EdgeId.class, Element.class);
+            for (final String group : schema.getEntityGroups()) {
+                addAdjacencyMaps(group, Adjacency.ENTITY);
+            }
+            for (final String group : schema.getEdgeGroups()) {
+                addAdjacencyMaps(group, Adjacency.OUTGOING, Adjacency.INCOMING, Adjacency.UNDIRECTED);
+            }
+        } else if (maintainIndex) {
             entityIdToElements = mapFactory.getMultiMap(ENTITY_ID_TO_ELEMENTS, EntityId.class, Element.class);
             edgeIdToElements = mapFactory.getMultiMap(EDGE_ID_TO_ELEMENTS, EdgeId.class, Element.class);
         } else {
@@ -113,12 +157,26 @@ public class MapImpl {
         this.aggregatedGroups = schema.getAggregatedGroups();
         schema.getEntityGroups().forEach(this::addToGroupByMap);
         schema.getEdgeGroups().forEach(this::addToGroupByMap);
+
+        if (null != mapStoreProperties.getSnapshotDir()) {
+            snapshot = new MapSnapshot(schema, mapStoreProperties);
+            try {
+                snapshot.load(this);
+            } catch (final IOException e) {
+                throw new GafferRuntimeException("Unable to load the snapshot from " + mapStoreProperties.getSnapshotDir(), e);
+            }
+        } else {
+            snapshot = null;
+        }
     }
 
     public void clear() {
         aggElements.clear();
         nonAggElements.clear();
-        if (maintainIndex) {
+        if (maintainAdjacencyIndex) {
+            edgeIdToElements.clear();
+            adjacency.values().forEach(maps -> maps.values().forEach(MultiMap::clear));
+        } else if (maintainIndex) {
             entityIdToElements.clear();
             edgeIdToElements.clear();
         }
@@ -135,8 +193,44 @@ public class MapImpl {
         }
     }
 
+    void restoreAggElement(final Element elementWithGroupByProperties, final GroupedProperties properties) {
+        aggElements.get(elementWithGroupByProperties.getGroup()).put(elementWithGroupByProperties, properties);
+    }
+
+    void restoreNonAggElement(final Element element, final long count) {
+        nonAggElements.get(element.getGroup()).put(element, count);
+    }
+
     Collection<Element> lookup(final EntityId entitId) {
-        Collection<Element> results = entityIdToElements.get(entitId);
+        Collection<Element> results;
+        if (maintainAdjacencyIndex) {
+            results = new HashSet<>();
+            for (final Map.Entry<String, Map<Adjacency, MultiMap<EntityId, Element>>> entry : adjacency.entrySet()) {
+                for (final Adjacency adj : entry.getValue().keySet()) {
+                    results.addAll(lookup(entitId, entry.getKey(), adj));
+                }
+            }
+        } else {
+            results = entityIdToElements.get(entitId);
+        }
+
+        if (null == results) {
+            results = Collections.emptySet();
+        }
+
+        return results;
+    }
+
+    Collection<Element> lookup(final EntityId entityId, final String group, final Adjacency adj) {
+        Collection<Element> results = null;
+        final Map<Adjacency, MultiMap<EntityId, Element>> groupMaps = adjacency.get(group);
+        if (null != groupMaps) {
+            final MultiMap<EntityId, Element> map = groupMaps.get(adj);
+            if (null != map) {
+                results = map.get(entityId);
+            }
+        }
+
         if (null == results) {
             results = Collections.emptySet();
         }
@@ -198,6 +292,14 @@ public class MapImpl {
                 .flatMap(Streams::toStream);
     }
 
+    Collection<Map<Element, GroupedProperties>> getAggElementMaps() {
+        return aggElements.values();
+    }
+
+    Collection<Map<Element, Long>> getNonAggElementMaps() {
+        return nonAggElements.values();
+    }
+
     Stream<Element> getAllElements(final Set<String> groups) {
         return Stream.concat(getAllAggElements(groups), getAllNonAggElements(groups));
     }
@@ -210,10 +312,26 @@ public class MapImpl {
         edgeIdToElements.put(edgeId, element);
     }
 
+    void addIndex(final EntityId entityId, final Adjacency adj, final Element element) {
+        adjacency.get(element.getGroup()).get(adj).put(entityId, element);
+    }
+
     boolean isMaintainIndex() {
         return maintainIndex;
     }
 
+    boolean isMaintainAdjacencyIndex() {
+        return maintainAdjacencyIndex;
+    }
+
+    boolean isConcurrent() {
+        return concurrent;
+    }
+
+    MapSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     Element cloneElement(final Element element, final Schema schema) {
         return mapFactory.cloneElement(element, schema);
     }
@@ -270,6 +388,14 @@ public class MapImpl {
         return mapFactory;
     }
 
+    private void addAdjacencyMaps(final String group, final Adjacency... adjs) {
+        final Map<Adjacency, MultiMap<EntityId, Element>> groupMaps = new EnumMap<>(Adjacency.class);
+        for (final Adjacency adj : adjs) {
+            groupMaps.put(adj, mapFactory.getMultiMap(group + "|" + ADJACENCY + "|" + adj, EntityId.class, Element.class));
+        }
+        adjacency.put(group, groupMaps);
+    }
+
     private void addToGroupByMap(final String group) {
         final SchemaElementDefinition sed = schema.getElement(group);
         groupToGroupByProperties.put(group, sed.getGroupBy());
@@ -280,4 +406,77 @@ public class MapImpl {
         nonGroupByProperties.removeAll(sed.getGroupBy());
         groupToNonGroupByProperties.put(group, nonGroupByProperties);
     }
+
+    /**
+     * The partitions of the adjacency index for each vertex. Entities are held
+     * in the ENTITY partition and edges in the partition for their direction
+     * relative to the vertex.
+     */
+    enum Adjacency {
+        ENTITY, OUTGOING, INCOMING, UNDIRECTED
+    }
+
+    /**
+     * Aggregates a copy of the existing properties, so that properties held in
+     * the maps are never modified whilst other threads may be reading them.
+     * Aggregate functions such as the FreqMap and sketch aggregators update
+     * the existing value in place, so each property that is not a group by
+     * property is copied using its schema serialiser before it is aggregated.
+     * The schema ingest aggregators hold state whilst aggregating so a copy is
+     * created for each thread.
+     */
+    private static final class CopyOnWriteIngestPropertiesBinaryOperator implements BinaryOperator<GroupedProperties> {
+        private final Schema schema;
+        private final ThreadLocal<Map<String, ElementAggregator>> aggregators = ThreadLocal.withInitial(HashMap::new);
+
+        private CopyOnWriteIngestPropertiesBinaryOperator(final Schema schema) {
+            this.schema = schema;
+
+            // Ensure the cached ingest aggregators are fully created before they are used by multiple threads
+            schema.getAggregatedGroups().forEach(group -> schema.getElement(group).getIngestAggregator());
+        }
+
+        @Override
+        public GroupedProperties apply(final GroupedProperties state, final GroupedProperties properties) {
+            if (null == state) {
+                return properties;
+            }
+            if (null == properties) {
+                return state;
+            }
+
+            final GroupedProperties result = new GroupedProperties(state.getGroup());
+            final SchemaElementDefinition elementDef = schema.getElement(state.getGroup());
+            for (final Map.Entry<String, Object> entry : state.entrySet()) {
+                result.put(entry.getKey(), copyProperty(elementDef, entry.getKey(), entry.getValue()));
+            }
+            aggregators.get()
+                    .computeIfAbsent(state.getGroup(), this::createAggregator)
+                    .apply(result, properties);
+            return result;
+        }
+
+        private Object copyProperty(final SchemaElementDefinition elementDef, final String propertyName, final Object value) {
+            // Group by properties are never aggregated, so do not need copying
+            if (null == value || elementDef.getGroupBy().contains(propertyName)) {
+                return value;
+            }
+            final TypeDefinition typeDef = elementDef.getPropertyTypeDef(propertyName);
+            if (null == typeDef || null == typeDef.getSerialiser()) {
+                return value;
+            }
+            final Serialiser serialiser = typeDef.getSerialiser();
+            try {
+                return serialiser.deserialise(serialiser.serialise(value));
+            } catch (final SerialisationException e) {
+                throw new GafferRuntimeException("Unable to copy property " + propertyName + " before aggregating it", e);
+            }
+        }
+
+        private ElementAggregator createAggregator(final String group) {
+            final ElementAggregator aggregator = new ElementAggregator();
+            aggregator.getComponents().addAll(schema.getElement(group).getIngestAggregator().getComponents());
+            return aggregator;
+        }
+    }
 }
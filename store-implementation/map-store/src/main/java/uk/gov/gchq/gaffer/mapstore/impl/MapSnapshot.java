@@ -0,0 +1,418 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.offheap.OffHeapElementSerialiser;
+import uk.gov.gchq.gaffer.mapstore.offheap.OffHeapGroupedPropertiesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Persists the contents of a {@link MapImpl} to a directory on local disk, so
+ * that a {@link uk.gov.gchq.gaffer.mapstore.MapStore} can be restarted without
+ * adding all of its elements again.
+ * <p>
+ * The snapshot file holds the aggregated and non aggregated elements,
+ * serialised using the schema serialisers. The elements have already been
+ * aggregated, so when the snapshot is loaded they are put straight into the
+ * maps and the indexes are rebuilt from them. The snapshot is read using
+ * memory mapped I/O.
+ * </p>
+ * <p>
+ * If {@link MapStoreProperties#SNAPSHOT_APPEND_LOG} is set, elements added
+ * after the snapshot was written are appended to a log, which is replayed once
+ * the snapshot has been loaded. Each snapshot has a generation number and the
+ * log is only replayed if it was started after the current snapshot, so a
+ * failure between writing a snapshot and resetting the log does not add
+ * elements twice.
+ * </p>
+ */
+class MapSnapshot {
+    static final String SNAPSHOT_FILE = "snapshot";
+    static final String APPEND_LOG_FILE = "append.log";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MapSnapshot.class);
+    private static final int MAGIC = 0x474d5353;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final byte AGG_ELEMENT = 0;
+    private static final byte NON_AGG_ELEMENT = 1;
+    private static final int MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+    private static final int REPLAY_BATCH_SIZE = 10000;
+
+    private final Schema schema;
+    private final Path snapshotFile;
+    private final Path appendLogFile;
+    private final boolean appendLog;
+    private final int ingestBufferSize;
+    private final OffHeapElementSerialiser elementSerialiser;
+    private final OffHeapGroupedPropertiesSerialiser propertiesSerialiser;
+    private final AddElementsHandler addElementsHandler = new AddElementsHandler();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long generation;
+    private DataOutputStream log;
+
+    MapSnapshot(final Schema schema, final MapStoreProperties properties) {
+        validateSchema(schema);
+        this.schema = schema;
+        final Path dir = Paths.get(properties.getSnapshotDir());
+        this.snapshotFile = dir.resolve(SNAPSHOT_FILE);
+        this.appendLogFile = dir.resolve(APPEND_LOG_FILE);
+        this.appendLog = properties.isSnapshotAppendLog();
+        this.ingestBufferSize = properties.getIngestBufferSize();
+        this.elementSerialiser = new OffHeapElementSerialiser(schema);
+        this.propertiesSerialiser = new OffHeapGroupedPropertiesSerialiser(schema);
+    }
+
+    /**
+     * Loads the snapshot and replays the append log into the maps. If the
+     * append log is enabled it is then opened, ready for new elements.
+     *
+     * @param mapImpl the empty maps to load the elements into
+     * @throws IOException if the files cannot be read
+     */
+    void load(final MapImpl mapImpl) throws IOException {
+        Files.createDirectories(snapshotFile.getParent());
+        if (Files.exists(snapshotFile)) {
+            loadSnapshot(mapImpl);
+        }
+
+        final boolean replayedLog = Files.exists(appendLogFile) && replayLog(mapImpl);
+        if (appendLog) {
+            openLog(!replayedLog);
+        }
+    }
+
+    /**
+     * Writes all of the elements in the maps to a new snapshot and resets the
+     * append log. Elements cannot be added whilst the snapshot is written.
+     *
+     * @param mapImpl the maps to write
+     * @throws IOException if the snapshot cannot be written
+     */
+    void write(final MapImpl mapImpl) throws IOException {
+        lock.writeLock().lock();
+        try {
+            final long newGeneration = generation + 1;
+            final Path tmpFile = snapshotFile.resolveSibling(SNAPSHOT_FILE + ".tmp");
+            long count = 0;
+            try (final FileChannel channel = FileChannel.open(tmpFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+                writeHeader(out, newGeneration);
+                for (final Map<Element, GroupedProperties> map : mapImpl.getAggElementMaps()) {
+                    for (final Map.Entry<Element, GroupedProperties> entry : map.entrySet()) {
+                        writeRecord(out, AGG_ELEMENT, elementSerialiser.serialise(entry.getKey()), propertiesSerialiser.serialise(entry.getValue()));
+                        count++;
+                    }
+                }
+                for (final Map<Element, Long> map : mapImpl.getNonAggElementMaps()) {
+                    for (final Map.Entry<Element, Long> entry : map.entrySet()) {
+                        writeRecord(out, NON_AGG_ELEMENT, elementSerialiser.serialise(entry.getKey()), CompactRawSerialisationUtils.writeLong(entry.getValue()));
+                        count++;
+                    }
+                }
+                out.flush();
+                channel.force(true);
+            }
+
+            Files.move(tmpFile, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            generation = newGeneration;
+            LOGGER.info("Written {} elements to snapshot {}", count, snapshotFile);
+
+            closeLog();
+            if (appendLog) {
+                openLog(true);
+            } else {
+                Files.deleteIfExists(appendLogFile);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs an addition of elements, ensuring a snapshot is not written until
+     * the elements have been added to both the maps and the append log.
+     *
+     * @param addElements adds the elements to the maps
+     */
+    void add(final Runnable addElements) {
+        lock.readLock().lock();
+        try {
+            addElements.run();
+            flushLog();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends an element to the append log, if it is enabled.
+     *
+     * @param element the element that has been added
+     */
+    void log(final Element element) {
+        if (null != log) {
+            try {
+                final byte[] bytes = elementSerialiser.serialise(element);
+                synchronized (this) {
+                    log.writeInt(bytes.length);
+                    log.write(bytes);
+                }
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Unable to write element to the append log " + appendLogFile, e);
+            }
+        }
+    }
+
+    private void loadSnapshot(final MapImpl mapImpl) throws IOException {
+        long count = 0;
+        try (final MappedReader reader = new MappedReader(snapshotFile)) {
+            generation = reader.getGeneration();
+            while (reader.isAvailable(1)) {
+                final byte type = reader.readByte();
+                final Element element = elementSerialiser.deserialise(reader.readBytes(reader.readInt()));
+                final byte[] value = reader.readBytes(reader.readInt());
+                if (AGG_ELEMENT == type) {
+                    mapImpl.restoreAggElement(element, propertiesSerialiser.deserialise(value));
+                } else if (NON_AGG_ELEMENT == type) {
+                    mapImpl.restoreNonAggElement(element, CompactRawSerialisationUtils.readLong(value));
+                } else {
+                    throw new IOException("Invalid record type " + type + " in snapshot " + snapshotFile);
+                }
+                addElementsHandler.updateIndex(element, mapImpl);
+                count++;
+            }
+        }
+        LOGGER.info("Loaded {} elements from snapshot {}", count, snapshotFile);
+    }
+
+    private boolean replayLog(final MapImpl mapImpl) throws IOException {
+        if (Files.size(appendLogFile) < HEADER_SIZE) {
+            LOGGER.warn("Ignoring incomplete append log {}", appendLogFile);
+            return false;
+        }
+
+        long count = 0;
+        final long validLength;
+        try (final MappedReader reader = new MappedReader(appendLogFile)) {
+            if (generation != reader.getGeneration()) {
+                LOGGER.info("Ignoring append log {} as its elements are already in the snapshot", appendLogFile);
+                return false;
+            }
+
+            final List<Element> batch = new ArrayList<>();
+            long recordStart = reader.getPosition();
+            while (reader.isAvailable(Integer.BYTES)) {
+                final int length = reader.readInt();
+                if (!reader.isAvailable(length)) {
+                    break;
+                }
+                batch.add(elementSerialiser.deserialise(reader.readBytes(length)));
+                recordStart = reader.getPosition();
+                if (batch.size() >= REPLAY_BATCH_SIZE) {
+                    addElementsHandler.addElements(batch, mapImpl, schema, ingestBufferSize);
+                    count += batch.size();
+                    batch.clear();
+                }
+            }
+            addElementsHandler.addElements(batch, mapImpl, schema, ingestBufferSize);
+            count += batch.size();
+            validLength = recordStart;
+        }
+
+        if (validLength < Files.size(appendLogFile)) {
+            // The last element was only partially written, so it was never added
+            LOGGER.warn("Removing incomplete element from the end of append log {}", appendLogFile);
+            try (final FileChannel channel = FileChannel.open(appendLogFile, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            }
+        }
+
+        LOGGER.info("Replayed {} elements from append log {}", count, appendLogFile);
+        return true;
+    }
+
+    private void openLog(final boolean reset) throws IOException {
+        if (reset) {
+            log = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(appendLogFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)));
+            writeHeader(log, generation);
+            log.flush();
+        } else {
+            log = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(appendLogFile,
+                    StandardOpenOption.APPEND)));
+        }
+    }
+
+    private void flushLog() {
+        if (null != log) {
+            synchronized (this) {
+                try {
+                    log.flush();
+                } catch (final IOException e) {
+                    throw new UncheckedIOException("Unable to flush the append log " + appendLogFile, e);
+                }
+            }
+        }
+    }
+
+    private void closeLog() throws IOException {
+        if (null != log) {
+            log.close();
+            log = null;
+        }
+    }
+
+    private static void writeHeader(final DataOutputStream out, final long generation) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(generation);
+    }
+
+    private static void writeRecord(final DataOutputStream out, final byte type, final byte[] key, final byte[] value) throws IOException {
+        out.writeByte(type);
+        out.writeInt(key.length);
+        out.write(key);
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static void validateSchema(final Schema schema) {
+        if (!(schema.getVertexSerialiser() instanceof ToBytesSerialiser)) {
+            throw new IllegalArgumentException("Snapshots require a " + ToBytesSerialiser.class.getSimpleName() + " vertex serialiser");
+        }
+
+        for (final String group : schema.getGroups()) {
+            final SchemaElementDefinition elementDef = schema.getElement(group);
+            for (final String property : elementDef.getProperties()) {
+                final TypeDefinition typeDef = elementDef.getPropertyTypeDef(property);
+                final Serialiser serialiser = null != typeDef ? typeDef.getSerialiser() : null;
+                if (!(serialiser instanceof ToBytesSerialiser)) {
+                    throw new IllegalArgumentException("Snapshots require a " + ToBytesSerialiser.class.getSimpleName()
+                            + " for property " + property + " in group " + group);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a snapshot or append log through a memory mapped region of the
+     * file, which is moved along the file as it is read.
+     */
+    private static final class MappedReader implements Closeable {
+        private final Path file;
+        private final FileChannel channel;
+        private final long size;
+        private final long generation;
+        private long position;
+        private long regionStart;
+        private MappedByteBuffer region;
+
+        private MappedReader(final Path file) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.size = channel.size();
+            try {
+                if (readInt() != MAGIC || readInt() != FORMAT_VERSION) {
+                    throw new IOException(file + " is not a MapStore snapshot file or was written by a different version");
+                }
+                this.generation = readLong();
+            } catch (final IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        private long getGeneration() {
+            return generation;
+        }
+
+        private long getPosition() {
+            return position;
+        }
+
+        private boolean isAvailable(final long length) {
+            return length >= 0 && position + length <= size;
+        }
+
+        private byte readByte() throws IOException {
+            return map(1).get();
+        }
+
+        private int readInt() throws IOException {
+            return map(Integer.BYTES).getInt();
+        }
+
+        private long readLong() throws IOException {
+            return map(Long.BYTES).getLong();
+        }
+
+        private byte[] readBytes(final int length) throws IOException {
+            final byte[] bytes = new byte[length];
+            map(length).get(bytes);
+            return bytes;
+        }
+
+        private MappedByteBuffer map(final int length) throws IOException {
+            if (!isAvailable(length)) {
+                throw new EOFException("Unexpected end of file " + file);
+            }
+            if (null == region || position + length > regionStart + region.capacity()) {
+                regionStart = position;
+                region = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(size - position, Math.max(MAPPED_REGION_SIZE, length)));
+            }
+            region.position((int) (position - regionStart));
+            position += length;
+            return region;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
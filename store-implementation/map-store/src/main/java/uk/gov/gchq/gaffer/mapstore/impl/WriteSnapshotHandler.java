@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.operation.WriteSnapshot;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
+
+import java.io.IOException;
+
+/**
+ * An {@link OperationHandler} for the {@link WriteSnapshot} operation on the
+ * {@link MapStore}.
+ */
+public class WriteSnapshotHandler implements OperationHandler<WriteSnapshot> {
+    @Override
+    public Void doOperation(final WriteSnapshot operation, final Context context, final Store store)
+            throws OperationException {
+        final MapSnapshot snapshot = ((MapStore) store).getMapImpl().getSnapshot();
+        if (null == snapshot) {
+            throw new OperationException(MapStoreProperties.SNAPSHOT_DIR + " must be set to write a snapshot");
+        }
+
+        try {
+            snapshot.write(((MapStore) store).getMapImpl());
+        } catch (final IOException e) {
+            throw new OperationException("Unable to write snapshot", e);
+        }
+        return null;
+    }
+}
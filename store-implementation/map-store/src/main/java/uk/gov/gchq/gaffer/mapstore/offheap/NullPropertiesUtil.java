@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Utility methods for recording which schema properties are null.
+ * <p>
+ * The schema serialisers write a null property as an empty value, which is
+ * deserialised using {@link uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser#deserialiseEmpty()}.
+ * For many types that returns an empty object rather than null, so a bitmap of
+ * the null properties is stored alongside the serialised form to allow an exact
+ * round trip.
+ * </p>
+ */
+final class NullPropertiesUtil {
+    private NullPropertiesUtil() {
+        // Private constructor to prevent instantiation.
+    }
+
+    static void writeNullBitmap(final Properties properties,
+                                final SchemaElementDefinition elementDef,
+                                final ByteArrayOutputStream out) throws SerialisationException {
+        final byte[] bitmap = new byte[(elementDef.getProperties().size() + 7) / 8];
+        int i = 0;
+        for (final String propertyName : elementDef.getProperties()) {
+            if (null == properties.get(propertyName)) {
+                bitmap[i / 8] |= 1 << (i % 8);
+            }
+            i++;
+        }
+
+        CompactRawSerialisationUtils.write(bitmap.length, out);
+        try {
+            out.write(bitmap);
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to write null property bitmap", e);
+        }
+    }
+
+    static byte[] readNullBitmap(final byte[] bytes, final int offset) throws SerialisationException {
+        final int lengthSize = CompactRawSerialisationUtils.decodeVIntSize(bytes[offset]);
+        final int length = (int) CompactRawSerialisationUtils.readLong(bytes, offset);
+        final byte[] bitmap = new byte[length];
+        System.arraycopy(bytes, offset + lengthSize, bitmap, 0, length);
+        return bitmap;
+    }
+
+    static int getSerialisedLength(final byte[] bitmap) {
+        return CompactRawSerialisationUtils.writeLong(bitmap.length).length + bitmap.length;
+    }
+
+    static void removeNullProperties(final Properties properties,
+                                     final SchemaElementDefinition elementDef,
+                                     final byte[] bitmap) {
+        int i = 0;
+        for (final String propertyName : elementDef.getProperties()) {
+            if (i / 8 < bitmap.length && 0 != (bitmap[i / 8] & (1 << (i % 8)))) {
+                properties.remove(propertyName);
+            }
+            i++;
+        }
+    }
+}
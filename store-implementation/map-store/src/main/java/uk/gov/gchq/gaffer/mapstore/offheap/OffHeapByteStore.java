@@ -0,0 +1,230 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An append-only store of byte records held in direct (off-heap) {@link ByteBuffer}
+ * slabs.
+ * <p>
+ * Each record is addressed by a primitive long made up of the slab index and
+ * the offset of the record within that slab. A record is laid out as a 4 byte
+ * capacity, a 4 byte length and then the record bytes. Records can be
+ * overwritten in place if the new bytes fit within the existing capacity,
+ * otherwise a new record is allocated and the old space is recorded as wasted.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ */
+public class OffHeapByteStore {
+    public static final int DEFAULT_SLAB_SIZE = 64 * 1024 * 1024;
+
+    private static final int HEADER_SIZE = 8;
+    private static final int LENGTH_OFFSET = 4;
+
+    private final int slabSize;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private ByteBuffer currentSlab;
+    private long allocatedBytes;
+    private long wastedBytes;
+
+    public OffHeapByteStore() {
+        this(DEFAULT_SLAB_SIZE);
+    }
+
+    public OffHeapByteStore(final int slabSize) {
+        if (slabSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Slab size must be greater than " + HEADER_SIZE + " bytes");
+        }
+        this.slabSize = slabSize;
+    }
+
+    /**
+     * Allocate a new record and copy the provided bytes into it.
+     *
+     * @param bytes    the bytes to store
+     * @param capacity the capacity to reserve for the record, this must be
+     *                 at least the number of bytes provided
+     * @return the address of the new record
+     */
+    public long allocate(final byte[] bytes, final int capacity) {
+        final int recordCapacity = Math.max(capacity, bytes.length);
+        final int recordSize = HEADER_SIZE + recordCapacity;
+        if (null == currentSlab || currentSlab.remaining() < recordSize) {
+            currentSlab = ByteBuffer.allocateDirect(Math.max(slabSize, recordSize));
+            slabs.add(currentSlab);
+        }
+
+        final int offset = currentSlab.position();
+        currentSlab.putInt(recordCapacity);
+        currentSlab.putInt(bytes.length);
+        currentSlab.put(bytes);
+        currentSlab.position(offset + recordSize);
+        allocatedBytes += recordSize;
+
+        return toAddress(slabs.size() - 1, offset);
+    }
+
+    /**
+     * Allocate a new record with a capacity equal to the number of bytes.
+     *
+     * @param bytes the bytes to store
+     * @return the address of the new record
+     */
+    public long allocate(final byte[] bytes) {
+        return allocate(bytes, bytes.length);
+    }
+
+    /**
+     * Overwrite the record at the given address. If the bytes do not fit in
+     * the existing record a new record is allocated.
+     *
+     * @param address the address of the record to overwrite
+     * @param bytes   the new bytes
+     * @return the address of the record now holding the bytes
+     */
+    public long write(final long address, final byte[] bytes) {
+        final ByteBuffer slab = slabs.get(getSlabIndex(address));
+        final int offset = getOffset(address);
+        final int capacity = slab.getInt(offset);
+        if (bytes.length <= capacity) {
+            slab.putInt(offset + LENGTH_OFFSET, bytes.length);
+            final ByteBuffer view = slab.duplicate();
+            view.position(offset + HEADER_SIZE);
+            view.put(bytes);
+            return address;
+        }
+
+        wastedBytes += HEADER_SIZE + capacity;
+        return allocate(bytes, Math.max(bytes.length, 2 * capacity));
+    }
+
+    /**
+     * Append bytes to the end of the record at the given address. If the
+     * record does not have enough spare capacity it is moved to a new record
+     * with double the capacity, so repeated appends are amortised.
+     *
+     * @param address the address of the record to append to
+     * @param bytes   the bytes to append
+     * @return the address of the record now holding the bytes
+     */
+    public long append(final long address, final byte[] bytes) {
+        final ByteBuffer slab = slabs.get(getSlabIndex(address));
+        final int offset = getOffset(address);
+        final int capacity = slab.getInt(offset);
+        final int length = slab.getInt(offset + LENGTH_OFFSET);
+        final int newLength = length + bytes.length;
+        if (newLength <= capacity) {
+            slab.putInt(offset + LENGTH_OFFSET, newLength);
+            final ByteBuffer view = slab.duplicate();
+            view.position(offset + HEADER_SIZE + length);
+            view.put(bytes);
+            return address;
+        }
+
+        final byte[] combined = new byte[newLength];
+        final ByteBuffer existing = slab.duplicate();
+        existing.position(offset + HEADER_SIZE);
+        existing.get(combined, 0, length);
+        System.arraycopy(bytes, 0, combined, length, bytes.length);
+        wastedBytes += HEADER_SIZE + capacity;
+        return allocate(combined, Math.max(newLength, 2 * capacity));
+    }
+
+    /**
+     * Release the record at the given address. The space is not reclaimed
+     * until the store is cleared.
+     *
+     * @param address the address of the record to release
+     */
+    public void release(final long address) {
+        wastedBytes += HEADER_SIZE + slabs.get(getSlabIndex(address)).getInt(getOffset(address));
+    }
+
+    /**
+     * Copy the record at the given address back on to the heap.
+     *
+     * @param address the address of the record
+     * @return the record bytes
+     */
+    public byte[] read(final long address) {
+        final ByteBuffer slab = slabs.get(getSlabIndex(address));
+        final int offset = getOffset(address);
+        final byte[] bytes = new byte[slab.getInt(offset + LENGTH_OFFSET)];
+        final ByteBuffer view = slab.duplicate();
+        view.position(offset + HEADER_SIZE);
+        view.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Compare the record at the given address with some bytes, without
+     * copying the record on to the heap.
+     *
+     * @param address the address of the record
+     * @param bytes   the bytes to compare against
+     * @return true if the record is equal to the bytes
+     */
+    public boolean bytesEqual(final long address, final byte[] bytes) {
+        final ByteBuffer slab = slabs.get(getSlabIndex(address));
+        final int offset = getOffset(address);
+        if (slab.getInt(offset + LENGTH_OFFSET) != bytes.length) {
+            return false;
+        }
+
+        final int start = offset + HEADER_SIZE;
+        for (int i = 0; i < bytes.length; i++) {
+            if (slab.get(start + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Release all slabs held by this store.
+     */
+    public void clear() {
+        slabs.clear();
+        currentSlab = null;
+        allocatedBytes = 0;
+        wastedBytes = 0;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getWastedBytes() {
+        return wastedBytes;
+    }
+
+    private static long toAddress(final int slabIndex, final int offset) {
+        return ((long) slabIndex << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int getSlabIndex(final long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int getOffset(final long address) {
+        return (int) address;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Serialiser for {@link Element}s held in the off-heap maps. This extends
+ * the {@link ElementSerialiser} by prefixing:
+ * <ul>
+ * <li>a single byte holding the {@link EdgeId.MatchedVertex} of an
+ * {@link Edge}, which is required to resolve the direction of an edge
+ * relative to the seed it was indexed under. This is only populated if
+ * includeMatchedVertex is set, as the matched vertex is not part of the
+ * identity of an edge and must not be included when serialising keys.</li>
+ * <li>a bitmap of the null properties, so that null properties are not
+ * deserialised as empty values. This keeps the serialised form of an element
+ * read back from the maps identical to the original, so it can be used as a
+ * key.</li>
+ * </ul>
+ */
+public class OffHeapElementSerialiser implements ToBytesSerialiser<Element> {
+    private static final long serialVersionUID = -3104592285727419337L;
+    private static final byte NO_MATCHED_VERTEX = 0;
+    private static final byte SOURCE = 1;
+    private static final byte DESTINATION = 2;
+
+    private final Schema schema;
+    private final ElementSerialiser elementSerialiser;
+    private final boolean includeMatchedVertex;
+
+    public OffHeapElementSerialiser(final Schema schema) {
+        this(schema, false);
+    }
+
+    public OffHeapElementSerialiser(final Schema schema, final boolean includeMatchedVertex) {
+        this.schema = schema;
+        this.elementSerialiser = new ElementSerialiser(schema);
+        this.includeMatchedVertex = includeMatchedVertex;
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return Element.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final Element element) throws SerialisationException {
+        final SchemaElementDefinition elementDef = getElementDefinition(element.getGroup());
+        try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            out.write(includeMatchedVertex ? getMatchedVertexFlag(element) : NO_MATCHED_VERTEX);
+            NullPropertiesUtil.writeNullBitmap(element.getProperties(), elementDef, out);
+            out.write(elementSerialiser.serialise(element));
+            return out.toByteArray();
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to serialise element into bytes", e);
+        }
+    }
+
+    @Override
+    public Element deserialise(final byte[] bytes) throws SerialisationException {
+        final byte[] nullBitmap = NullPropertiesUtil.readNullBitmap(bytes, 1);
+        final int elementOffset = 1 + NullPropertiesUtil.getSerialisedLength(nullBitmap);
+        final Element element = elementSerialiser.deserialise(bytes, elementOffset, bytes.length - elementOffset);
+        NullPropertiesUtil.removeNullProperties(element.getProperties(), getElementDefinition(element.getGroup()), nullBitmap);
+
+        if (NO_MATCHED_VERTEX != bytes[0] && element instanceof Edge) {
+            final Edge edge = (Edge) element;
+            edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(),
+                    SOURCE == bytes[0] ? EdgeId.MatchedVertex.SOURCE : EdgeId.MatchedVertex.DESTINATION);
+        }
+        return element;
+    }
+
+    @Override
+    public Element deserialiseEmpty() throws SerialisationException {
+        return null;
+    }
+
+    @Override
+    public boolean preservesObjectOrdering() {
+        return false;
+    }
+
+    @Override
+    public boolean isConsistent() {
+        return false;
+    }
+
+    private SchemaElementDefinition getElementDefinition(final String group) throws SerialisationException {
+        final SchemaElementDefinition elementDef = schema.getElement(group);
+        if (null == elementDef) {
+            throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema?");
+        }
+        return elementDef;
+    }
+
+    private static byte getMatchedVertexFlag(final Element element) {
+        if (element instanceof Edge) {
+            final EdgeId.MatchedVertex matchedVertex = ((Edge) element).getMatchedVertex();
+            if (EdgeId.MatchedVertex.SOURCE == matchedVertex) {
+                return SOURCE;
+            }
+            if (EdgeId.MatchedVertex.DESTINATION == matchedVertex) {
+                return DESTINATION;
+            }
+        }
+        return NO_MATCHED_VERTEX;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.serialiser.GroupedPropertiesSerialiser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Serialiser for {@link GroupedProperties} held in the off-heap maps. This
+ * extends the {@link GroupedPropertiesSerialiser} by prefixing a bitmap of the
+ * null properties, so that null properties are not deserialised as empty values.
+ */
+public class OffHeapGroupedPropertiesSerialiser implements ToBytesSerialiser<GroupedProperties> {
+    private static final long serialVersionUID = 6482390367281947530L;
+
+    private final Schema schema;
+    private final GroupedPropertiesSerialiser propertiesSerialiser;
+
+    public OffHeapGroupedPropertiesSerialiser(final Schema schema) {
+        this.schema = schema;
+        this.propertiesSerialiser = new GroupedPropertiesSerialiser(schema);
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return GroupedProperties.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final GroupedProperties properties) throws SerialisationException {
+        final SchemaElementDefinition elementDef = getElementDefinition(properties.getGroup());
+        try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            NullPropertiesUtil.writeNullBitmap(properties, elementDef, out);
+            out.write(propertiesSerialiser.serialise(properties));
+            return out.toByteArray();
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to serialise properties into bytes", e);
+        }
+    }
+
+    @Override
+    public GroupedProperties deserialise(final byte[] bytes) throws SerialisationException {
+        final byte[] nullBitmap = NullPropertiesUtil.readNullBitmap(bytes, 0);
+        final int propertiesOffset = NullPropertiesUtil.getSerialisedLength(nullBitmap);
+        final GroupedProperties properties = propertiesSerialiser.deserialise(bytes, propertiesOffset, bytes.length - propertiesOffset);
+        NullPropertiesUtil.removeNullProperties(properties, getElementDefinition(properties.getGroup()), nullBitmap);
+        return properties;
+    }
+
+    @Override
+    public GroupedProperties deserialiseEmpty() throws SerialisationException {
+        return null;
+    }
+
+    @Override
+    public boolean preservesObjectOrdering() {
+        return false;
+    }
+
+    @Override
+    public boolean isConsistent() {
+        return false;
+    }
+
+    private SchemaElementDefinition getElementDefinition(final String group) throws SerialisationException {
+        if (null == group || group.isEmpty()) {
+            throw new IllegalArgumentException("Group is required for serialising " + GroupedProperties.class.getSimpleName());
+        }
+
+        final SchemaElementDefinition elementDef = schema.getElement(group);
+        if (null == elementDef) {
+            throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema?");
+        }
+        return elementDef;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash index from serialised keys to the address of a
+ * value record in an {@link OffHeapByteStore}.
+ * <p>
+ * The index itself only holds primitive arrays on the heap - the key bytes
+ * are held in the byte store and compared in place when probing.
+ * </p>
+ */
+class OffHeapIndex {
+    static final long EMPTY = -1L;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final OffHeapByteStore store;
+    private int[] hashes;
+    private long[] keyAddresses;
+    private long[] valueAddresses;
+    private int size;
+    private int threshold;
+
+    OffHeapIndex(final OffHeapByteStore store) {
+        this.store = store;
+        init(DEFAULT_CAPACITY);
+    }
+
+    static int hash(final byte[] bytes) {
+        int h = Arrays.hashCode(bytes);
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    /**
+     * @param key  the serialised key
+     * @param hash the hash of the key
+     * @return the slot holding the key, or -1 if the key is not present
+     */
+    int find(final byte[] key, final int hash) {
+        final int mask = hashes.length - 1;
+        int slot = hash & mask;
+        while (EMPTY != keyAddresses[slot]) {
+            if (hashes[slot] == hash && store.bytesEqual(keyAddresses[slot], key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Insert a key that is known not to be present in the index.
+     *
+     * @param key          the serialised key
+     * @param hash         the hash of the key
+     * @param valueAddress the address of the value record, or {@link #EMPTY}
+     * @return the address of the key record
+     */
+    long insert(final byte[] key, final int hash, final long valueAddress) {
+        if (size >= threshold) {
+            resize(hashes.length << 1);
+        }
+        final long keyAddress = store.allocate(key);
+        insertAddress(hash, keyAddress, valueAddress);
+        size++;
+        return keyAddress;
+    }
+
+    /**
+     * Remove the key in the given slot, shifting back any following entries
+     * in the probe sequence.
+     *
+     * @param slot the slot to remove
+     */
+    void remove(final int slot) {
+        store.release(keyAddresses[slot]);
+        if (EMPTY != valueAddresses[slot]) {
+            store.release(valueAddresses[slot]);
+        }
+
+        final int mask = hashes.length - 1;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (EMPTY != keyAddresses[next]) {
+            final int ideal = hashes[next] & mask;
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                hashes[gap] = hashes[next];
+                keyAddresses[gap] = keyAddresses[next];
+                valueAddresses[gap] = valueAddresses[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keyAddresses[gap] = EMPTY;
+        valueAddresses[gap] = EMPTY;
+        size--;
+    }
+
+    int capacity() {
+        return hashes.length;
+    }
+
+    boolean isOccupied(final int slot) {
+        return EMPTY != keyAddresses[slot];
+    }
+
+    long getKeyAddress(final int slot) {
+        return keyAddresses[slot];
+    }
+
+    long getValueAddress(final int slot) {
+        return valueAddresses[slot];
+    }
+
+    void setValueAddress(final int slot, final long valueAddress) {
+        valueAddresses[slot] = valueAddress;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        init(DEFAULT_CAPACITY);
+    }
+
+    private void init(final int capacity) {
+        hashes = new int[capacity];
+        keyAddresses = new long[capacity];
+        valueAddresses = new long[capacity];
+        Arrays.fill(keyAddresses, EMPTY);
+        Arrays.fill(valueAddresses, EMPTY);
+        threshold = (int) (capacity * LOAD_FACTOR);
+        size = 0;
+    }
+
+    private void resize(final int newCapacity) {
+        final int[] oldHashes = hashes;
+        final long[] oldKeyAddresses = keyAddresses;
+        final long[] oldValueAddresses = valueAddresses;
+        final int oldSize = size;
+
+        init(newCapacity);
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (EMPTY != oldKeyAddresses[i]) {
+                insertAddress(oldHashes[i], oldKeyAddresses[i], oldValueAddresses[i]);
+            }
+        }
+        size = oldSize;
+    }
+
+    private void insertAddress(final int hash, final long keyAddress, final long valueAddress) {
+        final int mask = hashes.length - 1;
+        int slot = hash & mask;
+        while (EMPTY != keyAddresses[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        hashes[slot] = hash;
+        keyAddresses[slot] = keyAddress;
+        valueAddresses[slot] = valueAddress;
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * A {@link java.util.Map} that holds both its keys and values serialised in
+ * an {@link OffHeapByteStore}. Keys are compared using their serialised form,
+ * so the key serialiser must be consistent. Keys and values are only
+ * deserialised when they are read.
+ * <p>
+ * Values returned from this map are copies - changes made to them will not be
+ * reflected in the map unless they are put back in to the map.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ * @param <K> the type of the map keys
+ * @param <V> the type of the map values
+ */
+public class OffHeapMap<K, V> extends AbstractMap<K, V> {
+    private final ToBytesSerialiser<K> keySerialiser;
+    private final ToBytesSerialiser<V> valueSerialiser;
+    private final OffHeapByteStore store;
+    private final OffHeapIndex index;
+
+    public OffHeapMap(final ToBytesSerialiser<K> keySerialiser, final ToBytesSerialiser<V> valueSerialiser) {
+        this(keySerialiser, valueSerialiser, new OffHeapByteStore());
+    }
+
+    public OffHeapMap(final ToBytesSerialiser<K> keySerialiser, final ToBytesSerialiser<V> valueSerialiser, final OffHeapByteStore store) {
+        if (null == keySerialiser || null == valueSerialiser) {
+            throw new IllegalArgumentException("Key and value serialisers are required");
+        }
+        this.keySerialiser = keySerialiser;
+        this.valueSerialiser = valueSerialiser;
+        this.store = store;
+        this.index = new OffHeapIndex(store);
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        final byte[] keyBytes = serialiseKey(key);
+        return -1 != index.find(keyBytes, OffHeapIndex.hash(keyBytes));
+    }
+
+    @Override
+    public V get(final Object key) {
+        final byte[] keyBytes = serialiseKey(key);
+        final int slot = index.find(keyBytes, OffHeapIndex.hash(keyBytes));
+        if (-1 == slot) {
+            return null;
+        }
+        return deserialiseValue(store.read(index.getValueAddress(slot)));
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        final byte[] keyBytes = serialiseKey(key);
+        final int hash = OffHeapIndex.hash(keyBytes);
+        final int slot = index.find(keyBytes, hash);
+        final byte[] valueBytes = serialiseValue(value);
+        if (-1 == slot) {
+            index.insert(keyBytes, hash, store.allocate(valueBytes));
+            return null;
+        }
+
+        final long valueAddress = index.getValueAddress(slot);
+        final V previous = deserialiseValue(store.read(valueAddress));
+        index.setValueAddress(slot, store.write(valueAddress, valueBytes));
+        return previous;
+    }
+
+    /**
+     * Merges the value with any existing value, using a single lookup of the
+     * key.
+     *
+     * @param key               the key
+     * @param value             the value to merge
+     * @param remappingFunction the function to merge an existing value with the new value
+     * @return the new value associated with the key
+     */
+    @Override
+    public V merge(final K key, final V value, final BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        final byte[] keyBytes = serialiseKey(key);
+        final int hash = OffHeapIndex.hash(keyBytes);
+        final int slot = index.find(keyBytes, hash);
+        if (-1 == slot) {
+            index.insert(keyBytes, hash, store.allocate(serialiseValue(value)));
+            return value;
+        }
+
+        final long valueAddress = index.getValueAddress(slot);
+        final V merged = remappingFunction.apply(deserialiseValue(store.read(valueAddress)), value);
+        if (null == merged) {
+            index.remove(slot);
+        } else {
+            index.setValueAddress(slot, store.write(valueAddress, serialiseValue(merged)));
+        }
+        return merged;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final byte[] keyBytes = serialiseKey(key);
+        final int slot = index.find(keyBytes, OffHeapIndex.hash(keyBytes));
+        if (-1 == slot) {
+            return null;
+        }
+
+        final V previous = deserialiseValue(store.read(index.getValueAddress(slot)));
+        index.remove(slot);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+        store.clear();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return index.size();
+            }
+        };
+    }
+
+    public long getAllocatedBytes() {
+        return store.getAllocatedBytes();
+    }
+
+    public long getWastedBytes() {
+        return store.getWastedBytes();
+    }
+
+    private byte[] serialiseKey(final Object key) {
+        try {
+            return keySerialiser.serialise((K) key);
+        } catch (final SerialisationException | ClassCastException e) {
+            throw new IllegalArgumentException("Unable to serialise key: " + key, e);
+        }
+    }
+
+    private byte[] serialiseValue(final V value) {
+        try {
+            return null == value ? valueSerialiser.serialiseNull() : valueSerialiser.serialise(value);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to serialise value: " + value, e);
+        }
+    }
+
+    private K deserialiseKey(final byte[] bytes) {
+        try {
+            return keySerialiser.deserialise(bytes);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to deserialise key", e);
+        }
+    }
+
+    private V deserialiseValue(final byte[] bytes) {
+        try {
+            return 0 == bytes.length ? valueSerialiser.deserialiseEmpty() : valueSerialiser.deserialise(bytes);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to deserialise value", e);
+        }
+    }
+
+    /**
+     * Iterates over the occupied slots of the index, deserialising each
+     * entry only when it is requested.
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        private int slot = -1;
+
+        EntryIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return slot < index.capacity();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final long keyAddress = index.getKeyAddress(slot);
+            final long valueAddress = index.getValueAddress(slot);
+            advance();
+            return new SimpleImmutableEntry<>(
+                    deserialiseKey(store.read(keyAddress)),
+                    deserialiseValue(store.read(valueAddress)));
+        }
+
+        private void advance() {
+            slot++;
+            while (slot < index.capacity() && !index.isOccupied(slot)) {
+                slot++;
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@link MultiMap} with set semantics that holds its keys and values
+ * serialised in an {@link OffHeapByteStore}.
+ * <p>
+ * Each distinct key/value pair is held once as a serialised entry. A second
+ * index maps each key to a growable record of entry addresses, so the values
+ * for a key are only deserialised as they are iterated.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ * @param <K> the type of the map keys
+ * @param <V> the type of the map values
+ */
+public class OffHeapMultiMap<K, V> implements MultiMap<K, V> {
+    private static final int ADDRESS_SIZE = 8;
+    private static final int INITIAL_ADDRESS_CAPACITY = 4 * ADDRESS_SIZE;
+
+    private final ToBytesSerialiser<K> keySerialiser;
+    private final ToBytesSerialiser<V> valueSerialiser;
+    private final OffHeapByteStore store;
+    private final OffHeapIndex keys;
+    private final OffHeapIndex entries;
+
+    public OffHeapMultiMap(final ToBytesSerialiser<K> keySerialiser, final ToBytesSerialiser<V> valueSerialiser) {
+        this(keySerialiser, valueSerialiser, new OffHeapByteStore());
+    }
+
+    public OffHeapMultiMap(final ToBytesSerialiser<K> keySerialiser, final ToBytesSerialiser<V> valueSerialiser, final OffHeapByteStore store) {
+        if (null == keySerialiser || null == valueSerialiser) {
+            throw new IllegalArgumentException("Key and value serialisers are required");
+        }
+        this.keySerialiser = keySerialiser;
+        this.valueSerialiser = valueSerialiser;
+        this.store = store;
+        this.keys = new OffHeapIndex(store);
+        this.entries = new OffHeapIndex(store);
+    }
+
+    @Override
+    public boolean put(final K key, final V value) {
+        final byte[] keyBytes = serialise(keySerialiser, key);
+        final byte[] entryBytes = createEntry(keyBytes, serialise(valueSerialiser, value));
+        final int entryHash = OffHeapIndex.hash(entryBytes);
+        if (-1 != entries.find(entryBytes, entryHash)) {
+            return false;
+        }
+
+        final byte[] entryAddress = ByteBuffer.allocate(ADDRESS_SIZE)
+                .putLong(entries.insert(entryBytes, entryHash, OffHeapIndex.EMPTY))
+                .array();
+
+        final int keyHash = OffHeapIndex.hash(keyBytes);
+        final int slot = keys.find(keyBytes, keyHash);
+        if (-1 == slot) {
+            keys.insert(keyBytes, keyHash, store.allocate(entryAddress, INITIAL_ADDRESS_CAPACITY));
+        } else {
+            keys.setValueAddress(slot, store.append(keys.getValueAddress(slot), entryAddress));
+        }
+        return true;
+    }
+
+    @Override
+    public void put(final K key, final Collection<V> values) {
+        for (final V value : values) {
+            put(key, value);
+        }
+    }
+
+    /**
+     * Get the values associated with a key. The returned collection is a
+     * snapshot of the values at the time of the call, each value is only
+     * deserialised when the collection is iterated.
+     *
+     * @param key the key to lookup
+     * @return a collection of the values, or null if the key is not present
+     */
+    @Override
+    public Collection<V> get(final K key) {
+        final byte[] keyBytes = serialise(keySerialiser, key);
+        final int slot = keys.find(keyBytes, OffHeapIndex.hash(keyBytes));
+        if (-1 == slot) {
+            return null;
+        }
+
+        final ByteBuffer entryAddresses = ByteBuffer.wrap(store.read(keys.getValueAddress(slot)));
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                final ByteBuffer addresses = entryAddresses.duplicate();
+                return new Iterator<V>() {
+                    @Override
+                    public boolean hasNext() {
+                        return addresses.hasRemaining();
+                    }
+
+                    @Override
+                    public V next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return readEntryValue(addresses.getLong());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return entryAddresses.limit() / ADDRESS_SIZE;
+            }
+        };
+    }
+
+    /**
+     * Get the keys in the map. The keys are deserialised as they are
+     * iterated.
+     *
+     * @return the set of keys
+     */
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new Iterator<K>() {
+                    private int slot = nextSlot(-1);
+
+                    @Override
+                    public boolean hasNext() {
+                        return slot < keys.capacity();
+                    }
+
+                    @Override
+                    public K next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        final long keyAddress = keys.getKeyAddress(slot);
+                        slot = nextSlot(slot);
+                        return deserialise(keySerialiser, store.read(keyAddress));
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(final Object key) {
+                final byte[] keyBytes = serialise(keySerialiser, (K) key);
+                return -1 != keys.find(keyBytes, OffHeapIndex.hash(keyBytes));
+            }
+
+            @Override
+            public int size() {
+                return keys.size();
+            }
+        };
+    }
+
+    @Override
+    public void clear() {
+        keys.clear();
+        entries.clear();
+        store.clear();
+    }
+
+    public long getAllocatedBytes() {
+        return store.getAllocatedBytes();
+    }
+
+    private int nextSlot(final int slot) {
+        int next = slot + 1;
+        while (next < keys.capacity() && !keys.isOccupied(next)) {
+            next++;
+        }
+        return next;
+    }
+
+    private V readEntryValue(final long entryAddress) {
+        final byte[] entryBytes = store.read(entryAddress);
+        try {
+            final int valueStart = LengthValueBytesSerialiserUtil.getNextDelimiter(entryBytes, 0);
+            final int valueLength = entryBytes.length - valueStart;
+            if (0 == valueLength) {
+                return valueSerialiser.deserialiseEmpty();
+            }
+            return valueSerialiser.deserialise(entryBytes, valueStart, valueLength);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to deserialise value", e);
+        }
+    }
+
+    private static byte[] createEntry(final byte[] keyBytes, final byte[] valueBytes) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(keyBytes.length + valueBytes.length + 5);
+        try {
+            LengthValueBytesSerialiserUtil.serialise(keyBytes, out);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to serialise entry", e);
+        }
+        out.write(valueBytes, 0, valueBytes.length);
+        return out.toByteArray();
+    }
+
+    private static <T> byte[] serialise(final ToBytesSerialiser<T> serialiser, final T object) {
+        try {
+            return null == object ? serialiser.serialiseNull() : serialiser.serialise(object);
+        } catch (final SerialisationException | ClassCastException e) {
+            throw new IllegalArgumentException("Unable to serialise: " + object, e);
+        }
+    }
+
+    private static <T> T deserialise(final ToBytesSerialiser<T> serialiser, final byte[] bytes) {
+        try {
+            return 0 == bytes.length ? serialiser.deserialiseEmpty() : serialiser.deserialise(bytes);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to deserialise", e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.ConcurrentMapOfSets;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class ConcurrentMapFactoryTest {
+
+    @Test
+    public void shouldCreateConcurrentMaps() {
+        // Given
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory();
+        factory.initialise(mock(Schema.class), new MapStoreProperties());
+
+        // When
+        final Map<Element, Long> map1 = factory.getMap("mapName1", Element.class, Long.class);
+        final Map<Element, Long> map2 = factory.getMap("mapName2", Element.class, Long.class);
+        final MultiMap<String, Element> multiMap = factory.getMultiMap("mapName3", String.class, Element.class);
+
+        // Then
+        assertTrue(map1 instanceof ConcurrentHashMap);
+        assertNotSame(map1, map2);
+        assertSame(map1, factory.getMap("mapName1", Element.class, Long.class));
+        assertTrue(multiMap instanceof ConcurrentMapOfSets);
+        assertSame(multiMap, factory.getMultiMap("mapName3", String.class, Element.class));
+    }
+
+    @Test
+    public void shouldBeThreadSafe() {
+        // Given
+        final MapFactory concurrentFactory = new ConcurrentMapFactory();
+        final MapFactory simpleFactory = new SimpleMapFactory();
+
+        // When / Then
+        assertTrue(concurrentFactory.isThreadSafe());
+        assertFalse(simpleFactory.isThreadSafe());
+    }
+
+    @Test
+    public void shouldDefaultToConcurrentMapFactoryWhenConcurrent() {
+        // Given
+        final MapStoreProperties properties = new MapStoreProperties();
+
+        // When
+        properties.setConcurrent(true);
+
+        // Then
+        assertEquals(ConcurrentMapFactory.class.getName(), properties.getMapFactory());
+    }
+
+    @Test
+    public void shouldCloneElementUsingCloner() {
+        // Given
+        final ElementCloner cloner = mock(ElementCloner.class);
+        final Element element = mock(Element.class);
+        final Element expectedClonedElement = mock(Element.class);
+        final Schema schema = mock(Schema.class);
+        given(cloner.cloneElement(element, schema)).willReturn(expectedClonedElement);
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory(cloner);
+
+        // When
+        final Element clonedElement = factory.cloneElement(element, schema);
+
+        // Then
+        assertSame(expectedClonedElement, clonedElement);
+    }
+}
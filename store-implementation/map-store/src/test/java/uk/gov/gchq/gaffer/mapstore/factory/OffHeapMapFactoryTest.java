@@ -0,0 +1,246 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.offheap.OffHeapMap;
+import uk.gov.gchq.gaffer.mapstore.offheap.OffHeapMultiMap;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OffHeapMapFactoryTest {
+
+    @Test
+    public void shouldCreateOffHeapMaps() {
+        // Given
+        final OffHeapMapFactory factory = createFactory();
+
+        // When
+        final Map<Element, GroupedProperties> map1 = factory.getMap("mapName1", Element.class, GroupedProperties.class);
+        final Map<Element, Long> map2 = factory.getMap("mapName2", Element.class, Long.class);
+
+        // Then
+        assertTrue(map1 instanceof OffHeapMap);
+        assertTrue(map2 instanceof OffHeapMap);
+        assertTrue(map1.isEmpty());
+        assertNotSame(map1, map2);
+        assertSame(map1, factory.getMap("mapName1", Element.class, GroupedProperties.class));
+    }
+
+    @Test
+    public void shouldCreateOffHeapMultiMaps() {
+        // Given
+        final OffHeapMapFactory factory = createFactory();
+
+        // When
+        final MultiMap<EntityId, Element> map1 = factory.getMultiMap("mapName1", EntityId.class, Element.class);
+        final MultiMap<EdgeId, Element> map2 = factory.getMultiMap("mapName2", EdgeId.class, Element.class);
+
+        // Then
+        assertTrue(map1 instanceof OffHeapMultiMap);
+        assertTrue(map2 instanceof OffHeapMultiMap);
+        assertNotSame(map1, map2);
+    }
+
+    @Test
+    public void shouldAggregateGroupedPropertiesInMap() {
+        // Given
+        final OffHeapMapFactory factory = createFactory();
+        final Map<Element, GroupedProperties> map = factory.getMap("aggElements", Element.class, GroupedProperties.class);
+        final Entity key = new Entity(TestGroups.ENTITY, "vertex1");
+        final GroupedProperties properties = new GroupedProperties(TestGroups.ENTITY);
+        properties.put(TestPropertyNames.COUNT, 1L);
+
+        // When
+        map.merge(key, properties, (a, b) -> {
+            a.put(TestPropertyNames.COUNT, (Long) a.get(TestPropertyNames.COUNT) + (Long) b.get(TestPropertyNames.COUNT));
+            return a;
+        });
+        map.merge(new Entity(TestGroups.ENTITY, "vertex1"), properties, (a, b) -> {
+            a.put(TestPropertyNames.COUNT, (Long) a.get(TestPropertyNames.COUNT) + (Long) b.get(TestPropertyNames.COUNT));
+            return a;
+        });
+
+        // Then
+        assertEquals(1, map.size());
+        assertEquals(2L, map.get(key).get(TestPropertyNames.COUNT));
+        assertEquals(key, map.keySet().iterator().next());
+    }
+
+    @Test
+    public void shouldKeepMatchedVertexOfEdgesInMultiMap() {
+        // Given
+        final OffHeapMapFactory factory = createFactory();
+        final MultiMap<EntityId, Element> map = factory.getMultiMap("entityIdToElements", EntityId.class, Element.class);
+        final Edge edge = new Edge(TestGroups.EDGE, "A", "B", true, EdgeId.MatchedVertex.DESTINATION, null);
+        final Entity entity = new Entity(TestGroups.ENTITY, "B");
+
+        // When
+        map.put(new EntitySeed("B"), edge);
+        map.put(new EntitySeed("B"), edge);
+        map.put(new EntitySeed("B"), entity);
+
+        // Then
+        final HashSet<Element> results = new HashSet<>(map.get(new EntitySeed("B")));
+        assertEquals(Sets.newHashSet(edge, entity), results);
+        for (final Element result : results) {
+            if (result instanceof Edge) {
+                assertEquals(EdgeId.MatchedVertex.DESTINATION, ((Edge) result).getMatchedVertex());
+            }
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfGroupByPropertySerialiserIsInconsistent() {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .merge(createSchema())
+                .type("inconsistent", new TypeDefinition.Builder()
+                        .clazz(HashSet.class)
+                        .serialiser(new InconsistentSerialiser())
+                        .build())
+                .entity(TestGroups.ENTITY_2, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.SET, "inconsistent")
+                        .groupBy(TestPropertyNames.SET)
+                        .build())
+                .build();
+        final OffHeapMapFactory factory = new OffHeapMapFactory();
+
+        // When / Then
+        try {
+            factory.initialise(schema, new MapStoreProperties());
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfSlabSizeIsInvalid() {
+        // Given
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.set(OffHeapMapFactory.SLAB_SIZE, "not a number");
+        final OffHeapMapFactory factory = new OffHeapMapFactory();
+
+        // When / Then
+        try {
+            factory.initialise(createSchema(), properties);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldExtractSlabSizeFromPropertiesWhenInitialised() {
+        // Given
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.set(OffHeapMapFactory.SLAB_SIZE, "1024");
+        final OffHeapMapFactory factory = new OffHeapMapFactory();
+
+        // When
+        factory.initialise(createSchema(), properties);
+
+        // Then
+        assertEquals(1024, factory.getSlabSize());
+    }
+
+    @Test
+    public void shouldShallowCloneElement() {
+        // Given
+        final OffHeapMapFactory factory = createFactory();
+        final Entity entity = new Entity(TestGroups.ENTITY, "vertex1");
+        entity.putProperty(TestPropertyNames.COUNT, 1L);
+
+        // When
+        final Element clone = factory.cloneElement(entity, createSchema());
+
+        // Then
+        assertEquals(entity, clone);
+        assertNotSame(entity, clone);
+    }
+
+    private static OffHeapMapFactory createFactory() {
+        final OffHeapMapFactory factory = new OffHeapMapFactory();
+        factory.initialise(createSchema(), new MapStoreProperties());
+        return factory;
+    }
+
+    private static Schema createSchema() {
+        return new Schema.Builder()
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type("long", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .aggregateFunction(new Sum())
+                        .serialiser(new CompactRawLongSerialiser())
+                        .build())
+                .type("true", Boolean.class)
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.COUNT, "long")
+                        .build())
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .directed("true")
+                        .property(TestPropertyNames.COUNT, "long")
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+    }
+
+    private static class InconsistentSerialiser extends JavaSerialiser {
+        private static final long serialVersionUID = 5797069374420367049L;
+
+        @Override
+        public boolean isConsistent() {
+            return false;
+        }
+    }
+}
@@ -17,18 +17,33 @@ package uk.gov.gchq.gaffer.mapstore.impl;
 
 import org.junit.Test;
 
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.SingleUseMapStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.serialisation.FreqMapSerialiser;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.types.FreqMap;
+import uk.gov.gchq.gaffer.types.function.FreqMapAggregator;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -47,4 +62,97 @@ public class AddElementsHandlerTest {
         // When / Then - should not throw NPE
         handler.doOperation(addElements, context, store);
     }
+
+    @Test
+    public void shouldAggregateElementsAddedConcurrently() throws OperationException, StoreException {
+        // Given
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setConcurrent(true);
+        properties.setIngestBufferSize(10);
+        final MapStore store = new SingleUseMapStore();
+        store.initialise("graphId1", new Schema.Builder()
+                .type("string", String.class)
+                .type("count", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .aggregateFunction(new Sum())
+                        .build())
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.COUNT, "count")
+                        .build())
+                .build(), properties);
+        final AddElementsHandler handler = new AddElementsHandler();
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + (i % 10))
+                    .property(TestPropertyNames.COUNT, 1L)
+                    .build());
+        }
+
+        // When
+        IntStream.range(0, 4).parallel().forEach(i -> {
+            try {
+                handler.doOperation(new AddElements.Builder().input(elements).build(), new Context(), store);
+            } catch (final OperationException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        // Then
+        final MapImpl mapImpl = store.getMapImpl();
+        assertEquals(10, mapImpl.countAggElements());
+        for (int i = 0; i < 10; i++) {
+            final Element element = mapImpl.lookup(new EntitySeed("vertex" + i)).iterator().next();
+            assertEquals(400L, mapImpl.getAggElement(element).getProperty(TestPropertyNames.COUNT));
+        }
+    }
+
+    @Test
+    public void shouldNotModifyStoredPropertiesWhenAggregatingConcurrently() throws OperationException, StoreException {
+        // Given
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setConcurrent(true);
+        final MapStore store = new SingleUseMapStore();
+        store.initialise("graphId1", new Schema.Builder()
+                .type("string", String.class)
+                .type("freqMap", new TypeDefinition.Builder()
+                        .clazz(FreqMap.class)
+                        .aggregateFunction(new FreqMapAggregator())
+                        .serialiser(new FreqMapSerialiser())
+                        .build())
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.PROP_1, "freqMap")
+                        .build())
+                .build(), properties);
+        final AddElementsHandler handler = new AddElementsHandler();
+        handler.doOperation(new AddElements.Builder().input(createFreqMapEntity("a")).build(), new Context(), store);
+        final MapImpl mapImpl = store.getMapImpl();
+        final Element element = mapImpl.lookup(new EntitySeed("vertex")).iterator().next();
+        final FreqMap storedFreqMap = (FreqMap) mapImpl.getAggElement(element).getProperty(TestPropertyNames.PROP_1);
+
+        // When
+        handler.doOperation(new AddElements.Builder().input(createFreqMapEntity("a"), createFreqMapEntity("b")).build(), new Context(), store);
+
+        // Then
+        final FreqMap expectedStoredFreqMap = new FreqMap();
+        expectedStoredFreqMap.upsert("a");
+        assertEquals(expectedStoredFreqMap, storedFreqMap);
+        final FreqMap expectedFreqMap = new FreqMap();
+        expectedFreqMap.upsert("a", 2L);
+        expectedFreqMap.upsert("b");
+        assertEquals(expectedFreqMap, mapImpl.getAggElement(element).getProperty(TestPropertyNames.PROP_1));
+    }
+
+    private static Entity createFreqMapEntity(final String key) {
+        final FreqMap freqMap = new FreqMap();
+        freqMap.upsert(key);
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex")
+                .property(TestPropertyNames.PROP_1, freqMap)
+                .build();
+    }
 }
@@ -391,6 +391,18 @@ public class GetAllElementsHandlerTest {
                 .build();
     }
 
+    static Graph getGraphWithAdjacencyIndex() {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setAdjacencyIndex(true);
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphWithAdjacencyIndex")
+                        .build())
+                .addSchema(getSchema())
+                .storeProperties(storeProperties)
+                .build();
+    }
+
     static Schema getSchemaNoAggregation() {
         return Schema.fromJson(StreamUtil.openStreams(GetAllElementsHandlerTest.class, "schema-no-aggregation"));
     }
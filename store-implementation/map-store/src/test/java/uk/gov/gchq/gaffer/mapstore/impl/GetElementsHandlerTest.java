@@ -842,8 +842,16 @@ public class GetElementsHandlerTest {
 
     @Test
     public void testGetElementsDirectedTypeOption() throws OperationException {
+        testGetElementsDirectedTypeOption(GetAllElementsHandlerTest.getGraph());
+    }
+
+    @Test
+    public void testGetElementsDirectedTypeOptionWithAdjacencyIndex() throws OperationException {
+        testGetElementsDirectedTypeOption(GetAllElementsHandlerTest.getGraphWithAdjacencyIndex());
+    }
+
+    private void testGetElementsDirectedTypeOption(final Graph graph) throws OperationException {
         // Given
-        final Graph graph = GetAllElementsHandlerTest.getGraph();
         final AddElements addElements = new AddElements.Builder()
                 .input(getElements())
                 .build();
@@ -954,8 +962,16 @@ public class GetElementsHandlerTest {
 
     @Test
     public void testGetElementsInOutTypeOption() throws OperationException {
+        testGetElementsInOutTypeOption(GetAllElementsHandlerTest.getGraph());
+    }
+
+    @Test
+    public void testGetElementsInOutTypeOptionWithAdjacencyIndex() throws OperationException {
+        testGetElementsInOutTypeOption(GetAllElementsHandlerTest.getGraphWithAdjacencyIndex());
+    }
+
+    private void testGetElementsInOutTypeOption(final Graph graph) throws OperationException {
         // Given
-        final Graph graph = GetAllElementsHandlerTest.getGraph();
         final AddElements addElements = new AddElements.Builder()
                 .input(getElements())
                 .build();
@@ -1047,8 +1063,16 @@ public class GetElementsHandlerTest {
 
     @Test
     public void testGetElementsSeedMatchingTypeOption() throws OperationException {
+        testGetElementsSeedMatchingTypeOption(GetAllElementsHandlerTest.getGraph());
+    }
+
+    @Test
+    public void testGetElementsSeedMatchingTypeOptionWithAdjacencyIndex() throws OperationException {
+        testGetElementsSeedMatchingTypeOption(GetAllElementsHandlerTest.getGraphWithAdjacencyIndex());
+    }
+
+    private void testGetElementsSeedMatchingTypeOption(final Graph graph) throws OperationException {
         // Given
-        final Graph graph = GetAllElementsHandlerTest.getGraph();
         final AddElements addElements = new AddElements.Builder()
                 .input(getElements())
                 .build();
@@ -33,6 +33,8 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.util.Map;
 
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -103,6 +105,25 @@ public class MapImplTest {
         verify(mockMapFactory, never()).getMultiMap(MapImpl.EDGE_ID_TO_ELEMENTS, EdgeId.class, Element.class);
     }
 
+    @Test
+    public void shouldThrowExceptionIfConcurrentAndMapFactoryIsNotThreadSafe() throws StoreException {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final MapStoreProperties properties = mock(MapStoreProperties.class);
+
+        given(schema.getGroups()).willReturn(Sets.newHashSet(TestGroups.EDGE));
+        given(properties.getMapFactory()).willReturn(TestMapFactory.class.getName());
+        given(properties.isConcurrent()).willReturn(true);
+
+        // When / Then
+        try {
+            new MapImpl(schema, properties);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
     public static final class TestMapFactory implements MapFactory {
 
         @Override
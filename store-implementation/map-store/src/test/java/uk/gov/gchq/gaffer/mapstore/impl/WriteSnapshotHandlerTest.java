@@ -0,0 +1,245 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import com.google.common.collect.Lists;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.operation.WriteSnapshot;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.getElements;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.streamToCount;
+
+public class WriteSnapshotHandlerTest {
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    @Test
+    public void shouldLoadElementsFromSnapshot() throws Exception {
+        // Given
+        final MapStoreProperties properties = getProperties(false);
+        final Graph graph = getGraph(properties);
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+        graph.execute(new WriteSnapshot(), new User());
+
+        // When
+        final Graph restartedGraph = getGraph(properties);
+
+        // Then
+        assertEquals(getAllElements(graph), getAllElements(restartedGraph));
+        assertEquals(getElementsForSeed(graph, "A"), getElementsForSeed(restartedGraph, "A"));
+        assertEquals(10, getElementsForSeed(restartedGraph, "A").size());
+    }
+
+    @Test
+    public void shouldAggregateElementsAddedAfterSnapshotIsLoaded() throws Exception {
+        // Given
+        final MapStoreProperties properties = getProperties(false);
+        final Graph graph = getGraph(properties);
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+        graph.execute(new WriteSnapshot(), new User());
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+
+        // When
+        final Graph restartedGraph = getGraph(properties);
+        restartedGraph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+
+        // Then
+        assertEquals(getAllElements(graph), getAllElements(restartedGraph));
+    }
+
+    @Test
+    public void shouldNotLoadElementsAddedAfterSnapshotWithoutAppendLog() throws Exception {
+        // Given
+        final MapStoreProperties properties = getProperties(false);
+        final Graph graph = getGraph(properties);
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+        graph.execute(new WriteSnapshot(), new User());
+        final Map<Element, Integer> snapshotElements = getAllElements(graph);
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+
+        // When
+        final Graph restartedGraph = getGraph(properties);
+
+        // Then
+        assertEquals(snapshotElements, getAllElements(restartedGraph));
+    }
+
+    @Test
+    public void shouldReplayAppendLog() throws Exception {
+        // Given
+        final MapStoreProperties properties = getProperties(true);
+        final Graph graph = getGraph(properties);
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+        graph.execute(new WriteSnapshot(), new User());
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+
+        // When
+        final Graph restartedGraph = getGraph(properties);
+
+        // Then
+        assertEquals(getAllElements(graph), getAllElements(restartedGraph));
+    }
+
+    @Test
+    public void shouldReplayAppendLogWithoutSnapshot() throws Exception {
+        // Given
+        final MapStoreProperties properties = getProperties(true);
+        final Graph graph = getGraph(properties);
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+
+        // When
+        final Graph restartedGraph = getGraph(properties);
+
+        // Then
+        assertEquals(getAllElements(graph), getAllElements(restartedGraph));
+    }
+
+    @Test
+    public void shouldIgnoreIncompleteElementAtEndOfAppendLog() throws Exception {
+        // Given
+        final MapStoreProperties properties = getProperties(true);
+        final Graph graph = getGraph(properties);
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+        final Map<Element, Integer> expected = getAllElements(graph);
+        try (final RandomAccessFile log = new RandomAccessFile(getAppendLog(), "rw")) {
+            log.seek(log.length());
+            log.writeInt(100);
+            log.writeByte(1);
+        }
+
+        // When
+        final Graph restartedGraph = getGraph(properties);
+        final Graph restartedGraph2 = getGraph(properties);
+
+        // Then
+        assertEquals(expected, getAllElements(restartedGraph));
+        assertEquals(expected, getAllElements(restartedGraph2));
+    }
+
+    @Test
+    public void shouldNotReplayAppendLogFromBeforeSnapshot() throws Exception {
+        // Given
+        final MapStoreProperties properties = getProperties(true);
+        final Graph graph = getGraph(properties);
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+        final byte[] oldLog = Files.readAllBytes(getAppendLog().toPath());
+        graph.execute(new WriteSnapshot(), new User());
+
+        // When
+        Files.write(getAppendLog().toPath(), oldLog);
+        final Graph restartedGraph = getGraph(properties);
+
+        // Then
+        assertEquals(getAllElements(graph), getAllElements(restartedGraph));
+    }
+
+    @Test
+    public void shouldThrowExceptionIfSnapshotDirIsNotSet() throws Exception {
+        // Given
+        final Graph graph = GetAllElementsHandlerTest.getGraph();
+
+        // When / Then
+        try {
+            graph.execute(new WriteSnapshot(), new User());
+            fail("Exception expected");
+        } catch (final UnsupportedOperationException e) {
+            assertTrue(e.getMessage().contains(WriteSnapshot.class.getName()));
+        }
+    }
+
+    private MapStoreProperties getProperties(final boolean appendLog) throws IOException {
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setSnapshotDir(testFolder.getRoot().getAbsolutePath() + "/snapshot");
+        properties.setSnapshotAppendLog(appendLog);
+        return properties;
+    }
+
+    private File getAppendLog() {
+        return new File(testFolder.getRoot(), "snapshot/" + MapSnapshot.APPEND_LOG_FILE);
+    }
+
+    private static Graph getGraph(final MapStoreProperties properties) {
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphWithSnapshot")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(properties)
+                .build();
+    }
+
+    private static Map<Element, Integer> getAllElements(final Graph graph) throws OperationException {
+        final List<Element> elements = Lists.newArrayList(graph.execute(new GetAllElements(), new User()));
+        return streamToCount(elements.stream());
+    }
+
+    private static Set<Element> getElementsForSeed(final Graph graph, final String seed) throws OperationException {
+        return new HashSet<>(Lists.newArrayList(graph.execute(new GetElements.Builder()
+                .input(new EntitySeed(seed))
+                .build(), new User())));
+    }
+}
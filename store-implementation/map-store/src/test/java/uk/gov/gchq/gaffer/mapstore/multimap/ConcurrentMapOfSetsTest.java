@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentMapOfSetsTest {
+
+    @Test
+    public void shouldPutValuesInConcurrentSets() {
+        // Given
+        final ConcurrentMapOfSets<String, String> mapOfSets = new ConcurrentMapOfSets<>();
+
+        // When
+        final boolean put1 = mapOfSets.put("key1", "value1");
+        final boolean put2 = mapOfSets.put("key1", "value1");
+        mapOfSets.put("key1", Arrays.asList("value2", "value3"));
+
+        // Then
+        assertTrue(put1);
+        assertFalse(put2);
+        assertEquals(Sets.newHashSet("value1", "value2", "value3"), mapOfSets.get("key1"));
+    }
+
+    @Test
+    public void shouldCopyCollectionWhenPuttingValues() {
+        // Given
+        final ConcurrentMapOfSets<String, String> mapOfSets = new ConcurrentMapOfSets<>();
+        final Set<String> values = Sets.newHashSet("value1");
+
+        // When
+        mapOfSets.put("key1", values);
+        mapOfSets.put("key1", "value2");
+
+        // Then
+        assertNotSame(values, mapOfSets.get("key1"));
+        assertEquals(Sets.newHashSet("value1"), values);
+        assertEquals(Sets.newHashSet("value1", "value2"), mapOfSets.get("key1"));
+    }
+
+    @Test
+    public void shouldPutValuesFromMultipleThreads() {
+        // Given
+        final ConcurrentMapOfSets<String, Integer> mapOfSets = new ConcurrentMapOfSets<>();
+        final Set<Integer> expected = new HashSet<>();
+        IntStream.range(0, 10000).forEach(expected::add);
+
+        // When
+        IntStream.range(0, 10000).parallel().forEach(i -> mapOfSets.put("key" + (i % 10), i));
+
+        // Then
+        final Set<Integer> results = new HashSet<>();
+        for (final String key : mapOfSets.keySet()) {
+            assertEquals(1000, mapOfSets.get(key).size());
+            results.addAll(mapOfSets.get(key));
+        }
+        assertEquals(expected, results);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapMapTest {
+
+    @Test
+    public void shouldPutAndGetValues() {
+        // Given
+        final OffHeapMap<String, Long> map = createMap(1024);
+
+        // When
+        final Long previous1 = map.put("key1", 1L);
+        final Long previous2 = map.put("key1", 2L);
+        map.put("key2", 3L);
+
+        // Then
+        assertNull(previous1);
+        assertEquals(Long.valueOf(1L), previous2);
+        assertEquals(2, map.size());
+        assertEquals(Long.valueOf(2L), map.get("key1"));
+        assertEquals(Long.valueOf(3L), map.get("key2"));
+        assertNull(map.get("key3"));
+        assertTrue(map.containsKey("key1"));
+        assertFalse(map.containsKey("key3"));
+    }
+
+    @Test
+    public void shouldGrowAndSpanMultipleSlabs() {
+        // Given
+        final OffHeapMap<String, Long> map = createMap(64);
+        final Map<String, Long> expected = new HashMap<>();
+
+        // When
+        for (long i = 0; i < 10000; i++) {
+            map.put("key" + i, i);
+            expected.put("key" + i, i);
+        }
+
+        // Then
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, new HashMap<>(map));
+    }
+
+    @Test
+    public void shouldMergeValues() {
+        // Given
+        final OffHeapMap<String, Long> map = createMap(1024);
+
+        // When
+        map.merge("key1", 1L, Long::sum);
+        map.merge("key1", Long.MAX_VALUE - 1, Long::sum);
+        map.merge("key2", 5L, Long::sum);
+        map.merge("key2", 5L, (a, b) -> null);
+
+        // Then
+        assertEquals(1, map.size());
+        assertEquals(Long.valueOf(Long.MAX_VALUE), map.get("key1"));
+        assertFalse(map.containsKey("key2"));
+    }
+
+    @Test
+    public void shouldRemoveValuesAndKeepOtherKeysReachable() {
+        // Given
+        final OffHeapMap<String, Long> map = createMap(1024);
+        for (long i = 0; i < 1000; i++) {
+            map.put("key" + i, i);
+        }
+
+        // When
+        for (long i = 0; i < 1000; i += 2) {
+            assertEquals(Long.valueOf(i), map.remove("key" + i));
+        }
+
+        // Then
+        assertEquals(500, map.size());
+        for (long i = 0; i < 1000; i++) {
+            if (0 == i % 2) {
+                assertNull(map.get("key" + i));
+            } else {
+                assertEquals(Long.valueOf(i), map.get("key" + i));
+            }
+        }
+    }
+
+    @Test
+    public void shouldClearMap() {
+        // Given
+        final OffHeapMap<String, Long> map = createMap(1024);
+        map.put("key1", 1L);
+
+        // When
+        map.clear();
+
+        // Then
+        assertTrue(map.isEmpty());
+        assertNull(map.get("key1"));
+        assertEquals(0, map.getAllocatedBytes());
+    }
+
+    private static OffHeapMap<String, Long> createMap(final int slabSize) {
+        return new OffHeapMap<>(new StringSerialiser(), new CompactRawLongSerialiser(), new OffHeapByteStore(slabSize));
+    }
+}
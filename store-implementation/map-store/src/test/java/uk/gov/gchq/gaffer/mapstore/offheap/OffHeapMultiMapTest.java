@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapMultiMapTest {
+
+    @Test
+    public void shouldPutDistinctValues() {
+        // Given
+        final OffHeapMultiMap<String, String> map = createMap();
+
+        // When
+        final boolean put1 = map.put("key1", "value1");
+        final boolean put2 = map.put("key1", "value1");
+        final boolean put3 = map.put("key1", "value2");
+        map.put("key2", Arrays.asList("value1", "value3"));
+
+        // Then
+        assertTrue(put1);
+        assertFalse(put2);
+        assertTrue(put3);
+        assertEquals(Sets.newHashSet("value1", "value2"), new HashSet<>(map.get("key1")));
+        assertEquals(2, map.get("key1").size());
+        assertEquals(Sets.newHashSet("value1", "value3"), new HashSet<>(map.get("key2")));
+        assertNull(map.get("key3"));
+        assertEquals(Sets.newHashSet("key1", "key2"), new HashSet<>(map.keySet()));
+    }
+
+    @Test
+    public void shouldGrowValuesForAKey() {
+        // Given
+        final OffHeapMultiMap<String, String> map = createMap();
+        final Set<String> expected = new HashSet<>();
+
+        // When
+        for (int i = 0; i < 10000; i++) {
+            map.put("key1", "value" + i);
+            expected.add("value" + i);
+        }
+
+        // Then
+        assertEquals(expected, new HashSet<>(map.get("key1")));
+    }
+
+    @Test
+    public void shouldPutAllFromAnotherMultiMap() {
+        // Given
+        final OffHeapMultiMap<String, String> map1 = createMap();
+        final OffHeapMultiMap<String, String> map2 = createMap();
+        map2.put("key1", "value1");
+        map2.put("key2", "value2");
+
+        // When
+        map1.putAll(map2);
+
+        // Then
+        assertEquals(Sets.newHashSet("value1"), new HashSet<>(map1.get("key1")));
+        assertEquals(Sets.newHashSet("value2"), new HashSet<>(map1.get("key2")));
+    }
+
+    @Test
+    public void shouldClearMap() {
+        // Given
+        final OffHeapMultiMap<String, String> map = createMap();
+        map.put("key1", "value1");
+
+        // When
+        map.clear();
+
+        // Then
+        assertNull(map.get("key1"));
+        assertTrue(map.keySet().isEmpty());
+        assertTrue(map.put("key1", "value1"));
+    }
+
+    private static OffHeapMultiMap<String, String> createMap() {
+        return new OffHeapMultiMap<>(new StringSerialiser(), new StringSerialiser(), new OffHeapByteStore(1024));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019. Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * A {@code Delta} is a set of sorted and aggregated Parquet files written by a single
+ * {@link uk.gov.gchq.gaffer.operation.impl.add.AddElements} operation, which have not yet been compacted into a
+ * snapshot. There is at most one file for each group and partition, with the same layout as in a snapshot directory.
+ */
+public class Delta {
+    private final long id;
+    private final Set<String> files;
+    private final long size;
+
+    /**
+     * @param id    the delta id, which is greater than the id of the snapshot the delta applies to
+     * @param files the files in the delta, relative to the delta directory
+     * @param size  the total size of the files in bytes
+     */
+    public Delta(final long id, final Set<String> files, final long size) {
+        this.id = id;
+        this.files = Collections.unmodifiableSet(files);
+        this.size = size;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Set<String> getFiles() {
+        return files;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("id", id)
+                .append("files", files)
+                .append("size", size)
+                .toString();
+    }
+}
@@ -16,20 +16,27 @@
 
 package uk.gov.gchq.gaffer.parquetstore;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocatedFileStatus;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
+import org.apache.spark.sql.SparkSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.AddElementsHandler;
@@ -40,6 +47,7 @@ import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.GetDataFrameOfEle
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.ImportJavaRDDOfElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.ImportRDDOfElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculatePartitioner;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CompactDeltas;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GroupPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.Partition;
@@ -61,8 +69,10 @@ import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.TreeSetStringParquetSe
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.TypeSubTypeValueParquetSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.TypeValueParquetSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.VertexBloomFilter;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+import uk.gov.gchq.gaffer.spark.SparkContextUtil;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.GetDataFrameOfElements;
 import uk.gov.gchq.gaffer.spark.operation.javardd.ImportJavaRDDOfElements;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.ImportRDDOfElements;
@@ -82,9 +92,19 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
@@ -106,10 +126,18 @@ public class ParquetStore extends Store {
     public static final String DESTINATION = IdentifierType.DESTINATION.name();
     public static final String DIRECTED = IdentifierType.DIRECTED.name();
     public static final String SNAPSHOT = "snapshot";
+    public static final String DELTAS = "deltas";
+    public static final String DELTA = "delta";
     public static final String REVERSED_EDGES = "reversedEdges";
     public static final String PARTITION = "partition";
     public static final int LENGTH_OF_PARTITION_NUMBER_IN_FILENAME = 7;
 
+    /**
+     * Operation option to return the results of a get elements operation in
+     * file order, rather than in the order the files are read.
+     */
+    public static final String OPTION_ORDERED = "gaffer.parquetstore.operation.ordered";
+
     @SuppressFBWarnings("MS_MUTABLE_ARRAY")
     public static final Serialiser[] SERIALISERS = new Serialiser[]{
             new StringParquetSerialiser(),
@@ -142,9 +170,14 @@ public class ParquetStore extends Store {
             ));
 
     private GraphPartitioner graphPartitioner;
-    private long currentSnapshot;
+    private volatile long currentSnapshot;
     private SchemaUtils schemaUtils;
     private FileSystem fs;
+    private ExecutorService retrieverExecutor;
+    private ScheduledExecutorService compactionExecutor;
+    private final NavigableMap<Long, Delta> deltas = new ConcurrentSkipListMap<>();
+    private final ReentrantReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private Cache<Path, CachedBloomFilter> bloomFilters;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -162,11 +195,17 @@ public class ParquetStore extends Store {
         }
         LOGGER.info("Initialising ParquetStore for graph id {}", graphId);
         super.initialise(graphId, schema, parquetStoreProperties);
+        bloomFilters = CacheBuilder.newBuilder()
+                .maximumWeight(parquetStoreProperties.getBloomFilterCacheSize())
+                .weigher((final Path file, final CachedBloomFilter cached) -> cached.weight)
+                .build();
         try {
             fs = FileSystem.get(new Configuration());
             schemaUtils = new SchemaUtils(getSchema());
             initialise();
             loadGraphPartitioner();
+            loadDeltas();
+            startCompactionExecutor();
         } catch (final IOException e) {
             throw new StoreException("Could not connect to the file system", e);
         }
@@ -247,20 +286,27 @@ public class ParquetStore extends Store {
         final String dataDir = getDataDir();
         try {
             if (fs.exists(new Path(dataDir))) {
-                this.currentSnapshot = getLatestSnapshot(dataDir);
-                LOGGER.info("Setting currentSnapshot to {}", this.currentSnapshot);
-                final Path path = getGraphPartitionerPath();
+                final long latestSnapshot = getLatestSnapshot(dataDir);
+                final Path path = new Path(dataDir + "/" + getSnapshotPath(latestSnapshot), "graphPartitioner");
                 if (!fs.exists(path)) {
                     LOGGER.info("Graph partitioner does not exist in {} so creating it", path);
                     final GraphPartitioner partitioner =
-                            new CalculatePartitioner(new Path(dataDir + "/" + getSnapshotPath(this.currentSnapshot)), getSchema(), fs).call();
+                            new CalculatePartitioner(new Path(dataDir + "/" + getSnapshotPath(latestSnapshot)), getSchema(), fs).call();
                     LOGGER.info("Writing graph partitioner to {}", path);
                     final FSDataOutputStream stream = fs.create(path);
                     new GraphPartitionerSerialiser().write(partitioner, stream);
                     stream.close();
                 }
                 LOGGER.info("Loading graph partitioner from path {}", path);
-                loadGraphPartitioner(path);
+                final FSDataInputStream stream = fs.open(path);
+                final GraphPartitioner partitioner = new GraphPartitionerSerialiser().read(stream);
+                stream.close();
+                // The snapshot and partitioner are changed together so that a SnapshotView always sees a matching pair
+                synchronized (deltas) {
+                    this.currentSnapshot = latestSnapshot;
+                    this.graphPartitioner = partitioner;
+                }
+                LOGGER.info("Setting currentSnapshot to {}", latestSnapshot);
             } else {
                 throw new StoreException("Data directory " + dataDir + " does not exist - store is in an inconsistent state");
             }
@@ -269,20 +315,234 @@ public class ParquetStore extends Store {
         }
     }
 
-    private void loadGraphPartitioner(final Path graphPartitionerPath) throws IOException {
-        final FSDataInputStream stream = fs.open(graphPartitionerPath);
-        this.graphPartitioner = new GraphPartitionerSerialiser().read(stream);
-        stream.close();
-    }
-
     public FileSystem getFS() {
         return fs;
     }
 
+    public static String getDeltaPath(final long delta) {
+        return DELTA + "=" + delta;
+    }
+
+    public String getDeltasDir() {
+        return getDataDir() + "/" + DELTAS;
+    }
+
+    public Path getDeltaDir(final long delta) {
+        return new Path(getDeltasDir(), getDeltaPath(delta));
+    }
+
+    /**
+     * Gets the deltas that have been added since the current snapshot, in the order they were added.
+     *
+     * @return the deltas that have not been compacted into the current snapshot
+     */
+    public List<Delta> getDeltas() {
+        return new ArrayList<>(deltas.tailMap(currentSnapshot, false).values());
+    }
+
+    /**
+     * Gets a consistent view of the current snapshot, its partitioner and the deltas added since it. Queries should
+     * be created from a single view, as the snapshot can be replaced at any time by a compaction or import.
+     *
+     * @return the current view of the store
+     */
+    public SnapshotView getSnapshotView() {
+        synchronized (deltas) {
+            return new SnapshotView(getDataDir(), currentSnapshot, graphPartitioner,
+                    new ArrayList<>(deltas.tailMap(currentSnapshot, false).values()));
+        }
+    }
+
+    /**
+     * Moves a directory of sorted and aggregated files, laid out in the same way as a snapshot directory, into the
+     * store as a new delta. The delta is included in queries as soon as this method returns. Deltas are committed
+     * while holding the read lock from {@link #getSnapshotLock()}, so a delta is never committed while a new snapshot
+     * is being written, which would give the delta an id lower than the new snapshot's.
+     *
+     * @param deltaTmpDir the directory containing the delta files
+     * @return the new delta
+     * @throws StoreException if the delta could not be moved into the store
+     */
+    public Delta commitDelta(final Path deltaTmpDir) throws StoreException {
+        final Delta delta;
+        snapshotLock.readLock().lock();
+        try {
+            synchronized (deltas) {
+                // Deltas are only included in queries if their id is greater than the current snapshot, and a
+                // compaction creates a snapshot with the id of the last delta it compacted, so ids must be increasing.
+                final long lastId = deltas.isEmpty() ? currentSnapshot : Math.max(currentSnapshot, deltas.lastKey());
+                final long id = Math.max(System.currentTimeMillis(), lastId + 1);
+                final Path deltaDir = getDeltaDir(id);
+                try {
+                    fs.mkdirs(deltaDir.getParent());
+                    LOGGER.info("Renaming {} to {}", deltaTmpDir, deltaDir);
+                    if (!fs.rename(deltaTmpDir, deltaDir)) {
+                        throw new StoreException("Failed to rename " + deltaTmpDir + " to " + deltaDir);
+                    }
+                    delta = readDelta(id);
+                } catch (final IOException e) {
+                    throw new StoreException("IOException committing delta " + id, e);
+                }
+                deltas.put(id, delta);
+                LOGGER.info("Committed delta {}", delta);
+            }
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+
+        if (null != compactionExecutor && isCompactionRequired()) {
+            compactionExecutor.execute(this::compactIfRequired);
+        }
+        return delta;
+    }
+
+    /**
+     * Checks whether the current deltas exceed the number or total size allowed by the
+     * {@link ParquetStoreProperties}.
+     *
+     * @return true if the deltas should be compacted
+     */
+    public boolean isCompactionRequired() {
+        final List<Delta> currentDeltas = getDeltas();
+        return !currentDeltas.isEmpty()
+                && (currentDeltas.size() >= getProperties().getCompactionMaxDeltas()
+                || currentDeltas.stream().mapToLong(Delta::getSize).sum() >= getProperties().getCompactionMaxDeltaSize());
+    }
+
+    public void compactDeltas() throws StoreException {
+        compactDeltas(SparkContextUtil.createSparkSession(getProperties()));
+    }
+
+    /**
+     * Compacts the current deltas into a new snapshot. The new snapshot has the id of the last delta compacted, so
+     * deltas committed while the compaction runs are still included in queries once it has finished.
+     *
+     * @param spark the spark session used to aggregate and sort the data
+     * @throws StoreException if the deltas could not be compacted
+     */
+    public void compactDeltas(final SparkSession spark) throws StoreException {
+        snapshotLock.writeLock().lock();
+        try {
+            final List<Delta> toCompact = getDeltas();
+            if (toCompact.isEmpty()) {
+                LOGGER.debug("There are no deltas to compact");
+                return;
+            }
+            final long previousSnapshot = currentSnapshot;
+            LOGGER.info("Compacting {} deltas added since snapshot {}", toCompact.size(), previousSnapshot);
+            new CompactDeltas(this, toCompact, spark).call();
+            deltas.headMap(currentSnapshot, true).clear();
+            // Deltas compacted into the current snapshot may still be being read by queries that started before the
+            // compaction, so only the deltas in the previous snapshot are deleted.
+            deleteDeltas(previousSnapshot);
+        } catch (final OperationException e) {
+            throw new StoreException("Exception compacting deltas", e);
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the lock that orders changes to the data in the store. The write lock is held while a new snapshot is
+     * written, so that only one snapshot is written at a time, and the read lock is held while a delta is written
+     * and committed, so that deltas are written with the current partitioner and are never lost when the snapshot is
+     * replaced. A thread holding the read lock must not compact the deltas, as the read lock cannot be upgraded.
+     *
+     * @return the snapshot lock
+     */
+    public ReadWriteLock getSnapshotLock() {
+        return snapshotLock;
+    }
+
+    private void compactIfRequired() {
+        try {
+            if (isCompactionRequired()) {
+                compactDeltas();
+            }
+        } catch (final Exception e) {
+            LOGGER.error("Exception compacting deltas", e);
+        }
+    }
+
+    private void startCompactionExecutor() {
+        if (getProperties().getWriteDeltas() && null == compactionExecutor) {
+            compactionExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("parquet-compactor-%d")
+                    .setDaemon(true)
+                    .build());
+            final long interval = getProperties().getCompactionInterval();
+            if (interval > 0) {
+                compactionExecutor.scheduleWithFixedDelay(this::compactIfRequired, interval, interval, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private void loadDeltas() throws IOException {
+        deltas.clear();
+        final Path deltasDir = new Path(getDeltasDir());
+        if (fs.exists(deltasDir)) {
+            for (final FileStatus status : fs.listStatus(deltasDir, path -> path.getName().startsWith(DELTA + "="))) {
+                final long id = Long.parseLong(status.getPath().getName().substring(DELTA.length() + 1));
+                if (id > currentSnapshot) {
+                    deltas.put(id, readDelta(id));
+                }
+            }
+        }
+        LOGGER.info("Loaded {} deltas added since snapshot {}", deltas.size(), currentSnapshot);
+    }
+
+    private Delta readDelta(final long id) throws IOException {
+        final Path deltaDir = getDeltaDir(id);
+        final String root = fs.makeQualified(deltaDir).toUri().getPath() + "/";
+        final Set<String> files = new HashSet<>();
+        long size = 0;
+        final RemoteIterator<LocatedFileStatus> statuses = fs.listFiles(deltaDir, true);
+        while (statuses.hasNext()) {
+            final LocatedFileStatus status = statuses.next();
+            if (status.getPath().getName().endsWith(".parquet")) {
+                files.add(status.getPath().toUri().getPath().substring(root.length()));
+                size += status.getLen();
+            }
+        }
+        return new Delta(id, files, size);
+    }
+
+    private void deleteDeltas(final long upToId) {
+        final Path deltasDir = new Path(getDeltasDir());
+        try {
+            for (final FileStatus status : fs.listStatus(deltasDir, path -> path.getName().startsWith(DELTA + "="))) {
+                final long id = Long.parseLong(status.getPath().getName().substring(DELTA.length() + 1));
+                if (id <= upToId) {
+                    LOGGER.info("Deleting compacted delta {}", status.getPath());
+                    fs.delete(status.getPath(), true);
+                }
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to delete compacted deltas in {}", deltasDir, e);
+        }
+    }
+
     public SchemaUtils getSchemaUtils() {
         return schemaUtils;
     }
 
+    /**
+     * Gets the executor used to read files when retrieving elements. The
+     * threads are shared between queries, and each query reads at most
+     * {@link ParquetStoreProperties#getThreadsAvailable()} files at a time.
+     *
+     * @return the executor used to read files
+     */
+    public synchronized ExecutorService getRetrieverExecutor() {
+        if (null == retrieverExecutor) {
+            retrieverExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                    .setNameFormat("parquet-retriever-%d")
+                    .setDaemon(true)
+                    .build());
+        }
+        return retrieverExecutor;
+    }
+
     @Override
     public Set<StoreTrait> getTraits() {
         return TRAITS;
@@ -332,6 +592,37 @@ public class ParquetStore extends Store {
                 + "/" + getFile(partitionId);
     }
 
+    /**
+     * Gets the {@link VertexBloomFilter} for a file in the current snapshot or one of the deltas. The filters are
+     * cached until the snapshot changes, as the files are never modified once they have been added to the store. The
+     * cache is bounded by the total size of the bloom filter files, and the least recently used filters are evicted
+     * first.
+     *
+     * @param file the Parquet file
+     * @return the bloom filter, or null if there is no bloom filter for the file
+     */
+    public VertexBloomFilter getVertexBloomFilter(final Path file) {
+        try {
+            return bloomFilters.get(file, () -> readVertexBloomFilter(file)).filter;
+        } catch (final ExecutionException e) {
+            LOGGER.warn("Unable to read the bloom filter for {}", file, e.getCause());
+            return null;
+        }
+    }
+
+    private CachedBloomFilter readVertexBloomFilter(final Path file) {
+        try {
+            final VertexBloomFilter filter = VertexBloomFilter.read(fs, file);
+            if (null == filter) {
+                return CachedBloomFilter.NONE;
+            }
+            return new CachedBloomFilter(filter, fs.getFileStatus(VertexBloomFilter.getPath(file)).getLen());
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to read the bloom filter for {}", file, e);
+            return CachedBloomFilter.NONE;
+        }
+    }
+
     public List<Path> getFilesForGroup(final String group) throws IOException {
         final Path dir = new Path(getDataDir()
                 + "/" + getSnapshotPath(currentSnapshot)
@@ -449,14 +740,16 @@ public class ParquetStore extends Store {
         }
 
         LOGGER.info("Setting currentSnapshot to {} and reloading graph partitioner", snapshot);
-        this.currentSnapshot = snapshot;
+        bloomFilters.invalidateAll();
+        // Sets the current snapshot to the latest snapshot together with its partitioner
         loadGraphPartitioner();
     }
 
     private long getLatestSnapshot(final String rootDir) throws StoreException {
         long latestSnapshot = 0L;
         try {
-            for (final FileStatus status : fs.listStatus(new Path(rootDir))) {
+            for (final FileStatus status : fs.listStatus(new Path(rootDir), path -> path.getName().startsWith(SNAPSHOT + "=")
+                    && !path.getName().endsWith("-tmp"))) {
                 final long currentSnapshot = Long.parseLong(status.getPath().getName().replace("snapshot=", ""));
                 if (latestSnapshot < currentSnapshot) {
                     latestSnapshot = currentSnapshot;
@@ -471,4 +764,19 @@ public class ParquetStore extends Store {
     public GraphPartitioner getGraphPartitioner() {
         return graphPartitioner;
     }
+
+    /**
+     * A bloom filter held in the cache, weighted by the size of the file it was read from.
+     */
+    private static final class CachedBloomFilter {
+        private static final CachedBloomFilter NONE = new CachedBloomFilter(null, 1L);
+
+        private final VertexBloomFilter filter;
+        private final int weight;
+
+        private CachedBloomFilter(final VertexBloomFilter filter, final long sizeInBytes) {
+            this.filter = filter;
+            this.weight = (int) Math.min(Integer.MAX_VALUE, Math.max(1L, sizeInBytes));
+        }
+    }
 }
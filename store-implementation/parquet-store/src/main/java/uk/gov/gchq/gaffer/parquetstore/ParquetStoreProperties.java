@@ -45,6 +45,14 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public static final String SPARK_MASTER = "spark.master";
     public static final String PARQUET_SKIP_VALIDATION = "parquet.skip_validation";
     public static final String COMPRESSION_CODEC = "parquet.compression.codec";
+    public static final String PARQUET_RETRIEVER_QUEUE_SIZE = "parquet.retriever.queue_size";
+    public static final String PARQUET_ADD_ELEMENTS_WRITE_DELTAS = "parquet.add_elements.write_deltas";
+    public static final String PARQUET_COMPACTION_MAX_DELTAS = "parquet.compaction.max_deltas";
+    public static final String PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES = "parquet.compaction.max_delta.size";
+    public static final String PARQUET_COMPACTION_INTERVAL_IN_SECONDS = "parquet.compaction.interval";
+    public static final String PARQUET_SORTED_SEED_SCAN_THRESHOLD = "parquet.query.sorted_seed_scan.threshold";
+    public static final String PARQUET_BLOOM_FILTER_FPP = "parquet.bloom_filter.fpp";
+    public static final String PARQUET_BLOOM_FILTER_CACHE_SIZE_IN_BYTES = "parquet.bloom_filter.cache.size";
 
     // Default values - NB No default values for DATA_DIR or TEMP_FILES_DIR to
     // avoid the inadvertent storage of data in unexpected folders.
@@ -58,6 +66,14 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     private static final String SPARK_MASTER_DEFAULT = "local[*]";
     private static final String PARQUET_SKIP_VALIDATION_DEFAULT = "false";
     private static final String COMPRESSION_CODEC_DEFAULT = "GZIP";
+    private static final String PARQUET_RETRIEVER_QUEUE_SIZE_DEFAULT = "10000";
+    private static final String PARQUET_ADD_ELEMENTS_WRITE_DELTAS_DEFAULT = "false";
+    private static final String PARQUET_COMPACTION_MAX_DELTAS_DEFAULT = "10";
+    private static final String PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES_DEFAULT = "134217728"; //128MB
+    private static final String PARQUET_COMPACTION_INTERVAL_IN_SECONDS_DEFAULT = "60";
+    private static final String PARQUET_SORTED_SEED_SCAN_THRESHOLD_DEFAULT = "100";
+    private static final String PARQUET_BLOOM_FILTER_FPP_DEFAULT = "0.01";
+    private static final String PARQUET_BLOOM_FILTER_CACHE_SIZE_IN_BYTES_DEFAULT = "268435456"; //256MB
     private static final long serialVersionUID = 7695540336792378185L;
 
     public ParquetStoreProperties() {
@@ -104,6 +120,117 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
         set(PARQUET_THREADS_AVAILABLE, threadsAvailable.toString());
     }
 
+    /**
+     * Gets the max number of elements a query holds in memory ahead of the
+     * consumer. The files being read block when this is reached.
+     *
+     * @return the max number of elements to queue
+     */
+    public int getRetrieverQueueSize() {
+        return Integer.parseInt(get(PARQUET_RETRIEVER_QUEUE_SIZE, PARQUET_RETRIEVER_QUEUE_SIZE_DEFAULT));
+    }
+
+    public void setRetrieverQueueSize(final int queueSize) {
+        set(PARQUET_RETRIEVER_QUEUE_SIZE, String.valueOf(queueSize));
+    }
+
+    /**
+     * If true then each {@link uk.gov.gchq.gaffer.operation.impl.add.AddElements} writes its data as a delta for each
+     * partition it affects, rather than rewriting every partition into a new snapshot. Queries merge the deltas with
+     * the snapshot and the deltas are compacted into a new snapshot in the background.
+     *
+     * @return true if elements are added as deltas
+     */
+    public boolean getWriteDeltas() {
+        return Boolean.parseBoolean(get(PARQUET_ADD_ELEMENTS_WRITE_DELTAS, PARQUET_ADD_ELEMENTS_WRITE_DELTAS_DEFAULT));
+    }
+
+    public void setWriteDeltas(final boolean writeDeltas) {
+        set(PARQUET_ADD_ELEMENTS_WRITE_DELTAS, String.valueOf(writeDeltas));
+    }
+
+    /**
+     * Gets the number of deltas which can be added before they are compacted into a new snapshot.
+     *
+     * @return the max number of deltas
+     */
+    public int getCompactionMaxDeltas() {
+        return Integer.parseInt(get(PARQUET_COMPACTION_MAX_DELTAS, PARQUET_COMPACTION_MAX_DELTAS_DEFAULT));
+    }
+
+    public void setCompactionMaxDeltas(final int maxDeltas) {
+        set(PARQUET_COMPACTION_MAX_DELTAS, String.valueOf(maxDeltas));
+    }
+
+    /**
+     * Gets the total size of the deltas which can be added before they are compacted into a new snapshot.
+     *
+     * @return the max size of the deltas in bytes
+     */
+    public long getCompactionMaxDeltaSize() {
+        return Long.parseLong(get(PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES, PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES_DEFAULT));
+    }
+
+    public void setCompactionMaxDeltaSize(final long maxDeltaSizeInBytes) {
+        set(PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES, String.valueOf(maxDeltaSizeInBytes));
+    }
+
+    /**
+     * Gets how often the deltas are checked against the compaction limits. If this is not positive then deltas are
+     * only compacted when a limit is reached by an add, or when requested.
+     *
+     * @return the compaction interval in seconds
+     */
+    public long getCompactionInterval() {
+        return Long.parseLong(get(PARQUET_COMPACTION_INTERVAL_IN_SECONDS, PARQUET_COMPACTION_INTERVAL_IN_SECONDS_DEFAULT));
+    }
+
+    public void setCompactionInterval(final long intervalInSeconds) {
+        set(PARQUET_COMPACTION_INTERVAL_IN_SECONDS, String.valueOf(intervalInSeconds));
+    }
+
+    /**
+     * Gets the number of seeds for a file above which the seeds are sorted and merged with the rows of the file,
+     * rather than being converted into a Parquet filter.
+     *
+     * @return the sorted seed scan threshold
+     */
+    public int getSortedSeedScanThreshold() {
+        return Integer.parseInt(get(PARQUET_SORTED_SEED_SCAN_THRESHOLD, PARQUET_SORTED_SEED_SCAN_THRESHOLD_DEFAULT));
+    }
+
+    public void setSortedSeedScanThreshold(final int threshold) {
+        set(PARQUET_SORTED_SEED_SCAN_THRESHOLD, String.valueOf(threshold));
+    }
+
+    /**
+     * Gets the false positive probability of the vertex bloom filters written for each file. If this is not positive
+     * then no bloom filters are written.
+     *
+     * @return the bloom filter false positive probability
+     */
+    public double getBloomFilterFpp() {
+        return Double.parseDouble(get(PARQUET_BLOOM_FILTER_FPP, PARQUET_BLOOM_FILTER_FPP_DEFAULT));
+    }
+
+    public void setBloomFilterFpp(final double fpp) {
+        set(PARQUET_BLOOM_FILTER_FPP, String.valueOf(fpp));
+    }
+
+    /**
+     * Gets the maximum total size of the vertex bloom filter files held in memory by the store. The least recently
+     * used filters are evicted when this is exceeded.
+     *
+     * @return the maximum size of the bloom filter cache in bytes
+     */
+    public long getBloomFilterCacheSize() {
+        return Long.parseLong(get(PARQUET_BLOOM_FILTER_CACHE_SIZE_IN_BYTES, PARQUET_BLOOM_FILTER_CACHE_SIZE_IN_BYTES_DEFAULT));
+    }
+
+    public void setBloomFilterCacheSize(final long sizeInBytes) {
+        set(PARQUET_BLOOM_FILTER_CACHE_SIZE_IN_BYTES, String.valueOf(sizeInBytes));
+    }
+
     public Integer getRowGroupSize() {
         return Integer.parseInt(get(PARQUET_ROW_GROUP_SIZE_IN_BYTES, PARQUET_ROW_GROUP_SIZE_IN_BYTES_DEFAULT));
     }
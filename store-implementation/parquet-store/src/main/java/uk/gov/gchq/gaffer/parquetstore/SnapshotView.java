@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019. Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore;
+
+import org.apache.hadoop.fs.Path;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A {@code SnapshotView} is the state of a {@link ParquetStore} at a point in time: the current snapshot, its
+ * {@link GraphPartitioner} and the {@link Delta}s added since it. A query should build all of its file paths from a
+ * single view, as a compaction or import can replace the snapshot and partitioner while the query is being created.
+ */
+public class SnapshotView {
+    private final String dataDir;
+    private final long snapshot;
+    private final GraphPartitioner graphPartitioner;
+    private final List<Delta> deltas;
+
+    /**
+     * @param dataDir          the data directory of the store
+     * @param snapshot         the id of the snapshot
+     * @param graphPartitioner the partitioner of the snapshot
+     * @param deltas           the deltas added since the snapshot, in the order they were added
+     */
+    public SnapshotView(final String dataDir, final long snapshot, final GraphPartitioner graphPartitioner,
+                        final List<Delta> deltas) {
+        this.dataDir = dataDir;
+        this.snapshot = snapshot;
+        this.graphPartitioner = graphPartitioner;
+        this.deltas = Collections.unmodifiableList(deltas);
+    }
+
+    public long getSnapshot() {
+        return snapshot;
+    }
+
+    public GraphPartitioner getGraphPartitioner() {
+        return graphPartitioner;
+    }
+
+    public List<Delta> getDeltas() {
+        return deltas;
+    }
+
+    public boolean hasDeltas() {
+        return !deltas.isEmpty();
+    }
+
+    public Path getGroupPath(final String group, final boolean reversed) {
+        return new Path(dataDir
+                + "/" + ParquetStore.getSnapshotPath(snapshot)
+                + "/" + ParquetStore.getGroupSubDir(group, reversed));
+    }
+
+    public Path getFile(final String group, final Integer partitionId, final boolean reversed) {
+        return new Path(getGroupPath(group, reversed), ParquetStore.getFile(partitionId));
+    }
+
+    /**
+     * Gets the files in the deltas for a group and partition, in the order the deltas were added.
+     *
+     * @param group       the group
+     * @param partitionId the partition id
+     * @param reversed    true to get the files for the reversed edges
+     * @return the paths of the delta files
+     */
+    public List<Path> getDeltaFiles(final String group, final Integer partitionId, final boolean reversed) {
+        final String file = ParquetStore.getGroupSubDir(group, reversed) + "/" + ParquetStore.getFile(partitionId);
+        return deltas.stream()
+                .filter(delta -> delta.getFiles().contains(file))
+                .map(delta -> new Path(new Path(dataDir + "/" + ParquetStore.DELTAS,
+                        ParquetStore.getDeltaPath(delta.getId())), file))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("snapshot", snapshot)
+                .append("deltas", deltas)
+                .toString();
+    }
+}
@@ -20,11 +20,15 @@ import org.apache.parquet.hadoop.api.InitContext;
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.io.api.RecordMaterializer;
 import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
 
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * This class provides the {@link ReadSupport} required by the {@link ParquetElementReader} making use of the
@@ -33,21 +37,45 @@ import java.util.Map;
 public class ElementReadSupport extends ReadSupport<Element> {
     private final boolean isEntity;
     private final GafferGroupObjectConverter converter;
+    private final Set<String> columns;
 
     public ElementReadSupport(final boolean isEntity, final GafferGroupObjectConverter converter) {
+        this(isEntity, converter, null);
+    }
+
+    /**
+     * @param isEntity  true if the elements are entities
+     * @param converter the converter for the group
+     * @param columns   the Gaffer columns to read, or null to read all of them
+     */
+    public ElementReadSupport(final boolean isEntity, final GafferGroupObjectConverter converter, final Set<String> columns) {
         super();
         this.isEntity = isEntity;
         this.converter = converter;
+        this.columns = columns;
     }
 
     @Override
     public RecordMaterializer<Element> prepareForRead(final Configuration configuration, final Map<String, String> map,
                                                       final MessageType parquetSchema, final ReadContext readContext) {
-        return new ElementRecordMaterialiser(parquetSchema, isEntity, converter);
+        return new ElementRecordMaterialiser(readContext.getRequestedSchema(), isEntity, converter, columns);
     }
 
     @Override
     public ReadContext init(final InitContext context) {
-        return new ReadContext(context.getFileSchema());
+        final MessageType fileSchema = context.getFileSchema();
+        if (null == columns) {
+            return new ReadContext(fileSchema);
+        }
+        // Each Gaffer column is stored in a top level field with the column's name, or in fields whose names start
+        // with the column's name followed by an '_'
+        final List<Type> fields = fileSchema.getFields()
+                .stream()
+                .filter(field -> {
+                    final String name = field.getName();
+                    return columns.contains(name.contains("_") ? name.substring(0, name.indexOf("_")) : name);
+                })
+                .collect(Collectors.toList());
+        return new ReadContext(new MessageType(fileSchema.getName(), fields));
     }
 }
@@ -28,6 +28,7 @@ import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class is used by the {@link uk.gov.gchq.gaffer.parquetstore.io.reader.ElementRecordMaterialiser} to materialise
@@ -40,11 +41,24 @@ public class GafferElementConverter extends GroupConverter {
     private final Map<Integer, Converter> fieldToConverter;
     private final Map<String, Object[]> parquetColumnToObject;
     private final int fieldCount;
+    private final Set<String> columns;
     private Element currentRecord = null;
 
     public GafferElementConverter(final boolean isEntity, final MessageType schema, final GafferGroupObjectConverter gafferGroupObjectConverter) {
+        this(isEntity, schema, gafferGroupObjectConverter, null);
+    }
+
+    /**
+     * @param isEntity                   true if the elements are entities
+     * @param schema                     the Parquet schema of the columns being read
+     * @param gafferGroupObjectConverter the converter for the group
+     * @param columns                    the Gaffer columns being read, or null if all of them are being read
+     */
+    public GafferElementConverter(final boolean isEntity, final MessageType schema, final GafferGroupObjectConverter gafferGroupObjectConverter,
+                                  final Set<String> columns) {
         super();
         this.isEntity = isEntity;
+        this.columns = columns;
         this.parquetColumnToObject = new HashMap<>(schema.getFieldCount());
         this.gafferGroupObjectConverter = gafferGroupObjectConverter;
         this.fieldCount = schema.getFieldCount();
@@ -78,7 +92,7 @@ public class GafferElementConverter extends GroupConverter {
     @Override
     public void end() {
         try {
-            currentRecord = gafferGroupObjectConverter.buildElementFromParquetObjects(parquetColumnToObject, isEntity);
+            currentRecord = gafferGroupObjectConverter.buildElementFromParquetObjects(parquetColumnToObject, isEntity, columns);
         } catch (final SerialisationException e) {
             LOGGER.warn("Failed to build the Element, skipping this Element {}", parquetColumnToObject);
         }
@@ -33,7 +33,9 @@ import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.utilities.WriteData;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.AggregateDataForGroup;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculatePartitioner;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CallableResult;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.SortFullGroup;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.WriteVertexBloomFilter;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.serialisation.GraphPartitionerSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
@@ -47,6 +49,11 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 /**
@@ -73,13 +80,27 @@ public class AddElementsFromRDD {
     }
 
     void addElementsFromRDD(final JavaRDD<Element> input) throws OperationException {
-        writeInputData(input);
-        aggregateNewAndOldData();
-        sort();
-        sortEdgeGroupsByDestination();
-        calculateAndWritePartitioner();
-        createNewSnapshotDirectory();
-        deleteTempDirectory();
+        // The import merges the new data with the current snapshot only, so any deltas are compacted first and no
+        // delta can be committed or compaction replace the snapshot until the import has finished.
+        store.getSnapshotLock().writeLock().lock();
+        try {
+            if (!store.getDeltas().isEmpty()) {
+                LOGGER.info("Compacting {} deltas before importing elements", store.getDeltas().size());
+                store.compactDeltas(spark);
+            }
+            writeInputData(input);
+            aggregateNewAndOldData();
+            sort();
+            sortEdgeGroupsByDestination();
+            calculateAndWritePartitioner();
+            writeBloomFilters();
+            createNewSnapshotDirectory();
+            deleteTempDirectory();
+        } catch (final StoreException e) {
+            throw new OperationException("StoreException compacting deltas before importing elements", e);
+        } finally {
+            store.getSnapshotLock().writeLock().unlock();
+        }
     }
 
     void addElementsFromRDD(final RDD<Element> input) throws OperationException {
@@ -277,6 +298,47 @@ public class AddElementsFromRDD {
         }
     }
 
+    /**
+     * Writes a {@link uk.gov.gchq.gaffer.parquetstore.utils.VertexBloomFilter} for each of the sorted files, unless
+     * the bloom filter false positive probability is not positive.
+     *
+     * @throws OperationException if a bloom filter could not be written
+     */
+    private void writeBloomFilters() throws OperationException {
+        final double fpp = store.getProperties().getBloomFilterFpp();
+        if (fpp <= 0) {
+            return;
+        }
+        final List<Callable<CallableResult>> tasks = new ArrayList<>();
+        for (final boolean reversed : new boolean[]{false, true}) {
+            for (final String group : reversed ? schemaUtils.getEdgeGroups() : schemaUtils.getGroups()) {
+                final Path groupDir = new Path(getDirectory(group, true, true, reversed));
+                try {
+                    if (fs.exists(groupDir)) {
+                        for (final FileStatus file : fs.listStatus(groupDir, path -> path.getName().endsWith(".parquet"))) {
+                            tasks.add(new WriteVertexBloomFilter(fs, schemaUtils, file.getPath(), group, reversed, fpp));
+                        }
+                    }
+                } catch (final IOException e) {
+                    throw new OperationException("IOException finding Parquet files in " + groupDir, e);
+                }
+            }
+        }
+        LOGGER.info("Writing bloom filters for {} files", tasks.size());
+        final ExecutorService threadPool = Executors.newFixedThreadPool(store.getProperties().getThreadsAvailable());
+        try {
+            for (final Future<CallableResult> future : threadPool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            throw new OperationException("InterruptedException writing bloom filters", e);
+        } catch (final ExecutionException e) {
+            throw new OperationException("ExecutionException writing bloom filters", e);
+        } finally {
+            threadPool.shutdown();
+        }
+    }
+
     /**
      * Creates a new snapshot directory within the data directory in the store and moves the new data there.
      *
@@ -33,7 +33,8 @@ import java.util.concurrent.Callable;
 
 /**
  * Aggregates and sorts the data in a list of files into one sorted file. All the input data should be from the same
- * file.
+ * file. If a positive bloom filter false positive probability is provided then a
+ * {@link uk.gov.gchq.gaffer.parquetstore.utils.VertexBloomFilter} is also written for the sorted file.
  */
 public class AggregateAndSortData implements Callable<CallableResult> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AggregateAndSortData.class);
@@ -49,6 +50,7 @@ public class AggregateAndSortData implements Callable<CallableResult> {
     private final boolean reversed;
     private final CompressionCodecName compressionCodecName;
     private final SparkSession sparkSession;
+    private final double bloomFilterFpp;
     private final Set<String> groupsWithAggregation;
 
     public AggregateAndSortData(final SchemaUtils schemaUtils,
@@ -60,6 +62,19 @@ public class AggregateAndSortData implements Callable<CallableResult> {
                                 final boolean reversed,
                                 final CompressionCodecName compressionCodecName,
                                 final SparkSession sparkSession) {
+        this(schemaUtils, fs, files, outputDir, group, id, reversed, compressionCodecName, sparkSession, 0);
+    }
+
+    public AggregateAndSortData(final SchemaUtils schemaUtils,
+                                final FileSystem fs,
+                                final List<String> files,
+                                final String outputDir,
+                                final String group,
+                                final String id,
+                                final boolean reversed,
+                                final CompressionCodecName compressionCodecName,
+                                final SparkSession sparkSession,
+                                final double bloomFilterFpp) {
         this.schemaUtils = schemaUtils;
         this.fs = fs;
         this.files = files;
@@ -69,6 +84,7 @@ public class AggregateAndSortData implements Callable<CallableResult> {
         this.reversed = reversed;
         this.sparkSession = sparkSession;
         this.compressionCodecName = compressionCodecName;
+        this.bloomFilterFpp = bloomFilterFpp;
         this.groupsWithAggregation = new HashSet<>(this.schemaUtils.getGafferSchema().getAggregatedGroups());
     }
 
@@ -103,6 +119,10 @@ public class AggregateAndSortData implements Callable<CallableResult> {
             for (final FileStatus file : files) {
                 final Path newPath = new Path(outputDir, file.getPath().getName());
                 fs.rename(file.getPath(), newPath);
+                if (bloomFilterFpp > 0 && newPath.getName().endsWith(".parquet")) {
+                    LOGGER.info("Writing bloom filter for {} (group {}, id {})", newPath, group, id);
+                    new WriteVertexBloomFilter(fs, schemaUtils, newPath, group, reversed, bloomFilterFpp).call();
+                }
             }
         } else {
             LOGGER.info("No files of sorted data so there is nothing to move");
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019. Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.spark.sql.SparkSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.parquetstore.Delta;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.utils.SparkParquetUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Compacts a list of {@link Delta}s into a new snapshot. For each partition, the files from the deltas are aggregated
+ * and sorted together with the file from the current snapshot, and partitions without any deltas are copied from the
+ * current snapshot. The new snapshot has the id of the last delta, so any deltas added while the compaction is running
+ * are applied on top of it.
+ */
+public class CompactDeltas {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompactDeltas.class);
+
+    private final ParquetStore store;
+    private final List<Delta> deltas;
+    private final SparkSession spark;
+
+    public CompactDeltas(final ParquetStore store, final List<Delta> deltas, final SparkSession spark) {
+        this.store = store;
+        this.deltas = deltas;
+        this.spark = spark;
+    }
+
+    public void call() throws OperationException {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        SparkParquetUtils.configureSparkForAddElements(spark, store.getProperties());
+        final String tmpDirectory = store.getTempFilesDir() + "/compaction";
+        final long snapshot = deltas.get(deltas.size() - 1).getId();
+        final ExecutorService threadPool = Executors.newFixedThreadPool(store.getProperties().getThreadsAvailable());
+        try {
+            store.getFS().delete(new Path(tmpDirectory), true);
+            new WritePartitions(store, spark, threadPool, tmpDirectory)
+                    .writeSnapshot((group, partition, reversed) -> {
+                        final String file = ParquetStore.getGroupSubDir(group, reversed) + "/" + ParquetStore.getFile(partition.getPartitionId());
+                        return deltas.stream()
+                                .filter(delta -> delta.getFiles().contains(file))
+                                .map(delta -> new Path(store.getDeltaDir(delta.getId()), file).toString())
+                                .collect(Collectors.toList());
+                    }, snapshot);
+            LOGGER.info("Compacted {} deltas into snapshot {}", deltas.size(), snapshot);
+            LOGGER.info("Deleting temporary directory {}", tmpDirectory);
+            store.getFS().delete(new Path(tmpDirectory), true);
+        } catch (final IOException e) {
+            throw new OperationException("IOException compacting deltas", e);
+        } finally {
+            threadPool.shutdown();
+        }
+    }
+}
@@ -28,6 +28,7 @@ import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.query.ParquetFileQuery;
 import uk.gov.gchq.gaffer.parquetstore.query.ParquetQuery;
 import uk.gov.gchq.gaffer.parquetstore.query.QueryGenerator;
 import uk.gov.gchq.gaffer.user.User;
@@ -36,12 +37,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.stream.Collectors;
 
 /**
  * Converts the inputs for get element operations to a mapping of files to Parquet filters which is
@@ -76,10 +75,31 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
         }
     }
 
+    /**
+     * Reads the files for a query on the store's shared retriever executor,
+     * reading at most {@link uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties#getThreadsAvailable()}
+     * files at a time. The elements are passed to the consumer through bounded
+     * blocking queues, so the files are only read as fast as the results are
+     * consumed.
+     * <p>
+     * If the {@link ParquetStore#OPTION_ORDERED} option is set then each file
+     * has its own queue and the results are returned in file order, otherwise
+     * the files share a single queue and the results are returned as they are
+     * read.
+     */
     protected static class ParquetIterator implements CloseableIterator<Element> {
-        private ConcurrentLinkedQueue<Element> queue;
-        private List<Future<OperationException>> runningTasks;
-        private ExecutorService executorServicePool;
+        private static final Object DONE = new Object();
+
+        private final ExecutorService executor;
+        private final int maxRunningTasks;
+        private final boolean ordered;
+        private final List<BlockingQueue<Object>> queues = new ArrayList<>();
+        private final List<RetrieveElementsFromFile> tasks = new ArrayList<>();
+        private final List<Future<?>> futures = new ArrayList<>();
+        private int runningTasks;
+        private int finishedTasks;
+        private Element next;
+        private volatile boolean closed;
 
         protected ParquetIterator(final ParquetStore store, final Operation operation, final User user) throws OperationException {
             final QueryGenerator queryGenerator = new QueryGenerator(store);
@@ -89,94 +109,134 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
             } else {
                 view = ((GetElements) operation).getView();
             }
+            executor = store.getRetrieverExecutor();
+            maxRunningTasks = store.getProperties().getThreadsAvailable();
+            ordered = Boolean.parseBoolean(operation.getOption(ParquetStore.OPTION_ORDERED));
             try {
                 final ParquetQuery parquetQuery = queryGenerator.getParquetQuery(operation);
                 LOGGER.debug("Created ParquetQuery {}", parquetQuery);
                 if (!parquetQuery.isEmpty()) {
-                    queue = new ConcurrentLinkedQueue<>();
-                    executorServicePool = Executors.newFixedThreadPool(store.getProperties().getThreadsAvailable());
-                    final List<RetrieveElementsFromFile> tasks = new ArrayList<>();
-                    tasks.addAll(parquetQuery.getAllParquetFileQueries()
-                            .stream()
-                            .map(entry -> new RetrieveElementsFromFile(entry.getFile(), entry.getFilter(),
-                                    store.getSchema(), queue, !entry.isFullyApplied(),
-                                    store.getProperties().getSkipValidation(), view, user))
-                            .collect(Collectors.toList()));
+                    final List<ParquetFileQuery> fileQueries = parquetQuery.getAllParquetFileQueries();
+                    final int queueSize = store.getProperties().getRetrieverQueueSize();
+                    if (ordered) {
+                        for (int i = 0; i < fileQueries.size(); i++) {
+                            queues.add(new ArrayBlockingQueue<>(Math.max(1, queueSize / maxRunningTasks)));
+                        }
+                    } else {
+                        queues.add(new ArrayBlockingQueue<>(queueSize));
+                    }
+                    for (int i = 0; i < fileQueries.size(); i++) {
+                        final ParquetFileQuery entry = fileQueries.get(i);
+                        tasks.add(new RetrieveElementsFromFile(entry.getFile(), entry.getFilter(),
+                                store.getSchema(), getQueue(i), !entry.isFullyApplied(),
+                                store.getProperties().getSkipValidation(), view, user, entry.getDeltaFiles(), entry.getSeedFilter(),
+                                store.getFS().getConf()));
+                    }
                     LOGGER.info("Invoking {} RetrieveElementsFromFile tasks", tasks.size());
-                    runningTasks = executorServicePool.invokeAll(tasks);
+                    submitTasks();
                 } else {
                     LOGGER.warn("No paths found - there will be no results from this query");
                 }
             } catch (final IOException | OperationException e) {
                 LOGGER.error("Exception while creating the mapping of file paths to Parquet filters: {}", e.getMessage());
                 throw new OperationException("Exception creating ParquetIterator", e);
-            } catch (final InterruptedException e) {
-                LOGGER.error("InterruptedException in ParquetIterator {}", e.getMessage());
-                throw new OperationException("InterruptedException in ParquetIterator", e);
             }
         }
 
         @Override
         public boolean hasNext() {
-            if (null != queue) {
-                if (queue.isEmpty()) {
-                    boolean finishedAllTasks = runningTasks.isEmpty();
-                    while (!finishedAllTasks && queue.isEmpty()) {
-                        try {
-                            finishedAllTasks = hasFinishedAllTasks();
-                            if (!finishedAllTasks) {
-                                wait(100L);
-                            }
-                        } catch (final Exception e) {
-                            LOGGER.error(e.getMessage(), e);
-                            finishedAllTasks = true;
-                        }
-                    }
-                    return !queue.isEmpty();
-                } else {
-                    return true;
+            while (null == next && !closed && finishedTasks < tasks.size()) {
+                final Object item;
+                try {
+                    item = getQueue(finishedTasks).take();
+                } catch (final InterruptedException e) {
+                    LOGGER.error("InterruptedException in ParquetIterator {}", e.getMessage());
+                    close();
+                    Thread.currentThread().interrupt();
+                    return false;
                 }
-            } else {
-                return false;
-            }
-        }
 
-        private boolean hasFinishedAllTasks() throws ExecutionException, InterruptedException, OperationException {
-            final List<Future<OperationException>> completedTasks = new ArrayList<>();
-            for (final Future<OperationException> task : runningTasks) {
-                if (task.isDone()) {
-                    final OperationException taskResult = task.get();
-                    if (null != taskResult) {
-                        throw taskResult;
-                    } else {
-                        completedTasks.add(task);
-                    }
+                if (DONE == item) {
+                    finishedTasks++;
+                    submitTasks();
+                } else if (item instanceof Exception) {
+                    LOGGER.error(((Exception) item).getMessage(), (Exception) item);
+                    close();
+                } else {
+                    next = (Element) item;
                 }
             }
-            runningTasks.removeAll(completedTasks);
-            return runningTasks.isEmpty();
+            return null != next;
         }
 
         @Override
         public Element next() throws NoSuchElementException {
-            Element e;
-            while (hasNext()) {
-                e = queue.poll();
-                if (null != e) {
-                    return e;
-                }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
-            throw new NoSuchElementException();
+            final Element e = next;
+            next = null;
+            return e;
         }
 
         @Override
         public void close() {
-            if (null != executorServicePool) {
-                executorServicePool.shutdown();
-                executorServicePool = null;
+            closed = true;
+            synchronized (this) {
+                for (final Future<?> future : futures) {
+                    future.cancel(true);
+                }
+                futures.clear();
+            }
+            queues.forEach(BlockingQueue::clear);
+        }
+
+        private BlockingQueue<Object> getQueue(final int taskIndex) {
+            return ordered ? queues.get(taskIndex) : queues.get(0);
+        }
+
+        /**
+         * Submits tasks until the maximum number are running. When ordered,
+         * tasks are also only started within maxRunningTasks of the file
+         * currently being consumed, so completed files which have not been
+         * consumed yet do not build up in memory.
+         */
+        private synchronized void submitTasks() {
+            while (!closed
+                    && futures.size() < tasks.size()
+                    && runningTasks < maxRunningTasks
+                    && (!ordered || futures.size() < finishedTasks + maxRunningTasks)) {
+                final int taskIndex = futures.size();
+                runningTasks++;
+                futures.add(executor.submit(() -> runTask(taskIndex)));
+            }
+        }
+
+        private void runTask(final int taskIndex) {
+            Object result = DONE;
+            try {
+                final OperationException e = tasks.get(taskIndex).call();
+                if (null != e) {
+                    result = e;
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final Exception e) {
+                result = e;
+            } finally {
+                synchronized (this) {
+                    runningTasks--;
+                }
+            }
+
+            try {
+                getQueue(taskIndex).put(result);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
             }
-            queue = null;
-            runningTasks = null;
+            submitTasks();
         }
     }
 }
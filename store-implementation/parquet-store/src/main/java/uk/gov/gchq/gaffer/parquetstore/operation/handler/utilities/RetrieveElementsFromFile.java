@@ -16,10 +16,14 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
 
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,25 +32,42 @@ import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.ElementVisibility;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.VisibilityEvaluator;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
 import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.query.FilterPredicateUtils;
+import uk.gov.gchq.gaffer.parquetstore.query.SortedSeedFilter;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil.IngestElementBinaryOperator;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil.ToIngestElementKey;
+import uk.gov.gchq.gaffer.store.util.BoundElementFilter;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
- * Used to retrieve the elements from a single file and put the elements into a shared
- * {@link java.util.concurrent.ConcurrentLinkedQueue}.
+ * Used to retrieve the elements from a single file and put the elements into a
+ * {@link BlockingQueue}, waiting for space if the queue is full.
+ * <p>
+ * If delta files are provided then the elements in them are aggregated with the
+ * elements in the file before they are filtered. The delta files are read into
+ * memory and the file is streamed, so the delta files should be small.
+ * <p>
+ * If a {@link SortedSeedFilter} is provided then only the row groups which may
+ * contain the seeds, according to their statistics and bloom filters, are read,
+ * and the elements are merged with the sorted seeds.
  */
 public class RetrieveElementsFromFile implements Callable<OperationException> {
     private static final Logger LOGGER = LoggerFactory.getLogger(RetrieveElementsFromFile.class);
@@ -55,8 +76,9 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     private final FilterPredicate filter;
     private final byte[] jsonGafferSchema;
     private transient SchemaUtils schemaUtils;
-    private final ConcurrentLinkedQueue<Element> queue;
-    private transient ElementFilter elementFilter;
+    private final BlockingQueue<? super Element> queue;
+    private transient BoundElementFilter elementFilter;
+    private transient BoundElementFilter validatorFilter;
     private final byte[] elementDefinitionJson;
     private final boolean needsValidatorsAndFiltersApplying;
     private final boolean skipValidation;
@@ -65,15 +87,34 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     private final Schema gafferSchema;
     private final Authorisations auths;
     private final String visibility;
+    private final List<Path> deltaFiles;
+    private final SortedSeedFilter seedFilter;
+    private final Configuration conf;
+    private SortedSeedFilter.Cursor seedCursor;
 
     public RetrieveElementsFromFile(final Path filePath,
                                     final FilterPredicate filter,
                                     final Schema gafferSchema,
-                                    final ConcurrentLinkedQueue<Element> queue,
+                                    final BlockingQueue<? super Element> queue,
                                     final boolean needsValidatorsAndFiltersApplying,
                                     final boolean skipValidation,
                                     final View view,
                                     final User user) {
+        this(filePath, filter, gafferSchema, queue, needsValidatorsAndFiltersApplying, skipValidation, view, user,
+                Collections.emptyList(), null, new Configuration());
+    }
+
+    public RetrieveElementsFromFile(final Path filePath,
+                                    final FilterPredicate filter,
+                                    final Schema gafferSchema,
+                                    final BlockingQueue<? super Element> queue,
+                                    final boolean needsValidatorsAndFiltersApplying,
+                                    final boolean skipValidation,
+                                    final View view,
+                                    final User user,
+                                    final List<Path> deltaFiles,
+                                    final SortedSeedFilter seedFilter,
+                                    final Configuration conf) {
         LOGGER.info("Creating RetrieveElementsFromFile for path {} with predicate {}", filePath, filter);
         this.filePath = filePath;
         this.filter = filter;
@@ -97,6 +138,9 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
         this.view = view;
         this.needsValidatorsAndFiltersApplying = needsValidatorsAndFiltersApplying;
         this.skipValidation = skipValidation;
+        this.deltaFiles = deltaFiles;
+        this.seedFilter = seedFilter;
+        this.conf = conf;
         if (filePath.getName().contains("=")) {
             group = filePath.getName().split("=")[1];
         } else {
@@ -108,47 +152,31 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     @Override
     public OperationException call() throws Exception {
         if (null == elementFilter) {
-            elementFilter = new ViewElementDefinition.Builder().json(elementDefinitionJson).build().getPreAggregationFilter();
+            elementFilter = new BoundElementFilter(new ViewElementDefinition.Builder().json(elementDefinitionJson).build().getPreAggregationFilter());
+        }
+        if (null == validatorFilter) {
+            validatorFilter = new BoundElementFilter(gafferSchema.getElement(group).getValidator(false));
         }
         if (null == schemaUtils) {
             schemaUtils = new SchemaUtils(Schema.fromJson(jsonGafferSchema));
         }
+        if (null != seedFilter) {
+            seedCursor = seedFilter.cursor();
+        }
+        if (!deltaFiles.isEmpty()) {
+            retrieveAndMergeDeltas();
+            return null;
+        }
         try {
-            final ParquetReader<Element> fileReader = openParquetReader();
-            Element e = fileReader.read();
-            while (null != e) {
-                if (!visibility.isEmpty()) {
-                    if (isVisible(e)) {
-                        if (needsValidatorsAndFiltersApplying) {
-                            final String group = e.getGroup();
-                            final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                            if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                                if (elementFilter == null || elementFilter.test(e)) {
-                                    ViewUtil.removeProperties(view, e);
-                                    queue.add(e);
-                                }
-                            }
-                        } else {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
-                } else if (needsValidatorsAndFiltersApplying) {
-                    final String group = e.getGroup();
-                    final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                    if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                        if (elementFilter == null || elementFilter.test(e)) {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
-                } else {
-                    ViewUtil.removeProperties(view, e);
-                    queue.add(e);
+            final ParquetReader<Element> fileReader = openParquetReader(filePath);
+            if (null != fileReader) {
+                Element e = fileReader.read();
+                while (null != e) {
+                    offer(e);
+                    e = fileReader.read();
                 }
-                e = fileReader.read();
+                fileReader.close();
             }
-            fileReader.close();
         } catch (final IOException ignore) {
             LOGGER.error("IOException reading file", ignore);
             // ignore as this file does not exist
@@ -156,20 +184,80 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
         return null;
     }
 
-    private ParquetReader<Element> openParquetReader() throws IOException {
+    private void retrieveAndMergeDeltas() throws IOException, VisibilityParseException, InterruptedException, SerialisationException {
+        final ToIngestElementKey toKey = new ToIngestElementKey(gafferSchema);
+        final IngestElementBinaryOperator aggregator = new IngestElementBinaryOperator(gafferSchema);
+        final Map<Element, Element> deltaElements = new LinkedHashMap<>();
+        for (final Path deltaFile : deltaFiles) {
+            try (final ParquetReader<Element> reader = openParquetReader(deltaFile)) {
+                Element e = null != reader ? reader.read() : null;
+                while (null != e) {
+                    deltaElements.merge(toKey.apply(e), e, aggregator);
+                    e = reader.read();
+                }
+            }
+        }
+        LOGGER.debug("Read {} elements from {} delta files to merge with {}", deltaElements.size(), deltaFiles.size(), filePath);
+
+        if (filePath.getFileSystem(conf).exists(filePath)) {
+            try (final ParquetReader<Element> reader = openParquetReader(filePath)) {
+                Element e = null != reader ? reader.read() : null;
+                while (null != e) {
+                    final Element deltaElement = deltaElements.remove(toKey.apply(e));
+                    offer(null != deltaElement ? aggregator.apply(e, deltaElement) : e);
+                    e = reader.read();
+                }
+            }
+        }
+        for (final Element e : deltaElements.values()) {
+            offer(e);
+        }
+    }
+
+    private void offer(final Element e) throws VisibilityParseException, InterruptedException, SerialisationException {
+        if (null != seedCursor && !seedCursor.matches(e)) {
+            return;
+        }
+        if (!visibility.isEmpty() && !isVisible(e)) {
+            return;
+        }
+        if (needsValidatorsAndFiltersApplying
+                && !((skipValidation || validatorFilter.test(e)) && elementFilter.test(e))) {
+            return;
+        }
+        ViewUtil.removeProperties(view, e);
+        queue.put(e);
+    }
+
+    private ParquetReader<Element> openParquetReader(final Path filePath) throws IOException {
         final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
         final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
+        FilterPredicate fileFilter = filter;
+        if (null != seedFilter) {
+            final List<BlockMetaData> rowGroups = ParquetFileReader
+                    .readFooter(conf, filePath, ParquetMetadataConverter.NO_FILTER)
+                    .getBlocks();
+            final List<BlockMetaData> matchingRowGroups = seedFilter.getMatchingRowGroups(filePath, rowGroups);
+            LOGGER.debug("{} of {} row groups in file {} may contain the {} seeds", matchingRowGroups.size(),
+                    rowGroups.size(), filePath, seedFilter.size());
+            if (matchingRowGroups.isEmpty()) {
+                return null;
+            }
+            fileFilter = FilterPredicateUtils.and(fileFilter, seedFilter.getRowGroupFilter(rowGroups, matchingRowGroups));
+        }
         LOGGER.debug("Opening a new Parquet reader for file {}", filePath);
-        if (null != filter) {
+        if (null != fileFilter) {
             return new ParquetElementReader.Builder<Element>(filePath)
                     .isEntity(isEntity)
                     .usingConverter(converter)
-                    .withFilter(FilterCompat.get(filter))
+                    .withConf(conf)
+                    .withFilter(FilterCompat.get(fileFilter))
                     .build();
         } else {
             return new ParquetElementReader.Builder<Element>(filePath)
                     .isEntity(isEntity)
                     .usingConverter(converter)
+                    .withConf(conf)
                     .build();
         }
     }
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2019. Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.FileUtil;
+import org.apache.hadoop.fs.Path;
+import org.apache.spark.sql.SparkSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.Partition;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.serialisation.GraphPartitionerSerialiser;
+import uk.gov.gchq.gaffer.parquetstore.utils.VertexBloomFilter;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Writes a file for each group and partition in the store's {@link GraphPartitioner} to a directory with the same
+ * layout as a snapshot directory. For each partition with new data, the new data is aggregated and sorted using
+ * {@link AggregateAndSortData}, optionally together with the partition's file from the current snapshot. Partitions
+ * with no new data are copied from the current snapshot when it is included, and are otherwise skipped.
+ */
+public class WritePartitions {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WritePartitions.class);
+
+    /**
+     * Locates the new data for a partition.
+     */
+    @FunctionalInterface
+    public interface NewData {
+        /**
+         * @param group     the group
+         * @param partition the partition
+         * @param reversed  true if the partition is for reversed edges
+         * @return the files or directories containing new data for the partition, or an empty list if there is none
+         * @throws IOException if the new data could not be located
+         */
+        List<String> getFiles(final String group, final Partition partition, final boolean reversed) throws IOException;
+    }
+
+    private final ParquetStore store;
+    private final SparkSession spark;
+    private final ExecutorService threadPool;
+    private final String tmpDirectory;
+
+    public WritePartitions(final ParquetStore store,
+                           final SparkSession spark,
+                           final ExecutorService threadPool,
+                           final String tmpDirectory) {
+        this.store = store;
+        this.spark = spark;
+        this.threadPool = threadPool;
+        this.tmpDirectory = tmpDirectory;
+    }
+
+    /**
+     * Merges the new data with the current snapshot into a new snapshot directory, and then updates the store to use
+     * the new snapshot.
+     *
+     * @param newData  locates the new data for each partition
+     * @param snapshot the id of the new snapshot
+     * @throws OperationException if the new snapshot could not be written
+     */
+    public void writeSnapshot(final NewData newData, final long snapshot) throws OperationException {
+        // Write the results to a new snapshot directory (the -tmp at the end allows us to add data to the directory,
+        // and then when this is all finished we rename the directory to remove the -tmp; this allows us to make
+        // the replacement of the old data with the new data an atomic operation and ensures that a get operation
+        // against the store will not read the directory when only some of the data has been moved there).
+        final String newDataDir = store.getDataDir() + "/" + ParquetStore.getSnapshotPath(snapshot) + "-tmp";
+        write(newData, true, newDataDir);
+        try {
+            // Write out graph partitioner (unchanged from previous one)
+            final Path newGraphPartitionerPath = new Path(newDataDir + "/graphPartitioner");
+            final FSDataOutputStream stream = store.getFS().create(newGraphPartitionerPath);
+            LOGGER.info("Writing graph partitioner to {}", newGraphPartitionerPath);
+            new GraphPartitionerSerialiser().write(store.getGraphPartitioner(), stream);
+            stream.close();
+            // Move snapshot-tmp directory to snapshot
+            final String directoryWithoutTmp = newDataDir.substring(0, newDataDir.lastIndexOf("-tmp"));
+            LOGGER.info("Renaming {} to {}", newDataDir, directoryWithoutTmp);
+            store.getFS().rename(new Path(newDataDir), new Path(directoryWithoutTmp));
+            // Set snapshot on store to new value
+            LOGGER.info("Updating latest snapshot on store to {}", snapshot);
+            store.setLatestSnapshot(snapshot);
+        } catch (final IOException | StoreException e) {
+            throw new OperationException("IOException moving results files into new snapshot directory", e);
+        }
+    }
+
+    /**
+     * Aggregates and sorts the new data, without the current snapshot, into the given directory.
+     *
+     * @param newData   locates the new data for each partition
+     * @param outputDir the directory to write the results to
+     * @throws OperationException if the data could not be written
+     */
+    public void writeDelta(final NewData newData, final String outputDir) throws OperationException {
+        write(newData, false, outputDir);
+    }
+
+    private void write(final NewData newData, final boolean includeSnapshot, final String outputDir) throws OperationException {
+        final FileSystem fs = store.getFS();
+        final Schema schema = store.getSchema();
+        final GraphPartitioner graphPartitioner = store.getGraphPartitioner();
+        final List<Callable<CallableResult>> tasks = new ArrayList<>();
+        final Map<Path, Path> sortedDirToDestination = new LinkedHashMap<>();
+        final Map<Path, Path> copies = new LinkedHashMap<>();
+        try {
+            for (final boolean reversed : new boolean[]{false, true}) {
+                for (final String group : reversed ? schema.getEdgeGroups() : schema.getGroups()) {
+                    final List<Partition> partitions = reversed
+                            ? graphPartitioner.getGroupPartitionerForReversedEdges(group).getPartitions()
+                            : graphPartitioner.getGroupPartitioner(group).getPartitions();
+                    for (final Partition partition : partitions) {
+                        final String snapshotFile = reversed
+                                ? store.getFileForReversedEdges(group, partition)
+                                : store.getFile(group, partition);
+                        final Path destination = new Path(outputDir + "/" + ParquetStore.getGroupSubDir(group, reversed),
+                                ParquetStore.getFile(partition.getPartitionId()));
+                        final List<String> inputFiles = new ArrayList<>(newData.getFiles(group, partition, reversed));
+                        if (inputFiles.isEmpty()) {
+                            if (includeSnapshot) {
+                                copies.put(new Path(snapshotFile), destination);
+                            }
+                            continue;
+                        }
+                        if (includeSnapshot) {
+                            inputFiles.add(snapshotFile);
+                        }
+                        final String sortedDir = tmpDirectory
+                                + "/sorted_new_old_merged"
+                                + "/" + (reversed ? "REVERSED-" : "") + "group=" + group
+                                + "/partition=" + partition.getPartitionId();
+                        tasks.add(new AggregateAndSortData(store.getSchemaUtils(), fs, inputFiles, sortedDir, group,
+                                (reversed ? "reversed-" : "") + group + "-" + partition.getPartitionId(), reversed,
+                                store.getProperties().getCompressionCodecName(), spark,
+                                store.getProperties().getBloomFilterFpp()));
+                        sortedDirToDestination.put(new Path(sortedDir), destination);
+                        LOGGER.info("Created AggregateAndSortData task for {}group {}, partition {}",
+                                reversed ? "reversed edge " : "", group, partition.getPartitionId());
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            throw new OperationException("IOException locating new data", e);
+        }
+
+        try {
+            LOGGER.info("Invoking {} AggregateAndSortData tasks", tasks.size());
+            final List<Future<CallableResult>> futures = threadPool.invokeAll(tasks);
+            for (final Future<CallableResult> future : futures) {
+                final CallableResult result = future.get();
+                LOGGER.info("Result {} from task", result);
+            }
+        } catch (final InterruptedException e) {
+            throw new OperationException("InterruptedException running AggregateAndSortData tasks", e);
+        } catch (final ExecutionException e) {
+            throw new OperationException("ExecutionException running AggregateAndSortData tasks", e);
+        }
+
+        try {
+            LOGGER.info("Moving aggregated and sorted data to directory {}", outputDir);
+            fs.mkdirs(new Path(outputDir));
+            for (final String group : schema.getGroups()) {
+                final Path groupDir = new Path(outputDir, ParquetStore.getGroupSubDir(group, false));
+                fs.mkdirs(groupDir);
+                LOGGER.info("Created directory {}", groupDir);
+            }
+            for (final String group : schema.getEdgeGroups()) {
+                final Path groupDir = new Path(outputDir, ParquetStore.getGroupSubDir(group, true));
+                fs.mkdirs(groupDir);
+                LOGGER.info("Created directory {}", groupDir);
+            }
+            for (final Map.Entry<Path, Path> entry : copies.entrySet()) {
+                if (fs.exists(entry.getKey())) {
+                    LOGGER.info("Copying unchanged file {} to {}", entry.getKey(), entry.getValue());
+                    FileUtil.copy(fs, entry.getKey(), fs, entry.getValue(), false, fs.getConf());
+                    final Path bloomFilter = VertexBloomFilter.getPath(entry.getKey());
+                    if (fs.exists(bloomFilter)) {
+                        FileUtil.copy(fs, bloomFilter, fs, VertexBloomFilter.getPath(entry.getValue()), false, fs.getConf());
+                    }
+                }
+            }
+            for (final Map.Entry<Path, Path> entry : sortedDirToDestination.entrySet()) {
+                final Path sortedDir = entry.getKey();
+                if (!fs.exists(sortedDir)) {
+                    LOGGER.info("Not moving data to {} as the directory {} does not exist", entry.getValue(), sortedDir);
+                } else {
+                    // One .parquet file and one .parquet.crc file
+                    final FileStatus[] status = fs.listStatus(sortedDir, path -> path.getName().endsWith(".parquet"));
+                    if (1 != status.length) {
+                        LOGGER.error("Didn't find one Parquet file in path {} (found {} files)", sortedDir, status.length);
+                        throw new OperationException("Expected to find one Parquet file in path " + sortedDir
+                                + " (found " + status.length + " files)");
+                    }
+                    LOGGER.info("Renaming {} to {}", status[0].getPath(), entry.getValue());
+                    fs.rename(status[0].getPath(), entry.getValue());
+                    final Path bloomFilter = VertexBloomFilter.getPath(status[0].getPath());
+                    if (fs.exists(bloomFilter)) {
+                        fs.rename(bloomFilter, VertexBloomFilter.getPath(entry.getValue()));
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            throw new OperationException("IOException moving results files into directory " + outputDir, e);
+        }
+    }
+}
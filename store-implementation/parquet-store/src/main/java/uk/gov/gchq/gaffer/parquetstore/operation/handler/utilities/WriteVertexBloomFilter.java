@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019. Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import com.google.common.collect.Sets;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.VertexBloomFilter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Reads a sorted Parquet file and writes a {@link VertexBloomFilter} for it, containing a filter for the whole file
+ * and one for each row group.
+ */
+public class WriteVertexBloomFilter implements Callable<CallableResult> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteVertexBloomFilter.class);
+
+    private final FileSystem fs;
+    private final SchemaUtils schemaUtils;
+    private final Path file;
+    private final String group;
+    private final boolean reversed;
+    private final double fpp;
+
+    public WriteVertexBloomFilter(final FileSystem fs,
+                                  final SchemaUtils schemaUtils,
+                                  final Path file,
+                                  final String group,
+                                  final boolean reversed,
+                                  final double fpp) {
+        this.fs = fs;
+        this.schemaUtils = schemaUtils;
+        this.file = file;
+        this.group = group;
+        this.reversed = reversed;
+        this.fpp = fpp;
+    }
+
+    @Override
+    public CallableResult call() throws Exception {
+        final List<BlockMetaData> rowGroups = ParquetFileReader
+                .readFooter(fs.getConf(), file, ParquetMetadataConverter.NO_FILTER)
+                .getBlocks();
+        final long[] rowGroupSizes = new long[rowGroups.size()];
+        for (int i = 0; i < rowGroupSizes.length; i++) {
+            rowGroupSizes[i] = rowGroups.get(i).getRowCount();
+        }
+        final VertexBloomFilter bloomFilter = new VertexBloomFilter(rowGroupSizes, fpp);
+
+        final boolean isEntityGroup = schemaUtils.getEntityGroups().contains(group);
+        final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
+        // Only the identifiers are read, as the directed flag is needed to build an edge with the same source and
+        // destination it was written with. The rows are read in the order they were written, so the row group of each
+        // row is found by counting them.
+        final Set<String> columns = isEntityGroup
+                ? Collections.singleton(ParquetStore.VERTEX)
+                : Sets.newHashSet(ParquetStore.SOURCE, ParquetStore.DESTINATION, ParquetStore.DIRECTED);
+        int rowGroup = 0;
+        long rowsRemainingInRowGroup = 0 < rowGroupSizes.length ? rowGroupSizes[0] : 0;
+        try (final ParquetReader<Element> reader = new ParquetElementReader.Builder<Element>(file)
+                .isEntity(isEntityGroup)
+                .usingConverter(converter)
+                .readingColumns(columns)
+                .build()) {
+            Element e = reader.read();
+            while (null != e) {
+                while (0 == rowsRemainingInRowGroup) {
+                    rowGroup++;
+                    rowsRemainingInRowGroup = rowGroupSizes[rowGroup];
+                }
+                bloomFilter.put(rowGroup, VertexBloomFilter.getKey(e, isEntityGroup, reversed, converter));
+                rowsRemainingInRowGroup--;
+                e = reader.read();
+            }
+        }
+        bloomFilter.write(fs, file);
+        LOGGER.debug("Wrote bloom filter for {} row groups of file {}", rowGroupSizes.length, file);
+        return CallableResult.SUCCESS;
+    }
+}
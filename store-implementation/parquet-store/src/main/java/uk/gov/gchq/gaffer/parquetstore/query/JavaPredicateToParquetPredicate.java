@@ -85,9 +85,12 @@ public class JavaPredicateToParquetPredicate {
             final JavaPredicateToParquetPredicate predicateConverter = new JavaPredicateToParquetPredicate(schemaUtils, not.getPredicate(), selection, group);
             final FilterPredicate parquetPredicate = predicateConverter.getParquetPredicate();
             if (!predicateConverter.fullyApplied) {
+                // The negation of a filter that matches too many rows would match too few
                 fullyApplied = false;
+                filterResult = null;
+            } else {
+                filterResult = FilterPredicateUtils.not(parquetPredicate);
             }
-            filterResult = FilterPredicateUtils.not(parquetPredicate);
         } else {
             filterResult = getPrimitiveFilter(javaPredicate, selection[0], group, schemaUtils);
         }
@@ -174,6 +177,10 @@ public class JavaPredicateToParquetPredicate {
             if (!predicateConverter.fullyApplied) {
                 fullyApplied = false;
             }
+            if (null == parquetPredicate) {
+                // Any row could match this part of the filter, so none can be excluded
+                return null;
+            }
             combinedFilter = FilterPredicateUtils.or(combinedFilter, parquetPredicate);
         }
         return combinedFilter;
@@ -23,17 +23,52 @@ import org.apache.parquet.filter2.predicate.FilterPredicate;
 
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 
+import java.util.Collections;
+import java.util.List;
+
 public class ParquetFileQuery {
 
     private Path file;
     private FilterPredicate filter;
     private boolean fullyApplied;
+    private List<Path> deltaFiles;
+    private SortedSeedFilter seedFilter;
 
     public ParquetFileQuery(final Path file, final FilterPredicate filter, final boolean fullyApplied) {
+        this(file, filter, fullyApplied, Collections.emptyList());
+    }
+
+    /**
+     * Creates a query for a file from a snapshot which is merged with files for the same partition from deltas.
+     * The elements in the delta files are aggregated with the elements in the snapshot file, so the filter
+     * must only select on the columns that identify an element.
+     *
+     * @param file         the file from the snapshot, which may not exist
+     * @param filter       the filter
+     * @param fullyApplied true if the filter fully applies the view
+     * @param deltaFiles   the files from the deltas
+     */
+    public ParquetFileQuery(final Path file, final FilterPredicate filter, final boolean fullyApplied, final List<Path> deltaFiles) {
+        this(file, filter, fullyApplied, deltaFiles, null);
+    }
+
+    /**
+     * Creates a query which matches the elements against a {@link SortedSeedFilter} rather than a filter
+     * containing the seeds.
+     *
+     * @param file         the file from the snapshot, which may not exist
+     * @param filter       the filter, which does not include the seeds
+     * @param fullyApplied true if the filter fully applies the view
+     * @param deltaFiles   the files from the deltas
+     * @param seedFilter   the seeds to match, or null if the filter includes the seeds
+     */
+    public ParquetFileQuery(final Path file, final FilterPredicate filter, final boolean fullyApplied, final List<Path> deltaFiles,
+                            final SortedSeedFilter seedFilter) {
         this.file = file;
         this.filter = filter;
         this.fullyApplied = fullyApplied;
-
+        this.deltaFiles = deltaFiles;
+        this.seedFilter = seedFilter;
     }
 
     public Path getFile() {
@@ -48,12 +83,22 @@ public class ParquetFileQuery {
         return fullyApplied;
     }
 
+    public List<Path> getDeltaFiles() {
+        return deltaFiles;
+    }
+
+    public SortedSeedFilter getSeedFilter() {
+        return seedFilter;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
                 .append("file", file)
                 .append("filter", filter)
                 .append("fullyApplied", fullyApplied)
+                .append("deltaFiles", deltaFiles)
+                .append("seedFilter", seedFilter)
                 .toString();
     }
 
@@ -73,6 +118,8 @@ public class ParquetFileQuery {
                 .append(file, other.file)
                 .append(filter, other.filter)
                 .append(fullyApplied, other.fullyApplied)
+                .append(deltaFiles, other.deltaFiles)
+                .append(seedFilter, other.seedFilter)
                 .isEquals();
     }
 
@@ -82,6 +129,8 @@ public class ParquetFileQuery {
                 .append(file)
                 .append(filter)
                 .append(fullyApplied)
+                .append(deltaFiles)
+                .append(seedFilter)
                 .toHashCode();
     }
 }
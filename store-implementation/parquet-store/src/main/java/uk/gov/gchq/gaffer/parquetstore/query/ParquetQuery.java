@@ -19,7 +19,7 @@ package uk.gov.gchq.gaffer.parquetstore.query;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,7 +28,7 @@ public class ParquetQuery {
     private final Map<String, List<ParquetFileQuery>> groupToQueries;
 
     public ParquetQuery() {
-        this.groupToQueries = new HashMap<>();
+        this.groupToQueries = new LinkedHashMap<>();
     }
 
     public void add(final String group, final ParquetFileQuery fileQuery) {
@@ -31,11 +31,17 @@ public class PathInfo {
     private final Path path;
     private final String group;
     private final FILETYPE fileType;
+    private final Integer partitionId;
 
     public PathInfo(final Path path, final String group, final FILETYPE fileType) {
+        this(path, group, fileType, null);
+    }
+
+    public PathInfo(final Path path, final String group, final FILETYPE fileType, final Integer partitionId) {
         this.path = path;
         this.group = group;
         this.fileType = fileType;
+        this.partitionId = partitionId;
     }
 
     public Path getPath() {
@@ -50,6 +56,10 @@ public class PathInfo {
         return fileType;
     }
 
+    public Integer getPartitionId() {
+        return partitionId;
+    }
+
     public boolean isReversed() {
         return fileType == FILETYPE.REVERSED_EDGE;
     }
@@ -67,6 +77,7 @@ public class PathInfo {
                 .append(path, pathInfo.path)
                 .append(group, pathInfo.group)
                 .append(fileType, pathInfo.fileType)
+                .append(partitionId, pathInfo.partitionId)
                 .isEquals();
     }
 
@@ -75,6 +86,7 @@ public class PathInfo {
                 .append(path)
                 .append(group)
                 .append(fileType)
+                .append(partitionId)
                 .toHashCode();
     }
 
@@ -84,6 +96,7 @@ public class PathInfo {
                 .append("path", path)
                 .append("group", group)
                 .append("fileType", fileType)
+                .append("partitionId", partitionId)
                 .build();
     }
 }
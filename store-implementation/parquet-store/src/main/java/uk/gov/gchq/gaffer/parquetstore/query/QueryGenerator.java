@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.parquetstore.query;
 
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.io.api.Binary;
@@ -38,14 +39,20 @@ import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.SnapshotView;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.Partition;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.VertexBloomFilter;
 import uk.gov.gchq.koryphe.tuple.n.Tuple3;
 import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -76,16 +83,20 @@ public class QueryGenerator {
     }
 
     public ParquetQuery getParquetQuery(final Operation operation) throws IOException, OperationException {
+        // All the files for the query are taken from the same view, as the snapshot can be replaced while the query
+        // is being created
+        final SnapshotView snapshotView = store.getSnapshotView();
         if (operation instanceof GetAllElements) {
-            return getPathsAndFiltersForAllElements((GetAllElements) operation);
+            return getPathsAndFiltersForAllElements((GetAllElements) operation, snapshotView);
         } else if (operation instanceof GetElements) {
-            return getPathsAndFiltersForGetElements((GetElements) operation);
+            return getPathsAndFiltersForGetElements((GetElements) operation, snapshotView);
         } else {
             throw new OperationException("QueryGenerator can only handle GetAllElements and GetElements operations");
         }
     }
 
-    private ParquetQuery getPathsAndFiltersForAllElements(final GetAllElements getAllElements)
+    private ParquetQuery getPathsAndFiltersForAllElements(final GetAllElements getAllElements,
+                                                          final SnapshotView snapshotView)
             throws IOException, OperationException {
         // Stage 1: Use the view to identify all groups that might contain data
         final Set<String> allRelevantGroups = getRelevantGroups(getAllElements.getView());
@@ -93,7 +104,7 @@ public class QueryGenerator {
         // Stage 2: Create map from group to list of files containing data for that group
         final Map<String, List<Path>> groupToPaths = new HashMap<>();
         for (final String group : allRelevantGroups) {
-            groupToPaths.put(group, store.getFilesForGroup(group));
+            groupToPaths.put(group, getFilesForGroup(snapshotView, group));
         }
 
         // Stage 3: For each of the above groups, create a Parquet predicate from the view and directedType
@@ -115,19 +126,44 @@ public class QueryGenerator {
 
         // Stage 4: Build a ParquetQuery by iterating through the map from group to list of Paths
         final ParquetQuery parquetQuery = new ParquetQuery();
+        final boolean hasDeltas = snapshotView.hasDeltas();
         for (final Map.Entry<String, List<Path>> entry : groupToPaths.entrySet()) {
-            for (final Path path : entry.getValue()) {
-                final String group = entry.getKey();
-                final ParquetFileQuery fileQuery = groupToPredicate.containsKey(group) ?
-                        new ParquetFileQuery(path, groupToPredicate.get(group).getFirst(), groupToPredicate.get(group).getSecond())
-                                : new ParquetFileQuery(path, null, false);
-                parquetQuery.add(group, fileQuery);
+            final String group = entry.getKey();
+            if (!hasDeltas) {
+                for (final Path path : entry.getValue()) {
+                    final ParquetFileQuery fileQuery = groupToPredicate.containsKey(group) ?
+                            new ParquetFileQuery(path, groupToPredicate.get(group).getFirst(), groupToPredicate.get(group).getSecond())
+                                    : new ParquetFileQuery(path, null, false);
+                    parquetQuery.add(group, fileQuery);
+                }
+            } else {
+                // Deltas may contain data for partitions which have no file in the snapshot, so use the partitions
+                // rather than the files
+                final Set<String> fileNames = entry.getValue().stream().map(Path::getName).collect(Collectors.toSet());
+                final Pair<FilterPredicate, Boolean> filter = groupToPredicate.containsKey(group) ?
+                        groupToPredicate.get(group) : new Pair<>(null, false);
+                final FilterPredicate keyFilter = schemaUtils.getEdgeGroups().contains(group) ?
+                        getPredicateFromDirectedType(getAllElements.getDirectedType()) : null;
+                for (final Partition partition : snapshotView.getGraphPartitioner().getGroupPartitioner(group).getPartitions()) {
+                    final Path path = snapshotView.getFile(group, partition.getPartitionId(), false);
+                    addFileQueries(parquetQuery, group, path, fileNames.contains(path.getName()),
+                            snapshotView.getDeltaFiles(group, partition.getPartitionId(), false), filter, keyFilter, null);
+                }
             }
         }
         LOGGER.info("Created ParquetQuery of {}", parquetQuery);
         return parquetQuery;
     }
 
+    private List<Path> getFilesForGroup(final SnapshotView snapshotView, final String group) throws IOException {
+        final FileStatus[] files = store.getFS().listStatus(snapshotView.getGroupPath(group, false),
+                path -> path.getName().endsWith(".parquet"));
+        return Arrays
+                .stream(files)
+                .map(FileStatus::getPath)
+                .collect(Collectors.toList());
+    }
+
     private Set<String> getRelevantGroups(final View view) {
         final Set<String> allRelevantGroups = new HashSet<>();
         if (null != view) {
@@ -140,7 +176,8 @@ public class QueryGenerator {
         return allRelevantGroups;
     }
 
-    private ParquetQuery getPathsAndFiltersForGetElements(final GetElements getElements)
+    private ParquetQuery getPathsAndFiltersForGetElements(final GetElements getElements,
+                                                          final SnapshotView snapshotView)
             throws SerialisationException, OperationException {
         final Iterable<? extends ElementId> seeds = getElements.getInput();
         if (null == seeds || !seeds.iterator().hasNext()) {
@@ -176,7 +213,7 @@ public class QueryGenerator {
         // Stage 4: Convert stream of <group, ParquetElementSeed> pars to stream of tuples
         // <group, ParquetElementSeed, List<PathInfo>>
         final Stream<Tuple3<String, ParquetElementSeed, Set<PathInfo>>> groupSeedsAndPaths = groupAndSeeds
-                .map(pair -> getRelevantFiles(pair.getFirst(), pair.getSecond()));
+                .map(pair -> getRelevantFiles(snapshotView, pair.getFirst(), pair.getSecond()));
 
         // Stage 5: Create map from path to list of <group, reversed edge flag, Parquet seeds>
         // TODO: Currently this consumes the entire stream - need to do this in batches
@@ -196,25 +233,85 @@ public class QueryGenerator {
         // Stage 6: Create ParquetQuery
         final SeededGraphFilters.IncludeIncomingOutgoingType includeIncomingOutgoingType = getElements.getIncludeIncomingOutGoing();
         final SeedMatching.SeedMatchingType seedMatchingType = getElements.getSeedMatching();
+        final int sortedSeedScanThreshold = store.getProperties().getSortedSeedScanThreshold();
         final ParquetQuery parquetQuery = new ParquetQuery();
         for (final PathInfo pathInfo : pathToSeeds.keySet()) {
             List<Tuple3<String, Boolean, ParquetElementSeed>> seedList = pathToSeeds.get(pathInfo);
-            FilterPredicate filterPredicate = seedsToPredicate(seedList, includeIncomingOutgoingType, seedMatchingType);
-            if (null != filterPredicate) {
-                final String group = pathInfo.getGroup();
-                final Pair<FilterPredicate, Boolean> viewFilterPredicate = groupToPredicate.get(group);
-                if (null != viewFilterPredicate) {
+            final String group = pathInfo.getGroup();
+            final Pair<FilterPredicate, Boolean> viewFilterPredicate = groupToPredicate.get(group);
+            final FilterPredicate directedTypeFilter = schemaUtils.getEdgeGroups().contains(group) ?
+                    getPredicateFromDirectedType(getElements.getDirectedType()) : null;
+            final List<Path> deltaFiles = snapshotView.getDeltaFiles(group, pathInfo.getPartitionId(), pathInfo.isReversed());
+            final Map<Path, VertexBloomFilter> bloomFilters = getBloomFilters(pathInfo.getPath(), deltaFiles);
+            if (bloomFilters.size() == deltaFiles.size() + 1) {
+                // Every file has a bloom filter, so the seeds which are not in any of them cannot match an element
+                seedList = filterSeedsUsingBloomFilters(seedList, bloomFilters.values(), group);
+                if (seedList.isEmpty()) {
+                    LOGGER.debug("Not querying {} as its bloom filters do not contain any of the seeds", pathInfo.getPath());
+                    continue;
+                }
+            }
+            if (seedList.size() > sortedSeedScanThreshold) {
+                // A predicate containing every seed would be evaluated against every row group and row, so instead
+                // sort the seeds and merge them with the sorted rows
+                final SortedSeedFilter seedFilter = seedsToSortedSeedFilter(seedList, includeIncomingOutgoingType,
+                        seedMatchingType, group, pathInfo.isReversed(), bloomFilters);
+                if (!seedFilter.isEmpty()) {
+                    addFileQueries(parquetQuery, group, pathInfo.getPath(), true, deltaFiles, viewFilterPredicate,
+                            directedTypeFilter, seedFilter);
+                }
+            } else {
+                final FilterPredicate seedFilterPredicate = seedsToPredicate(seedList, includeIncomingOutgoingType, seedMatchingType);
+                if (null != seedFilterPredicate) {
                     // Put view predicate first as filter for checking whether it matches one of many seeds could be complex
-                    filterPredicate = FilterPredicateUtils.and(viewFilterPredicate.getFirst(), filterPredicate);
+                    final FilterPredicate filterPredicate = FilterPredicateUtils.and(viewFilterPredicate.getFirst(), seedFilterPredicate);
+                    addFileQueries(parquetQuery, group, pathInfo.getPath(), true, deltaFiles,
+                            new Pair<>(filterPredicate, viewFilterPredicate.getSecond()),
+                            FilterPredicateUtils.and(directedTypeFilter, seedFilterPredicate), null);
                 }
-                final ParquetFileQuery fileQuery = new ParquetFileQuery(pathInfo.getPath(), filterPredicate, viewFilterPredicate.getSecond());
-                parquetQuery.add(group, fileQuery);
             }
         }
         LOGGER.info("Created ParquetQuery of {}", parquetQuery);
         return parquetQuery;
     }
 
+    /**
+     * Adds the queries for a file from the current snapshot and the files for the same partition from the deltas.
+     * If the group is aggregated then the delta files are merged with the snapshot file, so that elements which have
+     * been added more than once are aggregated. In that case only the key filter can be applied when reading the
+     * files, and the rest of the view is applied once the elements have been aggregated.
+     *
+     * @param parquetQuery the query to add to
+     * @param group        the group
+     * @param file         the file from the current snapshot
+     * @param fileExists   false if the file from the current snapshot is known not to exist
+     * @param deltaFiles   the files from the deltas
+     * @param filter       the filter for the group and whether it fully applies the view
+     * @param keyFilter    the filter on the columns that identify an element
+     * @param seedFilter   the seeds to match if they are not included in the filters, otherwise null
+     */
+    private void addFileQueries(final ParquetQuery parquetQuery,
+                                final String group,
+                                final Path file,
+                                final boolean fileExists,
+                                final List<Path> deltaFiles,
+                                final Pair<FilterPredicate, Boolean> filter,
+                                final FilterPredicate keyFilter,
+                                final SortedSeedFilter seedFilter) {
+        if (!deltaFiles.isEmpty() && store.getSchema().getAggregatedGroups().contains(group)) {
+            parquetQuery.add(group, new ParquetFileQuery(file, keyFilter, false, deltaFiles, seedFilter));
+        } else {
+            if (fileExists) {
+                parquetQuery.add(group, new ParquetFileQuery(file, filter.getFirst(), filter.getSecond(),
+                        Collections.emptyList(), seedFilter));
+            }
+            for (final Path deltaFile : deltaFiles) {
+                parquetQuery.add(group, new ParquetFileQuery(deltaFile, filter.getFirst(), filter.getSecond(),
+                        Collections.emptyList(), seedFilter));
+            }
+        }
+    }
+
     // TODO raise issue saying that could optimise so that only the filters that have not been fully applied
     // are reapplied, and it should be able to return the fact that all filters have been applied
     // Either the result is:
@@ -287,14 +384,17 @@ public class QueryGenerator {
         }
     }
 
-    private Tuple3<String, ParquetElementSeed, Set<PathInfo>> getRelevantFiles(final String group,
+    private Tuple3<String, ParquetElementSeed, Set<PathInfo>> getRelevantFiles(final SnapshotView snapshotView,
+                                                                               final String group,
                                                                                final ParquetElementSeed seed) {
-        final Set<PathInfo> paths = getPathsForSeed(seed, group);
+        final Set<PathInfo> paths = getPathsForSeed(snapshotView, seed, group);
         return new Tuple3<>(group, seed, paths);
     }
 
-    private Set<PathInfo> getPathsForSeed(final ParquetElementSeed parquetElementSeed, final String group) {
-        final GraphPartitioner graphPartitioner = store.getGraphPartitioner();
+    private Set<PathInfo> getPathsForSeed(final SnapshotView snapshotView,
+                                          final ParquetElementSeed parquetElementSeed,
+                                          final String group) {
+        final GraphPartitioner graphPartitioner = snapshotView.getGraphPartitioner();
         final boolean isEntityGroup = store.getSchema().getEntityGroups().contains(group);
         final List<Object[]> seeds = new ArrayList<>();
         if (parquetElementSeed instanceof ParquetEntitySeed) {
@@ -321,10 +421,10 @@ public class QueryGenerator {
             final List<Integer> partitionIds = graphPartitioner.getGroupPartitioner(group).getPartitionIds(seed);
             LOGGER.debug("Partition ids for seed {} in group {}: {}", seed, group, partitionIds);
             final PathInfo.FILETYPE fileType = isEntityGroup ? PathInfo.FILETYPE.ENTITY : PathInfo.FILETYPE.EDGE;
-            partitionIds.forEach(id -> paths.add(new PathInfo(new Path(store.getFile(group, id)), group, fileType)));
+            partitionIds.forEach(id -> paths.add(new PathInfo(snapshotView.getFile(group, id, false), group, fileType, id)));
             if (!isEntityGroup && parquetElementSeed instanceof ParquetEntitySeed) {
                 final List<Integer> partitionIdsFromReversed = graphPartitioner.getGroupPartitionerForReversedEdges(group).getPartitionIds(seed);
-                partitionIdsFromReversed.forEach(id -> paths.add(new PathInfo(new Path(store.getFileForReversedEdges(group, id)), group, PathInfo.FILETYPE.REVERSED_EDGE)));
+                partitionIdsFromReversed.forEach(id -> paths.add(new PathInfo(snapshotView.getFile(group, id, true), group, PathInfo.FILETYPE.REVERSED_EDGE, id)));
             }
         }
         LOGGER.debug("Returning {} paths for seed {} and group {} (paths are {})",
@@ -347,6 +447,101 @@ public class QueryGenerator {
         return predicate;
     }
 
+    // Gets the bloom filters for a file from the current snapshot and the files for the same partition from the
+    // deltas, omitting the files which do not have one
+    private Map<Path, VertexBloomFilter> getBloomFilters(final Path file, final List<Path> deltaFiles) {
+        final Map<Path, VertexBloomFilter> bloomFilters = new HashMap<>();
+        final List<Path> files = new ArrayList<>();
+        files.add(file);
+        files.addAll(deltaFiles);
+        for (final Path path : files) {
+            final VertexBloomFilter bloomFilter = store.getVertexBloomFilter(path);
+            if (null != bloomFilter) {
+                bloomFilters.put(path, bloomFilter);
+            }
+        }
+        return bloomFilters;
+    }
+
+    // Removes the seeds whose keys are not contained in any of the bloom filters
+    private List<Tuple3<String, Boolean, ParquetElementSeed>> filterSeedsUsingBloomFilters(final List<Tuple3<String, Boolean, ParquetElementSeed>> seedList,
+                                                                                          final Collection<VertexBloomFilter> bloomFilters,
+                                                                                          final String group) {
+        final boolean isEntityGroup = schemaUtils.getEntityGroups().contains(group);
+        final List<Tuple3<String, Boolean, ParquetElementSeed>> filteredSeedList = new ArrayList<>();
+        for (final Tuple3<String, Boolean, ParquetElementSeed> tuple : seedList) {
+            final List<Object[]> keys = new ArrayList<>();
+            if (tuple.get2() instanceof ParquetEntitySeed) {
+                keys.add(((ParquetEntitySeed) tuple.get2()).getSeed());
+            } else {
+                // An edge seed is matched against the source of the edges, or either vertex of the entities
+                final ParquetEdgeSeed edgeSeed = (ParquetEdgeSeed) tuple.get2();
+                keys.add(edgeSeed.getSource());
+                if (isEntityGroup && null != edgeSeed.getDestination()) {
+                    keys.add(edgeSeed.getDestination());
+                }
+            }
+            if (keys.stream().anyMatch(key -> bloomFilters.stream().anyMatch(bloomFilter -> bloomFilter.mightContain(key)))) {
+                filteredSeedList.add(tuple);
+            }
+        }
+        LOGGER.debug("{} of {} seeds are contained in the bloom filters", filteredSeedList.size(), seedList.size());
+        return filteredSeedList;
+    }
+
+    // Creates a SortedSeedFilter which matches the same elements in a file as the predicate from seedsToPredicate
+    private SortedSeedFilter seedsToSortedSeedFilter(final List<Tuple3<String, Boolean, ParquetElementSeed>> seedList,
+                                                     final SeededGraphFilters.IncludeIncomingOutgoingType includeIncomingOutgoingType,
+                                                     final SeedMatching.SeedMatchingType seedMatchingType,
+                                                     final String group,
+                                                     final boolean reversed,
+                                                     final Map<Path, VertexBloomFilter> bloomFilters) {
+        final boolean isEntityGroup = schemaUtils.getEntityGroups().contains(group);
+        final String keyColumn = isEntityGroup ? ParquetStore.VERTEX : (reversed ? ParquetStore.DESTINATION : ParquetStore.SOURCE);
+        final SortedSeedFilter.Builder builder = new SortedSeedFilter.Builder(group, isEntityGroup, reversed,
+                schemaUtils.getPaths(group, keyColumn), schemaUtils.getConverter(group));
+        bloomFilters.forEach(builder::bloomFilter);
+        for (final Tuple3<String, Boolean, ParquetElementSeed> tuple : seedList) {
+            final ParquetElementSeed seed = tuple.get2();
+            if (seed.getElementId() instanceof EntityId) {
+                final Object[] vertex = ((ParquetEntitySeed) seed).getSeed();
+                if (isEntityGroup) {
+                    builder.seed(vertex, null, null);
+                } else if (seedMatchingType != SeedMatching.SeedMatchingType.EQUAL) {
+                    if (includeIncomingOutgoingType == SeededGraphFilters.IncludeIncomingOutgoingType.INCOMING) {
+                        // Dst is seed, or src is seed and edge is undirected
+                        builder.seed(vertex, null, reversed ? null : false);
+                    } else if (includeIncomingOutgoingType == SeededGraphFilters.IncludeIncomingOutgoingType.OUTGOING) {
+                        // Src is seed, or dst is seed and edge is undirected
+                        builder.seed(vertex, null, reversed ? false : null);
+                    } else {
+                        builder.seed(vertex, null, null);
+                    }
+                }
+            } else {
+                final ParquetEdgeSeed edgeSeed = (ParquetEdgeSeed) seed;
+                if (isEntityGroup) {
+                    if (seedMatchingType != SeedMatching.SeedMatchingType.EQUAL) {
+                        builder.seed(edgeSeed.getSource(), null, null);
+                        if (null != edgeSeed.getDestination()) {
+                            builder.seed(edgeSeed.getDestination(), null, null);
+                        }
+                    }
+                } else {
+                    // The reversed edges are sorted by destination, so the source of the seed is compared with the
+                    // destination of the edges and the destination of the seed with the source
+                    final DirectedType directedType = edgeSeed.getDirectedType();
+                    final Boolean directed = DirectedType.DIRECTED == directedType ? Boolean.TRUE
+                            : (DirectedType.UNDIRECTED == directedType ? Boolean.FALSE : null);
+                    builder.seed(edgeSeed.getSource(), edgeSeed.getDestination(), directed);
+                }
+            }
+        }
+        final SortedSeedFilter seedFilter = builder.build();
+        LOGGER.debug("Returning {} from seedsToSortedSeedFilter", seedFilter);
+        return seedFilter;
+    }
+
     private FilterPredicate getIsEqualFilter(final String colName,
                                              final Object[] parquetObjects,
                                              final String group) {
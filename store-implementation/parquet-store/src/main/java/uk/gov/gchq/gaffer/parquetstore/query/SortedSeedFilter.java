@@ -0,0 +1,459 @@
+/*
+ * Copyright 2019. Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.query;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.io.api.Binary;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+import uk.gov.gchq.gaffer.parquetstore.utils.SeedComparator;
+import uk.gov.gchq.gaffer.parquetstore.utils.VertexBloomFilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.binaryColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.doubleColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.floatColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.ltEq;
+
+/**
+ * A {@code SortedSeedFilter} matches the elements in a Parquet file against a large number of seeds. It is used
+ * instead of a {@link FilterPredicate} containing one clause per seed, which becomes very large and is evaluated
+ * against every row group and row in the file.
+ * <p>
+ * The seeds are sorted using the {@link SeedComparator} on the column that the file is sorted by, i.e. the vertex
+ * for entity groups, the source for edge groups and the destination for reversed edges. The min and max statistics
+ * of each row group are used to skip the row groups that cannot contain any of the seeds, and the remaining rows
+ * are merged with the sorted seeds using a {@link Cursor}. If a {@link VertexBloomFilter} is provided for a file then
+ * the row groups whose bloom filters do not contain any of the seeds are skipped as well.
+ * </p>
+ */
+public final class SortedSeedFilter {
+    private static final SeedComparator COMPARATOR = new SeedComparator();
+
+    private final String group;
+    private final boolean isEntityGroup;
+    private final boolean reversed;
+    private final String keyPath;
+    private final GafferGroupObjectConverter converter;
+    private final Object[][] keys;
+    private final SeedCondition[][] conditions;
+    private final Map<Path, VertexBloomFilter> bloomFilters;
+
+    private SortedSeedFilter(final Builder builder) {
+        this.group = builder.group;
+        this.isEntityGroup = builder.isEntityGroup;
+        this.reversed = builder.reversed;
+        this.keyPath = builder.keyPath;
+        this.converter = builder.converter;
+        this.bloomFilters = new HashMap<>(builder.bloomFilters);
+        this.keys = new Object[builder.seeds.size()][];
+        this.conditions = new SeedCondition[builder.seeds.size()][];
+        int i = 0;
+        for (final Map.Entry<Object[], List<SeedCondition>> entry : builder.seeds.entrySet()) {
+            keys[i] = entry.getKey();
+            conditions[i] = entry.getValue().toArray(new SeedCondition[0]);
+            i++;
+        }
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public boolean isReversed() {
+        return reversed;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public boolean isEmpty() {
+        return 0 == keys.length;
+    }
+
+    /**
+     * Creates a new {@link Cursor} for matching the elements read from a file against the seeds. A cursor is
+     * not thread safe, so a new one should be created for each file that is read.
+     *
+     * @return a new cursor
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Gets the row groups which may contain one of the seeds, using the min and max statistics for the first
+     * Parquet column of the key. Row groups without statistics are always included.
+     *
+     * @param rowGroups the row groups in the file
+     * @return the row groups which may contain one of the seeds
+     */
+    public List<BlockMetaData> getMatchingRowGroups(final List<BlockMetaData> rowGroups) {
+        return getMatchingRowGroups(null, rowGroups);
+    }
+
+    /**
+     * Gets the row groups which may contain one of the seeds, using the min and max statistics for the first
+     * Parquet column of the key and the {@link VertexBloomFilter} for the file if there is one. Row groups without
+     * statistics or bloom filters are always included.
+     *
+     * @param file      the file containing the row groups
+     * @param rowGroups the row groups in the file
+     * @return the row groups which may contain one of the seeds
+     */
+    public List<BlockMetaData> getMatchingRowGroups(final Path file, final List<BlockMetaData> rowGroups) {
+        final Comparable[] values = getSortedParquetValues();
+        final VertexBloomFilter bloomFilter = null != file ? bloomFilters.get(file) : null;
+        // The bloom filter can only be used if it was written for the same row groups
+        final boolean useBloomFilter = null != bloomFilter && bloomFilter.getNumberOfRowGroups() == rowGroups.size();
+        if (null == values && !useBloomFilter) {
+            return rowGroups;
+        }
+        final List<BlockMetaData> matchingRowGroups = new ArrayList<>();
+        for (int i = 0; i < rowGroups.size(); i++) {
+            final BlockMetaData rowGroup = rowGroups.get(i);
+            if ((null == values || mayContain(values, getKeyStatistics(rowGroup)))
+                    && (!useBloomFilter || mayContain(bloomFilter, i))) {
+                matchingRowGroups.add(rowGroup);
+            }
+        }
+        return matchingRowGroups;
+    }
+
+    /**
+     * Creates a {@link FilterPredicate} on the first Parquet column of the key that selects the given row groups.
+     * Consecutive row groups are combined into a single range, so the predicate has at most one clause for each
+     * row group rather than one for each seed.
+     *
+     * @param rowGroups         the row groups in the file
+     * @param matchingRowGroups the row groups to select
+     * @return the predicate, or null if all the row groups are selected or the column type is not supported
+     */
+    public FilterPredicate getRowGroupFilter(final List<BlockMetaData> rowGroups, final List<BlockMetaData> matchingRowGroups) {
+        if (matchingRowGroups.size() == rowGroups.size()) {
+            return null;
+        }
+        FilterPredicate filter = null;
+        Comparable min = null;
+        Comparable max = null;
+        for (final BlockMetaData rowGroup : rowGroups) {
+            if (matchingRowGroups.contains(rowGroup)) {
+                final Statistics statistics = getKeyStatistics(rowGroup);
+                if (null == statistics || statistics.isEmpty() || !statistics.hasNonNullValue()) {
+                    return null;
+                }
+                min = null == min || min.compareTo(statistics.genericGetMin()) > 0 ? statistics.genericGetMin() : min;
+                max = null == max || max.compareTo(statistics.genericGetMax()) < 0 ? statistics.genericGetMax() : max;
+            } else if (null != min) {
+                final FilterPredicate range = getRangeFilter(min, max);
+                if (null == range) {
+                    return null;
+                }
+                filter = FilterPredicateUtils.or(filter, range);
+                min = null;
+                max = null;
+            }
+        }
+        if (null != min) {
+            final FilterPredicate range = getRangeFilter(min, max);
+            if (null == range) {
+                return null;
+            }
+            filter = FilterPredicateUtils.or(filter, range);
+        }
+        return filter;
+    }
+
+    private Statistics getKeyStatistics(final BlockMetaData rowGroup) {
+        for (final ColumnChunkMetaData column : rowGroup.getColumns()) {
+            if (keyPath.equals(column.getPath().toDotString())) {
+                return column.getStatistics();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Converts the first value of each key to the type used by Parquet for the column statistics, and sorts them
+     * using Parquet's ordering for that type.
+     *
+     * @return the sorted values, or null if the values cannot be compared with the statistics
+     */
+    private Comparable[] getSortedParquetValues() {
+        if (0 == keys.length) {
+            return null;
+        }
+        final Comparable[] values = new Comparable[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = toParquetValue(keys[i][0]);
+            if (null == values[i] || !isSameType(values[i], values[0])) {
+                return null;
+            }
+        }
+        Arrays.sort(values);
+        return values;
+    }
+
+    private static Comparable toParquetValue(final Object value) {
+        if (value instanceof String) {
+            return Binary.fromString((String) value);
+        } else if (value instanceof byte[]) {
+            return Binary.fromConstantByteArray((byte[]) value);
+        } else if (value instanceof Short) {
+            return ((Short) value).intValue();
+        } else if (value instanceof java.util.Date) {
+            return ((java.util.Date) value).getTime();
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Float || value instanceof Double) {
+            return (Comparable) value;
+        }
+        return null;
+    }
+
+    private static boolean mayContain(final Comparable[] values, final Statistics statistics) {
+        return null == statistics || statistics.isEmpty() || !statistics.hasNonNullValue()
+                || !isSameType(statistics.genericGetMin(), values[0])
+                || mayContain(values, statistics.genericGetMin(), statistics.genericGetMax());
+    }
+
+    private static boolean isSameType(final Object value, final Object other) {
+        // Binary values are compared by their bytes, whichever subclass holds them
+        if (value instanceof Binary) {
+            return other instanceof Binary;
+        }
+        return value.getClass().equals(other.getClass());
+    }
+
+    private boolean mayContain(final VertexBloomFilter bloomFilter, final int rowGroup) {
+        for (final Object[] key : keys) {
+            if (bloomFilter.mightContain(rowGroup, key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean mayContain(final Comparable[] values, final Comparable min, final Comparable max) {
+        // Find the first value that is not less than the min and check whether it is not greater than the max
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (values[mid].compareTo(min) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < values.length && values[low].compareTo(max) <= 0;
+    }
+
+    private FilterPredicate getRangeFilter(final Comparable min, final Comparable max) {
+        if (min instanceof Binary) {
+            return and(gtEq(binaryColumn(keyPath), (Binary) min), ltEq(binaryColumn(keyPath), (Binary) max));
+        } else if (min instanceof Integer) {
+            return and(gtEq(intColumn(keyPath), (Integer) min), ltEq(intColumn(keyPath), (Integer) max));
+        } else if (min instanceof Long) {
+            return and(gtEq(longColumn(keyPath), (Long) min), ltEq(longColumn(keyPath), (Long) max));
+        } else if (min instanceof Float) {
+            return and(gtEq(floatColumn(keyPath), (Float) min), ltEq(floatColumn(keyPath), (Float) max));
+        } else if (min instanceof Double) {
+            return and(gtEq(doubleColumn(keyPath), (Double) min), ltEq(doubleColumn(keyPath), (Double) max));
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("group", group)
+                .append("reversed", reversed)
+                .append("keyPath", keyPath)
+                .append("numberOfSeeds", keys.length)
+                .toString();
+    }
+
+    /**
+     * Merges the elements read from a file with the sorted seeds. If the elements are in the same order as the
+     * seeds then each match only moves forward through the seeds, so matching all the elements in a file takes time
+     * proportional to the number of elements plus the number of seeds. Elements that are out of order, such as
+     * elements from deltas that are not in the snapshot, are found by searching from the first seed.
+     */
+    public final class Cursor {
+        private int index;
+        private Object[] previousKey;
+
+        private Cursor() {
+        }
+
+        public boolean matches(final Element element) throws SerialisationException {
+            final Object[] key = getKey(element);
+            if (null != previousKey && COMPARATOR.compare(key, previousKey) < 0) {
+                index = 0;
+            }
+            previousKey = key;
+            index = lowerBound(key, index);
+            if (index >= keys.length || 0 != COMPARATOR.compare(keys[index], key)) {
+                return false;
+            }
+            Object[] otherVertex = null;
+            for (final SeedCondition condition : conditions[index]) {
+                if (null == condition.otherVertex && null == condition.directed) {
+                    return true;
+                }
+                final Edge edge = (Edge) element;
+                if (null != condition.directed && condition.directed != edge.isDirected()) {
+                    continue;
+                }
+                if (null == condition.otherVertex) {
+                    return true;
+                }
+                if (null == otherVertex) {
+                    otherVertex = getOtherVertex(edge);
+                }
+                if (0 == COMPARATOR.compare(condition.otherVertex, otherVertex)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int lowerBound(final Object[] key, final int from) {
+            // Gallop forward from the previous position and then binary search within the last step
+            int low = from;
+            int high = from;
+            int step = 1;
+            while (high < keys.length && COMPARATOR.compare(keys[high], key) < 0) {
+                low = high + 1;
+                high = from + step;
+                step <<= 1;
+            }
+            high = Math.min(high, keys.length);
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (COMPARATOR.compare(keys[mid], key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private Object[] getKey(final Element element) throws SerialisationException {
+        return VertexBloomFilter.getKey(element, isEntityGroup, reversed, converter);
+    }
+
+    private Object[] getOtherVertex(final Edge edge) throws SerialisationException {
+        if (reversed) {
+            return converter.gafferObjectToParquetObjects(ParquetStore.SOURCE, edge.getSource());
+        }
+        return converter.gafferObjectToParquetObjects(ParquetStore.DESTINATION, edge.getDestination());
+    }
+
+    /**
+     * The conditions on an edge, in addition to its key, for it to match a seed.
+     */
+    private static final class SeedCondition {
+        private final Object[] otherVertex;
+        private final Boolean directed;
+
+        private SeedCondition(final Object[] otherVertex, final Boolean directed) {
+            this.otherVertex = otherVertex;
+            this.directed = directed;
+        }
+    }
+
+    public static class Builder {
+        private final String group;
+        private final boolean isEntityGroup;
+        private final boolean reversed;
+        private final String keyPath;
+        private final GafferGroupObjectConverter converter;
+        private final Map<Object[], List<SeedCondition>> seeds = new TreeMap<>(COMPARATOR);
+        private final Map<Path, VertexBloomFilter> bloomFilters = new HashMap<>();
+
+        /**
+         * @param group         the group of the file
+         * @param isEntityGroup true if the group is an entity group
+         * @param reversed      true if the file contains reversed edges
+         * @param keyPaths      the Parquet columns for the vertex that the file is sorted by
+         * @param converter     the converter for the group
+         */
+        public Builder(final String group,
+                       final boolean isEntityGroup,
+                       final boolean reversed,
+                       final String[] keyPaths,
+                       final GafferGroupObjectConverter converter) {
+            this.group = group;
+            this.isEntityGroup = isEntityGroup;
+            this.reversed = reversed;
+            this.keyPath = keyPaths[0];
+            this.converter = converter;
+        }
+
+        /**
+         * Adds a seed.
+         *
+         * @param key         the Parquet objects for the vertex that the file is sorted by
+         * @param otherVertex the Parquet objects for the other vertex of an edge, or null to match any
+         * @param directed    whether an edge must be directed, or null to match either
+         * @return this Builder
+         */
+        public Builder seed(final Object[] key, final Object[] otherVertex, final Boolean directed) {
+            seeds.computeIfAbsent(key, k -> new ArrayList<>())
+                    .add(new SeedCondition(otherVertex, directed));
+            return this;
+        }
+
+        /**
+         * Adds the bloom filter for one of the files that the seeds will be matched against.
+         *
+         * @param file        the file
+         * @param bloomFilter the bloom filter for the file
+         * @return this Builder
+         */
+        public Builder bloomFilter(final Path file, final VertexBloomFilter bloomFilter) {
+            bloomFilters.put(file, bloomFilter);
+            return this;
+        }
+
+        public SortedSeedFilter build() {
+            return new SortedSeedFilter(this);
+        }
+    }
+}
@@ -44,6 +44,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class contains the logic for converting objects between the Gaffer, Parquet and Spark types for a single Gaffer group.
@@ -318,6 +319,22 @@ public class GafferGroupObjectConverter implements Serializable {
      */
     public Element buildElementFromParquetObjects(final Map<String, Object[]> parquetColumnToObject,
                                                   final boolean isEntity) throws SerialisationException {
+        return buildElementFromParquetObjects(parquetColumnToObject, isEntity, null);
+    }
+
+    /**
+     * Builds up a Gaffer element using a map of parquetColumn to Object[], only setting the given columns.
+     *
+     * @param parquetColumnToObject is a map from parquet column path to a list of the objects stored on that path which
+     *                              only contains more then 1 if the column is storing an array or part of a map
+     * @param isEntity              is it an Entity that needs building
+     * @param columns               the Gaffer columns to set, or null to set all of them
+     * @return an Element containing the objects from the parquetColumnToObject
+     * @throws SerialisationException if the parquet objects can not be de-serialised
+     */
+    public Element buildElementFromParquetObjects(final Map<String, Object[]> parquetColumnToObject,
+                                                  final boolean isEntity,
+                                                  final Set<String> columns) throws SerialisationException {
         final Element e;
         if (isEntity) {
             e = new Entity(group);
@@ -329,6 +346,9 @@ public class GafferGroupObjectConverter implements Serializable {
         boolean isDir = false;
         for (final Map.Entry<String, String[]> columnToPaths : this.columnToPaths.entrySet()) {
             final String column = columnToPaths.getKey();
+            if (null != columns && !columns.contains(column)) {
+                continue;
+            }
             final String[] paths = columnToPaths.getValue();
             final Object[] parquetObjectsForColumn = new Object[paths.length];
             boolean isMap = false;
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019. Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.utils;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.PrimitiveSink;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@code VertexBloomFilter} records the vertices that a Parquet file is sorted by, i.e. the vertex for entity
+ * groups, the source for edge groups and the destination for reversed edges. It contains one bloom filter for the
+ * whole file and one for each row group, so that a query can skip the files and row groups which cannot contain
+ * any of its seeds.
+ * <p>
+ * The filter is stored in a hidden sidecar file next to the Parquet file, see {@link #getPath(Path)}. The vertices
+ * are added as the Parquet objects created by the {@link GafferGroupObjectConverter}, so seeds must be converted
+ * in the same way before they are checked.
+ * </p>
+ */
+public final class VertexBloomFilter implements Serializable {
+    public static final String SUFFIX = ".bloom";
+    private static final long serialVersionUID = -4460342186421936538L;
+
+    private final BloomFilter<Object[]> fileFilter;
+    private final ArrayList<BloomFilter<Object[]>> rowGroupFilters;
+
+    /**
+     * @param rowGroupSizes the number of rows in each row group of the file
+     * @param fpp           the desired false positive probability of each filter
+     */
+    public VertexBloomFilter(final long[] rowGroupSizes, final double fpp) {
+        long numberOfRows = 0;
+        this.rowGroupFilters = new ArrayList<>(rowGroupSizes.length);
+        for (final long rowGroupSize : rowGroupSizes) {
+            rowGroupFilters.add(BloomFilter.create(ParquetObjectsFunnel.INSTANCE, getExpectedInsertions(rowGroupSize), fpp));
+            numberOfRows += rowGroupSize;
+        }
+        this.fileFilter = BloomFilter.create(ParquetObjectsFunnel.INSTANCE, getExpectedInsertions(numberOfRows), fpp);
+    }
+
+    /**
+     * Gets the path of the sidecar file for a Parquet file. The name starts with a '.' so that it is ignored when
+     * Spark or Hadoop list the Parquet files in a directory.
+     *
+     * @param parquetFile the Parquet file
+     * @return the path of the sidecar file
+     */
+    public static Path getPath(final Path parquetFile) {
+        return new Path(parquetFile.getParent(), "." + parquetFile.getName() + SUFFIX);
+    }
+
+    /**
+     * Reads the filter for a Parquet file.
+     *
+     * @param fs          the file system
+     * @param parquetFile the Parquet file
+     * @return the filter, or null if there is no sidecar file for the Parquet file
+     * @throws IOException if the sidecar file could not be read
+     */
+    public static VertexBloomFilter read(final FileSystem fs, final Path parquetFile) throws IOException {
+        final Path path = getPath(parquetFile);
+        if (!fs.exists(path)) {
+            return null;
+        }
+        try (final ObjectInputStream stream = new ObjectInputStream(fs.open(path))) {
+            return (VertexBloomFilter) stream.readObject();
+        } catch (final ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Unable to read the bloom filter in " + path, e);
+        }
+    }
+
+    /**
+     * Writes the filter to the sidecar file for a Parquet file, replacing any existing filter.
+     *
+     * @param fs          the file system
+     * @param parquetFile the Parquet file
+     * @throws IOException if the sidecar file could not be written
+     */
+    public void write(final FileSystem fs, final Path parquetFile) throws IOException {
+        try (final FSDataOutputStream out = fs.create(getPath(parquetFile), true);
+             final ObjectOutputStream stream = new ObjectOutputStream(out)) {
+            stream.writeObject(this);
+        }
+    }
+
+    /**
+     * Gets the key of an element in a file, i.e. the Parquet objects for the vertex that the file is sorted by.
+     *
+     * @param element       the element
+     * @param isEntityGroup true if the element is in an entity group
+     * @param reversed      true if the file contains reversed edges
+     * @param converter     the converter for the element's group
+     * @return the key
+     * @throws SerialisationException if the vertex could not be converted
+     */
+    public static Object[] getKey(final Element element,
+                                  final boolean isEntityGroup,
+                                  final boolean reversed,
+                                  final GafferGroupObjectConverter converter) throws SerialisationException {
+        if (isEntityGroup) {
+            return converter.gafferObjectToParquetObjects(ParquetStore.VERTEX, ((Entity) element).getVertex());
+        } else if (reversed) {
+            return converter.gafferObjectToParquetObjects(ParquetStore.DESTINATION, ((Edge) element).getDestination());
+        }
+        return converter.gafferObjectToParquetObjects(ParquetStore.SOURCE, ((Edge) element).getSource());
+    }
+
+    public void put(final int rowGroup, final Object[] key) {
+        fileFilter.put(key);
+        rowGroupFilters.get(rowGroup).put(key);
+    }
+
+    public boolean mightContain(final Object[] key) {
+        return fileFilter.mightContain(key);
+    }
+
+    public boolean mightContain(final int rowGroup, final Object[] key) {
+        return rowGroupFilters.get(rowGroup).mightContain(key);
+    }
+
+    public int getNumberOfRowGroups() {
+        return rowGroupFilters.size();
+    }
+
+    private static int getExpectedInsertions(final long numberOfRows) {
+        return (int) Math.max(1L, Math.min(Integer.MAX_VALUE, numberOfRows));
+    }
+
+    /**
+     * Adds the Parquet objects for a vertex to a bloom filter.
+     */
+    private enum ParquetObjectsFunnel implements Funnel<Object[]> {
+        INSTANCE;
+
+        @Override
+        public void funnel(final Object[] from, final PrimitiveSink into) {
+            into.putInt(from.length);
+            for (final Object object : from) {
+                funnelObject(object, into);
+            }
+        }
+
+        private static void funnelObject(final Object object, final PrimitiveSink into) {
+            if (null == object) {
+                into.putByte((byte) 0);
+            } else if (object instanceof String) {
+                into.putByte((byte) 1).putString((String) object, StandardCharsets.UTF_8);
+            } else if (object instanceof byte[]) {
+                into.putByte((byte) 2).putBytes((byte[]) object);
+            } else if (object instanceof Integer) {
+                into.putByte((byte) 3).putInt((Integer) object);
+            } else if (object instanceof Long) {
+                into.putByte((byte) 4).putLong((Long) object);
+            } else if (object instanceof Short) {
+                into.putByte((byte) 5).putShort((Short) object);
+            } else if (object instanceof Boolean) {
+                into.putByte((byte) 6).putBoolean((Boolean) object);
+            } else if (object instanceof Float) {
+                into.putByte((byte) 7).putFloat((Float) object);
+            } else if (object instanceof Double) {
+                into.putByte((byte) 8).putDouble((Double) object);
+            } else if (object instanceof java.util.Date) {
+                into.putByte((byte) 9).putLong(((java.util.Date) object).getTime());
+            } else if (object instanceof Object[]) {
+                into.putByte((byte) 10);
+                INSTANCE.funnel((Object[]) object, into);
+            } else if (object instanceof List) {
+                into.putByte((byte) 10);
+                INSTANCE.funnel(((List<?>) object).toArray(), into);
+            } else {
+                into.putByte((byte) 11).putString(object.toString(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+}
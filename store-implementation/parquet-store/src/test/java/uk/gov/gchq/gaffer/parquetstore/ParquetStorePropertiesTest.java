@@ -86,6 +86,27 @@ public class ParquetStorePropertiesTest {
         assertEquals("Test", props.getSparkMaster());
     }
 
+    @Test
+    public void sortedSeedScanThresholdTest() {
+        assertEquals(100, props.getSortedSeedScanThreshold());
+        props.setSortedSeedScanThreshold(0);
+        assertEquals(0, props.getSortedSeedScanThreshold());
+    }
+
+    @Test
+    public void bloomFilterFppTest() {
+        assertEquals(0.01, props.getBloomFilterFpp(), 0);
+        props.setBloomFilterFpp(0.001);
+        assertEquals(0.001, props.getBloomFilterFpp(), 0);
+    }
+
+    @Test
+    public void bloomFilterCacheSizeTest() {
+        assertEquals(268435456L, props.getBloomFilterCacheSize());
+        props.setBloomFilterCacheSize(1024L);
+        assertEquals(1024L, props.getBloomFilterCacheSize());
+    }
+
     @Test
     public void compressionTest() {
         assertEquals(CompressionCodecName.GZIP, props.getCompressionCodecName());
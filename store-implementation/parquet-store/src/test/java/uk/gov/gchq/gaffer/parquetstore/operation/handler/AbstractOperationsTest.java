@@ -16,6 +16,8 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.handler;
 
+import com.google.common.collect.Lists;
+import org.apache.hadoop.fs.Path;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -42,8 +44,11 @@ import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
 import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
@@ -56,6 +61,7 @@ import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -122,6 +128,26 @@ public abstract class AbstractOperationsTest extends StandaloneIT {
         ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), results);
     }
 
+    @Test
+    public void shouldGetAllElementsInFileOrderWhenOrderedOptionSet() throws OperationException {
+        // Given
+        final Graph graph = createGraph();
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final List<Element> results1 = Lists.newArrayList(graph.execute(new GetAllElements.Builder()
+                .option(ParquetStore.OPTION_ORDERED, "true")
+                .build(), user));
+        final List<Element> results2 = Lists.newArrayList(graph.execute(new GetAllElements.Builder()
+                .option(ParquetStore.OPTION_ORDERED, "true")
+                .build(), user));
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), results1);
+        assertEquals(results1, results2);
+    }
+
     @Test
     public void shouldGetNoResultsFromGetAllElementsOnEmptyGraph() throws OperationException {
         // Given (test on a graph on which add has been called with an empty list and
@@ -223,6 +249,151 @@ public abstract class AbstractOperationsTest extends StandaloneIT {
         ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), results);
     }
 
+    @Test
+    public void shouldGetAllElementsAfterTwoAddElementsWithDeltas() throws IOException, OperationException {
+        // Given
+        final Graph graph = createGraph(createDeltaStoreProperties());
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements.Builder().build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsAfterTwoAdds(), results);
+    }
+
+    @Test
+    public void shouldGetAllElementsWithDeltasOnGraphRecreatedFromExistingGraph() throws IOException, OperationException {
+        // Given
+        final ParquetStoreProperties storeProperties = createDeltaStoreProperties();
+        final Graph graph = createGraph(storeProperties);
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final Graph graph2 = createGraph(storeProperties);
+        final CloseableIterable<? extends Element> results = graph2.execute(
+                new GetAllElements.Builder().build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsAfterTwoAdds(), results);
+    }
+
+    @Test
+    public void shouldGetAllElementsAfterDeltasCompacted() throws IOException, OperationException, StoreException {
+        // Given
+        final ParquetStore store = (ParquetStore) Store.createStore("graphId", createSchema(), createDeltaStoreProperties());
+        final Graph graph = new Graph.Builder()
+                .config(createGraphConfig())
+                .store(store)
+                .build();
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        assertEquals(2, store.getDeltas().size());
+
+        // When
+        store.compactDeltas();
+        final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements.Builder().build(), user);
+
+        // Then
+        assertTrue(store.getDeltas().isEmpty());
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsAfterTwoAdds(), results);
+    }
+
+    @Test
+    public void shouldGetElementsWithSeedsAfterTwoAddElementsWithDeltas() throws IOException, OperationException {
+        // Given
+        final Graph graph = createGraph(createDeltaStoreProperties());
+        final Graph graphWithoutDeltas = createGraph(createStorePropertiesInNewFolder("withoutDeltas"));
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        for (final Graph g : Lists.newArrayList(graph, graphWithoutDeltas)) {
+            g.execute(new AddElements.Builder().input(elements).build(), user);
+            g.execute(new AddElements.Builder().input(elements).build(), user);
+        }
+
+        // When
+        final List<Element> results = Lists.newArrayList(graph.execute(new GetElements.Builder()
+                .input(getSeeds())
+                .seedMatching(SeedMatching.SeedMatchingType.RELATED)
+                .build(), user));
+        final List<Element> expected = Lists.newArrayList(graphWithoutDeltas.execute(new GetElements.Builder()
+                .input(getSeeds())
+                .seedMatching(SeedMatching.SeedMatchingType.RELATED)
+                .build(), user));
+
+        // Then
+        assertFalse(expected.isEmpty());
+        ElementUtil.assertElementEquals(expected, results);
+    }
+
+    @Test
+    public void shouldGetElementsWithSeedsAndViewAfterTwoAddElementsWithDeltas() throws IOException, OperationException {
+        // Given
+        final Graph graph = createGraph(createDeltaStoreProperties());
+        final Graph graphWithoutDeltas = createGraph(createStorePropertiesInNewFolder("withoutDeltas"));
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        for (final Graph g : Lists.newArrayList(graph, graphWithoutDeltas)) {
+            g.execute(new AddElements.Builder().input(elements).build(), user);
+            g.execute(new AddElements.Builder().input(elements).build(), user);
+        }
+
+        // When
+        final List<Element> results = Lists.newArrayList(graph.execute(new GetElements.Builder()
+                .input(getSeeds())
+                .view(getView())
+                .build(), user));
+        final List<Element> expected = Lists.newArrayList(graphWithoutDeltas.execute(new GetElements.Builder()
+                .input(getSeeds())
+                .view(getView())
+                .build(), user));
+
+        // Then
+        assertFalse(expected.isEmpty());
+        ElementUtil.assertElementEquals(expected, results);
+    }
+
+    @Test
+    public void shouldGetAllElementsWithViewAfterTwoAddElementsWithDeltas() throws IOException, OperationException {
+        // Given
+        final Graph graph = createGraph(createDeltaStoreProperties());
+        final Graph graphWithoutDeltas = createGraph(createStorePropertiesInNewFolder("withoutDeltas"));
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        for (final Graph g : Lists.newArrayList(graph, graphWithoutDeltas)) {
+            g.execute(new AddElements.Builder().input(elements).build(), user);
+            g.execute(new AddElements.Builder().input(elements).build(), user);
+        }
+
+        // When
+        final List<Element> results = Lists.newArrayList(graph.execute(new GetAllElements.Builder()
+                .view(getView())
+                .build(), user));
+        final List<Element> expected = Lists.newArrayList(graphWithoutDeltas.execute(new GetAllElements.Builder()
+                .view(getView())
+                .build(), user));
+
+        // Then
+        assertFalse(expected.isEmpty());
+        ElementUtil.assertElementEquals(expected, results);
+    }
+
+    private ParquetStoreProperties createStorePropertiesInNewFolder(final String folder) throws IOException {
+        final ParquetStoreProperties storeProperties = TestUtils.getParquetStoreProperties(testFolder);
+        storeProperties.setDataDir(testFolder.newFolder(folder, "data").getAbsolutePath());
+        storeProperties.setTempFilesDir(testFolder.newFolder(folder, "tmpdata").getAbsolutePath());
+        return storeProperties;
+    }
+
+    private ParquetStoreProperties createDeltaStoreProperties() throws IOException {
+        final ParquetStoreProperties storeProperties = TestUtils.getParquetStoreProperties(testFolder);
+        storeProperties.setWriteDeltas(true);
+        storeProperties.setCompactionInterval(0);
+        return storeProperties;
+    }
+
     @Test
     public void shouldNotGetElementsOnEmptyGraph() throws OperationException {
         // Given (test on a graph on which add has been called with an empty list and
@@ -327,6 +498,156 @@ public abstract class AbstractOperationsTest extends StandaloneIT {
         ElementUtil.assertElementEquals(getResultsForGetElementsWithSeedsAndViewTest(), results);
     }
 
+    @Test
+    public void shouldGetElementsWithSeedsRelatedUsingSortedSeedScan() throws IOException, OperationException {
+        // Given
+        final Graph graph = createGraph(createSortedSeedScanStoreProperties());
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final List<ElementSeed> seeds = getSeeds();
+        final CloseableIterable<? extends Element> results = graph
+                .execute(new GetElements.Builder()
+                        .input(seeds)
+                        .seedMatching(SeedMatching.SeedMatchingType.RELATED)
+                        .build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetElementsWithSeedsRelatedTest(), results);
+    }
+
+    @Test
+    public void shouldGetElementsWithSeedsEqualUsingSortedSeedScan() throws IOException, OperationException {
+        // Given
+        final Graph graph = createGraph(createSortedSeedScanStoreProperties());
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final List<ElementSeed> seeds = getSeeds();
+        final CloseableIterable<? extends Element> results = graph
+                .execute(new GetElements.Builder()
+                        .input(seeds)
+                        .seedMatching(SeedMatching.SeedMatchingType.EQUAL)
+                        .build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetElementsWithSeedsEqualTest(), results);
+    }
+
+    @Test
+    public void shouldNotGetElementsWithMissingSeedsUsingSortedSeedScan() throws IOException, OperationException {
+        // Given
+        final Graph graph = createGraph(createSortedSeedScanStoreProperties());
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final List<ElementSeed> seeds = getSeedsThatWontAppear();
+        final CloseableIterable<? extends Element> results = graph
+                .execute(new GetElements.Builder().input(seeds).seedMatching(SeedMatching.SeedMatchingType.EQUAL).build(), user);
+
+        // Then
+        assertFalse(results.iterator().hasNext());
+    }
+
+    @Test
+    public void shouldGetElementsWithSeedsAndViewUsingSortedSeedScan() throws IOException, OperationException {
+        // Given
+        final Graph graph = createGraph(createSortedSeedScanStoreProperties());
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final List<ElementSeed> seeds = getSeeds();
+        final View view = getView();
+        final CloseableIterable<? extends Element> results = graph
+                .execute(new GetElements.Builder().input(seeds).view(view).build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetElementsWithSeedsAndViewTest(), results);
+    }
+
+    @Test
+    public void shouldGetElementsWithInOutTypeUsingSortedSeedScan() throws IOException, OperationException {
+        // Given
+        final Graph graph = createGraph(createSortedSeedScanStoreProperties());
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When 1
+        final List<ElementSeed> seeds = getSeeds().stream().filter(e -> e instanceof EntitySeed).collect(Collectors.toList());
+        CloseableIterable<? extends Element> results = graph
+                .execute(new GetElements.Builder()
+                        .input(seeds)
+                        .inOutType(SeededGraphFilters.IncludeIncomingOutgoingType.OUTGOING)
+                        .build(), user);
+
+        // Then 1
+        ElementUtil.assertElementEquals(getResultsForGetElementsWithInOutTypeOutgoingTest(), results);
+
+        // When 2
+        results = graph.execute(new GetElements.Builder()
+                .input(seeds)
+                .inOutType(SeededGraphFilters.IncludeIncomingOutgoingType.INCOMING)
+                .build(), user);
+
+        // Then 2
+        ElementUtil.assertElementEquals(getResultsForGetElementsWithInOutTypeIncomingTest(), results);
+    }
+
+    private ParquetStoreProperties createSortedSeedScanStoreProperties() throws IOException {
+        final ParquetStoreProperties storeProperties = TestUtils.getParquetStoreProperties(testFolder);
+        storeProperties.setSortedSeedScanThreshold(0);
+        return storeProperties;
+    }
+
+    @Test
+    public void shouldWriteBloomFilterForEachFile() throws IOException, OperationException {
+        // Given
+        final ParquetStore store = (ParquetStore) Store.createStore("graphId", createSchema(),
+                TestUtils.getParquetStoreProperties(testFolder));
+        final Graph graph = new Graph.Builder()
+                .config(createGraphConfig())
+                .store(store)
+                .build();
+
+        // When
+        graph.execute(new AddElements.Builder().input(getInputDataForGetAllElementsTest()).build(), user);
+
+        // Then
+        final List<Path> files = new ArrayList<>();
+        for (final String group : store.getSchema().getGroups()) {
+            files.addAll(store.getFilesForGroup(group));
+        }
+        assertFalse(files.isEmpty());
+        for (final Path file : files) {
+            assertNotNull(store.getVertexBloomFilter(file));
+        }
+    }
+
+    @Test
+    public void shouldGetElementsWithSeedsRelatedWithoutBloomFilters() throws IOException, OperationException {
+        // Given
+        final ParquetStoreProperties storeProperties = TestUtils.getParquetStoreProperties(testFolder);
+        storeProperties.setBloomFilterFpp(0);
+        final Graph graph = createGraph(storeProperties);
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final List<ElementSeed> seeds = getSeeds();
+        final CloseableIterable<? extends Element> results = graph
+                .execute(new GetElements.Builder()
+                        .input(seeds)
+                        .seedMatching(SeedMatching.SeedMatchingType.RELATED)
+                        .build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetElementsWithSeedsRelatedTest(), results);
+    }
+
     @Test
     public void shouldThrowUnsupportedTraitExceptionWithPostAggregationFiltering() throws OperationException {
         // Given
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.handler.spark;
 
+import com.google.common.collect.Lists;
 import org.apache.spark.rdd.RDD;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
@@ -35,15 +36,24 @@ import uk.gov.gchq.gaffer.operation.data.ElementSeed;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
 import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.GetDataFrameOfElements;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.ImportRDDOfElements;
+import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 public abstract class AbstractSparkOperationsTest extends StandaloneIT {
     @Rule
@@ -139,6 +149,56 @@ public abstract class AbstractSparkOperationsTest extends StandaloneIT {
         ElementUtil.assertElementEquals(getResultsForGetElementsWithSeedsRelatedTest(), results);
     }
 
+    @Test
+    public void shouldIncludeDeltaCommittedDuringImportElementsFromRDD() throws Exception {
+        // Given
+        final ParquetStoreProperties storeProperties = TestUtils.getParquetStoreProperties(testFolder);
+        storeProperties.setDataDir(testFolder.newFolder("withDeltas", "data").getAbsolutePath());
+        storeProperties.setTempFilesDir(testFolder.newFolder("withDeltas", "tmpdata").getAbsolutePath());
+        storeProperties.setWriteDeltas(true);
+        storeProperties.setCompactionInterval(0);
+        final ParquetStore store = (ParquetStore) Store.createStore("graphId", createSchema(), storeProperties);
+        final Graph graph = new Graph.Builder()
+                .config(createGraphConfig())
+                .store(store)
+                .build();
+        final Graph graphWithoutDeltas = createGraph();
+        final ReentrantReadWriteLock snapshotLock = (ReentrantReadWriteLock) store.getSnapshotLock();
+        final ImportRDDOfElements importElements = new ImportRDDOfElements.Builder()
+                .input(getInputDataForGetAllElementsTest())
+                .build();
+        final AddElements addElements = new AddElements.Builder()
+                .input(getInputDataForGetAllElementsTestAsList())
+                .build();
+
+        // When
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> importResult = executor.submit(() -> {
+                graph.execute(importElements, user);
+                return null;
+            });
+            while (!snapshotLock.isWriteLocked() && !importResult.isDone()) {
+                Thread.sleep(1);
+            }
+            graph.execute(addElements, user);
+            importResult.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        graphWithoutDeltas.execute(importElements, user);
+        graphWithoutDeltas.execute(addElements, user);
+
+        // Then
+        assertEquals(1, store.getDeltas().size());
+        final List<Element> expected = Lists.newArrayList(graphWithoutDeltas.execute(
+                new GetAllElements.Builder().build(), user));
+        assertFalse(expected.isEmpty());
+        ElementUtil.assertElementEquals(expected, graph.execute(new GetAllElements.Builder().build(), user));
+        ElementUtil.assertElementEquals(expected, createGraph(storeProperties).execute(
+                new GetAllElements.Builder().build(), user));
+    }
+
     @Test
     public void shouldReturnCorrectResultsWhenGetDataFrameOfElementsCalledWithNoView() throws OperationException {
         // Given
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019. Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.query;
+
+import org.apache.parquet.column.statistics.BinaryStatistics;
+import org.apache.parquet.column.statistics.IntStatistics;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class SortedSeedFilterTest {
+
+    @Test
+    public void shouldDropRowGroupsThatCannotContainStringSeeds() {
+        // Given
+        final List<BlockMetaData> rowGroups = Arrays.asList(
+                stringRowGroup("a", "c"),
+                stringRowGroup("d", "f"),
+                stringRowGroup("g", "i"));
+        final SortedSeedFilter filter = createFilter("b", "h");
+
+        // When
+        final List<BlockMetaData> matchingRowGroups = filter.getMatchingRowGroups(rowGroups);
+
+        // Then
+        assertEquals(Arrays.asList(rowGroups.get(0), rowGroups.get(2)), matchingRowGroups);
+        assertNotNull(filter.getRowGroupFilter(rowGroups, matchingRowGroups));
+    }
+
+    @Test
+    public void shouldDropRowGroupsThatCannotContainIntegerSeeds() {
+        // Given
+        final List<BlockMetaData> rowGroups = Arrays.asList(
+                intRowGroup(1, 10),
+                intRowGroup(11, 20),
+                intRowGroup(21, 30));
+        final SortedSeedFilter filter = createFilter(15);
+
+        // When
+        final List<BlockMetaData> matchingRowGroups = filter.getMatchingRowGroups(rowGroups);
+
+        // Then
+        assertEquals(Collections.singletonList(rowGroups.get(1)), matchingRowGroups);
+        assertNotNull(filter.getRowGroupFilter(rowGroups, matchingRowGroups));
+    }
+
+    @Test
+    public void shouldKeepAllRowGroupsWhenSeedsAreInEveryRowGroup() {
+        // Given
+        final List<BlockMetaData> rowGroups = Arrays.asList(
+                stringRowGroup("a", "c"),
+                stringRowGroup("d", "f"));
+        final SortedSeedFilter filter = createFilter("a", "e");
+
+        // When
+        final List<BlockMetaData> matchingRowGroups = filter.getMatchingRowGroups(rowGroups);
+
+        // Then
+        assertEquals(rowGroups, matchingRowGroups);
+        assertNull(filter.getRowGroupFilter(rowGroups, matchingRowGroups));
+    }
+
+    private SortedSeedFilter createFilter(final Object... seeds) {
+        final SortedSeedFilter.Builder builder = new SortedSeedFilter.Builder(TestGroups.ENTITY, true, false,
+                new String[]{ParquetStore.VERTEX}, null);
+        for (final Object seed : seeds) {
+            builder.seed(new Object[]{seed}, null, null);
+        }
+        return builder.build();
+    }
+
+    private BlockMetaData stringRowGroup(final String min, final String max) {
+        // Statistics read from a file footer are backed by byte arrays, not strings
+        final BinaryStatistics statistics = new BinaryStatistics();
+        statistics.setMinMax(Binary.fromConstantByteArray(StringUtil.toBytes(min)), Binary.fromConstantByteArray(StringUtil.toBytes(max)));
+        return createRowGroup(PrimitiveTypeName.BINARY, statistics);
+    }
+
+    private BlockMetaData intRowGroup(final int min, final int max) {
+        final IntStatistics statistics = new IntStatistics();
+        statistics.setMinMax(min, max);
+        return createRowGroup(PrimitiveTypeName.INT32, statistics);
+    }
+
+    private BlockMetaData createRowGroup(final PrimitiveTypeName type, final Statistics statistics) {
+        final BlockMetaData rowGroup = new BlockMetaData();
+        rowGroup.addColumn(ColumnChunkMetaData.get(ColumnPath.get(ParquetStore.VERTEX), type,
+                CompressionCodecName.UNCOMPRESSED, Collections.emptySet(), statistics, 0L, 0L, 1L, 1L, 1L));
+        rowGroup.setRowCount(1L);
+        return rowGroup;
+    }
+}
@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.parquetstore.utils;
 
 import com.google.common.collect.Sets;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.log4j.Level;
@@ -47,11 +48,14 @@ import uk.gov.gchq.gaffer.types.FreqMap;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * TODO: Tests for edges
@@ -134,4 +138,39 @@ public class AggregateAndSortDataTest {
                     results[i].getAs("freqMap"));
         }
     }
+
+    @Test
+    public void shouldWriteVertexBloomFilterForSortedFile() throws Exception {
+        // Given
+        final FileSystem fs = FileSystem.get(new Configuration());
+        final SchemaUtils schemaUtils = new SchemaUtils(TestUtils.gafferSchema("schemaUsingLongVertexType"));
+        final String file1 = testFolder.newFolder().getAbsolutePath() + "/inputdata1.parquet";
+        writeData(file1, schemaUtils);
+        final SparkSession sparkSession = SparkSessionProvider.getSparkSession();
+        final String outputFolder = testFolder.newFolder().getAbsolutePath() + "/aggregated";
+        final GafferGroupObjectConverter converter = schemaUtils.getConverter(TestGroups.ENTITY);
+
+        // When
+        new AggregateAndSortData(schemaUtils, fs, Collections.singletonList(file1), outputFolder, TestGroups.ENTITY,
+                "test", false, CompressionCodecName.GZIP, sparkSession, 0.01).call();
+
+        // Then
+        final FileStatus[] files = fs.listStatus(new Path(outputFolder), path -> path.getName().endsWith(".parquet"));
+        assertEquals(1, files.length);
+        final VertexBloomFilter bloomFilter = VertexBloomFilter.read(fs, files[0].getPath());
+        assertNotNull(bloomFilter);
+        assertEquals(1, bloomFilter.getNumberOfRowGroups());
+        for (long i = 0; i < 20; i++) {
+            final Object[] key = converter.gafferObjectToParquetObjects(ParquetStore.VERTEX, i);
+            assertTrue(bloomFilter.mightContain(key));
+            assertTrue(bloomFilter.mightContain(0, key));
+        }
+        int falsePositives = 0;
+        for (long i = 1000; i < 1100; i++) {
+            if (bloomFilter.mightContain(converter.gafferObjectToParquetObjects(ParquetStore.VERTEX, i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 10);
+    }
 }
@@ -36,11 +36,18 @@ public class ProxyProperties extends StoreProperties {
     public static final String CONNECT_TIMEOUT = "gaffer.connect-timeout";
     public static final String READ_TIMEOUT = "gaffer.read-timeout";
 
+    /**
+     * If true, operation chains with iterable outputs are executed using the
+     * chunked REST endpoint and their results are deserialised lazily.
+     */
+    public static final String STREAM_RESULTS = "gaffer.stream-results";
+
     public static final String DEFAULT_GAFFER_HOST = "localhost";
     public static final String DEFAULT_GAFFER_CONTEXT_ROOT = "/rest";
     public static final int DEFAULT_GAFFER_PORT = 8080;
     public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
     public static final int DEFAULT_READ_TIMEOUT = 10000;
+    public static final boolean DEFAULT_STREAM_RESULTS = false;
 
     private static final String GAFFER_REST_API_VERSION = "v2";
 
@@ -94,6 +101,14 @@ public class ProxyProperties extends StoreProperties {
         set(READ_TIMEOUT, String.valueOf(timeout));
     }
 
+    public boolean isStreamResults() {
+        return Boolean.parseBoolean(get(STREAM_RESULTS, String.valueOf(DEFAULT_STREAM_RESULTS)));
+    }
+
+    public void setStreamResults(final boolean streamResults) {
+        set(STREAM_RESULTS, String.valueOf(streamResults));
+    }
+
     public String getGafferHost() {
         return get(GAFFER_HOST, DEFAULT_GAFFER_HOST);
     }
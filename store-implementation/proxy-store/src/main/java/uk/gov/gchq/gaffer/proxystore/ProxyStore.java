@@ -17,6 +17,8 @@
 package uk.gov.gchq.gaffer.proxystore;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.google.common.collect.Sets;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.glassfish.jersey.client.ClientProperties;
@@ -167,14 +169,63 @@ public class ProxyStore extends Store {
             throw new OperationException("Unable to serialise operation chain into JSON.", e);
         }
 
-        final URL url = getProperties().getGafferUrl("graph/operations/execute");
         try {
+            final JavaType resultType = getStreamedResultType(opChain);
+            if (null != resultType) {
+                final URL url = getProperties().getGafferUrl("graph/operations/execute/chunked");
+                return (O) doPostStreamed(url, opChainJson, resultType, context);
+            }
+
+            final URL url = getProperties().getGafferUrl("graph/operations/execute");
             return doPost(url, opChainJson, opChain.getOutputTypeReference(), context);
         } catch (final StoreException e) {
             throw new OperationException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Gets the type of the individual results of an operation chain, if the
+     * results should be streamed from the chunked REST endpoint.
+     *
+     * @param opChain the operation chain to execute
+     * @return the type of each result, or null if the results should not be streamed
+     */
+    protected JavaType getStreamedResultType(final OperationChain<?> opChain) {
+        if (!getProperties().isStreamResults() || null == opChain.getOutputTypeReference()) {
+            return null;
+        }
+
+        final TypeFactory typeFactory = JSONSerialiser.getMapper().getTypeFactory();
+        final JavaType outputType = typeFactory.constructType(opChain.getOutputTypeReference());
+        final Class<?> outputClass = outputType.getRawClass();
+        if (!Iterable.class.isAssignableFrom(outputClass) || !outputClass.isAssignableFrom(StreamingResponseIterable.class)) {
+            return null;
+        }
+
+        final JavaType[] resultTypes = typeFactory.findTypeParameters(outputType, Iterable.class);
+        return 1 == resultTypes.length ? resultTypes[0] : TypeFactory.unknownType();
+    }
+
+    protected <T> CloseableIterable<T> doPostStreamed(final URL url, final String jsonBody,
+                                                      final JavaType resultType,
+                                                      final Context context) throws StoreException {
+        final Invocation.Builder request = createRequest(jsonBody, url, context);
+        final Response response;
+        try {
+            response = request.accept(MediaType.APPLICATION_JSON_TYPE)
+                    .post(Entity.json(jsonBody));
+        } catch (final Exception e) {
+            throw new StoreException("Failed to execute post via " +
+                    "the Gaffer URL " + url.toExternalForm(), e);
+        }
+
+        if (Family.SUCCESSFUL != response.getStatusInfo().getFamily()) {
+            handleError(response, response.hasEntity() ? response.readEntity(String.class) : null);
+        }
+
+        return new StreamingResponseIterable<>(response, JSONSerialiser.getMapper().readerFor(resultType));
+    }
+
     protected <O> O doPost(final URL url, final Object body,
                            final TypeReference<O> outputType,
                            final Context context) throws StoreException {
@@ -220,15 +271,10 @@ public class ProxyStore extends Store {
                                    final TypeReference<O> outputTypeReference)
             throws StoreException {
         final String outputJson = response.hasEntity() ? response.readEntity(String.class) : null;
+        // Release the connection so it can be reused by later requests
+        response.close();
         if (Family.SUCCESSFUL != response.getStatusInfo().getFamily()) {
-            final Error error;
-            try {
-                error = JSONSerialiser.deserialise(StringUtil.toBytes(outputJson), Error.class);
-            } catch (final Exception e) {
-                LOGGER.warn("Gaffer bad status {}. Detail: {}", response.getStatus(), outputJson);
-                throw new StoreException("Delegate Gaffer store returned status: " + response.getStatus() + ". Response content was: " + outputJson);
-            }
-            throw new GafferWrappedErrorRuntimeException(error);
+            handleError(response, outputJson);
         }
 
         O output = null;
@@ -243,6 +289,18 @@ public class ProxyStore extends Store {
         return output;
     }
 
+    protected void handleError(final Response response, final String outputJson) throws StoreException {
+        response.close();
+        final Error error;
+        try {
+            error = JSONSerialiser.deserialise(StringUtil.toBytes(outputJson), Error.class);
+        } catch (final Exception e) {
+            LOGGER.warn("Gaffer bad status {}. Detail: {}", response.getStatus(), outputJson);
+            throw new StoreException("Delegate Gaffer store returned status: " + response.getStatus() + ". Response content was: " + outputJson);
+        }
+        throw new GafferWrappedErrorRuntimeException(error);
+    }
+
     protected Invocation.Builder createRequest(final String body, final URL url, final Context context) {
         final Invocation.Builder request = client.target(url.toString())
                 .request();
@@ -372,6 +430,11 @@ public class ProxyStore extends Store {
             return this;
         }
 
+        public Builder streamResults(final boolean streamResults) {
+            properties.setStreamResults(streamResults);
+            return this;
+        }
+
         public Builder jsonSerialiser(final Class<? extends JSONSerialiser> serialiserClass) {
             properties.setJsonSerialiserClass(serialiserClass);
             return this;
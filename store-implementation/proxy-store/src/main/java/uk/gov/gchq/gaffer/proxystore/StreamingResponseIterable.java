@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.proxystore;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+
+import javax.ws.rs.core.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A {@code StreamingResponseIterable} lazily deserialises the results of a
+ * chunked request to a Gaffer REST API.
+ * <p>
+ * Each result is parsed from the response stream as it is requested, so only
+ * a single result is held in memory at a time. The response can only be read
+ * once, so this iterable can only be iterated once. Closing the iterable, or
+ * reading all of the results, releases the connection so it can be reused for
+ * later requests.
+ * </p>
+ *
+ * @param <T> the type of results
+ */
+public class StreamingResponseIterable<T> implements CloseableIterable<T> {
+    private final Response response;
+    private final ObjectReader reader;
+    private boolean iterated;
+
+    public StreamingResponseIterable(final Response response, final ObjectReader reader) {
+        this.response = response;
+        this.reader = reader;
+    }
+
+    @Override
+    public synchronized CloseableIterator<T> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("The results of a streamed response can only be iterated once");
+        }
+        iterated = true;
+
+        try {
+            return new StreamingResponseIterator(reader.readValues(response.readEntity(InputStream.class)));
+        } catch (final IOException | RuntimeException e) {
+            close();
+            throw new GafferRuntimeException("Unable to read results from the delegate Gaffer REST API", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+
+    private final class StreamingResponseIterator implements CloseableIterator<T> {
+        private final MappingIterator<T> results;
+
+        private StreamingResponseIterator(final MappingIterator<T> results) {
+            this.results = results;
+        }
+
+        @Override
+        public boolean hasNext() {
+            final boolean hasNext;
+            try {
+                hasNext = results.hasNextValue();
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to read results from the delegate Gaffer REST API", e);
+            }
+            if (!hasNext) {
+                close();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            try {
+                return results.nextValue();
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to read results from the delegate Gaffer REST API", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(results);
+            StreamingResponseIterable.this.close();
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.proxystore.integration;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -50,6 +51,7 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.output.ToList;
 import uk.gov.gchq.gaffer.proxystore.ProxyStore;
+import uk.gov.gchq.gaffer.proxystore.StreamingResponseIterable;
 import uk.gov.gchq.gaffer.rest.RestApiTestClient;
 import uk.gov.gchq.gaffer.rest.service.v2.RestApiV2TestClient;
 import uk.gov.gchq.gaffer.store.StoreTrait;
@@ -57,12 +59,14 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.core.IsCollectionContaining.hasItem;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class ProxyStoreBasicIT {
@@ -145,6 +149,30 @@ public class ProxyStoreBasicIT {
         assertThat((CloseableIterable<Element>) results, hasItems(DEFAULT_ELEMENTS));
     }
 
+    @Test
+    public void shouldAddElementsAndStreamAllElements() throws Exception {
+        // Given
+        addDefaultElements();
+        final Graph streamingGraph = new Graph.Builder()
+                .store(new ProxyStore.Builder()
+                        .graphId("graph2")
+                        .host("localhost")
+                        .port(8080)
+                        .contextRoot("rest")
+                        .streamResults(true)
+                        .build())
+                .build();
+
+        // When
+        final CloseableIterable<? extends Element> results = streamingGraph.execute(new GetAllElements(), USER);
+
+        // Then
+        assertTrue(results instanceof StreamingResponseIterable);
+        final List<Element> resultList = Lists.newArrayList(results);
+        assertEquals(DEFAULT_ELEMENTS.length, resultList.size());
+        assertThat(resultList, hasItems(DEFAULT_ELEMENTS));
+    }
+
     @Test
     public void shouldAddElementsAndGetRelatedElements() throws Exception {
         // Given